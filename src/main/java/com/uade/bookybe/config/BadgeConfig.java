@@ -0,0 +1,21 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "badges")
+@Data
+public class BadgeConfig {
+
+  private long maxCachedUsers = 50_000;
+  /** Safety net for invalidations that never arrive; normal changes evict immediately */
+  private Duration cacheTtl = Duration.ofMinutes(10);
+  /** Use Postgres LISTEN/NOTIFY to invalidate the counters cached by other nodes */
+  private boolean notifyEnabled = true;
+  private String notifyChannel = "user_badges";
+  private Duration listenTimeout = Duration.ofSeconds(5);
+  private Duration reconnectDelay = Duration.ofSeconds(10);
+}
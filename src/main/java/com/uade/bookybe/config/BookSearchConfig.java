@@ -0,0 +1,18 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "book-search")
+@Data
+public class BookSearchConfig {
+
+  private int maxPageSize = 50;
+  /** Deepest result reachable by paging; later pages are clamped to it */
+  private int maxResultWindow = 1000;
+  private int maxFacets = 20;
+  private Duration refreshInterval = Duration.ofMinutes(15);
+}
@@ -0,0 +1,35 @@
+package com.uade.bookybe.config;
+
+import com.uade.bookybe.infraestructure.repository.CommunityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class CommunityBackfillConfig {
+
+  /**
+   * Fills community.member_count and last_activity_at for rows created before those columns
+   * existed. Only NULL rows are touched, so counters kept by join/leave and new posts are never
+   * overwritten; it runs before the web server starts.
+   */
+  @Bean
+  public SmartInitializingSingleton communityBackfill(CommunityRepository repository) {
+    return () -> {
+      try {
+        int counted = repository.backfillMemberCounts();
+        if (counted > 0) {
+          log.info("Backfilled member count for {} communities", counted);
+        }
+        int backfilled = repository.backfillLastActivity();
+        if (backfilled > 0) {
+          log.info("Backfilled last activity for {} communities", backfilled);
+        }
+      } catch (RuntimeException e) {
+        log.error("Could not backfill community counters: {}", e.getMessage(), e);
+      }
+    };
+  }
+}
@@ -0,0 +1,21 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "communities")
+@Data
+public class CommunityConfig {
+
+  private int maxPageSize = 50;
+  /** Deepest search result reachable by paging; later pages are clamped to it */
+  private int maxResultWindow = 1000;
+  private Duration searchRefreshInterval = Duration.ofMinutes(15);
+  private int deletionChunkSize = 500;
+  private Duration deletionJobRetention = Duration.ofHours(1);
+  /** Hidden communities older than this with no job on this node are picked up again */
+  private Duration deletionResumeAfter = Duration.ofMinutes(10);
+}
@@ -28,6 +28,8 @@ public class CorsConfig {
     // Configurar headers expuestos
     configuration.addExposedHeader("Authorization");
     configuration.addExposedHeader("Content-Type");
+    configuration.addExposedHeader("X-Total-Count");
+    configuration.addExposedHeader("X-Next-Cursor");
 
     // Aplicar a todas las rutas
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
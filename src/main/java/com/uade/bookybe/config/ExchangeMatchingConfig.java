@@ -0,0 +1,19 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "exchange-matching")
+@Data
+public class ExchangeMatchingConfig {
+
+  private int maxSuggestions = 50;
+  /** Candidates ranked by overlap before loading users to break ties by distance */
+  private int maxCandidates = 200;
+  /** Users that want one of our books explored when looking for three-way cycles */
+  private int maxThreeWayPartners = 100;
+  private Duration refreshInterval = Duration.ofMinutes(30);
+}
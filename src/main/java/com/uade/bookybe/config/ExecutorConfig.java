@@ -0,0 +1,49 @@
+package com.uade.bookybe.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+  @Bean("libraryImportExecutor")
+  public ThreadPoolTaskExecutor libraryImportExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(4);
+    executor.setQueueCapacity(50);
+    executor.setThreadNamePrefix("library-import-");
+    return executor;
+  }
+
+  @Bean("communityDeletionExecutor")
+  public ThreadPoolTaskExecutor communityDeletionExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(2);
+    executor.setQueueCapacity(100);
+    executor.setThreadNamePrefix("community-deletion-");
+    return executor;
+  }
+
+  @Bean("userDeletionExecutor")
+  public ThreadPoolTaskExecutor userDeletionExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(2);
+    executor.setQueueCapacity(100);
+    executor.setThreadNamePrefix("user-deletion-");
+    return executor;
+  }
+
+  @Bean("sceneImageExecutor")
+  public ThreadPoolTaskExecutor sceneImageExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(4);
+    executor.setQueueCapacity(20);
+    executor.setThreadNamePrefix("scene-image-");
+    return executor;
+  }
+}
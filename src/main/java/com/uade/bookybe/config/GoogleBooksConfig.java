@@ -0,0 +1,36 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "google-books")
+@Data
+public class GoogleBooksConfig {
+
+  private String baseUrl = "https://www.googleapis.com/books/v1";
+  private Duration connectTimeout = Duration.ofSeconds(2);
+  private Duration readTimeout = Duration.ofSeconds(5);
+  private int maxConnections = 50;
+  private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+  private Cache cache = new Cache();
+  private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+  @Data
+  public static class Cache {
+    private long maxSize = 10_000;
+    private Duration ttl = Duration.ofHours(24);
+    // "Not found" responses expire sooner so newly indexed books show up eventually
+    private Duration negativeTtl = Duration.ofMinutes(30);
+  }
+
+  @Data
+  public static class CircuitBreaker {
+    private float failureRateThreshold = 50;
+    private int slidingWindowSize = 20;
+    private int minimumNumberOfCalls = 10;
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+  }
+}
@@ -0,0 +1,31 @@
+package com.uade.bookybe.config;
+
+import com.uade.bookybe.infraestructure.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class IsbnBackfillConfig {
+
+  /**
+   * Fills books.isbn13 for rows created before the canonical ISBN column existed. Runs once the
+   * schema is up but before the web server starts, since lookups by isbn13 would miss legacy rows
+   * and create duplicates until it is done.
+   */
+  @Bean
+  public SmartInitializingSingleton isbn13Backfill(BookRepository bookRepository) {
+    return () -> {
+      try {
+        int updated = bookRepository.backfillIsbn13();
+        if (updated > 0) {
+          log.info("Backfilled isbn13 for {} books", updated);
+        }
+      } catch (RuntimeException e) {
+        log.error("Could not backfill isbn13: {}", e.getMessage(), e);
+      }
+    };
+  }
+}
@@ -1,6 +1,9 @@
 package com.uade.bookybe.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.uade.bookybe.core.service.JwtService;
+import com.uade.bookybe.infraestructure.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +11,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,14 +23,29 @@ import org.springframework.web.filter.OncePerRequestFilter;
 /**
  * JWT Authentication Filter that intercepts HTTP requests and validates JWT tokens. This filter
  * extracts the JWT token from the Authorization header, validates it, and sets the authentication
- * context for the current request.
+ * context for the current request. Tokens of users being deleted (users.deleted_at) are not
+ * authenticated, so they can't keep writing rows the background deletion has to chase.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
+  private final UserRepository userRepository;
+
+  /** Whether each recently seen user is active; a tombstone is noticed within the TTL */
+  private final Cache<String, Boolean> activeUsers;
+
+  public JwtAuthenticationFilter(
+      JwtService jwtService, UserRepository userRepository, UserDeletionConfig config) {
+    this.jwtService = jwtService;
+    this.userRepository = userRepository;
+    this.activeUsers =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaxCachedActiveUsers())
+            .expireAfterWrite(config.getActiveUserCacheTtl())
+            .build();
+  }
 
   @Override
   protected void doFilterInternal(
@@ -72,6 +89,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return;
       }
 
+      if (!activeUsers.get(userId, userRepository::existsByIdAndDeletedAtIsNull)) {
+        log.warn("Rejected token of deleted user: {}", userId);
+        filterChain.doFilter(request, response);
+        return;
+      }
+
       // Check if user is already authenticated
       if (SecurityContextHolder.getContext().getAuthentication() == null) {
         // Create authentication token
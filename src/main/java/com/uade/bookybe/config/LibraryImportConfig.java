@@ -0,0 +1,17 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "library-import")
+@Data
+public class LibraryImportConfig {
+
+  private int maxIsbns = 2000;
+  private int googleParallelism = 8;
+  private int batchSize = 200;
+  private Duration jobRetention = Duration.ofHours(1);
+}
@@ -1,5 +1,6 @@
 package com.uade.bookybe.config;
 
+import java.time.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -13,6 +14,12 @@ public class LivekitProps {
   private String apiKey;
   private String apiSecret;
   private String wsUrl;
+  /** HTTP(S) URL of the room API; derived from wsUrl when empty */
+  private String apiUrl;
 
   private long tokenTtlSeconds = 600; // 10min
+  /** A member asking again within this window gets the same token; keep it well under tokenTtlSeconds */
+  private Duration tokenCacheTtl = Duration.ofMinutes(1);
+  /** Rooms are kept current by the webhook; this re-reads them from LiveKit in case one is lost */
+  private Duration roomStateTtl = Duration.ofMinutes(10);
 }
@@ -0,0 +1,20 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "meeting-reminders")
+@Data
+public class MeetingReminderConfig {
+
+  private boolean enabled = true;
+  /** How long before each meeting a reminder is sent */
+  private List<Duration> offsets =
+      List.of(Duration.ofHours(24), Duration.ofHours(1), Duration.ofMinutes(10));
+  /** Resolution of the timing wheel; also the delay between checks for due reminders */
+  private Duration tick = Duration.ofMinutes(1);
+}
@@ -0,0 +1,30 @@
+package com.uade.bookybe.config;
+
+import com.uade.bookybe.infraestructure.repository.UserRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class RatedUserIdBackfillConfig {
+
+  /**
+   * Fills user_rates.rated_user_id for ratings created before the column existed. Runs before the
+   * web server starts, so findRatingsForUser never serves a page without the legacy ratings.
+   */
+  @Bean
+  public SmartInitializingSingleton ratedUserIdBackfill(UserRateRepository userRateRepository) {
+    return () -> {
+      try {
+        int updated = userRateRepository.backfillRatedUserId();
+        if (updated > 0) {
+          log.info("Backfilled rated_user_id for {} ratings", updated);
+        }
+      } catch (RuntimeException e) {
+        log.error("Could not backfill rated_user_id: {}", e.getMessage(), e);
+      }
+    };
+  }
+}
@@ -0,0 +1,16 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "reading-clubs")
+@Data
+public class ReadingClubConfig {
+
+  private long maxCachedProgress = 10_000;
+  /** Reloads aggregates that changed without passing through this node (other nodes, deletions) */
+  private Duration progressCacheTtl = Duration.ofMinutes(30);
+}
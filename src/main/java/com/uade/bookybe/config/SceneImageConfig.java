@@ -1,5 +1,6 @@
 package com.uade.bookybe.config;
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +14,18 @@ public class SceneImageConfig {
   private int maxTextLength = 2000;
   private int minTextLength = 15;
   private RateLimit rateLimit = new RateLimit();
+  /** Jobs still pending or running after this long are marked failed (their node may be gone) */
+  private Duration jobTimeout = Duration.ofMinutes(10);
+  /** How long a client may stay subscribed to the events of one generation */
+  private Duration eventsTimeout = Duration.ofMinutes(5);
+  /** Folder of the image storage where generated images and their thumbnails are kept */
+  private String storageFolder = "booky/scene-images";
+  /** Width of the preview stored next to each image; the height keeps its aspect ratio */
+  private int thumbnailWidth = 512;
+  /** Generated images larger than this are rejected instead of being buffered */
+  private long maxImageBytes = 20 * 1024 * 1024;
+  /** Timeout for fetching a generated image from the URL returned by OpenAI */
+  private Duration downloadTimeout = Duration.ofSeconds(30);
 
   @Data
   public static class RateLimit {
@@ -0,0 +1,20 @@
+package com.uade.bookybe.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-deletion")
+@Data
+public class UserDeletionConfig {
+
+  /** Rows per DELETE statement, and images per storage round */
+  private int chunkSize = 500;
+  /** Unfinished jobs without progress for this long are started again */
+  private Duration resumeAfter = Duration.ofMinutes(10);
+  /** How long the auth filter trusts that a user is not being deleted before checking again */
+  private Duration activeUserCacheTtl = Duration.ofMinutes(1);
+  private long maxCachedActiveUsers = 50_000;
+}
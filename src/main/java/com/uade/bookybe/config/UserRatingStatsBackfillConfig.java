@@ -0,0 +1,31 @@
+package com.uade.bookybe.config;
+
+import com.uade.bookybe.infraestructure.repository.UserRatingStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class UserRatingStatsBackfillConfig {
+
+  /**
+   * Reconciles user_rating_stats with user_rates on every startup, so legacy ratings are counted
+   * even for users that already got a row from a newer rating. Runs before the web server starts,
+   * while no request can be adding ratings on this node.
+   */
+  @Bean
+  public SmartInitializingSingleton userRatingStatsBackfill(UserRatingStatsRepository repository) {
+    return () -> {
+      try {
+        int reconciled = repository.backfillFromRatings();
+        if (reconciled > 0) {
+          log.info("Reconciled rating stats for {} users", reconciled);
+        }
+      } catch (RuntimeException e) {
+        log.error("Could not backfill user rating stats: {}", e.getMessage(), e);
+      }
+    };
+  }
+}
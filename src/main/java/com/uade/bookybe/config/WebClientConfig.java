@@ -1,5 +1,8 @@
 package com.uade.bookybe.config;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.netty.channel.ChannelOption;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
@@ -8,6 +11,7 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
@@ -33,4 +37,40 @@ public class WebClientConfig {
         .defaultHeader(HttpHeaders.USER_AGENT, "BookyBE/1.0")
         .build();
   }
+
+  @Bean("googleBooksWebClient")
+  public WebClient googleBooksWebClient(GoogleBooksConfig googleBooksConfig) {
+    // Dedicated pool so a slow Google response can't starve other outbound calls
+    ConnectionProvider connectionProvider = ConnectionProvider.builder("google-books")
+        .maxConnections(googleBooksConfig.getMaxConnections())
+        .pendingAcquireTimeout(googleBooksConfig.getPendingAcquireTimeout())
+        .build();
+
+    HttpClient httpClient = HttpClient.create(connectionProvider)
+        .option(
+            ChannelOption.CONNECT_TIMEOUT_MILLIS,
+            (int) googleBooksConfig.getConnectTimeout().toMillis())
+        .responseTimeout(googleBooksConfig.getReadTimeout())
+        .compress(true);
+
+    return WebClient.builder()
+        .baseUrl(googleBooksConfig.getBaseUrl())
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+        .defaultHeader(HttpHeaders.USER_AGENT, "BookyBE/1.0")
+        .build();
+  }
+
+  @Bean("googleBooksCircuitBreaker")
+  public CircuitBreaker googleBooksCircuitBreaker(GoogleBooksConfig googleBooksConfig) {
+    GoogleBooksConfig.CircuitBreaker props = googleBooksConfig.getCircuitBreaker();
+    return CircuitBreaker.of(
+        "google-books",
+        CircuitBreakerConfig.custom()
+            .failureRateThreshold(props.getFailureRateThreshold())
+            .slidingWindowSize(props.getSlidingWindowSize())
+            .minimumNumberOfCalls(props.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(props.getWaitDurationInOpenState())
+            .build());
+  }
 }
@@ -0,0 +1,21 @@
+package com.uade.bookybe.core.model;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSearchResult {
+  private List<Book> books;
+  private long totalHits;
+  private int page;
+  private int size;
+  /** Category -> number of matching books, most frequent first */
+  private Map<String, Long> categoryFacets;
+}
@@ -17,6 +17,7 @@ public class Community {
   private String name;
   private String adminId;
   private User admin;
-  private long memberCount; // Campo calculado dinámicamente por el service
+  private long memberCount; // Denormalizado en community.member_count
+  private LocalDateTime lastActivityAt;
   private boolean isJoinAvailable; // Campo calculado dinámicamente por el service
 }
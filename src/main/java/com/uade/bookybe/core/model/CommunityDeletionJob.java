@@ -0,0 +1,25 @@
+package com.uade.bookybe.core.model;
+
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommunityDeletionJob {
+  private String id;
+  private String communityId;
+  private String adminId;
+  private DeletionJobStatus status;
+  private long deletedComments;
+  private long deletedPosts;
+  private long deletedMembers;
+  private String errorMessage;
+  private LocalDateTime dateCreated;
+  private LocalDateTime dateFinished;
+}
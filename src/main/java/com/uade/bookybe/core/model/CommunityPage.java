@@ -0,0 +1,17 @@
+package com.uade.bookybe.core.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommunityPage {
+  private List<Community> communities;
+  /** Opaque cursor for the next page, null on the last one */
+  private String nextCursor;
+}
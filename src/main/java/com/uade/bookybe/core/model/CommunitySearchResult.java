@@ -0,0 +1,18 @@
+package com.uade.bookybe.core.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommunitySearchResult {
+  private List<Community> communities;
+  private long totalHits;
+  private int page;
+  private int size;
+}
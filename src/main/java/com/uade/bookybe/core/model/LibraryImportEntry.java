@@ -0,0 +1,16 @@
+package com.uade.bookybe.core.model;
+
+import com.uade.bookybe.core.model.constant.BookStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LibraryImportEntry {
+  private String isbn;
+  private BookStatus status;
+}
@@ -0,0 +1,28 @@
+package com.uade.bookybe.core.model;
+
+import com.uade.bookybe.core.model.constant.ImportJobStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class LibraryImportJob {
+  private String id;
+  private String userId;
+  private ImportJobStatus status;
+  private int totalIsbns;
+  private int processedIsbns;
+  private int importedCount;
+  private int alreadyInLibraryCount;
+  private List<String> notFoundIsbns;
+  private List<String> invalidIsbns;
+  private String errorMessage;
+  private LocalDateTime dateCreated;
+  private LocalDateTime dateFinished;
+}
@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class LivekitRoom {
     private String name;
+    private String sid;
     private String readingClubId;
     private String moderatorId;
     private boolean isActive;
@@ -0,0 +1,29 @@
+package com.uade.bookybe.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A room or participant change reported by the LiveKit webhook */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LivekitRoomEvent {
+    private String id;
+    private Type type;
+    private String roomName;
+    private String roomSid;
+    /** Room creation time, epoch seconds */
+    private long roomCreationTime;
+    private String participantIdentity;
+
+    public enum Type {
+        ROOM_STARTED,
+        ROOM_FINISHED,
+        PARTICIPANT_JOINED,
+        PARTICIPANT_LEFT,
+        OTHER
+    }
+}
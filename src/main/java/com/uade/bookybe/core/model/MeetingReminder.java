@@ -0,0 +1,20 @@
+package com.uade.bookybe.core.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MeetingReminder {
+  private String readingClubId;
+  private String readingClubName;
+  private LocalDateTime meetingAt;
+  private long minutesBefore;
+  private List<String> memberIds;
+}
@@ -0,0 +1,22 @@
+package com.uade.bookybe.core.model;
+
+import java.util.SortedMap;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadingProgress {
+  private String readingClubId;
+  /** Members that reported their progress; the rest are not part of the aggregate */
+  private int reportingMembers;
+  private Integer minChapter;
+  private Integer maxChapter;
+  private Double medianChapter;
+  /** Chapter -> members on that chapter, in chapter order */
+  private SortedMap<Integer, Integer> histogram;
+}
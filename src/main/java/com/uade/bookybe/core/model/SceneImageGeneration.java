@@ -1,5 +1,6 @@
 package com.uade.bookybe.core.model;
 
+import com.uade.bookybe.core.model.constant.SceneImageStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,7 +11,13 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "scene_image_generations")
+@Table(
+    name = "scene_image_generations",
+    indexes = {
+      @Index(name = "ix_scene_image_club_fragment", columnList = "reading_club_id, fragment_hash"),
+      @Index(name = "ix_scene_image_book_fragment", columnList = "book_id, fragment_hash"),
+      @Index(name = "ix_scene_image_status_updated", columnList = "status, updated_at")
+    })
 @Data
 @Builder
 @AllArgsConstructor
@@ -30,15 +37,31 @@ public class SceneImageGeneration {
   @Column(name = "fragment_hash", columnDefinition = "TEXT", nullable = false)
   private String fragmentHash;
 
-  @Column(name = "crafted_prompt", columnDefinition = "TEXT", nullable = false)
+  /** Null until the generation job has crafted it */
+  @Column(name = "crafted_prompt", columnDefinition = "TEXT")
   private String craftedPrompt;
 
+  /** URL in our image storage; older rows may still hold a temporary OpenAI URL */
   @Column(name = "image_url", columnDefinition = "TEXT")
   private String imageUrl;
 
+  /** Only set on rows stored before images were copied to our storage */
   @Column(name = "image_base64", columnDefinition = "TEXT")
   private String imageBase64;
 
+  @Column(name = "thumbnail_url", columnDefinition = "TEXT")
+  private String thumbnailUrl;
+
+  @Column(name = "image_width")
+  private Integer imageWidth;
+
+  @Column(name = "image_height")
+  private Integer imageHeight;
+
+  /** Null on rows whose image is not in our storage */
+  @Column(name = "image_size_bytes")
+  private Long imageSizeBytes;
+
   @Column(name = "size", columnDefinition = "TEXT", nullable = false)
   private String size;
 
@@ -52,6 +75,21 @@ public class SceneImageGeneration {
   @Column(name = "created_at", nullable = false)
   private LocalDateTime createdAt;
 
+  /** Null for rows stored before generations became jobs; those are all completed */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status")
+  private SceneImageStatus status;
+
+  /** Last status change; the stale job sweep goes by this, not by when the job was queued */
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  @Column(name = "error_message", columnDefinition = "TEXT")
+  private String errorMessage;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
   @Column(name = "openai_response_time_ms")
   private Long openaiResponseTimeMs;
 
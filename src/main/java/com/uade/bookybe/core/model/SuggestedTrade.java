@@ -0,0 +1,27 @@
+package com.uade.bookybe.core.model;
+
+import com.uade.bookybe.core.model.constant.TradeMatchType;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A trade the user could propose. In a two-way match {@code receiveFrom} and {@code giveTo} are
+ * the same user; in a three-way match the cycle is closed by {@code giveTo} handing
+ * {@code intermediateBooks} to {@code receiveFrom}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestedTrade {
+  private TradeMatchType type;
+  private User receiveFrom;
+  private User giveTo;
+  private List<Book> booksToReceive;
+  private List<Book> booksToGive;
+  private List<Book> intermediateBooks;
+  private Double distanceKm;
+}
@@ -0,0 +1,16 @@
+package com.uade.bookybe.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBadges {
+  private long pendingExchanges;
+  private long unreadMessages;
+  private long unnotifiedAchievements;
+}
@@ -1,6 +1,7 @@
 package com.uade.bookybe.core.model;
 
 import com.uade.bookybe.core.model.constant.BookStatus;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,5 +18,6 @@ public class UserBook {
   private BookStatus status;
   private boolean favorite;
   private boolean wantsToExchange;
+  private LocalDateTime dateCreated;
   private Book book;
 }
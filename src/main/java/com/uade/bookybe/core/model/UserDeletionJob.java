@@ -0,0 +1,26 @@
+package com.uade.bookybe.core.model;
+
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import com.uade.bookybe.core.model.constant.UserDeletionStage;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserDeletionJob {
+  private String id;
+  private String userId;
+  private UserDeletionStage stage;
+  private DeletionJobStatus status;
+  private long deletedRows;
+  private long deletedImages;
+  private String errorMessage;
+  private LocalDateTime dateCreated;
+  private LocalDateTime dateUpdated;
+  private LocalDateTime dateFinished;
+}
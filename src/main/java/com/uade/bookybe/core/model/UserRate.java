@@ -15,6 +15,7 @@ public class UserRate {
     private String id;
     private String userId;
     private String exchangeId;
+    private String ratedUserId;
     private Integer rating; // 1-5
     private String comment;
     private LocalDateTime dateCreated;
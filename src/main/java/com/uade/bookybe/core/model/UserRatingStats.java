@@ -0,0 +1,24 @@
+package com.uade.bookybe.core.model;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserRatingStats {
+  private String userId;
+  private long ratingCount;
+  private long ratingSum;
+  /** Star (1-5) to number of ratings with that many stars */
+  private Map<Integer, Long> ratingsByStar;
+
+  /** Null when the user has no ratings, like SQL AVG */
+  public Double getAverageRating() {
+    return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+  }
+}
@@ -0,0 +1,7 @@
+package com.uade.bookybe.core.model.constant;
+
+public enum CommunitySort {
+  NEWEST,
+  MEMBERS,
+  ACTIVITY
+}
@@ -0,0 +1,8 @@
+package com.uade.bookybe.core.model.constant;
+
+public enum DeletionJobStatus {
+  PENDING,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,8 @@
+package com.uade.bookybe.core.model.constant;
+
+public enum ImportJobStatus {
+  PENDING,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,7 @@
+package com.uade.bookybe.core.model.constant;
+
+public enum LibrarySort {
+  TITLE,
+  DATE_ADDED,
+  STATUS
+}
@@ -0,0 +1,6 @@
+package com.uade.bookybe.core.model.constant;
+
+public enum TradeMatchType {
+  TWO_WAY,
+  THREE_WAY
+}
@@ -0,0 +1,36 @@
+package com.uade.bookybe.core.model.constant;
+
+/**
+ * Etapas del borrado de una cuenta, en el orden en que se ejecutan. Cada una borra en chunks lo
+ * que quede del usuario en sus tablas, así que repetir una etapa tras un reinicio es seguro.
+ */
+public enum UserDeletionStage {
+  /** Likes dados a posts de otros */
+  LIKES,
+  COMMENTS,
+  /** Posts propios con sus comentarios y likes; las imágenes quedan encoladas */
+  POSTS,
+  /** Calificaciones dadas, recibidas o sobre intercambios del usuario */
+  RATINGS,
+  EXCHANGES,
+  MESSAGES,
+  CHATS,
+  COMMUNITY_MEMBERSHIPS,
+  READING_CLUB_MEMBERSHIPS,
+  /** Clubes de lectura que modera, con sus miembros */
+  READING_CLUBS,
+  /** Comunidades que administra: se ocultan y se espera a sus propios jobs de borrado */
+  COMMUNITIES,
+  LIBRARY,
+  FOLLOWS,
+  /** Gamificación, estadísticas de calificaciones y claves de idempotencia */
+  PROFILE,
+  ACCOUNT,
+  /** Imágenes encoladas durante el borrado, a través de ImageStoragePort */
+  IMAGES;
+
+  public UserDeletionStage next() {
+    UserDeletionStage[] stages = values();
+    return ordinal() + 1 < stages.length ? stages[ordinal() + 1] : this;
+  }
+}
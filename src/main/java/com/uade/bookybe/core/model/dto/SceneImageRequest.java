@@ -22,6 +22,7 @@ public class SceneImageRequest {
 
   private Integer seed;
 
+  /** Ignored: images are always served by URL from our storage */
   @JsonProperty("return_base64")
   private Boolean returnBase64;
 
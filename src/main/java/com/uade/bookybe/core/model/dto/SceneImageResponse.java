@@ -1,6 +1,7 @@
 package com.uade.bookybe.core.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.uade.bookybe.core.model.constant.SceneImageStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,6 +15,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class SceneImageResponse {
 
+  private Long id;
+
+  private SceneImageStatus status;
+
+  @JsonProperty("error_message")
+  private String errorMessage;
+
   @JsonProperty("book_id")
   private String bookId;
 
@@ -23,9 +31,20 @@ public class SceneImageResponse {
   @JsonProperty("image_url")
   private String imageUrl;
 
+  /** Only for generations stored before images were copied to our storage */
   @JsonProperty("image_base64")
   private String imageBase64;
 
+  @JsonProperty("thumbnail_url")
+  private String thumbnailUrl;
+
+  private Integer width;
+
+  private Integer height;
+
+  @JsonProperty("size_bytes")
+  private Long sizeBytes;
+
   private String size;
 
   @JsonProperty("created_at")
@@ -0,0 +1,51 @@
+package com.uade.bookybe.core.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.uade.bookybe.core.model.constant.SceneImageStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scene image generation as listed: no prompt or image payload, just what a gallery needs. Built
+ * by a JPQL constructor expression, so the field order is the query's column order.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SceneImageSummary {
+
+  private Long id;
+
+  private SceneImageStatus status;
+
+  @JsonProperty("book_id")
+  private String bookId;
+
+  @JsonProperty("reading_club_id")
+  private String readingClubId;
+
+  private String size;
+
+  private String style;
+
+  @JsonProperty("image_url")
+  private String imageUrl;
+
+  @JsonProperty("thumbnail_url")
+  private String thumbnailUrl;
+
+  private Integer width;
+
+  private Integer height;
+
+  @JsonProperty("size_bytes")
+  private Long sizeBytes;
+
+  @JsonProperty("created_at")
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.uade.bookybe.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** An image kept in our own storage, with what clients need to lay it out before loading it */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoredImage {
+
+  private String url;
+  /** Null if the preview could not be generated */
+  private String thumbnailUrl;
+  private Integer width;
+  private Integer height;
+  private Long sizeBytes;
+}
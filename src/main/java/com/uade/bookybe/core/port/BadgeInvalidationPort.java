@@ -0,0 +1,24 @@
+package com.uade.bookybe.core.port;
+
+import java.util.Collection;
+
+/** Propagates badge counter invalidations between the nodes that serve the API. */
+public interface BadgeInvalidationPort {
+
+  /**
+   * Tells the other nodes that the counters of these users changed. When called inside a
+   * transaction the notice is only delivered if, and when, it commits.
+   */
+  void publish(Collection<String> userIds);
+
+  /** Registers the callback that receives invalidations published by other nodes */
+  void subscribe(Listener listener);
+
+  interface Listener {
+
+    void onInvalidated(Collection<String> userIds);
+
+    /** Notices may have been lost (e.g. the connection dropped), so every counter is suspect */
+    void onInvalidationsMissed();
+  }
+}
@@ -0,0 +1,21 @@
+package com.uade.bookybe.core.port;
+
+import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.BookSearchResult;
+import java.util.Collection;
+
+public interface BookSearchPort {
+
+  /**
+   * Ranked search over title, author and categories. Every query term has to match (whole word or
+   * word prefix). Results are ordered by relevance; facets are counted over all matches before the
+   * category filter is applied. A size of 0 only computes the total and the facets.
+   */
+  BookSearchResult search(String query, String category, int page, int size);
+
+  /**
+   * Adds or replaces books in the index. Ids that are indexed but never committed are skipped when
+   * results are loaded, and the periodic rebuild drops them.
+   */
+  void index(Collection<Book> books);
+}
@@ -0,0 +1,17 @@
+package com.uade.bookybe.core.port;
+
+import com.uade.bookybe.core.model.CommunitySearchResult;
+
+public interface CommunitySearchPort {
+
+  /**
+   * Ranked search over name and description. Every query term has to match (whole word or word
+   * prefix); name matches weigh more than description matches.
+   */
+  CommunitySearchResult search(String query, int page, int size);
+
+  /** Adds or replaces a community in the index */
+  void index(String communityId, String name, String description);
+
+  void remove(String communityId);
+}
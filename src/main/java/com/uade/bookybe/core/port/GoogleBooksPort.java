@@ -2,12 +2,19 @@ package com.uade.bookybe.core.port;
 
 import com.uade.bookybe.core.model.Book;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface GoogleBooksPort {
 
   /** Fetches book information from Google Books API by ISBN */
   Optional<Book> getBookByIsbn(String isbn);
 
+  /**
+   * Non-blocking variant of {@link #getBookByIsbn(String)} for resolving many ISBNs in parallel.
+   * The future never completes exceptionally: failures resolve to an empty Optional.
+   */
+  CompletableFuture<Optional<Book>> getBookByIsbnAsync(String isbn);
+
   /** Searches books in Google Books API by title */
   Optional<Book> searchBookByTitle(String title);
 }
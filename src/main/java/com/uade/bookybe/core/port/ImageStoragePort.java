@@ -20,6 +20,16 @@ public interface ImageStoragePort {
 
   Optional<String> uploadImage(String base64, String folder);
 
+  /**
+   * Sube una imagen que ya está en memoria, por ejemplo una generada por el servidor
+   *
+   * @param bytes Contenido de la imagen
+   * @param contentType Tipo MIME de la imagen (image/png, image/jpeg, ...)
+   * @param folder Carpeta donde almacenar la imagen (opcional)
+   * @return URL pública de la imagen subida, o Optional.empty() si falla
+   */
+  Optional<String> uploadImage(byte[] bytes, String contentType, String folder);
+
   /**
    * Elimina una imagen del servicio de almacenamiento
    *
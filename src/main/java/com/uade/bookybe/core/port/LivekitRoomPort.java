@@ -0,0 +1,27 @@
+package com.uade.bookybe.core.port;
+
+import com.uade.bookybe.core.model.LivekitRoom;
+import com.uade.bookybe.core.model.LivekitRoomEvent;
+import java.util.List;
+import java.util.Optional;
+
+/** Room API of the LiveKit server. Every call is a remote request. */
+public interface LivekitRoomPort {
+
+  LivekitRoom createRoom(String roomName, LivekitRoom.RoomOptions options);
+
+  Optional<LivekitRoom> getRoom(String roomName);
+
+  /** Identities of the participants connected to the room */
+  List<String> listParticipants(String roomName);
+
+  /** Disconnects everyone and closes the room; a room that does not exist is not an error */
+  void deleteRoom(String roomName);
+
+  /**
+   * Verifies the signature of a webhook call (the Authorization header is a JWT signed with the
+   * API secret that carries the SHA-256 of the body) and parses it. Throws UnauthorizedException
+   * if the signature does not match.
+   */
+  LivekitRoomEvent receiveWebhook(String body, String authorization);
+}
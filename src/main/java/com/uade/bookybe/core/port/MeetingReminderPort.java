@@ -0,0 +1,9 @@
+package com.uade.bookybe.core.port;
+
+import com.uade.bookybe.core.model.MeetingReminder;
+
+/** Delivers reading club meeting reminders to the members of the club */
+public interface MeetingReminderPort {
+
+  void publish(MeetingReminder reminder);
+}
@@ -1,37 +1,104 @@
 package com.uade.bookybe.core.port;
 
 import com.uade.bookybe.core.model.SceneImageGeneration;
+import com.uade.bookybe.core.model.constant.SceneImageStatus;
+import com.uade.bookybe.core.model.dto.SceneImageSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SceneImageGenerationRepository extends JpaRepository<SceneImageGeneration, Long> {
 
+  String SUMMARY_SELECT = "SELECT new com.uade.bookybe.core.model.dto.SceneImageSummary("
+      + "sig.id, sig.status, sig.bookId, sig.readingClubId, sig.size, sig.style, sig.imageUrl, "
+      + "sig.thumbnailUrl, sig.imageWidth, sig.imageHeight, sig.imageSizeBytes, sig.createdAt) "
+      + "FROM SceneImageGeneration sig ";
+
   /**
-   * Find existing generation by book ID and fragment hash to avoid duplicates
+   * Find existing generations by book ID and fragment hash, from any reading club, to reuse them
    */
-  Optional<SceneImageGeneration> findByBookIdAndFragmentHash(String bookId, String fragmentHash);
+  List<SceneImageGeneration> findByBookIdAndFragmentHashOrderByCreatedAtDesc(
+      String bookId, String fragmentHash);
 
   /**
-   * Find all generations for a specific book
+   * Summaries of all generations for a specific book, newest first, without image payloads
    */
-  List<SceneImageGeneration> findByBookIdOrderByCreatedAtDesc(String bookId);
+  @Query(SUMMARY_SELECT + "WHERE sig.bookId = :bookId ORDER BY sig.createdAt DESC")
+  List<SceneImageSummary> findSummariesByBookId(@Param("bookId") String bookId);
 
   /**
-   * Find all generations for a specific reading club
+   * Summaries of all generations for a specific reading club, newest first, without image payloads
    */
-  List<SceneImageGeneration> findByReadingClubIdOrderByCreatedAtDesc(String readingClubId);
+  @Query(SUMMARY_SELECT + "WHERE sig.readingClubId = :readingClubId ORDER BY sig.createdAt DESC")
+  List<SceneImageSummary> findSummariesByReadingClubId(@Param("readingClubId") String readingClubId);
 
   /**
    * Find existing generation by reading club ID and fragment hash to avoid duplicates
    */
   Optional<SceneImageGeneration> findByReadingClubIdAndFragmentHash(String readingClubId, String fragmentHash);
 
+  /**
+   * Generations of a reading club for a fragment that are done or still running, newest first.
+   * Failed ones are skipped so the fragment can be generated again.
+   */
+  @Query("SELECT sig FROM SceneImageGeneration sig WHERE sig.readingClubId = :readingClubId "
+      + "AND sig.fragmentHash = :fragmentHash AND (sig.status IS NULL OR sig.status <> :failed) "
+      + "ORDER BY sig.createdAt DESC")
+  List<SceneImageGeneration> findReusableByReadingClubIdAndFragmentHash(
+      @Param("readingClubId") String readingClubId,
+      @Param("fragmentHash") String fragmentHash,
+      @Param("failed") SceneImageStatus failed);
+
+  /**
+   * Moves the generation to {@code to} only if it is still in one of {@code from}. Returns 0 when
+   * the stale job sweep or another worker changed it first.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE SceneImageGeneration sig SET sig.status = :to, sig.updatedAt = :now "
+      + "WHERE sig.id = :id AND sig.status IN :from")
+  int transitionStatus(
+      @Param("id") Long id,
+      @Param("from") Collection<SceneImageStatus> from,
+      @Param("to") SceneImageStatus to,
+      @Param("now") LocalDateTime now);
+
+  String STALE = "sig.status IN :inFlight AND (sig.updatedAt < :updatedBefore "
+      + "OR (sig.updatedAt IS NULL AND sig.createdAt < :updatedBefore))";
+
+  /**
+   * Jobs still in flight without a status change since {@code updatedBefore}; rows stored before
+   * updatedAt existed go by createdAt
+   */
+  @Query("SELECT sig.id FROM SceneImageGeneration sig WHERE " + STALE)
+  List<Long> findStaleIds(
+      @Param("inFlight") Collection<SceneImageStatus> inFlight,
+      @Param("updatedBefore") LocalDateTime updatedBefore);
+
+  /**
+   * Marks as failed the given jobs if they are still stale, e.g. because their node restarted
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE SceneImageGeneration sig SET sig.status = :failed, sig.errorMessage = :errorMessage, "
+      + "sig.completedAt = :now, sig.updatedAt = :now WHERE sig.id IN :ids AND " + STALE)
+  int failStaleGenerations(
+      @Param("ids") Collection<Long> ids,
+      @Param("inFlight") Collection<SceneImageStatus> inFlight,
+      @Param("updatedBefore") LocalDateTime updatedBefore,
+      @Param("failed") SceneImageStatus failed,
+      @Param("errorMessage") String errorMessage,
+      @Param("now") LocalDateTime now);
+
   /**
    * Count generations for a book (for analytics)
    */
@@ -7,38 +7,78 @@ import com.uade.bookybe.core.exception.OpenAIServiceException;
 import com.uade.bookybe.core.model.Book;
 import com.uade.bookybe.core.model.ReadingClub;
 import com.uade.bookybe.core.model.SceneImageGeneration;
+import com.uade.bookybe.core.model.constant.SceneImageStatus;
 import com.uade.bookybe.core.model.dto.ImageResult;
 import com.uade.bookybe.core.model.dto.SceneImageRequest;
 import com.uade.bookybe.core.model.dto.SceneImageResponse;
+import com.uade.bookybe.core.model.dto.SceneImageSummary;
+import com.uade.bookybe.core.model.dto.StoredImage;
 import com.uade.bookybe.core.port.SceneImageGenerationRepository;
 import com.uade.bookybe.core.service.gateway.OpenAIClient;
 import com.uade.bookybe.core.usecase.BookService;
 import com.uade.bookybe.core.usecase.ReadingClubService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
+/**
+ * Generación de imágenes 360° para clubes de lectura. Crear el prompt y la imagen en OpenAI puede
+ * tardar minutos, así que cada pedido se guarda como un job PENDING y corre en
+ * {@code sceneImageExecutor}: el request vuelve enseguida y el resultado se consulta por polling o
+ * se recibe por eventos. Ninguna transacción queda abierta mientras se espera a OpenAI; cada cambio
+ * de estado es un save corto. Antes de completar, la imagen se copia a nuestro storage con
+ * {@link SceneImageStorageService}: en la base queda solo la URL durable, sus dimensiones y un
+ * preview.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SceneImageService {
 
+  private static final List<SceneImageStatus> IN_FLIGHT =
+      List.of(SceneImageStatus.PENDING, SceneImageStatus.RUNNING);
+  private static final List<SceneImageStatus> PENDING = List.of(SceneImageStatus.PENDING);
+  private static final List<SceneImageStatus> RUNNING = List.of(SceneImageStatus.RUNNING);
+
   private final BookService bookService;
   private final ReadingClubService readingClubService;
   private final SceneImageGenerationRepository sceneImageGenerationRepository;
   private final PromptCraftService promptCraftService;
   private final OpenAIClient openAIClient;
+  private final SceneImageStorageService sceneImageStorageService;
   private final SceneImageConfig sceneImageConfig;
+  @Qualifier("sceneImageExecutor")
+  private final Executor sceneImageExecutor;
+
+  /** Generations running on this node, by what they generate; identical requests follow them */
+  private final ConcurrentMap<GenerationKey, Flight> inFlight = new ConcurrentHashMap<>();
+
+  /** Jobs queued, running or following another one on this node; the stale sweep skips them */
+  private final Set<Long> localJobs = ConcurrentHashMap.newKeySet();
+
+  /** Subscribers of the jobs running on this node, dropped when the job finishes */
+  private final ConcurrentMap<Long, List<Consumer<SceneImageResponse>>> watchers =
+      new ConcurrentHashMap<>();
 
   private static final List<String> VALID_SIZES = Arrays.asList(
       "1024x512", "2048x1024", "4096x2048"
@@ -46,7 +86,12 @@ public class SceneImageService {
 
   private static final Pattern SIZE_PATTERN = Pattern.compile("^(\\d+)x(\\d+)$");
 
-  @Transactional
+  /**
+   * Starts generating a scene image and returns the pending job. Nothing new is sent to OpenAI when
+   * the reading club already has the fragment (done or in progress), when another club of the same
+   * book has an identical image, or when an identical one is being generated on this node: the new
+   * job then waits for that one and takes its result.
+   */
   public SceneImageResponse generateSceneImage(String readingClubId, SceneImageRequest request) {
     log.info("Generating scene image for reading club: {} with text length: {}", readingClubId, request.getText().length());
 
@@ -67,59 +112,332 @@ public class SceneImageService {
     String fragmentHash = generateFragmentHash(request.getText());
 
     // Check if we already have this generation for this reading club
-    Optional<SceneImageGeneration> existingGeneration =
-        sceneImageGenerationRepository.findByReadingClubIdAndFragmentHash(readingClubId, fragmentHash);
-
-    if (existingGeneration.isPresent()) {
+    List<SceneImageGeneration> existingGenerations =
+        sceneImageGenerationRepository.findReusableByReadingClubIdAndFragmentHash(
+            readingClubId, fragmentHash, SceneImageStatus.FAILED);
+
+    // Older rows point at OpenAI URLs that have expired by now, so those are generated again
+    Optional<SceneImageGeneration> existing = existingGenerations.stream()
+        .filter(generation -> isInFlight(generation.getStatus()) || isStored(generation))
+        .findFirst();
+    if (existing.isPresent()) {
       log.info("Found existing generation for reading club: {} and fragment hash: {}", readingClubId, fragmentHash);
-      return mapToResponse(existingGeneration.get());
+      return mapToResponse(existing.get());
+    }
+
+    String style = request.getStyle() != null ? request.getStyle() : "photorealistic";
+    String size = request.getSize() != null ? request.getSize() : sceneImageConfig.getDefaultSize();
+
+    GenerationKey key = new GenerationKey(bookId, fragmentHash, size, style, request.getSeed());
+
+    // Another reading club of the same book may already have this image
+    Optional<SceneImageGeneration> fromOtherClub = findCompletedForBook(key);
+    if (fromOtherClub.isPresent()) {
+      log.info("Reusing generation {} of another reading club for reading club: {}",
+          fromOtherClub.get().getId(), readingClubId);
+      SceneImageGeneration copy = newGeneration(readingClubId, key);
+      copyResult(fromOtherClub.get(), copy);
+      return mapToResponse(sceneImageGenerationRepository.save(copy));
     }
 
+    // The same image may be being generated right now: follow that job instead of paying twice
+    Flight leader = inFlight.get(key);
+    if (leader != null && leader.readingClubId().equals(readingClubId)) {
+      return mapToResponse(leader.generation());
+    }
+
+    SceneImageGeneration pending = sceneImageGenerationRepository.save(newGeneration(readingClubId, key));
+    Flight flight = new Flight(readingClubId, pending, new CompletableFuture<>());
+    leader = inFlight.putIfAbsent(key, flight);
+    localJobs.add(pending.getId());
+    if (leader != null) {
+      log.info("Generation {} follows in-flight generation {}", pending.getId(), leader.generation().getId());
+      leader.result().thenAccept(result -> finishFollower(pending, result));
+      return mapToResponse(pending);
+    }
+
+    GenerationTask task = new GenerationTask(book, request.getText());
     try {
-      // Generate the crafted prompt
-      String style = request.getStyle() != null ? request.getStyle() : "photorealistic";
-      String craftedPrompt = promptCraftService.buildPrompt(book, request.getText(), style);
+      sceneImageExecutor.execute(() -> runGeneration(key, flight, task));
+    } catch (RejectedExecutionException e) {
+      pending.setStatus(SceneImageStatus.FAILED);
+      pending.setErrorMessage("Scene image queue is full, try again later");
+      inFlight.remove(key, flight);
+      localJobs.remove(pending.getId());
+      flight.result().complete(pending);
+      sceneImageGenerationRepository.delete(pending);
+      throw new OpenAIServiceException("Scene image queue is full, try again later", e);
+    }
+
+    log.info("Queued scene image generation {} for reading club: {}", pending.getId(), readingClubId);
+    return mapToResponse(pending);
+  }
+
+  /** Current state of a generation of the reading club */
+  public Optional<SceneImageResponse> getSceneImage(String readingClubId, Long generationId) {
+    return sceneImageGenerationRepository.findById(generationId)
+        .filter(generation -> readingClubId.equals(generation.getReadingClubId()))
+        .map(this::mapToResponse);
+  }
 
-      // Generate the image - prefer URL for large sizes to avoid buffer issues
-      String size = request.getSize() != null ? request.getSize() : sceneImageConfig.getDefaultSize();
-      boolean returnBase64 = Boolean.TRUE.equals(request.getReturnBase64());
+  /**
+   * Sends the current state of a generation to {@code listener} and then every change until it
+   * completes or fails. The listener may see the final state twice, and only jobs running on this
+   * node push changes (clients can always fall back to polling). Returns false if the generation
+   * does not exist.
+   */
+  public boolean watchSceneImage(
+      String readingClubId, Long generationId, Consumer<SceneImageResponse> listener) {
+    watchers.compute(generationId, (id, listeners) -> {
+      List<Consumer<SceneImageResponse>> updated =
+          listeners != null ? listeners : new CopyOnWriteArrayList<>();
+      updated.add(listener);
+      return updated;
+    });
+
+    // Registered first, so a change made after this read still reaches the listener
+    Optional<SceneImageResponse> current = getSceneImage(readingClubId, generationId);
+    if (current.isEmpty() || isFinished(current.get().getStatus())) {
+      unwatchSceneImage(generationId, listener);
+    }
+    current.ifPresent(listener);
+    return current.isPresent();
+  }
 
-      // For large images, force URL response to prevent buffer overflow
-      if (returnBase64 && isLargeImageSize(size)) {
-        log.info("Large image size {} requested with base64, switching to URL to prevent buffer overflow", size);
-        returnBase64 = false;
+  /**
+   * Stops sending changes to {@code listener}. Called when its stream closes, times out or fails,
+   * so a client that goes away doesn't stay subscribed until the job ends.
+   */
+  public void unwatchSceneImage(Long generationId, Consumer<SceneImageResponse> listener) {
+    watchers.computeIfPresent(generationId, (id, listeners) -> {
+      listeners.remove(listener);
+      return listeners.isEmpty() ? null : listeners;
+    });
+  }
+
+  /**
+   * Fails in-flight jobs without a status change for {@code scene-image.job-timeout}, e.g. because
+   * their node restarted. Jobs of this node are alive however slow they are, so they are skipped;
+   * watchers here of the failed ones get the failure and are dropped.
+   */
+  @Scheduled(fixedDelayString = "${scene-image.job-timeout:PT10M}")
+  public void failStaleGenerations() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime updatedBefore = now.minus(sceneImageConfig.getJobTimeout());
+    List<Long> staleIds = sceneImageGenerationRepository.findStaleIds(IN_FLIGHT, updatedBefore)
+        .stream()
+        .filter(id -> !localJobs.contains(id))
+        .toList();
+    if (staleIds.isEmpty()) {
+      return;
+    }
+
+    int failed = sceneImageGenerationRepository.failStaleGenerations(
+        staleIds,
+        IN_FLIGHT,
+        updatedBefore,
+        SceneImageStatus.FAILED,
+        "Generation did not finish in time",
+        now);
+    if (failed > 0) {
+      log.warn("Marked {} stale scene image generations as failed", failed);
+    }
+    for (Long id : staleIds) {
+      if (watchers.containsKey(id)) {
+        sceneImageGenerationRepository.findById(id).ifPresent(this::notifyWatchers);
+        watchers.remove(id);
+      }
+    }
+  }
+
+  private void runGeneration(GenerationKey key, Flight flight, GenerationTask task) {
+    SceneImageGeneration generation = flight.generation();
+    try {
+      generation.setStatus(SceneImageStatus.RUNNING);
+      Optional<SceneImageGeneration> running = transition(generation, PENDING);
+      if (running.isEmpty()) {
+        generation = changedElsewhere(generation);
+        return;
       }
+      generation = running.get();
 
-      ImageResult imageResult = openAIClient.generateImage(craftedPrompt, size, request.getSeed(), returnBase64);
-
-      // Save the generation record with both bookId and readingClubId
-      SceneImageGeneration generation = SceneImageGeneration.builder()
-          .bookId(bookId)
-          .readingClubId(readingClubId)
-          .fragmentHash(fragmentHash)
-          .craftedPrompt(craftedPrompt)
-          .imageUrl(imageResult.getUrl())
-          .imageBase64(imageResult.getBase64())
-          .size(size)
-          .style(style)
-          .seed(request.getSeed())
-          .createdAt(LocalDateTime.now())
-          .openaiResponseTimeMs(imageResult.getResponseTimeMs())
-          .promptTokens(imageResult.getPromptTokens())
-          .totalCostUsd(imageResult.getCostUsd())
-          .build();
-
-      generation = sceneImageGenerationRepository.save(generation);
+      // Generate the crafted prompt
+      String craftedPrompt =
+          promptCraftService.buildPrompt(task.book(), task.text(), generation.getStyle());
+
+      // Generate the image - base64 saves a download, but large sizes come by URL to avoid buffer issues
+      String size = generation.getSize();
+      ImageResult imageResult = openAIClient.generateImage(
+          craftedPrompt, size, generation.getSeed(), !isLargeImageSize(size));
+
+      // Only the durable copy is kept; the OpenAI URL expires and base64 does not belong in a row
+      StoredImage stored = sceneImageStorageService.store(imageResult);
+
+      generation.setCraftedPrompt(craftedPrompt);
+      generation.setImageUrl(stored.getUrl());
+      generation.setThumbnailUrl(stored.getThumbnailUrl());
+      generation.setImageWidth(stored.getWidth());
+      generation.setImageHeight(stored.getHeight());
+      generation.setImageSizeBytes(stored.getSizeBytes());
+      generation.setOpenaiResponseTimeMs(imageResult.getResponseTimeMs());
+      generation.setPromptTokens(imageResult.getPromptTokens());
+      generation.setTotalCostUsd(imageResult.getCostUsd());
+      generation.setStatus(SceneImageStatus.COMPLETED);
+      generation.setCompletedAt(LocalDateTime.now());
+      Optional<SceneImageGeneration> completed = transition(generation, RUNNING);
+      if (completed.isEmpty()) {
+        generation = changedElsewhere(generation);
+        return;
+      }
+      generation = completed.get();
 
       log.info("Successfully generated scene image for reading club: {} (book: {}) in {}ms",
-          readingClubId, bookId, imageResult.getResponseTimeMs());
+          generation.getReadingClubId(), generation.getBookId(), imageResult.getResponseTimeMs());
 
-      return mapToResponse(generation);
+    } catch (Exception e) {
+      log.error("Error generating scene image for reading club: " + generation.getReadingClubId(), e);
+      fail(generation, "Failed to generate scene image: " + e.getMessage());
+    } finally {
+      // Stored before leaving the map, so a new request finds it in the database instead
+      inFlight.remove(key, flight);
+      localJobs.remove(generation.getId());
+      watchers.remove(generation.getId());
+      flight.result().complete(generation);
+    }
+  }
 
+  /** Completes a generation that waited for an identical in-flight one */
+  private void finishFollower(SceneImageGeneration follower, SceneImageGeneration leader) {
+    try {
+      if (leader.getStatus() == SceneImageStatus.COMPLETED) {
+        copyResult(leader, follower);
+        if (transition(follower, PENDING).isEmpty()) {
+          changedElsewhere(follower);
+        }
+      } else {
+        fail(follower, leader.getErrorMessage());
+      }
     } catch (Exception e) {
-      log.error("Error generating scene image for reading club: " + readingClubId, e);
-      throw new OpenAIServiceException("Failed to generate scene image: " + e.getMessage(), e);
+      log.error("Could not complete scene image generation {}", follower.getId(), e);
+    } finally {
+      localJobs.remove(follower.getId());
+      watchers.remove(follower.getId());
+    }
+  }
+
+  /** Stores the failure unless the job already finished, e.g. failed by the stale sweep */
+  private void fail(SceneImageGeneration generation, String errorMessage) {
+    generation.setStatus(SceneImageStatus.FAILED);
+    generation.setErrorMessage(errorMessage);
+    generation.setCompletedAt(LocalDateTime.now());
+    try {
+      transition(generation, IN_FLIGHT);
+    } catch (Exception saveError) {
+      log.error("Could not store failure of scene image generation {}", generation.getId(), saveError);
+    }
+  }
+
+  /** Completed generations of any reading club of the book with the same parameters */
+  private Optional<SceneImageGeneration> findCompletedForBook(GenerationKey key) {
+    return sceneImageGenerationRepository
+        .findByBookIdAndFragmentHashOrderByCreatedAtDesc(key.bookId(), key.fragmentHash())
+        .stream()
+        .filter(SceneImageService::isStored)
+        .filter(generation -> key.equals(keyOf(generation)))
+        .findFirst();
+  }
+
+  private static GenerationKey keyOf(SceneImageGeneration generation) {
+    return new GenerationKey(
+        generation.getBookId(),
+        generation.getFragmentHash(),
+        generation.getSize(),
+        generation.getStyle(),
+        generation.getSeed());
+  }
+
+  /** Completed with its image in our storage */
+  private static boolean isStored(SceneImageGeneration generation) {
+    return (generation.getStatus() == null || generation.getStatus() == SceneImageStatus.COMPLETED)
+        && generation.getImageSizeBytes() != null;
+  }
+
+  private static SceneImageGeneration newGeneration(String readingClubId, GenerationKey key) {
+    LocalDateTime now = LocalDateTime.now();
+    return SceneImageGeneration.builder()
+        .bookId(key.bookId())
+        .readingClubId(readingClubId)
+        .fragmentHash(key.fragmentHash())
+        .size(key.size())
+        .style(key.style())
+        .seed(key.seed())
+        .status(SceneImageStatus.PENDING)
+        .createdAt(now)
+        .updatedAt(now)
+        .build();
+  }
+
+  /**
+   * Copies the image of another generation, sharing its stored files; nothing was spent on OpenAI
+   * for the copy
+   */
+  private static void copyResult(SceneImageGeneration source, SceneImageGeneration target) {
+    target.setCraftedPrompt(source.getCraftedPrompt());
+    target.setImageUrl(source.getImageUrl());
+    target.setThumbnailUrl(source.getThumbnailUrl());
+    target.setImageWidth(source.getImageWidth());
+    target.setImageHeight(source.getImageHeight());
+    target.setImageSizeBytes(source.getImageSizeBytes());
+    target.setStatus(SceneImageStatus.COMPLETED);
+    target.setCompletedAt(LocalDateTime.now());
+  }
+
+  /**
+   * Stores a status change only if the job is still in one of {@code from}, so a job the stale
+   * sweep already failed is never brought back to life; then pushes it to the watchers of the job.
+   * Empty if the job had moved on.
+   */
+  private Optional<SceneImageGeneration> transition(
+      SceneImageGeneration generation, Collection<SceneImageStatus> from) {
+    LocalDateTime now = LocalDateTime.now();
+    if (sceneImageGenerationRepository.transitionStatus(
+        generation.getId(), from, generation.getStatus(), now) == 0) {
+      return Optional.empty();
     }
+    generation.setUpdatedAt(now);
+    SceneImageGeneration saved = sceneImageGenerationRepository.save(generation);
+    notifyWatchers(saved);
+    return Optional.of(saved);
+  }
+
+  /** The stored state of a job changed behind this worker, pushed to its watchers */
+  private SceneImageGeneration changedElsewhere(SceneImageGeneration generation) {
+    SceneImageGeneration current =
+        sceneImageGenerationRepository.findById(generation.getId()).orElse(generation);
+    log.warn("Scene image generation {} is already {}, dropping its {} result",
+        generation.getId(), current.getStatus(), generation.getStatus());
+    notifyWatchers(current);
+    return current;
+  }
+
+  private void notifyWatchers(SceneImageGeneration generation) {
+    SceneImageResponse response = mapToResponse(generation);
+    for (Consumer<SceneImageResponse> listener : watchers.getOrDefault(generation.getId(), List.of())) {
+      try {
+        listener.accept(response);
+      } catch (RuntimeException e) {
+        log.debug("Scene image watcher failed: {}", e.getMessage());
+      }
+    }
+  }
+
+  /** Null is a row stored before generations became jobs, so a completed one */
+  private static boolean isInFlight(SceneImageStatus status) {
+    return status != null && IN_FLIGHT.contains(status);
+  }
+
+  private static boolean isFinished(SceneImageStatus status) {
+    return status == SceneImageStatus.COMPLETED || status == SceneImageStatus.FAILED;
   }
 
   private boolean isLargeImageSize(String size) {
@@ -192,10 +510,17 @@ public class SceneImageService {
 
   private SceneImageResponse mapToResponse(SceneImageGeneration generation) {
     return SceneImageResponse.builder()
+        .id(generation.getId())
+        .status(generation.getStatus() != null ? generation.getStatus() : SceneImageStatus.COMPLETED)
+        .errorMessage(generation.getErrorMessage())
         .bookId(generation.getBookId())
         .craftedPrompt(generation.getCraftedPrompt())
         .imageUrl(generation.getImageUrl())
         .imageBase64(generation.getImageBase64())
+        .thumbnailUrl(generation.getThumbnailUrl())
+        .width(generation.getImageWidth())
+        .height(generation.getImageHeight())
+        .sizeBytes(generation.getImageSizeBytes())
         .size(generation.getSize())
         .style(generation.getStyle())
         .seed(generation.getSeed())
@@ -204,17 +529,25 @@ public class SceneImageService {
   }
 
   /**
-   * Get all scene generations for a specific book
+   * Get all scene generations for a specific book, without prompts or image payloads
    */
-  public List<SceneImageGeneration> getBookSceneGenerations(String bookId) {
-    return sceneImageGenerationRepository.findByBookIdOrderByCreatedAtDesc(bookId);
+  public List<SceneImageSummary> getBookSceneGenerations(String bookId) {
+    return withStatus(sceneImageGenerationRepository.findSummariesByBookId(bookId));
   }
 
   /**
-   * Get all scene generations for a specific reading club
+   * Get all scene generations for a specific reading club, without prompts or image payloads
    */
-  public List<SceneImageGeneration> getReadingClubSceneGenerations(String readingClubId) {
-    return sceneImageGenerationRepository.findByReadingClubIdOrderByCreatedAtDesc(readingClubId);
+  public List<SceneImageSummary> getReadingClubSceneGenerations(String readingClubId) {
+    return withStatus(sceneImageGenerationRepository.findSummariesByReadingClubId(readingClubId));
+  }
+
+  /** Rows stored before generations became jobs have no status; those are all completed */
+  private static List<SceneImageSummary> withStatus(List<SceneImageSummary> summaries) {
+    summaries.stream()
+        .filter(summary -> summary.getStatus() == null)
+        .forEach(summary -> summary.setStatus(SceneImageStatus.COMPLETED));
+    return summaries;
   }
 
   /**
@@ -230,5 +563,20 @@ public class SceneImageService {
   public long getBookGenerationCount(String bookId) {
     return sceneImageGenerationRepository.countByBookId(bookId);
   }
+
+  private record GenerationTask(Book book, String text) {}
+
+  /** What makes two generations interchangeable */
+  private record GenerationKey(
+      String bookId,
+      String fragmentHash,
+      String size,
+      String style,
+      Integer seed) {}
+
+  private record Flight(
+      String readingClubId,
+      SceneImageGeneration generation,
+      CompletableFuture<SceneImageGeneration> result) {}
 }
 
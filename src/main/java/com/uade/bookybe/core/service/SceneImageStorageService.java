@@ -0,0 +1,134 @@
+package com.uade.bookybe.core.service;
+
+import com.uade.bookybe.config.SceneImageConfig;
+import com.uade.bookybe.core.model.dto.ImageResult;
+import com.uade.bookybe.core.model.dto.StoredImage;
+import com.uade.bookybe.core.port.ImageStoragePort;
+import com.uade.bookybe.core.service.gateway.ImageDownloadClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Copia las imágenes generadas por OpenAI a nuestro storage: las URLs de OpenAI vencen en una hora
+ * y el base64 no debería vivir en la base. Lee el tamaño del header de la imagen sin decodificarla y
+ * arma el preview decodificando con submuestreo, así una imagen de 4096x2048 nunca se carga entera
+ * en memoria.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SceneImageStorageService {
+
+  private static final String THUMBNAIL_FORMAT = "jpg";
+
+  private final ImageStoragePort imageStoragePort;
+  private final ImageDownloadClient imageDownloadClient;
+  private final SceneImageConfig sceneImageConfig;
+
+  /**
+   * Stores the generated image and its preview. Fails if the image can't be read or stored; a
+   * preview that can't be generated is only logged.
+   */
+  public StoredImage store(ImageResult image) {
+    byte[] bytes = fetch(image);
+
+    try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        throw new IllegalStateException("Generated image format is not supported");
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        String contentType = "image/" + reader.getFormatName().toLowerCase(Locale.ROOT);
+        byte[] thumbnail = thumbnail(reader, width, height);
+
+        String folder = sceneImageConfig.getStorageFolder();
+        String url = imageStoragePort.uploadImage(bytes, contentType, folder)
+            .orElseThrow(() -> new IllegalStateException("Could not store generated image"));
+        String thumbnailUrl = thumbnail == null ? null
+            : imageStoragePort.uploadImage(thumbnail, "image/jpeg", folder + "/thumbnails")
+                .orElse(null);
+
+        log.info("Stored {}x{} scene image ({} bytes) at {}", width, height, bytes.length, url);
+        return StoredImage.builder()
+            .url(url)
+            .thumbnailUrl(thumbnailUrl)
+            .width(width)
+            .height(height)
+            .sizeBytes((long) bytes.length)
+            .build();
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read generated image", e);
+    }
+  }
+
+  private byte[] fetch(ImageResult image) {
+    long maxBytes = sceneImageConfig.getMaxImageBytes();
+    if (image.getBase64() != null) {
+      byte[] bytes = Base64.getDecoder().decode(image.getBase64());
+      if (bytes.length > maxBytes) {
+        throw new IllegalStateException("Image is larger than " + maxBytes + " bytes");
+      }
+      return bytes;
+    }
+    if (image.getUrl() == null) {
+      throw new IllegalStateException("OpenAI returned neither an image URL nor base64");
+    }
+    return imageDownloadClient.download(image.getUrl(), maxBytes);
+  }
+
+  /** JPEG preview at most {@code thumbnail-width} wide, or null if the image can't be decoded */
+  private byte[] thumbnail(ImageReader reader, int width, int height) {
+    try {
+      int thumbnailWidth = Math.min(sceneImageConfig.getThumbnailWidth(), width);
+      int thumbnailHeight = Math.max(1, (int) Math.round((double) height * thumbnailWidth / width));
+
+      // Decoding every step-th pixel keeps the decoded image close to the preview size
+      int step = Math.max(1, width / thumbnailWidth);
+      ImageReadParam param = reader.getDefaultReadParam();
+      param.setSourceSubsampling(step, step, 0, 0);
+      BufferedImage source = reader.read(0, param);
+
+      BufferedImage preview =
+          new BufferedImage(thumbnailWidth, thumbnailHeight, BufferedImage.TYPE_INT_RGB);
+      Graphics2D graphics = preview.createGraphics();
+      try {
+        graphics.setRenderingHint(
+            RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, thumbnailWidth, thumbnailHeight, null);
+      } finally {
+        graphics.dispose();
+      }
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      if (!ImageIO.write(preview, THUMBNAIL_FORMAT, output)) {
+        throw new IOException("No writer for " + THUMBNAIL_FORMAT);
+      }
+      return output.toByteArray();
+    } catch (IOException | RuntimeException e) {
+      log.warn("Could not generate scene image preview: {}", e.getMessage());
+      return null;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.uade.bookybe.core.service.gateway;
+
+import com.uade.bookybe.config.SceneImageConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Fetches generated images from the temporary URLs returned by OpenAI. The body is read as a
+ * stream and cut off at {@code scene-image.max-image-bytes}, so an unexpected response can't take
+ * the heap.
+ */
+@Service
+@Slf4j
+public class ImageDownloadClient {
+
+  private final HttpClient httpClient;
+  private final Duration timeout;
+
+  public ImageDownloadClient(SceneImageConfig sceneImageConfig) {
+    this.timeout = sceneImageConfig.getDownloadTimeout();
+    this.httpClient = HttpClient.newBuilder()
+        .connectTimeout(timeout)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+  }
+
+  /**
+   * Downloads the image at {@code url}, failing if it is larger than {@code maxBytes}
+   */
+  public byte[] download(String url, long maxBytes) {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+        .timeout(timeout)
+        .header("User-Agent", "BookyBE/1.0")
+        .GET()
+        .build();
+
+    try {
+      HttpResponse<InputStream> response =
+          httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+      try (InputStream body = response.body()) {
+        if (response.statusCode() != 200) {
+          throw new RuntimeException("Image download failed with status " + response.statusCode());
+        }
+        long declared = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        if (declared > maxBytes) {
+          throw new RuntimeException("Image is larger than " + maxBytes + " bytes");
+        }
+        return readAtMost(body, maxBytes, declared);
+      }
+    } catch (IOException e) {
+      log.error("Error downloading generated image: {}", e.getMessage());
+      throw new RuntimeException("Failed to download generated image", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while downloading generated image", e);
+    }
+  }
+
+  private static byte[] readAtMost(InputStream body, long maxBytes, long declared)
+      throws IOException {
+    ByteArrayOutputStream out =
+        new ByteArrayOutputStream(declared > 0 ? (int) declared : 64 * 1024);
+    byte[] buffer = new byte[64 * 1024];
+    long total = 0;
+    int read;
+    while ((read = body.read(buffer)) != -1) {
+      total += read;
+      if (total > maxBytes) {
+        throw new RuntimeException("Image is larger than " + maxBytes + " bytes");
+      }
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,18 @@
+package com.uade.bookybe.core.usecase;
+
+import com.uade.bookybe.core.model.UserBadges;
+
+public interface BadgeService {
+
+  /**
+   * Pending exchanges, unread messages and unnotified achievements of the user. Served from memory
+   * and only recomputed after a change invalidated them.
+   */
+  UserBadges getBadges(String userId);
+
+  /**
+   * Drops the cached counters of these users once the current transaction commits (right away if
+   * there is none) and tells the other nodes to do the same.
+   */
+  void invalidate(String... userIds);
+}
@@ -7,9 +7,16 @@ import java.util.Optional;
 
 public interface BookExchangeService {
 
-  /** Creates a new book exchange request */
+  /**
+   * Creates a new book exchange request. A retry with the same idempotency key returns the
+   * exchange created the first time.
+   */
   Optional<BookExchange> createExchange(
-      String requesterId, String ownerId, List<String> ownerBookIds, List<String> requesterBookIds);
+      String requesterId,
+      String ownerId,
+      List<String> ownerBookIds,
+      List<String> requesterBookIds,
+      String idempotencyKey);
 
   /** Gets all exchanges for a user (both as requester and owner) */
   List<BookExchange> getUserExchanges(String userId);
@@ -20,13 +27,21 @@ public interface BookExchangeService {
   /** Gets a specific exchange by ID */
   Optional<BookExchange> getExchangeById(String exchangeId);
 
-  /** Updates the status of an exchange (accept, reject, complete, cancel) */
+  /**
+   * Updates the status of an exchange (accept, reject, complete, cancel). The transition only
+   * applies if the exchange is still in the status it was read in; a retry with the same
+   * idempotency key returns the current exchange without repeating side effects.
+   */
   Optional<BookExchange> updateExchangeStatus(
-      String exchangeId, String userId, ExchangeStatus status);
+      String exchangeId, String userId, ExchangeStatus status, String idempotencyKey);
 
-  /** Creates a counter offer for an existing exchange */
+  /** Creates a counter offer for an existing exchange, idempotent like the status update */
   Optional<BookExchange> createCounterOffer(
-      String exchangeId, String userId, List<String> ownerBookIds, List<String> requesterBookIds);
+      String exchangeId,
+      String userId,
+      List<String> ownerBookIds,
+      List<String> requesterBookIds,
+      String idempotencyKey);
 
   /** Gets exchanges where user is the requester */
   List<BookExchange> getExchangesAsRequester(String userId);
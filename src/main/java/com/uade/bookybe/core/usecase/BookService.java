@@ -1,18 +1,25 @@
 package com.uade.bookybe.core.usecase;
 
 import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.BookSearchResult;
+import com.uade.bookybe.core.model.LibraryCounts;
 import com.uade.bookybe.core.model.UserBook;
 import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.LibrarySort;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
 
 public interface BookService {
 
   /** Adds a book to user's library. If book doesn't exist, fetches from Google Books API */
   Optional<UserBook> addBookToUserLibrary(String userId, String isbn, BookStatus status);
 
-  /** Searches books by query (searches in title, author, and categories) */
-  List<Book> searchBooks(String query);
+  /**
+   * Ranked search by query over title, author and categories, optionally filtered by category.
+   * Returns one page of results plus the total and the category facets of all matches
+   */
+  BookSearchResult searchBooks(String query, String category, int page, int size);
 
   /** Gets a book by ISBN. If not in DB, fetches from Google Books API and saves it */
   Optional<Book> getBookByIsbn(String isbn);
@@ -33,8 +40,22 @@ public interface BookService {
   /** Gets user's favorite books */
   List<UserBook> getUserFavoriteBooks(String userId);
 
-  /** Gets user's library with optional filters for favorites, status and exchange preference */
-  List<UserBook> getUserLibraryFiltered(String userId, Boolean favorites, BookStatus status, Boolean wantsToExchange);
+  /**
+   * Gets a page of the user's library with optional filters for favorites, status and exchange
+   * preference, sorted by title, date added or status
+   */
+  Page<UserBook> getUserLibraryFiltered(
+      String userId,
+      Boolean favorites,
+      BookStatus status,
+      Boolean wantsToExchange,
+      LibrarySort sort,
+      boolean ascending,
+      int page,
+      int size);
+
+  /** Counts the user's books per status, favorites and books flagged for exchange */
+  LibraryCounts getUserLibraryCounts(String userId);
 
   /** Gets books available for exchange */
   List<UserBook> getBooksForExchange();
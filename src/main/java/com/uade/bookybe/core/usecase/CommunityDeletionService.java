@@ -0,0 +1,18 @@
+package com.uade.bookybe.core.usecase;
+
+import com.uade.bookybe.core.model.CommunityDeletionJob;
+import java.util.Optional;
+
+public interface CommunityDeletionService {
+
+  /**
+   * Starts deleting the comments, posts and members of an already hidden community in the
+   * background, and finally the community itself. When the current transaction commits the job is
+   * queued; if a deletion of the same community is already running on this node, that job is
+   * returned instead.
+   */
+  CommunityDeletionJob startDeletion(String communityId, String adminId);
+
+  /** Gets the progress of a deletion job started by the admin */
+  Optional<CommunityDeletionJob> getDeletionJob(String adminId, String jobId);
+}
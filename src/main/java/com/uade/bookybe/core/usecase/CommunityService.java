@@ -1,6 +1,10 @@
 package com.uade.bookybe.core.usecase;
 
 import com.uade.bookybe.core.model.Community;
+import com.uade.bookybe.core.model.CommunityDeletionJob;
+import com.uade.bookybe.core.model.CommunityPage;
+import com.uade.bookybe.core.model.CommunitySearchResult;
+import com.uade.bookybe.core.model.constant.CommunitySort;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,14 +16,22 @@ public interface CommunityService {
 
   List<Community> getCommunitiesByAdminId(String adminId);
 
-  List<Community> getAllCommunities();
+  /**
+   * Keyset page of communities in the given order. Pass the previous page's {@code nextCursor} to
+   * continue; a cursor only works with the sort it was issued for.
+   */
+  CommunityPage getCommunities(CommunitySort sort, String cursor, int size);
 
-  List<Community> searchCommunities(String query);
+  CommunitySearchResult searchCommunities(String query, int page, int size);
 
   Optional<Community> updateCommunity(
       String communityId, String adminId, String name, String description);
 
-  boolean deleteCommunity(String communityId, String adminId);
+  /**
+   * Hides the community right away and queues a background job that deletes its comments, posts
+   * and members. Empty when the community does not exist or is already being deleted.
+   */
+  Optional<CommunityDeletionJob> deleteCommunity(String communityId, String adminId);
 
   boolean joinCommunity(String communityId, String userId);
 
@@ -0,0 +1,25 @@
+package com.uade.bookybe.core.usecase;
+
+import com.uade.bookybe.core.model.SuggestedTrade;
+import com.uade.bookybe.core.model.constant.BookStatus;
+import java.util.List;
+
+public interface ExchangeMatchingService {
+
+  /**
+   * Trades the user could propose: two-way matches with users who offer a book the user wishes
+   * and wish a book the user offers and, optionally, three-way cycles. Sorted by how balanced and
+   * large the trade is, then by distance.
+   */
+  List<SuggestedTrade> getSuggestedTrades(String userId, boolean includeThreeWay, int limit);
+
+  /**
+   * Keeps the match index in sync after a library row is added or changed. Applied once the
+   * current transaction commits
+   */
+  void onLibraryEntryChanged(
+      String userId, String bookId, BookStatus status, boolean wantsToExchange);
+
+  /** Drops every entry of the user from the match index, e.g. once their library is deleted */
+  void onUserLibraryRemoved(String userId);
+}
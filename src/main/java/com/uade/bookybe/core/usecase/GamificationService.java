@@ -27,6 +27,8 @@ public interface GamificationService {
 
   /** Process book-related events */
   Optional<GamificationProfile> processBookAdded(String userId);
+  /** Awards BOOK_ADDED points for a whole bulk import in a single update */
+  Optional<GamificationProfile> processBooksAdded(String userId, int count);
   Optional<GamificationProfile> processBookRead(String userId);
   Optional<GamificationProfile> processBookFavorited(String userId);
   Optional<GamificationProfile> processBookOfferedForExchange(String userId);
@@ -0,0 +1,27 @@
+package com.uade.bookybe.core.usecase;
+
+import com.uade.bookybe.core.model.LibraryImportEntry;
+import com.uade.bookybe.core.model.LibraryImportJob;
+import com.uade.bookybe.core.model.constant.BookStatus;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface LibraryImportService {
+
+  /**
+   * Starts a background import of the given ISBNs into the user's library and returns the job
+   * right away. Only one import per user can run at a time.
+   */
+  LibraryImportJob startImport(String userId, List<LibraryImportEntry> entries);
+
+  /**
+   * Starts an import from a CSV file: either a Goodreads library export (ISBN13/ISBN and
+   * "Exclusive Shelf" columns) or a plain list with one ISBN per line.
+   */
+  LibraryImportJob startImportFromCsv(
+      String userId, MultipartFile file, BookStatus defaultStatus);
+
+  /** Gets the progress of an import job owned by the user */
+  Optional<LibraryImportJob> getImportJob(String userId, String jobId);
+}
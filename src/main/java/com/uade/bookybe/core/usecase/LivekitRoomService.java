@@ -12,4 +12,7 @@ public interface LivekitRoomService {
     boolean deleteRoom(String roomName);
     List<String> getParticipants(String roomName);
     MeetingStatus getRoomStatus(String roomName);
+
+    /** Applies a signed LiveKit webhook call; throws UnauthorizedException if the signature is invalid */
+    void handleWebhook(String body, String authorization);
 }
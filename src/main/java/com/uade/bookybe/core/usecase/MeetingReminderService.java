@@ -0,0 +1,15 @@
+package com.uade.bookybe.core.usecase;
+
+import java.time.LocalDateTime;
+
+public interface MeetingReminderService {
+
+  /**
+   * Schedules the reminders of a club's next meeting, replacing the ones already scheduled. When
+   * called inside a transaction it takes effect after commit. A null meeting just cancels.
+   */
+  void scheduleMeeting(String readingClubId, LocalDateTime nextMeeting);
+
+  /** Cancels the pending reminders of a club, after commit when called inside a transaction */
+  void cancelMeeting(String readingClubId);
+}
@@ -7,7 +7,7 @@ import com.uade.bookybe.core.model.ReadingClub;
 import java.util.Optional;
 
 public interface MeetingService {
-    LivekitToken generateMeetingToken(String readingClubId, String userId, String participantName);
+    LivekitToken generateMeetingToken(String readingClubId, String userId);
     ReadingClub startMeeting(String readingClubId, String moderatorId);
     ReadingClub endMeeting(String readingClubId, String moderatorId);
     MeetingStatus getMeetingStatus(String readingClubId);
@@ -2,12 +2,16 @@ package com.uade.bookybe.core.usecase;
 
 import com.uade.bookybe.core.model.ReadingClub;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Page;
 
 public interface ReadingClubService {
 
-  List<ReadingClub> getAllReadingClubs();
+  /** Gets a page of reading clubs, newest first; the page size is capped */
+  Page<ReadingClub> getAllReadingClubs(int page, int size);
 
   Optional<ReadingClub> getReadingClubById(String id);
 
@@ -33,6 +37,9 @@ public interface ReadingClubService {
 
   List<ReadingClub> getReadingClubsByBookId(String bookId);
 
+  /** Gets which of the given clubs the user is a member of, with a single query */
+  Set<String> getJoinedReadingClubIds(String userId, Collection<String> clubIds);
+
   long getMemberCount(String clubId);
 
   Optional<ReadingClub> updateMeeting(
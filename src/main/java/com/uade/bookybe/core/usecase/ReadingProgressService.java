@@ -0,0 +1,22 @@
+package com.uade.bookybe.core.usecase;
+
+import com.uade.bookybe.core.model.ReadingProgress;
+import java.util.Optional;
+
+public interface ReadingProgressService {
+
+  /**
+   * Sets the chapter a member is on. Throws NotFoundException if the club does not exist and
+   * UnauthorizedException if the user is not a member.
+   */
+  void updateProgress(String clubId, String userId, int chapter);
+
+  /** Gets where the members of a club are (min, median, max and histogram of chapters) */
+  Optional<ReadingProgress> getProgress(String clubId);
+
+  /** Takes a member that left out of the aggregate of the club */
+  void removeMember(String clubId, String userId);
+
+  /** Drops the aggregate of a deleted club */
+  void evict(String clubId);
+}
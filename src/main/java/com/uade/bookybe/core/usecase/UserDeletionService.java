@@ -0,0 +1,17 @@
+package com.uade.bookybe.core.usecase;
+
+import com.uade.bookybe.core.model.UserDeletionJob;
+import java.util.Optional;
+
+public interface UserDeletionService {
+
+  /**
+   * Tombstones the account right away and deletes everything the user owns in the background, stage
+   * by stage in bounded chunks, ending with the user row and the stored images. Deleting an account
+   * that is already being deleted returns its job; empty if the user does not exist.
+   */
+  Optional<UserDeletionJob> startDeletion(String userId);
+
+  /** Gets the progress of the deletion of a user's account */
+  Optional<UserDeletionJob> getDeletionJob(String userId);
+}
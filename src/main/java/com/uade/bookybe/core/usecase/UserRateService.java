@@ -1,8 +1,12 @@
 package com.uade.bookybe.core.usecase;
 
 import com.uade.bookybe.core.model.UserRate;
+import com.uade.bookybe.core.model.UserRatingStats;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
 
 public interface UserRateService {
 
@@ -12,20 +16,36 @@ public interface UserRateService {
     Optional<UserRate> createRating(String exchangeId, String userId, Integer rating, String comment);
 
     /**
-     * Get all ratings for a specific user (ratings received by this user)
+     * Get a page of the ratings received by a user, newest first
      */
-    List<UserRate> getUserRatings(String userId);
+    Page<UserRate> getUserRatings(String userId, int page, int size);
 
     /**
      * Get all ratings for a specific exchange
      */
     List<UserRate> getExchangeRatings(String exchangeId);
 
+    /**
+     * Get the ratings of several exchanges in a single query
+     */
+    List<UserRate> getRatingsForExchanges(Collection<String> exchangeIds);
+
     /**
      * Check if a user can rate a specific exchange
      */
     boolean canUserRateExchange(String exchangeId, String userId);
 
+    /**
+     * Get the rating aggregates of a user (a primary-key read); empty stats if never rated
+     */
+    UserRatingStats getUserRatingStats(String userId);
+
+    /**
+     * Get the rating aggregates of several users in a single query, keyed by user id. Users that
+     * were never rated get empty stats
+     */
+    Map<String, UserRatingStats> getUserRatingStats(Collection<String> userIds);
+
     /**
      * Get average rating for a user
      */
@@ -1,6 +1,7 @@
 package com.uade.bookybe.core.usecase;
 
 import com.uade.bookybe.core.model.User;
+import com.uade.bookybe.core.model.UserDeletionJob;
 import com.uade.bookybe.core.model.UserSignUp;
 import com.uade.bookybe.router.dto.user.UserPreviewDto;
 import java.util.List;
@@ -11,7 +12,11 @@ public interface UserService {
 
   Optional<User> updateUser(String id, User user, String imageBase64);
 
-  boolean deleteUser(String id);
+  /**
+   * Hides the account right away and deletes its data in a background job; empty if the user does
+   * not exist or was already deleted
+   */
+  Optional<UserDeletionJob> deleteUser(String id);
 
   boolean followUser(String followerId, String followedId);
 
@@ -0,0 +1,124 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uade.bookybe.config.BadgeConfig;
+import com.uade.bookybe.core.model.UserBadges;
+import com.uade.bookybe.core.port.BadgeInvalidationPort;
+import com.uade.bookybe.core.usecase.BadgeService;
+import com.uade.bookybe.infraestructure.repository.BookExchangeRepository;
+import com.uade.bookybe.infraestructure.repository.MessageRepository;
+import com.uade.bookybe.infraestructure.repository.UserAchievementRepository;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Contadores de badges por usuario cacheados en memoria. Un miss los recalcula con tres COUNT; las
+ * escrituras de exchanges, chats y gamificación los invalidan después del commit, y el resto de
+ * los nodos se enteran por {@link BadgeInvalidationPort}.
+ */
+@Service
+@Slf4j
+public class BadgeServiceImpl implements BadgeService, BadgeInvalidationPort.Listener {
+
+  private final BookExchangeRepository bookExchangeRepository;
+  private final MessageRepository messageRepository;
+  private final UserAchievementRepository userAchievementRepository;
+  private final BadgeInvalidationPort badgeInvalidationPort;
+  private final Cache<String, Slot> badges;
+
+  public BadgeServiceImpl(
+      BookExchangeRepository bookExchangeRepository,
+      MessageRepository messageRepository,
+      UserAchievementRepository userAchievementRepository,
+      BadgeInvalidationPort badgeInvalidationPort,
+      BadgeConfig config) {
+    this.bookExchangeRepository = bookExchangeRepository;
+    this.messageRepository = messageRepository;
+    this.userAchievementRepository = userAchievementRepository;
+    this.badgeInvalidationPort = badgeInvalidationPort;
+    this.badges =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaxCachedUsers())
+            .expireAfterWrite(config.getCacheTtl())
+            .build();
+    badgeInvalidationPort.subscribe(this);
+  }
+
+  @Override
+  public UserBadges getBadges(String userId) {
+    Slot cached = badges.getIfPresent(userId);
+    if (cached != null && cached.badges() != null) {
+      return cached.badges();
+    }
+
+    // An invalidation that lands while we count removes this marker, so a result computed from
+    // data older than the change is returned but never cached
+    Slot loading = new Slot(null);
+    badges.put(userId, loading);
+    UserBadges loaded = load(userId);
+    badges.asMap().replace(userId, loading, new Slot(loaded));
+    return loaded;
+  }
+
+  @Override
+  public void invalidate(String... userIds) {
+    Set<String> ids =
+        Arrays.stream(userIds).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+    if (ids.isEmpty()) {
+      return;
+    }
+
+    badgeInvalidationPort.publish(ids);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              badges.invalidateAll(ids);
+            }
+          });
+    } else {
+      badges.invalidateAll(ids);
+    }
+  }
+
+  @Override
+  public void onInvalidated(Collection<String> userIds) {
+    badges.invalidateAll(userIds);
+  }
+
+  @Override
+  public void onInvalidationsMissed() {
+    log.warn("Badge invalidations may have been missed, dropping all cached counters");
+    badges.invalidateAll();
+  }
+
+  private UserBadges load(String userId) {
+    return UserBadges.builder()
+        .pendingExchanges(bookExchangeRepository.countPendingExchangesForUser(userId))
+        .unreadMessages(messageRepository.countUnreadMessagesForUser(userId))
+        .unnotifiedAchievements(userAchievementRepository.countByUserIdAndNotifiedFalse(userId))
+        .build();
+  }
+
+  /** Identity-compared holder; a null value marks a load in progress */
+  private static final class Slot {
+    private final UserBadges badges;
+
+    private Slot(UserBadges badges) {
+      this.badges = badges;
+    }
+
+    UserBadges badges() {
+      return badges;
+    }
+  }
+}
@@ -4,30 +4,46 @@ import static com.uade.bookybe.core.model.constant.ExchangeStatus.ACCEPTED;
 import static com.uade.bookybe.core.model.constant.ExchangeStatus.COMPLETED;
 
 import com.uade.bookybe.core.exception.BadRequestException;
+import com.uade.bookybe.core.exception.ConflictException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.BookExchange;
 import com.uade.bookybe.core.model.Chat;
 import com.uade.bookybe.core.model.UserBook;
 import com.uade.bookybe.core.model.UserRate;
 import com.uade.bookybe.core.model.constant.ExchangeStatus;
+import com.uade.bookybe.core.usecase.BadgeService;
 import com.uade.bookybe.core.usecase.BookExchangeService;
 import com.uade.bookybe.core.usecase.ChatService;
 import com.uade.bookybe.core.usecase.GamificationService;
 import com.uade.bookybe.core.usecase.UserRateService;
 import com.uade.bookybe.infraestructure.entity.BookExchangeEntity;
+import com.uade.bookybe.infraestructure.entity.ExchangeIdempotencyKeyEntity;
 import com.uade.bookybe.infraestructure.entity.UserBookEntity;
 import com.uade.bookybe.infraestructure.mapper.BookExchangeEntityMapper;
 import com.uade.bookybe.infraestructure.mapper.UserBookEntityMapper;
 import com.uade.bookybe.infraestructure.repository.BookExchangeRepository;
+import com.uade.bookybe.infraestructure.repository.ExchangeIdempotencyKeyRepository;
 import com.uade.bookybe.infraestructure.repository.UserBookRepository;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -36,20 +52,42 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class BookExchangeServiceImpl implements BookExchangeService {
 
+  private static final Duration IDEMPOTENCY_KEY_RETENTION = Duration.ofHours(24);
+  private static final String OP_CREATE = "CREATE";
+  private static final String OP_COUNTER_OFFER = "COUNTER_OFFER";
+  private static final String OP_STATUS_PREFIX = "STATUS_";
+
+  /** Status changes allowed from each status; anything else is rejected before touching the row */
+  private static final Map<ExchangeStatus, Set<ExchangeStatus>> ALLOWED_TRANSITIONS =
+      new EnumMap<>(
+          Map.of(
+              ExchangeStatus.PENDING,
+              EnumSet.of(ACCEPTED, ExchangeStatus.REJECTED, ExchangeStatus.CANCELLED),
+              ACCEPTED,
+              EnumSet.of(COMPLETED, ExchangeStatus.CANCELLED)));
+
   private final BookExchangeRepository bookExchangeRepository;
   private final UserBookRepository userBookRepository;
   private final GamificationService gamificationService;
   private final UserRateService userRateService;
   private final ChatService chatService;
+  private final ExchangeIdempotencyKeyRepository idempotencyKeyRepository;
+  private final BadgeService badgeService;
 
   @Override
   public Optional<BookExchange> createExchange(
       String requesterId,
       String ownerId,
       List<String> ownerBookIds,
-      List<String> requesterBookIds) {
+      List<String> requesterBookIds,
+      String idempotencyKey) {
     log.info("Creating exchange. RequesterId: {}, OwnerId: {}", requesterId, ownerId);
 
+    Optional<BookExchange> previous = replay(requesterId, idempotencyKey, OP_CREATE, null);
+    if (previous.isPresent()) {
+      return previous;
+    }
+
     // Validate that requester and owner are different
     if (requesterId.equals(ownerId)) {
       log.warn("User cannot create exchange with themselves: {}", requesterId);
@@ -57,9 +95,11 @@ public class BookExchangeServiceImpl implements BookExchangeService {
     }
 
     // Validate that all books exist and belong to the respective users
-    if (!validateUserBooks(ownerId, ownerBookIds)
-        || !validateUserBooks(requesterId, requesterBookIds)) {
-      log.warn("Invalid books provided for exchange");
+    List<String> missingBookIds = new ArrayList<>(findMissingBooks(ownerId, ownerBookIds));
+    missingBookIds.addAll(findMissingBooks(requesterId, requesterBookIds));
+    if (!missingBookIds.isEmpty()) {
+      log.warn(
+          "Invalid books provided for exchange, not in the users' libraries: {}", missingBookIds);
       return Optional.empty();
     }
 
@@ -84,6 +124,8 @@ public class BookExchangeServiceImpl implements BookExchangeService {
 
     // Award gamification points for creating exchange
     gamificationService.processExchangeCreated(requesterId);
+    badgeService.invalidate(requesterId, ownerId);
+    remember(requesterId, idempotencyKey, OP_CREATE, null, savedEntity.getId());
 
     return Optional.of(BookExchangeEntityMapper.INSTANCE.toModel(savedEntity));
   }
@@ -91,21 +133,19 @@ public class BookExchangeServiceImpl implements BookExchangeService {
   @Override
   public List<BookExchange> getUserExchanges(String userId) {
     log.info("Getting all exchanges for user: {}", userId);
-    return bookExchangeRepository.findByUserIdOrderByDateCreatedDesc(userId).stream()
-        .map(BookExchangeEntityMapper.INSTANCE::toModel)
-        .map(this::enrichExchangeWithBooks)
-        .collect(Collectors.toList());
+    return enrichExchangesWithBooks(
+        bookExchangeRepository.findByUserIdOrderByDateCreatedDesc(userId).stream()
+            .map(BookExchangeEntityMapper.INSTANCE::toModel)
+            .collect(Collectors.toList()));
   }
 
   @Override
   public List<BookExchange> getUserExchangesByStatus(String userId, ExchangeStatus status) {
     log.info("Getting exchanges for user: {} with status: {}", userId, status);
-    return bookExchangeRepository
-        .findByUserIdAndStatusOrderByDateCreatedDesc(userId, status)
-        .stream()
-        .map(BookExchangeEntityMapper.INSTANCE::toModel)
-        .map(this::enrichExchangeWithBooks)
-        .collect(Collectors.toList());
+    return enrichExchangesWithBooks(
+        bookExchangeRepository.findByUserIdAndStatusOrderByDateCreatedDesc(userId, status).stream()
+            .map(BookExchangeEntityMapper.INSTANCE::toModel)
+            .collect(Collectors.toList()));
   }
 
   @Override
@@ -119,9 +159,15 @@ public class BookExchangeServiceImpl implements BookExchangeService {
 
   @Override
   public Optional<BookExchange> updateExchangeStatus(
-      String exchangeId, String userId, ExchangeStatus status) {
+      String exchangeId, String userId, ExchangeStatus status, String idempotencyKey) {
     log.info("Updating exchange {} status to {} by user {}", exchangeId, status, userId);
 
+    String operation = OP_STATUS_PREFIX + status;
+    Optional<BookExchange> previous = replay(userId, idempotencyKey, operation, exchangeId);
+    if (previous.isPresent()) {
+      return previous;
+    }
+
     BookExchangeEntity entity =
         bookExchangeRepository
             .findById(exchangeId)
@@ -137,26 +183,49 @@ public class BookExchangeServiceImpl implements BookExchangeService {
       return Optional.empty();
     }
 
-    entity.setStatus(status);
-    entity.setDateUpdated(LocalDateTime.now());
+    // Repeated click after the change went through: report it again without side effects
+    if (entity.getStatus() == status) {
+      log.info("Exchange {} is already {}", exchangeId, status);
+      return Optional.of(BookExchangeEntityMapper.INSTANCE.toModel(entity))
+          .map(this::enrichExchangeWithBooks);
+    }
+
+    if (!ALLOWED_TRANSITIONS.getOrDefault(entity.getStatus(), Set.of()).contains(status)) {
+      log.warn("Exchange {} cannot go from {} to {}", exchangeId, entity.getStatus(), status);
+      return Optional.empty();
+    }
 
-    BookExchangeEntity savedEntity = bookExchangeRepository.save(entity);
+    transition(exchangeId, entity.getStatus(), status);
 
     // Award gamification points for completing exchange
     if (status == ExchangeStatus.COMPLETED) {
       gamificationService.processExchangeCompleted(entity.getRequesterId());
       gamificationService.processExchangeCompleted(entity.getOwnerId());
     }
+    badgeService.invalidate(entity.getRequesterId(), entity.getOwnerId());
+    remember(userId, idempotencyKey, operation, exchangeId, exchangeId);
 
-    return Optional.of(BookExchangeEntityMapper.INSTANCE.toModel(savedEntity))
+    return bookExchangeRepository
+        .findById(exchangeId)
+        .map(BookExchangeEntityMapper.INSTANCE::toModel)
         .map(this::enrichExchangeWithBooks);
   }
 
   @Override
   public Optional<BookExchange> createCounterOffer(
-      String exchangeId, String userId, List<String> ownerBookIds, List<String> requesterBookIds) {
+      String exchangeId,
+      String userId,
+      List<String> ownerBookIds,
+      List<String> requesterBookIds,
+      String idempotencyKey) {
     log.info("Creating counter offer for exchange: {} by user: {}", exchangeId, userId);
 
+    Optional<BookExchange> previous =
+        replay(userId, idempotencyKey, OP_COUNTER_OFFER, exchangeId);
+    if (previous.isPresent()) {
+      return previous;
+    }
+
     BookExchangeEntity originalEntity =
         bookExchangeRepository
             .findById(exchangeId)
@@ -178,15 +247,15 @@ public class BookExchangeServiceImpl implements BookExchangeService {
     }
 
     // Validate books with inverted roles
-    if (!validateUserBooks(originalEntity.getOwnerId(), requesterBookIds)
-        || !validateUserBooks(originalEntity.getRequesterId(), ownerBookIds)) {
-      throw new BadRequestException("Invalid books provided for counter offer");
+    List<String> missingBookIds =
+        new ArrayList<>(findMissingBooks(originalEntity.getOwnerId(), requesterBookIds));
+    missingBookIds.addAll(findMissingBooks(originalEntity.getRequesterId(), ownerBookIds));
+    if (!missingBookIds.isEmpty()) {
+      throw new BadRequestException("Invalid books provided for counter offer: " + missingBookIds);
     }
 
-    // Mark original exchange as REJECTED
-    originalEntity.setStatus(ExchangeStatus.REJECTED);
-    originalEntity.setDateUpdated(LocalDateTime.now());
-    bookExchangeRepository.save(originalEntity);
+    // Mark original exchange as REJECTED, unless someone else moved it out of PENDING meanwhile
+    transition(exchangeId, ExchangeStatus.PENDING, ExchangeStatus.REJECTED);
 
     // Create new exchange with inverted roles (reuse existing chat)
     BookExchangeEntity newEntity =
@@ -203,6 +272,9 @@ public class BookExchangeServiceImpl implements BookExchangeService {
             .build();
 
     BookExchangeEntity savedEntity = bookExchangeRepository.save(newEntity);
+    badgeService.invalidate(originalEntity.getRequesterId(), originalEntity.getOwnerId());
+    remember(userId, idempotencyKey, OP_COUNTER_OFFER, exchangeId, savedEntity.getId());
+
     return Optional.of(BookExchangeEntityMapper.INSTANCE.toModel(savedEntity))
         .map(this::enrichExchangeWithBooks);
   }
@@ -210,34 +282,44 @@ public class BookExchangeServiceImpl implements BookExchangeService {
   @Override
   public List<BookExchange> getExchangesAsRequester(String userId) {
     log.info("Getting exchanges where user {} is requester", userId);
-    return bookExchangeRepository.findByRequesterIdOrderByDateCreatedDesc(userId).stream()
-        .map(BookExchangeEntityMapper.INSTANCE::toModel)
-        .map(this::enrichExchangeWithBooks)
-        .collect(Collectors.toList());
+    return enrichExchangesWithBooks(
+        bookExchangeRepository.findByRequesterIdOrderByDateCreatedDesc(userId).stream()
+            .map(BookExchangeEntityMapper.INSTANCE::toModel)
+            .collect(Collectors.toList()));
   }
 
   @Override
   public List<BookExchange> getExchangesAsOwner(String userId) {
     log.info("Getting exchanges where user {} is owner", userId);
-    return bookExchangeRepository.findByOwnerIdOrderByDateCreatedDesc(userId).stream()
-        .map(BookExchangeEntityMapper.INSTANCE::toModel)
-        .map(this::enrichExchangeWithBooks)
-        .collect(Collectors.toList());
+    return enrichExchangesWithBooks(
+        bookExchangeRepository.findByOwnerIdOrderByDateCreatedDesc(userId).stream()
+            .map(BookExchangeEntityMapper.INSTANCE::toModel)
+            .collect(Collectors.toList()));
   }
 
+  /** Served from the badge counters; no transaction so a cache hit never takes a connection */
   @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public long getPendingExchangesCount(String userId) {
     log.info("Getting pending exchanges count for user: {}", userId);
-    long asRequester = bookExchangeRepository.countPendingExchangesByRequester(userId);
-    long asOwner = bookExchangeRepository.countPendingExchangesByOwner(userId);
-    return asRequester + asOwner;
+    return badgeService.getBadges(userId).getPendingExchanges();
   }
 
-  private boolean validateUserBooks(String userId, List<String> bookIds) {
-    return bookIds.stream()
-        .allMatch(bookId -> userBookRepository.existsByUserIdAndBookId(userId, bookId));
+  /**
+   * Book ids the user does not have in their library, checked with a single IN query. This is a
+   * point-in-time check: under READ COMMITTED the exchange write that follows takes a new snapshot,
+   * so a book removed in between is not detected here.
+   */
+  private List<String> findMissingBooks(String userId, List<String> bookIds) {
+    if (bookIds == null || bookIds.isEmpty()) {
+      return List.of();
+    }
+    Set<String> owned =
+        new HashSet<>(userBookRepository.findBookIdsByUserIdAndBookIdIn(userId, bookIds));
+    return bookIds.stream().filter(bookId -> !owned.contains(bookId)).distinct().toList();
   }
 
+  /** Who may move an exchange to each status; valid source statuses are in ALLOWED_TRANSITIONS */
   private boolean validateStatusUpdatePermission(
       BookExchangeEntity entity, String userId, ExchangeStatus status) {
     switch (status) {
@@ -248,55 +330,171 @@ public class BookExchangeServiceImpl implements BookExchangeService {
         return entity.getOwnerId().equals(userId);
       case CANCELLED:
         // Only requester can cancel
-        return !COMPLETED.equals(entity.getStatus()) && entity.getRequesterId().equals(userId);
+        return entity.getRequesterId().equals(userId);
       case COMPLETED:
         // Both requester and owner can mark as completed
-        return ACCEPTED.equals(entity.getStatus())
-            && (entity.getRequesterId().equals(userId) || entity.getOwnerId().equals(userId));
+        return entity.getRequesterId().equals(userId) || entity.getOwnerId().equals(userId);
       default:
         return false;
     }
   }
 
+  /** Conditional UPDATE; fails if a concurrent request already moved the exchange out of from */
+  private void transition(String exchangeId, ExchangeStatus from, ExchangeStatus to) {
+    if (bookExchangeRepository.transitionStatus(exchangeId, from, to, LocalDateTime.now()) == 0) {
+      log.warn("Exchange {} is no longer {}, cannot move it to {}", exchangeId, from, to);
+      throw new ConflictException(
+          "Exchange " + exchangeId + " was modified by another request, reload and try again");
+    }
+  }
+
+  /**
+   * The exchange produced by an earlier request with the same key, if any. Reusing a key for a
+   * different operation or exchange is rejected.
+   */
+  private Optional<BookExchange> replay(
+      String userId, String idempotencyKey, String operation, String exchangeId) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return Optional.empty();
+    }
+    return idempotencyKeyRepository
+        .findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+        .map(
+            previous -> {
+              if (!previous.getOperation().equals(operation)
+                  || !Objects.equals(previous.getExchangeId(), exchangeId)) {
+                throw new ConflictException(
+                    "Idempotency key " + idempotencyKey + " was already used for another request");
+              }
+              log.info("Replaying {} for user {} (key {})", operation, userId, idempotencyKey);
+              return bookExchangeRepository
+                  .findById(previous.getResultExchangeId())
+                  .map(BookExchangeEntityMapper.INSTANCE::toModel)
+                  .map(this::enrichExchangeWithBooks)
+                  .orElseThrow(
+                      () ->
+                          new NotFoundException(
+                              "Exchange not found: " + previous.getResultExchangeId()));
+            });
+  }
+
+  /**
+   * Saved in the same transaction as the change it describes, so either both commit or neither
+   * does. Two concurrent requests with the same key collide on the unique (user, key) index: the
+   * insert is flushed here so the loser gets a 409 and rolls back, and its retry replays the
+   * winner's result.
+   */
+  private void remember(
+      String userId,
+      String idempotencyKey,
+      String operation,
+      String exchangeId,
+      String resultExchangeId) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return;
+    }
+    try {
+      idempotencyKeyRepository.saveAndFlush(
+          ExchangeIdempotencyKeyEntity.builder()
+              .id(UUID.randomUUID().toString())
+              .userId(userId)
+              .idempotencyKey(idempotencyKey)
+              .operation(operation)
+              .exchangeId(exchangeId)
+              .resultExchangeId(resultExchangeId)
+              .dateCreated(LocalDateTime.now())
+              .build());
+    } catch (DataIntegrityViolationException e) {
+      log.warn("Concurrent request for user {} with idempotency key {}", userId, idempotencyKey);
+      throw new ConflictException(
+          "Idempotency key "
+              + idempotencyKey
+              + " was used by a concurrent request, retry to get its result");
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${exchange-idempotency.purge-interval:PT1H}")
+  public void purgeExpiredIdempotencyKeys() {
+    int deleted =
+        idempotencyKeyRepository.deleteByDateCreatedBefore(
+            LocalDateTime.now().minus(IDEMPOTENCY_KEY_RETENTION));
+    if (deleted > 0) {
+      log.info("Purged {} expired exchange idempotency keys", deleted);
+    }
+  }
+
   private BookExchange enrichExchangeWithBooks(BookExchange exchange) {
-    if (exchange.getOwnerBookIds() != null && !exchange.getOwnerBookIds().isEmpty()) {
-      List<UserBookEntity> ownerBookEntities =
-          userBookRepository.findByIdInWithBook(exchange.getOwnerBookIds(), exchange.getOwnerId());
-      List<UserBook> ownerBooks =
-          ownerBookEntities.stream()
-              .map(UserBookEntityMapper.INSTANCE::toModel)
-              .collect(Collectors.toList());
-      exchange.setOwnerBooks(ownerBooks);
+    return enrichExchangesWithBooks(List.of(exchange)).get(0);
+  }
+
+  /**
+   * Fills books and ratings for a whole list of exchanges with one book query and one ratings
+   * query, instead of up to three queries per exchange.
+   */
+  private List<BookExchange> enrichExchangesWithBooks(List<BookExchange> exchanges) {
+    Set<String> userIds = new HashSet<>();
+    Set<String> bookIds = new HashSet<>();
+    List<String> completedIds = new ArrayList<>();
+    for (BookExchange exchange : exchanges) {
+      if (exchange.getOwnerBookIds() != null && !exchange.getOwnerBookIds().isEmpty()) {
+        userIds.add(exchange.getOwnerId());
+        bookIds.addAll(exchange.getOwnerBookIds());
+      }
+      if (exchange.getRequesterBookIds() != null && !exchange.getRequesterBookIds().isEmpty()) {
+        userIds.add(exchange.getRequesterId());
+        bookIds.addAll(exchange.getRequesterBookIds());
+      }
+      if (exchange.getStatus() == ExchangeStatus.COMPLETED) {
+        completedIds.add(exchange.getId());
+      }
     }
 
-    if (exchange.getRequesterBookIds() != null && !exchange.getRequesterBookIds().isEmpty()) {
-      List<UserBookEntity> requesterBookEntities =
-          userBookRepository.findByIdInWithBook(
-              exchange.getRequesterBookIds(), exchange.getRequesterId());
-      List<UserBook> requesterBooks =
-          requesterBookEntities.stream()
-              .map(UserBookEntityMapper.INSTANCE::toModel)
-              .collect(Collectors.toList());
-      exchange.setRequesterBooks(requesterBooks);
+    Map<OwnedBook, UserBook> userBooks = new HashMap<>();
+    if (!bookIds.isEmpty()) {
+      for (UserBookEntity entity :
+          userBookRepository.findByUserIdInAndBookIdInWithBook(userIds, bookIds)) {
+        userBooks.put(
+            new OwnedBook(entity.getUserId(), entity.getBookId()),
+            UserBookEntityMapper.INSTANCE.toModel(entity));
+      }
     }
 
-    // Populate ratings if exchange is completed
-    if (exchange.getStatus() == ExchangeStatus.COMPLETED) {
-      List<UserRate> exchangeRatings = userRateService.getExchangeRatings(exchange.getId());
-      
-      // Find requester and owner ratings
-      Optional<UserRate> requesterRating = exchangeRatings.stream()
-          .filter(rating -> rating.getUserId().equals(exchange.getRequesterId()))
-          .findFirst();
-      
-      Optional<UserRate> ownerRating = exchangeRatings.stream()
-          .filter(rating -> rating.getUserId().equals(exchange.getOwnerId()))
-          .findFirst();
-      
-      requesterRating.ifPresent(exchange::setRequesterRate);
-      ownerRating.ifPresent(exchange::setOwnerRate);
+    // Populate ratings only for completed exchanges
+    Map<String, List<UserRate>> ratingsByExchange =
+        completedIds.isEmpty()
+            ? Map.of()
+            : userRateService.getRatingsForExchanges(completedIds).stream()
+                .collect(Collectors.groupingBy(UserRate::getExchangeId));
+
+    for (BookExchange exchange : exchanges) {
+      if (exchange.getOwnerBookIds() != null && !exchange.getOwnerBookIds().isEmpty()) {
+        exchange.setOwnerBooks(
+            booksOf(userBooks, exchange.getOwnerId(), exchange.getOwnerBookIds()));
+      }
+      if (exchange.getRequesterBookIds() != null && !exchange.getRequesterBookIds().isEmpty()) {
+        exchange.setRequesterBooks(
+            booksOf(userBooks, exchange.getRequesterId(), exchange.getRequesterBookIds()));
+      }
+
+      for (UserRate rating : ratingsByExchange.getOrDefault(exchange.getId(), List.of())) {
+        if (rating.getUserId().equals(exchange.getRequesterId())) {
+          exchange.setRequesterRate(rating);
+        } else if (rating.getUserId().equals(exchange.getOwnerId())) {
+          exchange.setOwnerRate(rating);
+        }
+      }
     }
 
-    return exchange;
+    return exchanges;
+  }
+
+  private static List<UserBook> booksOf(
+      Map<OwnedBook, UserBook> userBooks, String userId, List<String> bookIds) {
+    return bookIds.stream()
+        .map(bookId -> userBooks.get(new OwnedBook(userId, bookId)))
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
   }
+
+  private record OwnedBook(String userId, String bookId) {}
 }
@@ -1,11 +1,17 @@
 package com.uade.bookybe.core.usecase.impl;
 
+import com.uade.bookybe.config.BookSearchConfig;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.BookSearchResult;
+import com.uade.bookybe.core.model.LibraryCounts;
 import com.uade.bookybe.core.model.UserBook;
 import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.LibrarySort;
+import com.uade.bookybe.core.port.BookSearchPort;
 import com.uade.bookybe.core.port.GoogleBooksPort;
 import com.uade.bookybe.core.usecase.BookService;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
 import com.uade.bookybe.core.usecase.GamificationService;
 import com.uade.bookybe.infraestructure.entity.BookEntity;
 import com.uade.bookybe.infraestructure.entity.UserBookEntity;
@@ -13,13 +19,22 @@ import com.uade.bookybe.infraestructure.mapper.BookEntityMapper;
 import com.uade.bookybe.infraestructure.mapper.UserBookEntityMapper;
 import com.uade.bookybe.infraestructure.repository.BookRepository;
 import com.uade.bookybe.infraestructure.repository.UserBookRepository;
+import com.uade.bookybe.infraestructure.repository.UserBookSpecifications;
+import com.uade.bookybe.util.IsbnUtil;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.uade.bookybe.router.mapper.BookDtoMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,10 +44,15 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class BookServiceImpl implements BookService {
 
+  private static final int MAX_LIBRARY_PAGE_SIZE = 100;
+
   private final BookRepository bookRepository;
   private final UserBookRepository userBookRepository;
   private final GoogleBooksPort googleBooksPort;
   private final GamificationService gamificationService;
+  private final BookSearchPort bookSearchPort;
+  private final BookSearchConfig bookSearchConfig;
+  private final ExchangeMatchingService exchangeMatchingService;
 
   @Override
   public Optional<UserBook> addBookToUserLibrary(String userId, String isbn, BookStatus status) {
@@ -63,9 +83,11 @@ public class BookServiceImpl implements BookService {
             .status(status)
             .favorite(false)
             .wantsToExchange(false)
+            .dateCreated(LocalDateTime.now())
             .build();
 
     userBookEntity = userBookRepository.save(userBookEntity);
+    exchangeMatchingService.onLibraryEntryChanged(userId, bookId, status, false);
 
     // Reload with book information
     Optional<UserBookEntity> savedWithBook =
@@ -86,22 +108,33 @@ public class BookServiceImpl implements BookService {
 
   @Override
   @Transactional(readOnly = true)
-  public List<Book> searchBooks(String query) {
-    log.info("Searching books with query: {}", query);
-
-    List<BookEntity> bookEntities = bookRepository.searchBooks(query);
-
-    return bookEntities.stream()
-        .map(BookEntityMapper.INSTANCE::toModel)
-        .collect(Collectors.toList());
+  public BookSearchResult searchBooks(String query, String category, int page, int size) {
+    log.info(
+        "Searching books with query: {}, category: {}, page: {}, size: {}",
+        query,
+        category,
+        page,
+        size);
+
+    int safeSize = Math.min(Math.max(size, 0), bookSearchConfig.getMaxPageSize());
+    // The index keeps (page + 1) * size candidates, so paging depth is bounded too
+    int maxPage = bookSearchConfig.getMaxResultWindow() / Math.max(safeSize, 1);
+    int safePage = Math.min(Math.max(page, 0), maxPage);
+    return bookSearchPort.search(query, category, safePage, safeSize);
   }
 
   @Override
   public Optional<Book> getBookByIsbn(String isbn) {
     log.info("Getting book by ISBN: {}", isbn);
 
-    // First try to find in database
-    Optional<BookEntity> existingBook = bookRepository.findByIsbn(isbn);
+    String isbn13 = IsbnUtil.toIsbn13(isbn);
+    if (isbn13 == null) {
+      log.warn("Invalid ISBN: {}", isbn);
+      return Optional.empty();
+    }
+
+    // ISBN-10 and ISBN-13 forms share the same canonical key, so one lookup is enough
+    Optional<BookEntity> existingBook = bookRepository.findByIsbn13(isbn13);
     if (existingBook.isPresent()) {
       log.info("Book found in database: {}", existingBook.get().getTitle());
       return Optional.of(BookEntityMapper.INSTANCE.toModel(existingBook.get()));
@@ -109,69 +142,38 @@ public class BookServiceImpl implements BookService {
 
     // If not found, fetch from Google Books API
     log.info("Book not found in database, fetching from Google Books API");
-    Optional<Book> googleBook = googleBooksPort.getBookByIsbn(isbn);
+    Optional<Book> googleBook = googleBooksPort.getBookByIsbn(isbn13);
 
     if (googleBook.isEmpty()) {
       log.warn("Book with ISBN {} not found in Google Books API", isbn);
       return Optional.empty();
     }
 
-    // Before saving, check if book with Google Books ISBN already exists
-    String googleBookIsbn = googleBook.get().getIsbn();
-    if (googleBookIsbn != null && !googleBookIsbn.equals(isbn)) {
-      log.info("Checking if book with Google Books ISBN {} already exists", googleBookIsbn);
-      Optional<BookEntity> existingGoogleBook = bookRepository.findByIsbn(googleBookIsbn);
+    // Google may answer with another edition's ISBN that we already have stored
+    String googleIsbn13 = IsbnUtil.toIsbn13(googleBook.get().getIsbn());
+    if (googleIsbn13 != null && !googleIsbn13.equals(isbn13)) {
+      Optional<BookEntity> existingGoogleBook = bookRepository.findByIsbn13(googleIsbn13);
       if (existingGoogleBook.isPresent()) {
-        log.info(
-            "Found existing book with Google Books ISBN: {}", existingGoogleBook.get().getTitle());
+        log.info("Found existing book with Google Books ISBN: {}", googleIsbn13);
         return Optional.of(BookEntityMapper.INSTANCE.toModel(existingGoogleBook.get()));
       }
     }
 
-    try {
-      // Save book to database
-      BookEntity bookEntity = BookEntityMapper.INSTANCE.toEntity(googleBook.get());
-
-      // Generate unique ID for the book
-      String bookId = "book-" + java.util.UUID.randomUUID().toString().substring(0, 8);
-      bookEntity.setId(bookId);
-      bookEntity.setIsbn(isbn);
-
-      bookEntity = bookRepository.save(bookEntity);
-
-      Book savedBook = BookEntityMapper.INSTANCE.toModel(bookEntity);
-      log.info("Book fetched from Google Books API and saved: {}", savedBook.getTitle());
-      return Optional.of(savedBook);
-
-    } catch (Exception e) {
-      // Handle ISBN conflict - try to find by the Google Books returned ISBN
-      if (e.getMessage() != null
-          && e.getMessage().contains("duplicate key value violates unique constraint")) {
-        log.warn(
-            "ISBN conflict detected, searching for existing book with Google Books ISBN: {}",
-            googleBook.get().getIsbn());
-
-        // Try to find with Google Books ISBN
-        Optional<BookEntity> conflictBook = bookRepository.findByIsbn(googleBook.get().getIsbn());
-        if (conflictBook.isPresent()) {
-          log.info("Found existing book with conflicting ISBN: {}", conflictBook.get().getTitle());
-          return Optional.of(BookEntityMapper.INSTANCE.toModel(conflictBook.get()));
-        }
-
-        // Also try with original ISBN in case of format differences
-        Optional<BookEntity> originalBook = bookRepository.findByIsbn(isbn);
-        if (originalBook.isPresent()) {
-          log.info("Found existing book with original ISBN: {}", originalBook.get().getTitle());
-          return Optional.of(BookEntityMapper.INSTANCE.toModel(originalBook.get()));
-        }
-
-        // If still not found, log and return empty instead of throwing
-        log.error("Book exists (ISBN conflict) but could not be retrieved: {}", e.getMessage());
-        return Optional.empty();
-      }
-      log.error("Error saving book from Google Books API: {}", e.getMessage());
-      return Optional.empty(); // Changed from throw e; to prevent 500 errors
+    BookEntity bookEntity = BookEntityMapper.INSTANCE.toEntity(googleBook.get());
+    bookEntity.setId("book-" + java.util.UUID.randomUUID().toString().substring(0, 8));
+    bookEntity.setIsbn(isbn13);
+    bookEntity.setIsbn13(isbn13);
+
+    // A concurrent request may have stored the same ISBN in the meantime: keep that row
+    if (bookRepository.insertAllIfAbsent(List.of(bookEntity)).isEmpty()) {
+      log.info("Book with ISBN {} was stored concurrently, using existing row", isbn13);
+      return bookRepository.findByIsbn13(isbn13).map(BookEntityMapper.INSTANCE::toModel);
     }
+
+    Book savedBook = BookEntityMapper.INSTANCE.toModel(bookEntity);
+    bookSearchPort.index(List.of(savedBook));
+    log.info("Book fetched from Google Books API and saved: {}", savedBook.getTitle());
+    return Optional.of(savedBook);
   }
 
   @Override
@@ -190,6 +192,8 @@ public class BookServiceImpl implements BookService {
     BookStatus oldStatus = entity.getStatus();
     entity.setStatus(status);
     entity = userBookRepository.save(entity);
+    exchangeMatchingService.onLibraryEntryChanged(
+        userId, bookId, entity.getStatus(), entity.isWantsToExchange());
 
     UserBook userBook = UserBookEntityMapper.INSTANCE.toModel(entity);
     log.info("Successfully updated book status: {}", userBook.getId());
@@ -223,6 +227,8 @@ public class BookServiceImpl implements BookService {
     boolean oldWantsToExchange = entity.isWantsToExchange();
     entity.setWantsToExchange(wantsToExchange);
     entity = userBookRepository.save(entity);
+    exchangeMatchingService.onLibraryEntryChanged(
+        userId, bookId, entity.getStatus(), entity.isWantsToExchange());
 
     UserBook userBook = UserBookEntityMapper.INSTANCE.toModel(entity);
     log.info("Successfully updated book exchange preference: {}", userBook.getId());
@@ -289,16 +295,75 @@ public class BookServiceImpl implements BookService {
   }
 
   @Override
-  public List<UserBook> getUserLibraryFiltered(String userId, Boolean favorites, BookStatus status, Boolean wantsToExchange) {
-    log.info("Getting user library with filters for userId: {}, favorites: {}, status: {}, wantsToExchange: {}", 
-             userId, favorites, status, wantsToExchange);
+  @Transactional(readOnly = true)
+  public Page<UserBook> getUserLibraryFiltered(
+      String userId,
+      Boolean favorites,
+      BookStatus status,
+      Boolean wantsToExchange,
+      LibrarySort sort,
+      boolean ascending,
+      int page,
+      int size) {
+    log.info(
+        "Getting user library with filters for userId: {}, favorites: {}, status: {}, wantsToExchange: {}, sort: {}, page: {}",
+        userId,
+        favorites,
+        status,
+        wantsToExchange,
+        sort,
+        page);
+
+    Pageable pageable =
+        PageRequest.of(
+            Math.max(page, 0),
+            Math.min(Math.max(size, 1), MAX_LIBRARY_PAGE_SIZE),
+            librarySort(sort, ascending));
+
+    return userBookRepository
+        .findAll(
+            UserBookSpecifications.libraryOf(userId, favorites, status, wantsToExchange), pageable)
+        .map(UserBookEntityMapper.INSTANCE::toModel);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public LibraryCounts getUserLibraryCounts(String userId) {
+    log.info("Getting library counts for userId: {}", userId);
 
-    List<UserBookEntity> userBookEntities =
-        userBookRepository.findByUserIdWithFilters(userId, favorites, status, wantsToExchange);
+    Map<BookStatus, Long> byStatus = new EnumMap<>(BookStatus.class);
+    for (BookStatus status : BookStatus.values()) {
+      byStatus.put(status, 0L);
+    }
+    long total = 0;
+    long favorites = 0;
+    long wantsToExchange = 0;
+    for (Object[] row : userBookRepository.countLibraryByStatus(userId)) {
+      long count = ((Number) row[1]).longValue();
+      byStatus.put((BookStatus) row[0], count);
+      total += count;
+      favorites += row[2] != null ? ((Number) row[2]).longValue() : 0;
+      wantsToExchange += row[3] != null ? ((Number) row[3]).longValue() : 0;
+    }
 
-    return userBookEntities.stream()
-        .map(UserBookEntityMapper.INSTANCE::toModel)
-        .collect(Collectors.toList());
+    return LibraryCounts.builder()
+        .total(total)
+        .byStatus(byStatus)
+        .favorites(favorites)
+        .wantsToExchange(wantsToExchange)
+        .build();
+  }
+
+  /** Sort for a library page; the id keeps page boundaries stable between requests */
+  private Sort librarySort(LibrarySort sort, boolean ascending) {
+    Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+    Sort primary =
+        switch (sort != null ? sort : LibrarySort.DATE_ADDED) {
+          case TITLE -> Sort.by(direction, "book.title");
+          case STATUS -> Sort.by(direction, "status").and(Sort.by("book.title"));
+          case DATE_ADDED -> Sort.by(new Sort.Order(direction, "dateCreated").nullsLast());
+        };
+    return primary.and(Sort.by("id"));
   }
 
   @Override
@@ -3,6 +3,7 @@ package com.uade.bookybe.core.usecase.impl;
 import com.uade.bookybe.core.model.Chat;
 import com.uade.bookybe.core.model.Message;
 import com.uade.bookybe.core.port.ImageStoragePort;
+import com.uade.bookybe.core.usecase.BadgeService;
 import com.uade.bookybe.core.usecase.ChatService;
 import com.uade.bookybe.infraestructure.entity.ChatEntity;
 import com.uade.bookybe.infraestructure.entity.MessageEntity;
@@ -27,6 +28,7 @@ public class ChatServiceImpl implements ChatService {
   private final ChatRepository chatRepository;
   private final MessageRepository messageRepository;
   private final ImageStoragePort imageStoragePort;
+  private final BadgeService badgeService;
 
   @Override
   @Transactional
@@ -91,6 +93,8 @@ public class ChatServiceImpl implements ChatService {
     // Actualizar fecha de última actualización del chat
     chat.setDateUpdated(LocalDateTime.now());
     chatRepository.save(chat);
+    badgeService.invalidate(
+        chat.getUser1Id().equals(senderId) ? chat.getUser2Id() : chat.getUser1Id());
 
     return Optional.of(MessageEntityMapper.INSTANCE.toModel(savedMessage));
   }
@@ -171,5 +175,8 @@ public class ChatServiceImpl implements ChatService {
 
     unreadMessages.forEach(msg -> msg.setRead(true));
     messageRepository.saveAll(unreadMessages);
+    if (!unreadMessages.isEmpty()) {
+      badgeService.invalidate(userId);
+    }
   }
 }
@@ -1,26 +1,40 @@
 package com.uade.bookybe.core.usecase.impl;
 
+import com.uade.bookybe.config.CommunityConfig;
+import com.uade.bookybe.core.exception.BadRequestException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.exception.UnauthorizedException;
 import com.uade.bookybe.core.model.Community;
+import com.uade.bookybe.core.model.CommunityDeletionJob;
+import com.uade.bookybe.core.model.CommunityPage;
+import com.uade.bookybe.core.model.CommunitySearchResult;
+import com.uade.bookybe.core.model.constant.CommunitySort;
+import com.uade.bookybe.core.port.CommunitySearchPort;
+import com.uade.bookybe.core.usecase.CommunityDeletionService;
 import com.uade.bookybe.core.usecase.CommunityService;
 import com.uade.bookybe.core.usecase.GamificationService;
 import com.uade.bookybe.infraestructure.entity.CommunityEntity;
 import com.uade.bookybe.infraestructure.entity.CommunityMemberEntity;
 import com.uade.bookybe.infraestructure.entity.CommunityMemberId;
 import com.uade.bookybe.infraestructure.mapper.CommunityEntityMapper;
-import com.uade.bookybe.infraestructure.repository.CommentRepository;
 import com.uade.bookybe.infraestructure.repository.CommunityMemberRepository;
 import com.uade.bookybe.infraestructure.repository.CommunityRepository;
-import com.uade.bookybe.infraestructure.repository.PostRepository;
 import com.uade.bookybe.infraestructure.repository.UserRepository;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -32,12 +46,15 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class CommunityServiceImpl implements CommunityService {
 
+  private static final String CURSOR_SEPARATOR = "|";
+
   private final CommunityRepository communityRepository;
   private final CommunityMemberRepository communityMemberRepository;
-  private final PostRepository postRepository;
-  private final CommentRepository commentRepository;
   private final UserRepository userRepository;
   private final GamificationService gamificationService;
+  private final CommunitySearchPort communitySearchPort;
+  private final CommunityDeletionService communityDeletionService;
+  private final CommunityConfig communityConfig;
 
   @Override
   public Optional<Community> createCommunity(String adminId, String name, String description) {
@@ -56,23 +73,26 @@ public class CommunityServiceImpl implements CommunityService {
     }
 
     try {
+      LocalDateTime now = LocalDateTime.now();
       CommunityEntity communityEntity =
           CommunityEntity.builder()
               .id(UUID.randomUUID().toString())
               .name(name)
               .description(description)
               .adminId(adminId)
-              .dateCreated(LocalDateTime.now())
+              .dateCreated(now)
+              .lastActivityAt(now)
               .build();
 
       CommunityEntity savedCommunity = communityRepository.save(communityEntity);
+      communitySearchPort.index(savedCommunity.getId(), name, description);
 
       // Agregar al administrador como miembro automáticamente
-      joinCommunity(savedCommunity.getId(), adminId);
+      boolean adminJoined = joinCommunity(savedCommunity.getId(), adminId);
 
       Community community = CommunityEntityMapper.INSTANCE.toModel(savedCommunity);
-      // Enriquecer con memberCount
-      community = enrichWithJoinAvailable(enrichWithMemberCount(community));
+      community.setMemberCount(adminJoined ? 1 : 0);
+      community = enrichWithJoinAvailable(community);
 
       log.info("Community created successfully with ID: {}", savedCommunity.getId());
 
@@ -94,9 +114,9 @@ public class CommunityServiceImpl implements CommunityService {
 
     return communityRepository
         .findById(communityId)
+        .filter(entity -> entity.getDeletedAt() == null)
         .map(CommunityEntityMapper.INSTANCE::toModel)
-            .map(this::enrichWithJoinAvailable)
-            .map(this::enrichWithMemberCount);
+        .map(this::enrichWithJoinAvailable);
   }
 
   @Override
@@ -104,33 +124,76 @@ public class CommunityServiceImpl implements CommunityService {
   public List<Community> getCommunitiesByAdminId(String adminId) {
     log.info("Getting communities administered by user: {}", adminId);
 
-    return communityRepository.findByAdminIdOrderByDateCreatedDesc(adminId).stream()
-        .map(CommunityEntityMapper.INSTANCE::toModel)
-        .map(this::enrichWithJoinAvailable)
-        .collect(Collectors.toList());
+    return enrichWithJoinAvailable(
+        communityRepository.findByAdminIdAndDeletedAtIsNullOrderByDateCreatedDesc(adminId).stream()
+            .map(CommunityEntityMapper.INSTANCE::toModel)
+            .collect(Collectors.toList()));
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<Community> getAllCommunities() {
-    log.info("Getting all communities");
+  public CommunityPage getCommunities(CommunitySort sort, String cursor, int size) {
+    log.info("Getting communities sorted by {} after cursor {}", sort, cursor);
+
+    CommunitySort safeSort = sort != null ? sort : CommunitySort.NEWEST;
+    int safeSize = Math.min(Math.max(size, 1), communityConfig.getMaxPageSize());
+    // Una fila extra para saber si hay otra página sin contar el total
+    Pageable limit = PageRequest.of(0, safeSize + 1);
+
+    List<CommunityEntity> rows;
+    if (cursor == null || cursor.isBlank()) {
+      rows =
+          switch (safeSort) {
+            case NEWEST -> communityRepository.findByDeletedAtIsNullOrderByDateCreatedDescIdDesc(limit);
+            case MEMBERS -> communityRepository.findByDeletedAtIsNullOrderByMemberCountDescIdDesc(limit);
+            case ACTIVITY -> communityRepository.findByDeletedAtIsNullOrderByLastActivityAtDescIdDesc(limit);
+          };
+    } else {
+      String[] position = decodeCursor(safeSort, cursor);
+      try {
+        rows =
+            switch (safeSort) {
+              case NEWEST ->
+                  communityRepository.findNewestAfter(
+                      LocalDateTime.parse(position[0]), position[1], limit);
+              case MEMBERS ->
+                  communityRepository.findMostMembersAfter(
+                      Long.parseLong(position[0]), position[1], limit);
+              case ACTIVITY ->
+                  communityRepository.findMostActiveAfter(
+                      LocalDateTime.parse(position[0]), position[1], limit);
+            };
+      } catch (DateTimeParseException | NumberFormatException e) {
+        throw new BadRequestException("Invalid cursor");
+      }
+    }
 
-    return communityRepository.findAllWithAdminOrderByDateCreatedDesc().stream()
-        .map(CommunityEntityMapper.INSTANCE::toModel)
-        .map(this::enrichWithMemberCount)
-        .map(this::enrichWithJoinAvailable)
-        .collect(Collectors.toList());
+    boolean hasNext = rows.size() > safeSize;
+    List<Community> communities =
+        rows.stream()
+            .limit(safeSize)
+            .map(CommunityEntityMapper.INSTANCE::toModel)
+            .collect(Collectors.toList());
+    enrichWithJoinAvailable(communities);
+
+    return CommunityPage.builder()
+        .communities(communities)
+        .nextCursor(
+            hasNext ? encodeCursor(safeSort, communities.get(communities.size() - 1)) : null)
+        .build();
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<Community> searchCommunities(String query) {
-    log.info("Searching communities with query: {}", query);
-
-    return communityRepository.searchCommunities(query).stream()
-        .map(CommunityEntityMapper.INSTANCE::toModel)
-        .map(this::enrichWithMemberCount)
-        .collect(Collectors.toList());
+  public CommunitySearchResult searchCommunities(String query, int page, int size) {
+    log.info("Searching communities with query: {}, page: {}, size: {}", query, page, size);
+
+    int safeSize = Math.min(Math.max(size, 0), communityConfig.getMaxPageSize());
+    int maxPage = communityConfig.getMaxResultWindow() / Math.max(safeSize, 1);
+    int safePage = Math.min(Math.max(page, 0), maxPage);
+    CommunitySearchResult result = communitySearchPort.search(query, safePage, safeSize);
+    enrichWithJoinAvailable(result.getCommunities());
+    return result;
   }
 
   @Override
@@ -138,7 +201,8 @@ public class CommunityServiceImpl implements CommunityService {
       String communityId, String adminId, String name, String description) {
     log.info("Updating community: {} by admin: {}", communityId, adminId);
 
-    Optional<CommunityEntity> communityEntityOpt = communityRepository.findById(communityId);
+    Optional<CommunityEntity> communityEntityOpt =
+        communityRepository.findById(communityId).filter(entity -> entity.getDeletedAt() == null);
     if (communityEntityOpt.isEmpty()) {
       log.warn("Community not found with ID: {}", communityId);
       return Optional.empty();
@@ -161,72 +225,37 @@ public class CommunityServiceImpl implements CommunityService {
     communityEntity.setName(name);
     communityEntity.setDescription(description);
     CommunityEntity updatedCommunity = communityRepository.save(communityEntity);
+    communitySearchPort.index(communityId, name, description);
 
     log.info("Community updated successfully: {}", communityId);
     return Optional.of(CommunityEntityMapper.INSTANCE.toModel(updatedCommunity));
   }
 
   @Override
-  public boolean deleteCommunity(String communityId, String adminId) {
+  public Optional<CommunityDeletionJob> deleteCommunity(String communityId, String adminId) {
     log.info("Deleting community: {} by admin: {}", communityId, adminId);
 
     Optional<CommunityEntity> communityEntityOpt = communityRepository.findById(communityId);
-    if (communityEntityOpt.isEmpty()) {
+    if (communityEntityOpt.isEmpty() || communityEntityOpt.get().getDeletedAt() != null) {
       log.warn("Community not found with ID: {}", communityId);
-      return false;
+      return Optional.empty();
     }
 
-    CommunityEntity communityEntity = communityEntityOpt.get();
-
     // Verificar que el usuario es el administrador de la comunidad
-    if (!communityEntity.getAdminId().equals(adminId)) {
+    if (!communityEntityOpt.get().getAdminId().equals(adminId)) {
       throw new UnauthorizedException("User is not the admin of the community");
     }
 
-    try {
-      // Orden de eliminación para mantener integridad referencial:
-      // 1. Comentarios en posts de la comunidad
-      // 2. Posts de la comunidad
-      // 3. Miembros de la comunidad
-      // 4. La comunidad misma
-
-      log.info("Starting cascade deletion for community: {}", communityId);
-
-      // 1. Eliminar todos los comentarios de posts de esta comunidad
-      var postsInCommunity = postRepository.findByCommunityIdOrderByDateCreatedDesc(communityId);
-      int totalComments = 0;
-      for (var post : postsInCommunity) {
-        var comments = commentRepository.findByPostIdOrderByDateCreatedDesc(post.getId());
-        totalComments += comments.size();
-        commentRepository.deleteAll(comments);
-      }
-      log.info("Deleted {} comments from community posts", totalComments);
-
-      // 2. Eliminar todos los posts de la comunidad
-      int totalPosts = postsInCommunity.size();
-      postRepository.deleteAll(postsInCommunity);
-      log.info("Deleted {} posts from community", totalPosts);
-
-      // 3. Eliminar todos los miembros de la comunidad
-      var members = communityMemberRepository.findByCommunityIdWithUser(communityId);
-      int totalMembers = members.size();
-      communityMemberRepository.deleteAll(members);
-      log.info("Deleted {} members from community", totalMembers);
-
-      // 4. Finalmente, eliminar la comunidad
-      communityRepository.delete(communityEntity);
-
-      log.info(
-          "Community deleted successfully: {} (with {} posts, {} comments, {} members)",
-          communityId,
-          totalPosts,
-          totalComments,
-          totalMembers);
-      return true;
-    } catch (Exception e) {
-      log.error("Error deleting community: {}", communityId, e);
-      return false;
+    // Se oculta en este pedido; posts, comentarios y miembros se borran en segundo plano
+    if (communityRepository.hide(communityId, LocalDateTime.now()) == 0) {
+      log.warn("Community {} is already being deleted", communityId);
+      return Optional.empty();
     }
+    communitySearchPort.remove(communityId);
+
+    CommunityDeletionJob job = communityDeletionService.startDeletion(communityId, adminId);
+    log.info("Community {} hidden, deletion job {} queued", communityId, job.getId());
+    return Optional.of(job);
   }
 
   @Override
@@ -234,7 +263,7 @@ public class CommunityServiceImpl implements CommunityService {
     log.info("User {} joining community: {}", userId, communityId);
 
     // Verificar que la comunidad existe
-    if (!communityRepository.existsById(communityId)) {
+    if (!communityRepository.existsByIdAndDeletedAtIsNull(communityId)) {
       throw new NotFoundException("Community not found with ID: " + communityId);
     }
 
@@ -255,6 +284,7 @@ public class CommunityServiceImpl implements CommunityService {
           CommunityMemberEntity.builder().communityId(communityId).userId(userId).build();
 
       communityMemberRepository.save(memberEntity);
+      communityRepository.addToMemberCount(communityId, 1);
       log.info("User {} successfully joined community: {}", userId, communityId);
 
       // Award gamification points for joining community (only if not admin joining own community)
@@ -286,7 +316,12 @@ public class CommunityServiceImpl implements CommunityService {
     }
 
     try {
-      communityMemberRepository.deleteById(memberId);
+      // Solo descuenta si esta llamada borró la fila, así dos bajas simultáneas no restan dos veces
+      if (communityMemberRepository.deleteMember(communityId, userId) == 0) {
+        log.warn("User {} already left community {}", userId, communityId);
+        return false;
+      }
+      communityRepository.addToMemberCount(communityId, -1);
       log.info("User {} successfully left community: {}", userId, communityId);
       return true;
     } catch (Exception e) {
@@ -302,7 +337,6 @@ public class CommunityServiceImpl implements CommunityService {
 
     return communityMemberRepository.findByUserIdWithCommunity(userId).stream()
         .map(memberEntity -> CommunityEntityMapper.INSTANCE.toModel(memberEntity.getCommunity()))
-        .map(this::enrichWithMemberCount)
         .collect(Collectors.toList());
   }
 
@@ -313,35 +347,60 @@ public class CommunityServiceImpl implements CommunityService {
     return communityMemberRepository.existsById(memberId);
   }
 
-  /**
-   * Enriquece el modelo Community con el memberCount calculado dinámicamente. Este método realiza
-   * una consulta adicional para obtener el número de miembros.
-   *
-   * @param community El modelo Community a enriquecer
-   * @return Community con memberCount actualizado
-   */
-  private Community enrichWithMemberCount(Community community) {
-    if (community == null || community.getId() == null) {
-      return community;
-    }
+  /** Cursor opaco: sort|valor de la columna de orden|id de la última comunidad de la página */
+  private static String encodeCursor(CommunitySort sort, Community last) {
+    Object value =
+        switch (sort) {
+          case NEWEST -> last.getDateCreated();
+          case MEMBERS -> last.getMemberCount();
+          case ACTIVITY -> last.getLastActivityAt();
+        };
+    String raw = sort.name() + CURSOR_SEPARATOR + value + CURSOR_SEPARATOR + last.getId();
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
 
+  /** Devuelve {valor, id} o lanza BadRequestException si el cursor no es de este sort */
+  private static String[] decodeCursor(CommunitySort sort, String cursor) {
+    String raw;
     try {
-      long memberCount = communityMemberRepository.countByCommunityId(community.getId());
-      community.setMemberCount(memberCount);
-      log.debug("Community {} enriched with member count: {}", community.getId(), memberCount);
-    } catch (Exception e) {
-      log.warn(
-          "Error calculating member count for community {}: {}", community.getId(), e.getMessage());
-      community.setMemberCount(0);
+      raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor");
     }
+    String[] parts = raw.split(Pattern.quote(CURSOR_SEPARATOR), 3);
+    if (parts.length != 3 || !parts[0].equals(sort.name()) || "null".equals(parts[1])) {
+      throw new BadRequestException("Invalid cursor for sort " + sort);
+    }
+    return new String[] {parts[1], parts[2]};
+  }
 
+  private Community enrichWithJoinAvailable(Community community) {
+    enrichWithJoinAvailable(List.of(community));
     return community;
   }
 
-  private Community enrichWithJoinAvailable(Community community) {
+  /**
+   * Marca joinAvailable en toda la lista con una sola consulta de membresías del usuario actual,
+   * en lugar de un existsById por comunidad. memberCount ya viene de la columna member_count.
+   *
+   * @param communities Comunidades a enriquecer
+   * @return La misma lista con joinAvailable actualizado
+   */
+  private List<Community> enrichWithJoinAvailable(List<Community> communities) {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-    String currentUserId = authentication.getName();
-    community.setJoinAvailable(!isUserMember(community.getId(), currentUserId));
-    return community;
+    if (communities.isEmpty() || authentication == null) {
+      communities.forEach(community -> community.setJoinAvailable(true));
+      return communities;
+    }
+
+    Set<String> joined =
+        new HashSet<>(
+            communityMemberRepository.findCommunityIdsByUserIdAndCommunityIdIn(
+                authentication.getName(),
+                communities.stream().map(Community::getId).collect(Collectors.toList())));
+    communities.forEach(community -> community.setJoinAvailable(!joined.contains(community.getId())));
+    return communities;
   }
 }
@@ -1,34 +1,53 @@
 package com.uade.bookybe.core.usecase.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uade.bookybe.config.LivekitProps;
 import com.uade.bookybe.core.model.LivekitRoom;
+import com.uade.bookybe.core.model.LivekitRoomEvent;
 import com.uade.bookybe.core.model.MeetingStatus;
+import com.uade.bookybe.core.port.LivekitRoomPort;
 import com.uade.bookybe.core.usecase.LivekitRoomService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Salas de LiveKit. El estado de cada sala (si existe y quiénes están conectados) se guarda en
+ * memoria: se lee de LiveKit una sola vez y después lo mantiene al día el webhook firmado
+ * (participant_joined, participant_left, room_finished), así que consultar el estado de una
+ * reunión no hace llamadas remotas. El estado es local a cada nodo; {@code livekit.roomStateTtl}
+ * acota cuánto puede durar un desvío si se pierde un webhook.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DefaultLivekitRoomService implements LivekitRoomService {
 
+    private final LivekitRoomPort livekitRoomPort;
+    private final Cache<String, RoomState> rooms;
+
+    public DefaultLivekitRoomService(LivekitRoomPort livekitRoomPort, LivekitProps livekitProps) {
+        this.livekitRoomPort = livekitRoomPort;
+        this.rooms = Caffeine.newBuilder()
+            .expireAfterWrite(livekitProps.getRoomStateTtl())
+            .build();
+    }
+
     @Override
     public LivekitRoom createRoom(String roomName, LivekitRoom.RoomOptions options) {
         try {
             log.info("Creating room: {}", roomName);
-            
-            // For now, return a mock room since the LiveKit API is complex
-            return LivekitRoom.builder()
-                .name(roomName)
-                .isActive(false)
-                .participantCount(0)
-                .createdAt(LocalDateTime.now())
-                .options(options)
-                .build();
+            LivekitRoom room = livekitRoomPort.createRoom(roomName, options);
+            // createRoom returns the existing room if there is one, so keep who is already in it
+            rooms.asMap().compute(roomName, (name, current) -> RoomState.of(room, current));
+            return room;
 
         } catch (Exception e) {
             log.error("Error creating room: " + roomName, e);
@@ -40,9 +59,11 @@ public class DefaultLivekitRoomService implements LivekitRoomService {
     public Optional<LivekitRoom> getRoom(String roomName) {
         try {
             log.info("Getting room: {}", roomName);
-            
-            // For now, return empty since we don't have a working API implementation
-            return Optional.empty();
+            Optional<LivekitRoom> room = livekitRoomPort.getRoom(roomName);
+            if (room.isEmpty()) {
+                rooms.put(roomName, RoomState.MISSING);
+            }
+            return room;
 
         } catch (Exception e) {
             log.error("Error getting room: " + roomName, e);
@@ -54,12 +75,13 @@ public class DefaultLivekitRoomService implements LivekitRoomService {
     public boolean deleteRoom(String roomName) {
         try {
             log.info("Deleting room: {}", roomName);
-            
-            // For now, always return true
+            livekitRoomPort.deleteRoom(roomName);
+            rooms.put(roomName, RoomState.MISSING);
             return true;
 
         } catch (Exception e) {
             log.error("Error deleting room: " + roomName, e);
+            rooms.invalidate(roomName);
             return false;
         }
     }
@@ -67,10 +89,7 @@ public class DefaultLivekitRoomService implements LivekitRoomService {
     @Override
     public List<String> getParticipants(String roomName) {
         try {
-            log.info("Getting participants for room: {}", roomName);
-            
-            // For now, return empty list
-            return List.of();
+            return List.copyOf(state(roomName).participants());
 
         } catch (Exception e) {
             log.error("Error getting participants for room: " + roomName, e);
@@ -81,16 +100,22 @@ public class DefaultLivekitRoomService implements LivekitRoomService {
     @Override
     public MeetingStatus getRoomStatus(String roomName) {
         try {
-            log.info("Getting room status: {}", roomName);
-            
-            // For now, return a basic status
+            RoomState state = state(roomName);
+            if (!state.exists()) {
+                MeetingStatus status = new MeetingStatus(false, false, 0, null);
+                status.setRoomName(roomName);
+                return status;
+            }
+
+            int participantCount = state.participants().size();
             return MeetingStatus.builder()
                 .exists(true)
-                .isActive(false)
-                .participantCount(0)
+                .isActive(participantCount > 0)
+                .participantCount(participantCount)
                 .roomName(roomName)
-                .startedAt(LocalDateTime.now())
-                .creationTime(System.currentTimeMillis() / 1000)
+                .startedAt(LocalDateTime.ofInstant(
+                    Instant.ofEpochSecond(state.creationTime()), ZoneId.systemDefault()))
+                .creationTime(state.creationTime())
                 .build();
 
         } catch (Exception e) {
@@ -98,4 +123,90 @@ public class DefaultLivekitRoomService implements LivekitRoomService {
             return new MeetingStatus(false, false, 0, null);
         }
     }
+
+    @Override
+    public void handleWebhook(String body, String authorization) {
+        LivekitRoomEvent event = livekitRoomPort.receiveWebhook(body, authorization);
+        if (event.getRoomName() == null || event.getType() == LivekitRoomEvent.Type.OTHER) {
+            return;
+        }
+        log.debug("LiveKit webhook {} {} for room {}", event.getId(), event.getType(), event.getRoomName());
+        rooms.asMap().compute(event.getRoomName(), (name, current) -> apply(current, event));
+    }
+
+    /** Loads a room from LiveKit once; a failure is not cached, so the next poll retries */
+    private RoomState state(String roomName) {
+        return rooms.get(roomName, this::load);
+    }
+
+    private RoomState load(String roomName) {
+        Optional<LivekitRoom> room = livekitRoomPort.getRoom(roomName);
+        if (room.isEmpty()) {
+            return RoomState.MISSING;
+        }
+        return new RoomState(
+            true,
+            room.get().getSid(),
+            epochSeconds(room.get().getCreatedAt()),
+            Set.copyOf(livekitRoomPort.listParticipants(roomName)));
+    }
+
+    /**
+     * Webhooks may arrive out of order or belong to an earlier session of a room with the same name,
+     * so leaving and finishing only apply to the session (sid) that is cached. A join for a session
+     * that isn't cached drops the entry instead of guessing who else is in the room, so the next
+     * read loads it from LiveKit.
+     */
+    private static RoomState apply(RoomState current, LivekitRoomEvent event) {
+        boolean sameSession = current != null && current.exists()
+            && (current.sid() == null || current.sid().equals(event.getRoomSid()));
+        switch (event.getType()) {
+            case ROOM_STARTED:
+                return sameSession ? current : RoomState.started(event);
+            case PARTICIPANT_JOINED:
+                return sameSession ? current.withParticipant(event.getParticipantIdentity(), true) : null;
+            case PARTICIPANT_LEFT:
+                return sameSession ? current.withParticipant(event.getParticipantIdentity(), false) : current;
+            case ROOM_FINISHED:
+                return sameSession ? RoomState.MISSING : current;
+            default:
+                return current;
+        }
+    }
+
+    private static long epochSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toEpochSecond() : 0;
+    }
+
+    private record RoomState(boolean exists, String sid, long creationTime, Set<String> participants) {
+
+        private static final RoomState MISSING = new RoomState(false, null, 0, Set.of());
+
+        static RoomState started(LivekitRoomEvent event) {
+            return new RoomState(true, event.getRoomSid(), event.getRoomCreationTime(), Set.of());
+        }
+
+        static RoomState of(LivekitRoom room, RoomState current) {
+            boolean sameSession = current != null && current.exists()
+                && (room.getSid() == null || room.getSid().equals(current.sid()));
+            return new RoomState(
+                true,
+                room.getSid(),
+                epochSeconds(room.getCreatedAt()),
+                sameSession ? current.participants() : Set.of());
+        }
+
+        RoomState withParticipant(String identity, boolean joined) {
+            if (identity == null) {
+                return this;
+            }
+            Set<String> updated = new HashSet<>(participants);
+            if (joined) {
+                updated.add(identity);
+            } else {
+                updated.remove(identity);
+            }
+            return new RoomState(exists, sid, creationTime, Set.copyOf(updated));
+        }
+    }
 }
@@ -5,6 +5,7 @@ import com.uade.bookybe.core.model.LivekitToken;
 import com.uade.bookybe.core.usecase.LivekitTokenService;
 import io.livekit.server.*;
 import jakarta.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -85,6 +86,8 @@ public class DefaultLivekitTokenService implements LivekitTokenService {
       // 1. Crear el AccessToken con las credenciales
       AccessToken token = new AccessToken(livekitProps.getApiKey(), livekitProps.getApiSecret());
 
+      token.setTtl(TimeUnit.SECONDS.toMillis(livekitProps.getTokenTtlSeconds()));
+
       // 2. Configurar identidad y nombre del participante
       token.setIdentity(userId);
       token.setName(userName);
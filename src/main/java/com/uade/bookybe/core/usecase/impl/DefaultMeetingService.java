@@ -1,6 +1,9 @@
 package com.uade.bookybe.core.usecase.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uade.bookybe.config.LivekitProps;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.exception.UnauthorizedException;
 import com.uade.bookybe.core.model.LivekitRoom;
@@ -14,19 +17,24 @@ import com.uade.bookybe.core.usecase.ReadingClubService;
 import com.uade.bookybe.infraestructure.entity.ReadingClubEntity;
 import com.uade.bookybe.infraestructure.mapper.ReadingClubEntityMapper;
 import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Reuniones de clubes de lectura sobre LiveKit. Cuando arranca una reunión todo el club pide token
+ * a la vez: el acceso (club, membresía, moderador y nombre) se resuelve con una sola consulta por
+ * claves primarias, y el token firmado se reutiliza por (club, usuario) durante
+ * {@code livekit.tokenCacheTtl}, que es mucho menor que la vida del token.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DefaultMeetingService implements MeetingService {
 
     private final LivekitTokenService livekitTokenService;
@@ -34,29 +42,45 @@ public class DefaultMeetingService implements MeetingService {
     private final ReadingClubService readingClubService;
     private final ReadingClubRepository readingClubRepository;
     private final ObjectMapper objectMapper;
+    private final Cache<TokenKey, LivekitToken> tokens;
+
+    public DefaultMeetingService(
+            LivekitTokenService livekitTokenService,
+            LivekitRoomService livekitRoomService,
+            ReadingClubService readingClubService,
+            ReadingClubRepository readingClubRepository,
+            ObjectMapper objectMapper,
+            LivekitProps livekitProps) {
+        this.livekitTokenService = livekitTokenService;
+        this.livekitRoomService = livekitRoomService;
+        this.readingClubService = readingClubService;
+        this.readingClubRepository = readingClubRepository;
+        this.objectMapper = objectMapper;
+        this.tokens = Caffeine.newBuilder()
+            .expireAfterWrite(livekitProps.getTokenCacheTtl())
+            .build();
+    }
 
     @Override
-    public LivekitToken generateMeetingToken(String readingClubId, String userId, String participantName) {
+    public LivekitToken generateMeetingToken(String readingClubId, String userId) {
         log.info("Generating meeting token for user {} in reading club {}", userId, readingClubId);
+        return tokens.get(new TokenKey(readingClubId, userId), this::issueToken);
+    }
 
-        // Verify reading club exists
-        Optional<ReadingClub> clubOpt = readingClubService.getReadingClubById(readingClubId);
-        if (clubOpt.isEmpty()) {
-            throw new NotFoundException("Reading club not found: " + readingClubId);
+    private LivekitToken issueToken(TokenKey key) {
+        List<Object[]> access = readingClubRepository.findMeetingAccess(key.readingClubId(), key.userId());
+        if (access.isEmpty()) {
+            throw new NotFoundException("Reading club not found: " + key.readingClubId());
         }
 
-        ReadingClub club = clubOpt.get();
-
-        // Verify user is member of the reading club
-        if (!readingClubService.isUserMember(readingClubId, userId)) {
+        Object[] row = access.get(0);
+        if (row[1] == null) {
             throw new UnauthorizedException("User is not a member of this reading club");
         }
 
-        // Check if user is moderator
-        boolean isModerator = club.getModeratorId().equals(userId);
-
-        // Generate room name
-        String roomName = "reading-club-" + readingClubId;
+        boolean isModerator = key.userId().equals(row[0]);
+        String participantName = row[2] != null ? (String) row[2] : key.userId();
+        String roomName = "reading-club-" + key.readingClubId();
 
         // Create token with appropriate permissions
         LivekitToken.TokenPermissions permissions = new LivekitToken.TokenPermissions(isModerator);
@@ -64,11 +88,11 @@ public class DefaultMeetingService implements MeetingService {
         LivekitToken token = livekitTokenService.createToken(
             roomName,
             participantName,
-            userId,
+            key.userId(),
             permissions
         );
 
-        log.info("Generated meeting token for user {} (moderator: {})", userId, isModerator);
+        log.info("Generated meeting token for user {} (moderator: {})", key.userId(), isModerator);
         return token;
     }
 
@@ -189,17 +213,8 @@ public class DefaultMeetingService implements MeetingService {
 
         String roomName = "reading-club-" + readingClubId;
 
-        // Get room status from LiveKit
-        MeetingStatus status = livekitRoomService.getRoomStatus(roomName);
-
-        // Get database info
-        Optional<ReadingClub> clubOpt = readingClubService.getReadingClubById(readingClubId);
-        if (clubOpt.isPresent()) {
-            ReadingClub club = clubOpt.get();
-            status.setStartedAt(club.getMeetingStartedAt());
-        }
-
-        return status;
+        // Served from the room state kept by the LiveKit webhook; startedAt is the room creation
+        return livekitRoomService.getRoomStatus(roomName);
     }
 
     @Override
@@ -211,4 +226,6 @@ public class DefaultMeetingService implements MeetingService {
     public Optional<ReadingClub> getReadingClub(String readingClubId) {
         return readingClubService.getReadingClubById(readingClubId);
     }
+
+    private record TokenKey(String readingClubId, String userId) {}
 }
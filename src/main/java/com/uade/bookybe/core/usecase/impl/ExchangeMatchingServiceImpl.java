@@ -0,0 +1,386 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import com.uade.bookybe.config.ExchangeMatchingConfig;
+import com.uade.bookybe.core.model.Address;
+import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.SuggestedTrade;
+import com.uade.bookybe.core.model.User;
+import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.TradeMatchType;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
+import com.uade.bookybe.infraestructure.entity.BookEntity;
+import com.uade.bookybe.infraestructure.mapper.BookEntityMapper;
+import com.uade.bookybe.infraestructure.mapper.UserEntityMapper;
+import com.uade.bookybe.infraestructure.repository.BookRepository;
+import com.uade.bookybe.infraestructure.repository.UserBookRepository;
+import com.uade.bookybe.infraestructure.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Matchmaking sobre dos índices invertidos en memoria: libro -> usuarios que lo ofrecen
+ * ({@code wantsToExchange}) y libro -> usuarios que lo desean ({@code WISHLIST}). El índice se
+ * reconstruye desde la base cada {@code exchange-matching.refresh-interval} y se actualiza fila a
+ * fila cuando cambia una biblioteca; las sugerencias solo recorren los postings de los libros del
+ * usuario, nunca la tabla completa.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExchangeMatchingServiceImpl implements ExchangeMatchingService {
+
+  private static final double EARTH_RADIUS_KM = 6371.0;
+
+  private final UserBookRepository userBookRepository;
+  private final BookRepository bookRepository;
+  private final UserRepository userRepository;
+  private final ExchangeMatchingConfig config;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private MatchIndex index = new MatchIndex();
+  /** Changes applied while a rebuild is loading; replayed on the new index before swapping it in */
+  private List<Consumer<MatchIndex>> changedDuringRebuild;
+
+  @Scheduled(fixedDelayString = "${exchange-matching.refresh-interval:PT30M}")
+  public void rebuild() {
+    long start = System.currentTimeMillis();
+    withWriteLock(() -> changedDuringRebuild = new ArrayList<>());
+
+    MatchIndex fresh = new MatchIndex();
+    try {
+      for (Object[] row : userBookRepository.findMatchableEntries(BookStatus.WISHLIST)) {
+        fresh.put(
+            new Entry(
+                (String) row[0],
+                (String) row[1],
+                Boolean.TRUE.equals(row[3]),
+                row[2] == BookStatus.WISHLIST));
+      }
+    } catch (RuntimeException e) {
+      log.error("Could not rebuild exchange match index: {}", e.getMessage(), e);
+      withWriteLock(() -> changedDuringRebuild = null);
+      return;
+    }
+
+    withWriteLock(
+        () -> {
+          changedDuringRebuild.forEach(change -> change.accept(fresh));
+          index = fresh;
+          changedDuringRebuild = null;
+        });
+    log.info(
+        "Exchange match index rebuilt: {} offered and {} wished books in {} ms",
+        fresh.offeredBy.size(),
+        fresh.wishedBy.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  @Override
+  public void onLibraryEntryChanged(
+      String userId, String bookId, BookStatus status, boolean wantsToExchange) {
+    Entry entry = new Entry(userId, bookId, wantsToExchange, status == BookStatus.WISHLIST);
+    afterCommit(() -> apply(matchIndex -> matchIndex.put(entry)));
+  }
+
+  @Override
+  public void onUserLibraryRemoved(String userId) {
+    afterCommit(() -> apply(matchIndex -> matchIndex.removeUser(userId)));
+  }
+
+  private void apply(Consumer<MatchIndex> change) {
+    withWriteLock(
+        () -> {
+          change.accept(index);
+          if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(change);
+          }
+        });
+  }
+
+  /** A rolled back write must not reach the index, which the database does not know about */
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  @Override
+  public List<SuggestedTrade> getSuggestedTrades(
+      String userId, boolean includeThreeWay, int limit) {
+    int maxResults = Math.min(Math.max(limit, 1), config.getMaxSuggestions());
+
+    List<Candidate> candidates;
+    lock.readLock().lock();
+    try {
+      candidates = index.match(userId, includeThreeWay, config.getMaxThreeWayPartners());
+    } finally {
+      lock.readLock().unlock();
+    }
+    if (candidates.isEmpty()) {
+      return List.of();
+    }
+
+    // Rank by overlap first so only the best candidates need their users loaded
+    candidates.sort(BY_OVERLAP);
+    candidates = candidates.subList(0, Math.min(candidates.size(), config.getMaxCandidates()));
+
+    Set<String> userIds = new HashSet<>();
+    Set<String> bookIds = new HashSet<>();
+    userIds.add(userId);
+    for (Candidate candidate : candidates) {
+      userIds.add(candidate.receiveFrom());
+      userIds.add(candidate.giveTo());
+      bookIds.addAll(candidate.receive());
+      bookIds.addAll(candidate.give());
+      bookIds.addAll(candidate.intermediate());
+    }
+    Map<String, User> users =
+        userRepository.findAllById(userIds).stream()
+            .map(UserEntityMapper.INSTANCE::toModel)
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+    Map<String, Book> books =
+        bookRepository.findAllWithCategoriesByIdIn(bookIds).stream()
+            .collect(
+                Collectors.toMap(
+                    BookEntity::getId, BookEntityMapper.INSTANCE::toModel, (a, b) -> a));
+
+    User me = users.get(userId);
+    return candidates.stream()
+        .filter(c -> users.containsKey(c.receiveFrom()) && users.containsKey(c.giveTo()))
+        .map(c -> new Ranked(c, toTrade(c, me, users, books)))
+        .sorted(
+            Comparator.comparing(Ranked::candidate, BY_OVERLAP)
+                .thenComparing(
+                    ranked -> ranked.trade().getDistanceKm(),
+                    Comparator.nullsLast(Comparator.<Double>naturalOrder())))
+        .limit(maxResults)
+        .map(Ranked::trade)
+        .collect(Collectors.toList());
+  }
+
+  private SuggestedTrade toTrade(
+      Candidate candidate, User me, Map<String, User> users, Map<String, Book> books) {
+    User receiveFrom = users.get(candidate.receiveFrom());
+    User giveTo = users.get(candidate.giveTo());
+    Double distance = distanceKm(me, receiveFrom);
+    if (candidate.type() == TradeMatchType.THREE_WAY) {
+      Double other = distanceKm(me, giveTo);
+      distance = distance != null && other != null ? Math.max(distance, other) : null;
+    }
+    return SuggestedTrade.builder()
+        .type(candidate.type())
+        .receiveFrom(receiveFrom)
+        .giveTo(giveTo)
+        .booksToReceive(booksOf(candidate.receive(), books))
+        .booksToGive(booksOf(candidate.give(), books))
+        .intermediateBooks(booksOf(candidate.intermediate(), books))
+        .distanceKm(distance)
+        .build();
+  }
+
+  private static List<Book> booksOf(List<String> ids, Map<String, Book> books) {
+    return ids.stream().map(books::get).filter(Objects::nonNull).collect(Collectors.toList());
+  }
+
+  /** Great-circle distance, or null when either user has no coordinates */
+  private static Double distanceKm(User a, User b) {
+    Address from = a != null ? a.getAddress() : null;
+    Address to = b != null ? b.getAddress() : null;
+    if (from == null
+        || to == null
+        || from.getLatitude() == null
+        || from.getLongitude() == null
+        || to.getLatitude() == null
+        || to.getLongitude() == null) {
+      return null;
+    }
+    double dLat = Math.toRadians(to.getLatitude() - from.getLatitude());
+    double dLon = Math.toRadians(to.getLongitude() - from.getLongitude());
+    double h =
+        Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(from.getLatitude()))
+                * Math.cos(Math.toRadians(to.getLatitude()))
+                * Math.sin(dLon / 2)
+                * Math.sin(dLon / 2);
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(h));
+  }
+
+  private void withWriteLock(Runnable action) {
+    lock.writeLock().lock();
+    try {
+      action.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Balanced trades first (the smaller side decides how many books actually change hands), then
+   * bigger trades, then direct trades over three-way cycles.
+   */
+  private static final Comparator<Candidate> BY_OVERLAP =
+      Comparator.comparingInt(Candidate::balancedSize)
+          .reversed()
+          .thenComparing(Comparator.comparingInt(Candidate::totalSize).reversed())
+          .thenComparing(Candidate::type);
+
+  private record Entry(String userId, String bookId, boolean offered, boolean wished) {}
+
+  private record Candidate(
+      TradeMatchType type,
+      String receiveFrom,
+      String giveTo,
+      List<String> receive,
+      List<String> give,
+      List<String> intermediate) {
+
+    int balancedSize() {
+      return Math.min(receive.size(), give.size());
+    }
+
+    int totalSize() {
+      return receive.size() + give.size();
+    }
+  }
+
+  private record Ranked(Candidate candidate, SuggestedTrade trade) {}
+
+  /** Not thread-safe; guarded by the service's lock */
+  private static final class MatchIndex {
+    /** book id -> users offering it */
+    private final Map<String, Set<String>> offeredBy = new HashMap<>();
+    /** book id -> users wishing it */
+    private final Map<String, Set<String>> wishedBy = new HashMap<>();
+    /** user id -> books the user offers */
+    private final Map<String, Set<String>> offers = new HashMap<>();
+    /** user id -> books the user wishes */
+    private final Map<String, Set<String>> wishes = new HashMap<>();
+
+    void put(Entry entry) {
+      toggle(offeredBy, entry.bookId(), entry.userId(), entry.offered());
+      toggle(offers, entry.userId(), entry.bookId(), entry.offered());
+      toggle(wishedBy, entry.bookId(), entry.userId(), entry.wished());
+      toggle(wishes, entry.userId(), entry.bookId(), entry.wished());
+    }
+
+    void removeUser(String userId) {
+      Set<String> offered = offers.remove(userId);
+      if (offered != null) {
+        offered.forEach(bookId -> toggle(offeredBy, bookId, userId, false));
+      }
+      Set<String> wished = wishes.remove(userId);
+      if (wished != null) {
+        wished.forEach(bookId -> toggle(wishedBy, bookId, userId, false));
+      }
+    }
+
+    private static void toggle(
+        Map<String, Set<String>> postings, String key, String value, boolean present) {
+      if (present) {
+        postings.computeIfAbsent(key, k -> new HashSet<>()).add(value);
+        return;
+      }
+      Set<String> values = postings.get(key);
+      if (values != null && values.remove(value) && values.isEmpty()) {
+        postings.remove(key);
+      }
+    }
+
+    /**
+     * Two-way matches are users present in both "can give me" and "wants from me"; three-way
+     * cycles (me -> W -> V -> me) walk the offers of the W users that want one of my books.
+     */
+    List<Candidate> match(String userId, boolean includeThreeWay, int maxThreeWayPartners) {
+      // V -> books V offers that I wish
+      Map<String, List<String>> canGiveMe = invert(wishes.get(userId), offeredBy, userId);
+      // W -> books I offer that W wishes
+      Map<String, List<String>> wantsFromMe = invert(offers.get(userId), wishedBy, userId);
+
+      List<Candidate> candidates = new ArrayList<>();
+      canGiveMe.forEach(
+          (partner, receive) -> {
+            List<String> give = wantsFromMe.get(partner);
+            if (give != null) {
+              candidates.add(
+                  new Candidate(TradeMatchType.TWO_WAY, partner, partner, receive, give, List.of()));
+            }
+          });
+      if (!includeThreeWay || canGiveMe.isEmpty()) {
+        return candidates;
+      }
+
+      List<String> partners =
+          wantsFromMe.entrySet().stream()
+              .sorted(
+                  Comparator.comparingInt(
+                          (Map.Entry<String, List<String>> e) -> e.getValue().size())
+                      .reversed()
+                      .thenComparing(Map.Entry::getKey))
+              .limit(maxThreeWayPartners)
+              .map(Map.Entry::getKey)
+              .toList();
+      for (String giveTo : partners) {
+        // V -> books W offers that V wishes, restricted to V that can give me something
+        Map<String, List<String>> closesCycle = invert(offers.get(giveTo), wishedBy, giveTo);
+        closesCycle.forEach(
+            (receiveFrom, intermediate) -> {
+              if (!receiveFrom.equals(userId) && canGiveMe.containsKey(receiveFrom)) {
+                candidates.add(
+                    new Candidate(
+                        TradeMatchType.THREE_WAY,
+                        receiveFrom,
+                        giveTo,
+                        canGiveMe.get(receiveFrom),
+                        wantsFromMe.get(giveTo),
+                        intermediate));
+              }
+            });
+      }
+      return candidates;
+    }
+
+    /** For each of the books, the other users in its posting list, with the books they share */
+    private static Map<String, List<String>> invert(
+        Collection<String> books, Map<String, Set<String>> usersByBook, String exclude) {
+      Map<String, List<String>> byUser = new HashMap<>();
+      if (books == null) {
+        return byUser;
+      }
+      for (String bookId : books) {
+        for (String other : usersByBook.getOrDefault(bookId, Set.of())) {
+          if (!other.equals(exclude)) {
+            byUser.computeIfAbsent(other, u -> new ArrayList<>()).add(bookId);
+          }
+        }
+      }
+      byUser.values().forEach(list -> list.sort(Comparator.naturalOrder()));
+      return byUser;
+    }
+  }
+}
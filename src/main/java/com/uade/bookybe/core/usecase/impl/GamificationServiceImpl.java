@@ -2,6 +2,7 @@ package com.uade.bookybe.core.usecase.impl;
 
 import com.uade.bookybe.core.model.*;
 import com.uade.bookybe.core.model.constant.GamificationActivity;
+import com.uade.bookybe.core.usecase.BadgeService;
 import com.uade.bookybe.core.usecase.GamificationService;
 import com.uade.bookybe.infraestructure.entity.*;
 import com.uade.bookybe.infraestructure.mapper.*;
@@ -25,6 +26,7 @@ public class GamificationServiceImpl implements GamificationService {
   private final AchievementRepository achievementRepository;
   private final UserLevelRepository userLevelRepository;
   private final UserRepository userRepository;
+  private final BadgeService badgeService;
 
   // Note: Points are now configured in GamificationActivity enum
 
@@ -135,6 +137,16 @@ public class GamificationServiceImpl implements GamificationService {
     return awardPoints(userId, GamificationActivity.BOOK_ADDED);
   }
 
+  @Override
+  public Optional<GamificationProfile> processBooksAdded(String userId, int count) {
+    if (count <= 0) {
+      return getUserProfile(userId);
+    }
+    GamificationActivity activity = GamificationActivity.BOOK_ADDED;
+    log.info("Awarding {} x {} for bulk import to user {}", count, activity.name(), userId);
+    return awardPoints(userId, activity.name(), activity.getPoints() * count);
+  }
+
   @Override
   public Optional<GamificationProfile> processBookRead(String userId) {
     updateActivityCounter(userId, "booksRead", 1);
@@ -230,6 +242,7 @@ public class GamificationServiceImpl implements GamificationService {
                 userAchievementRepository.save(entity);
               });
     }
+    badgeService.invalidate(userId);
   }
 
   @Override
@@ -292,6 +305,9 @@ public class GamificationServiceImpl implements GamificationService {
       }
     }
 
+    if (!newAchievements.isEmpty()) {
+      badgeService.invalidate(userId);
+    }
     return newAchievements;
   }
 
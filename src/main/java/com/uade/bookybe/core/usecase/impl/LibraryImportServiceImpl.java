@@ -0,0 +1,462 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uade.bookybe.config.LibraryImportConfig;
+import com.uade.bookybe.core.exception.BadRequestException;
+import com.uade.bookybe.core.exception.ConflictException;
+import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.LibraryImportEntry;
+import com.uade.bookybe.core.model.LibraryImportJob;
+import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.ImportJobStatus;
+import com.uade.bookybe.core.port.BookSearchPort;
+import com.uade.bookybe.core.port.GoogleBooksPort;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
+import com.uade.bookybe.core.usecase.GamificationService;
+import com.uade.bookybe.core.usecase.LibraryImportService;
+import com.uade.bookybe.infraestructure.entity.BookEntity;
+import com.uade.bookybe.infraestructure.entity.UserBookEntity;
+import com.uade.bookybe.infraestructure.mapper.BookEntityMapper;
+import com.uade.bookybe.infraestructure.repository.BookRepository;
+import com.uade.bookybe.infraestructure.repository.UserBookRepository;
+import com.uade.bookybe.util.CsvUtil;
+import com.uade.bookybe.util.IsbnUtil;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Imports many books into a user's library as a background job. Known ISBNs are resolved with a
+ * single IN query, misses go to Google Books with bounded parallelism, library rows are inserted in
+ * JDBC batches and gamification is awarded once at the end. Job progress is kept in memory for
+ * {@code library-import.job-retention}.
+ */
+@Service
+@Slf4j
+public class LibraryImportServiceImpl implements LibraryImportService {
+
+  private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+  private final BookRepository bookRepository;
+  private final UserBookRepository userBookRepository;
+  private final GoogleBooksPort googleBooksPort;
+  private final BookSearchPort bookSearchPort;
+  private final GamificationService gamificationService;
+  private final ExchangeMatchingService exchangeMatchingService;
+  private final TransactionTemplate transactionTemplate;
+  private final Executor libraryImportExecutor;
+  private final LibraryImportConfig config;
+
+  private final Cache<String, LibraryImportJob> jobs;
+  private final ConcurrentMap<String, String> activeJobIdByUser = new ConcurrentHashMap<>();
+
+  public LibraryImportServiceImpl(
+      BookRepository bookRepository,
+      UserBookRepository userBookRepository,
+      GoogleBooksPort googleBooksPort,
+      BookSearchPort bookSearchPort,
+      GamificationService gamificationService,
+      ExchangeMatchingService exchangeMatchingService,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("libraryImportExecutor") Executor libraryImportExecutor,
+      LibraryImportConfig config) {
+    this.bookRepository = bookRepository;
+    this.userBookRepository = userBookRepository;
+    this.googleBooksPort = googleBooksPort;
+    this.bookSearchPort = bookSearchPort;
+    this.gamificationService = gamificationService;
+    this.exchangeMatchingService = exchangeMatchingService;
+    this.transactionTemplate = transactionTemplate;
+    this.libraryImportExecutor = libraryImportExecutor;
+    this.config = config;
+    this.jobs = Caffeine.newBuilder().expireAfterWrite(config.getJobRetention()).build();
+  }
+
+  @Override
+  public LibraryImportJob startImport(String userId, List<LibraryImportEntry> entries) {
+    log.info("Starting library import for user: {} with {} entries", userId, entries.size());
+
+    Map<String, BookStatus> statusByIsbn = new LinkedHashMap<>();
+    List<String> invalidIsbns = new ArrayList<>();
+    for (LibraryImportEntry entry : entries) {
+      String isbn = cleanIsbn(entry.getIsbn());
+      if (isbn == null) {
+        invalidIsbns.add(entry.getIsbn());
+        continue;
+      }
+      BookStatus status = entry.getStatus() != null ? entry.getStatus() : BookStatus.TO_READ;
+      statusByIsbn.putIfAbsent(isbn, status);
+    }
+
+    if (statusByIsbn.isEmpty()) {
+      throw new BadRequestException("No valid ISBNs to import");
+    }
+    if (statusByIsbn.size() > config.getMaxIsbns()) {
+      throw new BadRequestException(
+          "Too many ISBNs to import: "
+              + statusByIsbn.size()
+              + " (max "
+              + config.getMaxIsbns()
+              + ")");
+    }
+
+    String jobId = "import-" + UUID.randomUUID().toString().substring(0, 8);
+    String runningJobId = activeJobIdByUser.putIfAbsent(userId, jobId);
+    if (runningJobId != null) {
+      throw new ConflictException("An import is already running for this user: " + runningJobId);
+    }
+
+    LibraryImportJob job =
+        LibraryImportJob.builder()
+            .id(jobId)
+            .userId(userId)
+            .status(ImportJobStatus.PENDING)
+            .totalIsbns(statusByIsbn.size())
+            .notFoundIsbns(List.of())
+            .invalidIsbns(List.copyOf(invalidIsbns))
+            .dateCreated(LocalDateTime.now())
+            .build();
+    jobs.put(jobId, job);
+
+    try {
+      libraryImportExecutor.execute(() -> runImport(job, statusByIsbn));
+    } catch (RuntimeException e) {
+      activeJobIdByUser.remove(userId, jobId);
+      jobs.invalidate(jobId);
+      throw new ConflictException("Import queue is full, try again later");
+    }
+
+    return job;
+  }
+
+  @Override
+  public LibraryImportJob startImportFromCsv(
+      String userId, MultipartFile file, BookStatus defaultStatus) {
+    log.info("Parsing library import file for user: {}", userId);
+    return startImport(userId, parseCsv(file, defaultStatus));
+  }
+
+  @Override
+  public Optional<LibraryImportJob> getImportJob(String userId, String jobId) {
+    return Optional.ofNullable(jobs.getIfPresent(jobId))
+        .filter(job -> job.getUserId().equals(userId));
+  }
+
+  private void runImport(LibraryImportJob job, Map<String, BookStatus> statusByIsbn) {
+    String userId = job.getUserId();
+    LibraryImportJob current = publish(job.toBuilder().status(ImportJobStatus.RUNNING).build());
+
+    try {
+      // 1. Resolve every known ISBN with a single IN query (chunked for very large imports)
+      Map<String, BookEntity> booksByIsbn = findBooksByIsbn(statusByIsbn.keySet());
+      List<String> missingIsbns =
+          statusByIsbn.keySet().stream().filter(isbn -> !booksByIsbn.containsKey(isbn)).toList();
+      current = publish(current.toBuilder().processedIsbns(booksByIsbn.size()).build());
+      log.info(
+          "Import {}: {} ISBNs found in database, {} to fetch from Google Books",
+          job.getId(),
+          booksByIsbn.size(),
+          missingIsbns.size());
+
+      // 2. Fetch misses from Google Books with bounded parallelism
+      Map<String, Book> fetchedBooks = fetchFromGoogle(missingIsbns, current);
+      current = publish(current.toBuilder().processedIsbns(statusByIsbn.size()).build());
+
+      // 3. Write everything in one short transaction
+      ImportResult result =
+          transactionTemplate.execute(
+              status -> persist(userId, statusByIsbn, booksByIsbn, fetchedBooks));
+
+      bookSearchPort.index(result.newBooks());
+      result
+          .wishedBookIds()
+          .forEach(
+              bookId ->
+                  exchangeMatchingService.onLibraryEntryChanged(
+                      userId, bookId, BookStatus.WISHLIST, false));
+
+      // 4. Gamification once for the whole import
+      if (result.imported() > 0) {
+        gamificationService.processBooksAdded(userId, result.imported());
+      }
+
+      publish(
+          current.toBuilder()
+              .status(ImportJobStatus.COMPLETED)
+              .importedCount(result.imported())
+              .alreadyInLibraryCount(result.alreadyInLibrary())
+              .notFoundIsbns(result.notFound())
+              .dateFinished(LocalDateTime.now())
+              .build());
+      log.info(
+          "Import {} completed for user {}: {} imported, {} already in library, {} not found",
+          job.getId(),
+          userId,
+          result.imported(),
+          result.alreadyInLibrary(),
+          result.notFound().size());
+
+    } catch (Exception e) {
+      log.error("Import {} failed for user {}: {}", job.getId(), userId, e.getMessage(), e);
+      publish(
+          current.toBuilder()
+              .status(ImportJobStatus.FAILED)
+              .errorMessage(e.getMessage())
+              .dateFinished(LocalDateTime.now())
+              .build());
+    } finally {
+      activeJobIdByUser.remove(userId, job.getId());
+    }
+  }
+
+  private Map<String, BookEntity> findBooksByIsbn(Set<String> isbns) {
+    Map<String, BookEntity> booksByIsbn = new HashMap<>();
+    List<String> isbnList = new ArrayList<>(isbns);
+    for (int from = 0; from < isbnList.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+      List<String> chunk =
+          isbnList.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, isbnList.size()));
+      bookRepository
+          .findByIsbn13In(chunk)
+          .forEach(book -> booksByIsbn.put(book.getIsbn13(), book));
+    }
+    return booksByIsbn;
+  }
+
+  private Map<String, Book> fetchFromGoogle(List<String> missingIsbns, LibraryImportJob current) {
+    Map<String, Book> fetched = new ConcurrentHashMap<>();
+    if (missingIsbns.isEmpty()) {
+      return fetched;
+    }
+
+    int alreadyProcessed = current.getProcessedIsbns();
+    Semaphore permits = new Semaphore(Math.max(1, config.getGoogleParallelism()));
+    AtomicInteger completed = new AtomicInteger();
+    List<CompletableFuture<Void>> calls = new ArrayList<>(missingIsbns.size());
+
+    for (String isbn : missingIsbns) {
+      permits.acquireUninterruptibly();
+      calls.add(
+          googleBooksPort
+              .getBookByIsbnAsync(isbn)
+              .handle(
+                  (book, error) -> {
+                    if (book != null) {
+                      book.ifPresent(found -> fetched.put(isbn, found));
+                    }
+                    completed.incrementAndGet();
+                    permits.release();
+                    return null;
+                  }));
+      current =
+          publish(current.toBuilder().processedIsbns(alreadyProcessed + completed.get()).build());
+    }
+
+    CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+    return fetched;
+  }
+
+  private ImportResult persist(
+      String userId,
+      Map<String, BookStatus> statusByIsbn,
+      Map<String, BookEntity> booksByIsbn,
+      Map<String, Book> fetchedBooks) {
+    Map<String, String> bookIdByIsbn = new HashMap<>();
+    booksByIsbn.forEach((isbn, book) -> bookIdByIsbn.put(isbn, book.getId()));
+
+    // Google may answer with another edition's ISBN that we already have stored
+    Map<String, String> googleIsbnByIsbn = new HashMap<>();
+    fetchedBooks.forEach(
+        (isbn, book) -> {
+          String googleIsbn = IsbnUtil.toIsbn13(book.getIsbn());
+          if (googleIsbn != null && !googleIsbn.equals(isbn)) {
+            googleIsbnByIsbn.put(isbn, googleIsbn);
+          }
+        });
+    Map<String, BookEntity> existingByGoogleIsbn =
+        findBooksByIsbn(new HashSet<>(googleIsbnByIsbn.values()));
+
+    List<BookEntity> newBooks = new ArrayList<>();
+    fetchedBooks.forEach(
+        (isbn, book) -> {
+          BookEntity existing = existingByGoogleIsbn.get(googleIsbnByIsbn.get(isbn));
+          if (existing != null) {
+            bookIdByIsbn.put(isbn, existing.getId());
+            return;
+          }
+          BookEntity bookEntity = BookEntityMapper.INSTANCE.toEntity(book);
+          bookEntity.setId("book-" + UUID.randomUUID().toString().substring(0, 8));
+          bookEntity.setIsbn(isbn);
+          bookEntity.setIsbn13(isbn);
+          newBooks.add(bookEntity);
+          bookIdByIsbn.put(isbn, bookEntity.getId());
+        });
+
+    // Rows stored concurrently by someone else win; point at them instead
+    Set<String> insertedIds = new HashSet<>(bookRepository.insertAllIfAbsent(newBooks));
+    Set<String> lostIsbns =
+        newBooks.stream()
+            .filter(book -> !insertedIds.contains(book.getId()))
+            .map(BookEntity::getIsbn13)
+            .collect(Collectors.toSet());
+    newBooks.removeIf(book -> !insertedIds.contains(book.getId()));
+    findBooksByIsbn(lostIsbns).forEach((isbn, book) -> bookIdByIsbn.put(isbn, book.getId()));
+
+    Set<String> ownedBookIds = new HashSet<>();
+    List<String> bookIds = new ArrayList<>(new HashSet<>(bookIdByIsbn.values()));
+    for (int from = 0; from < bookIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+      List<String> chunk =
+          bookIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, bookIds.size()));
+      ownedBookIds.addAll(userBookRepository.findBookIdsByUserIdAndBookIdIn(userId, chunk));
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    List<UserBookEntity> newUserBooks = new ArrayList<>();
+    List<String> notFound = new ArrayList<>();
+    int alreadyInLibrary = 0;
+    for (Map.Entry<String, BookStatus> entry : statusByIsbn.entrySet()) {
+      String bookId = bookIdByIsbn.get(entry.getKey());
+      if (bookId == null) {
+        notFound.add(entry.getKey());
+        continue;
+      }
+      if (!ownedBookIds.add(bookId)) {
+        alreadyInLibrary++;
+        continue;
+      }
+      newUserBooks.add(
+          UserBookEntity.builder()
+              .id("user-book-" + UUID.randomUUID().toString().substring(0, 8))
+              .userId(userId)
+              .bookId(bookId)
+              .status(entry.getValue())
+              .favorite(false)
+              .wantsToExchange(false)
+              .dateCreated(now)
+              .build());
+    }
+
+    userBookRepository.insertAllInBatch(newUserBooks, config.getBatchSize());
+    return new ImportResult(
+        newUserBooks.size(),
+        alreadyInLibrary,
+        notFound,
+        newBooks.stream().map(BookEntityMapper.INSTANCE::toModel).toList(),
+        newUserBooks.stream()
+            .filter(userBook -> userBook.getStatus() == BookStatus.WISHLIST)
+            .map(UserBookEntity::getBookId)
+            .toList());
+  }
+
+  private LibraryImportJob publish(LibraryImportJob job) {
+    jobs.put(job.getId(), job);
+    return job;
+  }
+
+  // ---------------- CSV parsing ----------------
+
+  private List<LibraryImportEntry> parseCsv(MultipartFile file, BookStatus defaultStatus) {
+    if (file == null || file.isEmpty()) {
+      throw new BadRequestException("Import file is empty");
+    }
+
+    List<List<String>> records;
+    try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+      records = CsvUtil.parse(reader);
+    } catch (IOException e) {
+      throw new BadRequestException("Could not read import file: " + e.getMessage());
+    }
+    if (records.isEmpty()) {
+      throw new BadRequestException("Import file is empty");
+    }
+
+    List<String> header =
+        records.get(0).stream()
+            .map(column -> column.replace("﻿", "").trim().toLowerCase(Locale.ROOT))
+            .toList();
+    int isbn13Column = header.indexOf("isbn13");
+    int isbnColumn = header.indexOf("isbn");
+    int shelfColumn = header.indexOf("exclusive shelf");
+    boolean hasHeader = isbn13Column >= 0 || isbnColumn >= 0;
+
+    List<LibraryImportEntry> entries = new ArrayList<>();
+    for (List<String> record : records.subList(hasHeader ? 1 : 0, records.size())) {
+      String isbn =
+          hasHeader
+              ? firstNonBlank(column(record, isbn13Column), column(record, isbnColumn))
+              : column(record, 0);
+      if (isbn == null) {
+        continue;
+      }
+      BookStatus status = shelfToStatus(column(record, shelfColumn), defaultStatus);
+      entries.add(LibraryImportEntry.builder().isbn(isbn).status(status).build());
+    }
+    return entries;
+  }
+
+  private String column(List<String> record, int index) {
+    if (index < 0 || index >= record.size()) {
+      return null;
+    }
+    String value = cleanIsbnNoise(record.get(index));
+    return value.isEmpty() ? null : value;
+  }
+
+  private String firstNonBlank(String first, String second) {
+    return first != null ? first : second;
+  }
+
+  /** Goodreads shelves: read, currently-reading, to-read; custom shelves use the default */
+  private BookStatus shelfToStatus(String shelf, BookStatus defaultStatus) {
+    if (shelf == null) {
+      return defaultStatus;
+    }
+    return switch (shelf.toLowerCase(Locale.ROOT)) {
+      case "read" -> BookStatus.READ;
+      case "currently-reading" -> BookStatus.READING;
+      case "to-read" -> BookStatus.TO_READ;
+      default -> defaultStatus;
+    };
+  }
+
+  /** Goodreads wraps ISBNs as ="0439023483" so spreadsheets keep leading zeros */
+  private String cleanIsbnNoise(String value) {
+    return value.replace("=", "").replace("\"", "").trim();
+  }
+
+  /** Returns the canonical ISBN-13, or null if the value is not a valid ISBN */
+  private String cleanIsbn(String raw) {
+    return raw != null ? IsbnUtil.toIsbn13(cleanIsbnNoise(raw)) : null;
+  }
+
+  private record ImportResult(
+      int imported,
+      int alreadyInLibrary,
+      List<String> notFound,
+      List<Book> newBooks,
+      List<String> wishedBookIds) {}
+}
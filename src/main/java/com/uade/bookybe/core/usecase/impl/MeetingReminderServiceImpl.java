@@ -0,0 +1,197 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import com.uade.bookybe.config.MeetingReminderConfig;
+import com.uade.bookybe.core.model.MeetingReminder;
+import com.uade.bookybe.core.port.MeetingReminderPort;
+import com.uade.bookybe.core.usecase.MeetingReminderService;
+import com.uade.bookybe.infraestructure.entity.ReadingClubEntity;
+import com.uade.bookybe.infraestructure.repository.ReadingClubMemberRepository;
+import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
+import com.uade.bookybe.util.HierarchicalTimingWheel;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Recordatorios de reuniones de clubes de lectura. Las próximas reuniones se cargan una vez al
+ * iniciar y después las mantienen al día createReadingClub, updateMeeting y el borrado de clubes,
+ * así que no se recorre la tabla periódicamente: cada reunión agenda un timer por offset en una
+ * {@link HierarchicalTimingWheel}, y cada {@code meeting-reminders.tick} se envían los que vencieron.
+ * Al vencer se relee el club, y el recordatorio se descarta si la reunión cambió o el club ya no
+ * existe (por ejemplo si otro nodo lo modificó). Cada nodo tiene las reuniones en su rueda, así
+ * que antes de enviar se reclama el recordatorio con un UPDATE condicional y solo lo manda el nodo
+ * que lo ganó.
+ */
+@Service
+@Slf4j
+public class MeetingReminderServiceImpl implements MeetingReminderService {
+
+  private static final int WHEEL_SIZE = 64;
+  /** 64^4 ticks: with one-minute ticks the wheel covers about 30 years */
+  private static final int WHEEL_LEVELS = 4;
+
+  private final ReadingClubRepository readingClubRepository;
+  private final ReadingClubMemberRepository readingClubMemberRepository;
+  private final MeetingReminderPort meetingReminderPort;
+  private final MeetingReminderConfig config;
+  private final HierarchicalTimingWheel<ReminderKey, PendingReminder> wheel;
+
+  public MeetingReminderServiceImpl(
+      ReadingClubRepository readingClubRepository,
+      ReadingClubMemberRepository readingClubMemberRepository,
+      MeetingReminderPort meetingReminderPort,
+      MeetingReminderConfig config) {
+    this.readingClubRepository = readingClubRepository;
+    this.readingClubMemberRepository = readingClubMemberRepository;
+    this.meetingReminderPort = meetingReminderPort;
+    this.config = config;
+    this.wheel =
+        new HierarchicalTimingWheel<>(
+            config.getTick(), WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadUpcomingMeetings() {
+    if (!config.isEnabled()) {
+      return;
+    }
+    try {
+      List<Object[]> meetings = readingClubRepository.findUpcomingMeetings(LocalDateTime.now());
+      meetings.forEach(row -> schedule((String) row[0], (LocalDateTime) row[1]));
+      log.info(
+          "Loaded {} upcoming reading club meetings ({} reminders)", meetings.size(), wheel.size());
+    } catch (RuntimeException e) {
+      log.error("Could not load upcoming reading club meetings: {}", e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void scheduleMeeting(String readingClubId, LocalDateTime nextMeeting) {
+    if (config.isEnabled()) {
+      afterCommit(() -> schedule(readingClubId, nextMeeting));
+    }
+  }
+
+  @Override
+  public void cancelMeeting(String readingClubId) {
+    if (config.isEnabled()) {
+      afterCommit(() -> cancel(readingClubId));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${meeting-reminders.tick:PT1M}")
+  public void sendDueReminders() {
+    sendDueReminders(System.currentTimeMillis());
+  }
+
+  void sendDueReminders(long nowMillis) {
+    for (PendingReminder reminder : wheel.advance(nowMillis)) {
+      try {
+        send(reminder);
+      } catch (RuntimeException e) {
+        log.error(
+            "Could not send meeting reminder for reading club {}: {}",
+            reminder.readingClubId(),
+            e.getMessage(),
+            e);
+      }
+    }
+  }
+
+  int pendingReminders() {
+    return wheel.size();
+  }
+
+  private void schedule(String readingClubId, LocalDateTime nextMeeting) {
+    cancel(readingClubId);
+    if (nextMeeting == null) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    for (Duration offset : config.getOffsets()) {
+      long remindAt = toMillis(nextMeeting.minus(offset));
+      // Un recordatorio que ya pasó (reunión agendada con poca anticipación) no se manda tarde
+      if (remindAt > now) {
+        wheel.schedule(
+            new ReminderKey(readingClubId, offset),
+            remindAt,
+            new PendingReminder(readingClubId, nextMeeting, offset));
+      }
+    }
+  }
+
+  private void cancel(String readingClubId) {
+    config.getOffsets().forEach(offset -> wheel.cancel(new ReminderKey(readingClubId, offset)));
+  }
+
+  private void send(PendingReminder reminder) {
+    Optional<ReadingClubEntity> club =
+        readingClubRepository
+            .findById(reminder.readingClubId())
+            .filter(entity -> sameMeeting(entity.getNextMeeting(), reminder.meetingAt()));
+    if (club.isEmpty()) {
+      log.debug("Dropping stale meeting reminder for reading club {}", reminder.readingClubId());
+      return;
+    }
+    // Se reclama con la fecha leída de la base, que puede tener menos precisión que la agendada
+    LocalDateTime storedMeeting = club.get().getNextMeeting();
+    long offsetMinutes = reminder.offset().toMinutes();
+    if (readingClubRepository.claimReminder(reminder.readingClubId(), storedMeeting, offsetMinutes)
+        == 0) {
+      log.debug("Reminder for reading club {} sent by another node", reminder.readingClubId());
+      return;
+    }
+
+    List<String> memberIds =
+        readingClubMemberRepository.findUserIdsByReadingClubId(reminder.readingClubId());
+    if (memberIds.isEmpty()) {
+      return;
+    }
+    meetingReminderPort.publish(
+        MeetingReminder.builder()
+            .readingClubId(reminder.readingClubId())
+            .readingClubName(club.get().getName())
+            .meetingAt(reminder.meetingAt())
+            .minutesBefore(reminder.offset().toMinutes())
+            .memberIds(memberIds)
+            .build());
+  }
+
+  /** The database may keep less precision than the LocalDateTime that was scheduled */
+  private static boolean sameMeeting(LocalDateTime stored, LocalDateTime scheduled) {
+    return stored != null
+        && stored.truncatedTo(ChronoUnit.SECONDS).equals(scheduled.truncatedTo(ChronoUnit.SECONDS));
+  }
+
+  private static long toMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  private record ReminderKey(String readingClubId, Duration offset) {}
+
+  private record PendingReminder(String readingClubId, LocalDateTime meetingAt, Duration offset) {}
+}
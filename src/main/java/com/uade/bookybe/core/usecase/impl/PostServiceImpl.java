@@ -39,7 +39,7 @@ public class PostServiceImpl implements PostService {
 
     // Validate community if communityId is provided
     if (!StringUtil.isNullOrEmpty(communityId)) {
-      boolean communityExists = communityRepository.existsById(communityId);
+      boolean communityExists = communityRepository.existsByIdAndDeletedAtIsNull(communityId);
       if (!communityExists) {
         log.warn("Community not found with ID: {}", communityId);
         throw new NotFoundException("Community not found with ID: " + communityId);
@@ -68,6 +68,9 @@ public class PostServiceImpl implements PostService {
       }
 
       PostEntity savedPost = postRepository.save(postEntity);
+      if (!StringUtil.isNullOrEmpty(communityId)) {
+        communityRepository.touchLastActivity(communityId, savedPost.getDateCreated());
+      }
       Post post = PostEntityMapper.INSTANCE.toModel(savedPost);
 
       log.info("Post created successfully with ID: {}", savedPost.getId());
@@ -4,7 +4,9 @@ import com.uade.bookybe.core.exception.ConflictException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.ReadingClub;
 import com.uade.bookybe.core.usecase.ReadingClubService;
+import com.uade.bookybe.core.usecase.ReadingProgressService;
 import com.uade.bookybe.core.usecase.GamificationService;
+import com.uade.bookybe.core.usecase.MeetingReminderService;
 import com.uade.bookybe.infraestructure.entity.ReadingClubEntity;
 import com.uade.bookybe.infraestructure.entity.ReadingClubMemberEntity;
 import com.uade.bookybe.infraestructure.mapper.ReadingClubEntityMapper;
@@ -13,12 +15,21 @@ import com.uade.bookybe.infraestructure.repository.CommunityRepository;
 import com.uade.bookybe.infraestructure.repository.ReadingClubMemberRepository;
 import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,21 +43,27 @@ public class ReadingClubServiceImpl implements ReadingClubService {
   private final CommunityRepository communityRepository;
   private final BookRepository bookRepository;
   private final GamificationService gamificationService;
+  private final MeetingReminderService meetingReminderService;
+  private final ReadingProgressService readingProgressService;
+
+  private static final int MAX_PAGE_SIZE = 50;
 
   @Override
-  public List<ReadingClub> getAllReadingClubs() {
-    log.info("Getting all reading clubs");
-    List<ReadingClubEntity> entities = readingClubRepository.findAll();
-    List<ReadingClub> clubs =
-        entities.stream()
-            .map(ReadingClubEntityMapper.INSTANCE::toModel)
-            .collect(Collectors.toList());
+  public Page<ReadingClub> getAllReadingClubs(int page, int size) {
+    log.info("Getting reading clubs page {} (size {})", page, size);
+    Pageable pageable =
+        PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    Page<ReadingClubEntity> entities =
+        readingClubRepository.findAllByOrderByDateCreatedDescIdDesc(pageable);
 
-    // Set member count for each club
-    clubs.forEach(club -> club.setMemberCount(getMemberCount(club.getId())));
+    List<ReadingClub> clubs =
+        withMemberCounts(
+            entities.stream()
+                .map(ReadingClubEntityMapper.INSTANCE::toModel)
+                .collect(Collectors.toList()));
 
-    log.info("Found {} reading clubs", clubs.size());
-    return clubs;
+    log.info("Found {} reading clubs of {}", clubs.size(), entities.getTotalElements());
+    return new PageImpl<>(clubs, pageable, entities.getTotalElements());
   }
 
   @Override
@@ -76,8 +93,8 @@ public class ReadingClubServiceImpl implements ReadingClubService {
                     ReadingClubEntityMapper.INSTANCE.toModel(memberEntity.getReadingClub()))
             .collect(Collectors.toList());
 
-    // Set member count for each club
-    clubs.forEach(club -> club.setMemberCount(getMemberCount(club.getId())));
+    // Un solo COUNT agrupado para toda la lista
+    withMemberCounts(clubs);
 
     log.info("Found {} reading clubs for user: {}", clubs.size(), userId);
     return clubs;
@@ -94,8 +111,8 @@ public class ReadingClubServiceImpl implements ReadingClubService {
             .map(ReadingClubEntityMapper.INSTANCE::toModel)
             .collect(Collectors.toList());
 
-    // Set member count for each club
-    clubs.forEach(club -> club.setMemberCount(getMemberCount(club.getId())));
+    // Un solo COUNT agrupado para toda la lista
+    withMemberCounts(clubs);
 
     log.info("Found {} reading clubs for community: {}", clubs.size(), communityId);
     return clubs;
@@ -119,7 +136,7 @@ public class ReadingClubServiceImpl implements ReadingClubService {
 
     try {
       // Validate that community exists
-      if (!communityRepository.existsById(communityId)) {
+      if (!communityRepository.existsByIdAndDeletedAtIsNull(communityId)) {
         log.warn("Community with ID {} does not exist", communityId);
         return Optional.empty();
       }
@@ -154,6 +171,7 @@ public class ReadingClubServiceImpl implements ReadingClubService {
               .build();
 
       readingClubMemberRepository.save(memberEntity);
+      meetingReminderService.scheduleMeeting(savedClub.getId(), savedClub.getNextMeeting());
 
       ReadingClub club = ReadingClubEntityMapper.INSTANCE.toModel(savedClub);
       club.setMemberCount(1L); // Just the moderator for now
@@ -223,6 +241,7 @@ public class ReadingClubServiceImpl implements ReadingClubService {
 
     try {
       readingClubMemberRepository.leaveFromReadingClub(clubId, userId);
+      readingProgressService.removeMember(clubId, userId);
       log.info("User {} successfully left reading club: {}", userId, clubId);
       return true;
     } catch (Exception e) {
@@ -266,6 +285,8 @@ public class ReadingClubServiceImpl implements ReadingClubService {
 
       // Delete the reading club itself
       readingClubRepository.deleteById(clubId);
+      meetingReminderService.cancelMeeting(clubId);
+      readingProgressService.evict(clubId);
       log.info("Reading club deleted successfully: {}", clubId);
 
       return true;
@@ -285,8 +306,8 @@ public class ReadingClubServiceImpl implements ReadingClubService {
             .map(ReadingClubEntityMapper.INSTANCE::toModel)
             .collect(Collectors.toList());
 
-    // Set member count for each club
-    clubs.forEach(club -> club.setMemberCount(getMemberCount(club.getId())));
+    // Un solo COUNT agrupado para toda la lista
+    withMemberCounts(clubs);
 
     log.info("Found {} reading clubs for query: {}", clubs.size(), query);
     return clubs;
@@ -303,13 +324,22 @@ public class ReadingClubServiceImpl implements ReadingClubService {
             .map(ReadingClubEntityMapper.INSTANCE::toModel)
             .collect(Collectors.toList());
 
-    // Set member count for each club
-    clubs.forEach(club -> club.setMemberCount(getMemberCount(club.getId())));
+    // Un solo COUNT agrupado para toda la lista
+    withMemberCounts(clubs);
 
     log.info("Found {} reading clubs for book: {}", clubs.size(), bookId);
     return clubs;
   }
 
+  @Override
+  public Set<String> getJoinedReadingClubIds(String userId, Collection<String> clubIds) {
+    if (userId == null || clubIds.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(
+        readingClubMemberRepository.findReadingClubIdsByUserIdAndReadingClubIdIn(userId, clubIds));
+  }
+
   @Override
   public long getMemberCount(String clubId) {
     return readingClubMemberRepository.countByReadingClubId(clubId);
@@ -342,6 +372,7 @@ public class ReadingClubServiceImpl implements ReadingClubService {
       clubEntity.setLastUpdated(LocalDateTime.now());
 
       ReadingClubEntity savedClub = readingClubRepository.save(clubEntity);
+      meetingReminderService.scheduleMeeting(clubId, savedClub.getNextMeeting());
       ReadingClub club = ReadingClubEntityMapper.INSTANCE.toModel(savedClub);
       club.setMemberCount(getMemberCount(clubId));
 
@@ -358,4 +389,16 @@ public class ReadingClubServiceImpl implements ReadingClubService {
   public boolean isUserMember(String clubId, String userId) {
     return readingClubMemberRepository.existsByReadingClubIdAndUserId(clubId, userId);
   }
+
+  private List<ReadingClub> withMemberCounts(List<ReadingClub> clubs) {
+    if (clubs.isEmpty()) {
+      return clubs;
+    }
+    Map<String, Long> counts = new HashMap<>();
+    readingClubMemberRepository
+        .countByReadingClubIdIn(clubs.stream().map(ReadingClub::getId).collect(Collectors.toSet()))
+        .forEach(row -> counts.put((String) row[0], ((Number) row[1]).longValue()));
+    clubs.forEach(club -> club.setMemberCount(counts.getOrDefault(club.getId(), 0L)));
+    return clubs;
+  }
 }
@@ -0,0 +1,187 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uade.bookybe.config.ReadingClubConfig;
+import com.uade.bookybe.core.exception.NotFoundException;
+import com.uade.bookybe.core.exception.UnauthorizedException;
+import com.uade.bookybe.core.model.ReadingProgress;
+import com.uade.bookybe.core.usecase.ReadingProgressService;
+import com.uade.bookybe.infraestructure.entity.ReadingClubMemberEntity;
+import com.uade.bookybe.infraestructure.entity.ReadingClubMemberId;
+import com.uade.bookybe.infraestructure.repository.ReadingClubMemberRepository;
+import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Progreso de lectura por miembro. El agregado de cada club (mínimo, mediana, máximo e histograma
+ * de capítulos) se arma una vez con los miembros que reportaron y queda en memoria: cada cambio lo
+ * actualiza en O(log capítulos), así que ver el progreso no recorre los miembros. Los cambios que
+ * no pasan por este nodo se ven al vencer {@code reading-clubs.progress-cache-ttl}.
+ */
+@Service
+@Slf4j
+public class ReadingProgressServiceImpl implements ReadingProgressService {
+
+  private final ReadingClubRepository readingClubRepository;
+  private final ReadingClubMemberRepository readingClubMemberRepository;
+  private final Cache<String, ClubProgress> progress;
+
+  public ReadingProgressServiceImpl(
+      ReadingClubRepository readingClubRepository,
+      ReadingClubMemberRepository readingClubMemberRepository,
+      ReadingClubConfig config) {
+    this.readingClubRepository = readingClubRepository;
+    this.readingClubMemberRepository = readingClubMemberRepository;
+    this.progress =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaxCachedProgress())
+            .expireAfterWrite(config.getProgressCacheTtl())
+            .build();
+  }
+
+  @Override
+  @Transactional
+  public void updateProgress(String clubId, String userId, int chapter) {
+    log.info("User {} is on chapter {} of reading club {}", userId, chapter, clubId);
+    if (!readingClubRepository.existsById(clubId)) {
+      throw new NotFoundException("Reading club not found with id: " + clubId);
+    }
+    ReadingClubMemberEntity member =
+        readingClubMemberRepository
+            .findById(new ReadingClubMemberId(clubId, userId))
+            .orElseThrow(
+                () -> new UnauthorizedException("User is not a member of this reading club"));
+
+    member.setCurrentChapter(chapter);
+    member.setProgressUpdatedAt(LocalDateTime.now());
+    readingClubMemberRepository.save(member);
+
+    afterCommit(() -> apply(clubId, club -> club.set(userId, chapter)));
+  }
+
+  @Override
+  public Optional<ReadingProgress> getProgress(String clubId) {
+    ClubProgress cached = progress.getIfPresent(clubId);
+    if (cached != null) {
+      return Optional.of(cached.snapshot(clubId));
+    }
+    if (!readingClubRepository.existsById(clubId)) {
+      return Optional.empty();
+    }
+    return Optional.of(progress.get(clubId, this::load).snapshot(clubId));
+  }
+
+  @Override
+  public void removeMember(String clubId, String userId) {
+    afterCommit(() -> apply(clubId, club -> club.remove(userId)));
+  }
+
+  @Override
+  public void evict(String clubId) {
+    afterCommit(() -> progress.invalidate(clubId));
+  }
+
+  /**
+   * Applies a change only to an aggregate already in memory. computeIfPresent waits for a load in
+   * progress, and set/remove are idempotent, so a load that already saw the change is not
+   * counted twice.
+   */
+  private void apply(String clubId, Consumer<ClubProgress> change) {
+    progress
+        .asMap()
+        .computeIfPresent(
+            clubId,
+            (id, club) -> {
+              change.accept(club);
+              return club;
+            });
+  }
+
+  private ClubProgress load(String clubId) {
+    ClubProgress club = new ClubProgress();
+    readingClubMemberRepository
+        .findProgressByReadingClubId(clubId)
+        .forEach(row -> club.set((String) row[0], ((Number) row[1]).intValue()));
+    return club;
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  /** Chapter of each member that reported, plus how many members are on each chapter */
+  private static final class ClubProgress {
+    private final Map<String, Integer> chapterByMember = new HashMap<>();
+    private final TreeMap<Integer, Integer> membersByChapter = new TreeMap<>();
+
+    synchronized void set(String userId, int chapter) {
+      Integer previous = chapterByMember.put(userId, chapter);
+      if (previous != null) {
+        decrement(previous);
+      }
+      membersByChapter.merge(chapter, 1, Integer::sum);
+    }
+
+    synchronized void remove(String userId) {
+      Integer previous = chapterByMember.remove(userId);
+      if (previous != null) {
+        decrement(previous);
+      }
+    }
+
+    synchronized ReadingProgress snapshot(String clubId) {
+      int members = chapterByMember.size();
+      return ReadingProgress.builder()
+          .readingClubId(clubId)
+          .reportingMembers(members)
+          .minChapter(members == 0 ? null : membersByChapter.firstKey())
+          .maxChapter(members == 0 ? null : membersByChapter.lastKey())
+          .medianChapter(members == 0 ? null : median(members))
+          .histogram(new TreeMap<>(membersByChapter))
+          .build();
+    }
+
+    private void decrement(int chapter) {
+      membersByChapter.computeIfPresent(chapter, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    /** Walks the histogram, so it costs O(distinct chapters) rather than O(members) */
+    private double median(int members) {
+      int lowerIndex = (members - 1) / 2;
+      int upperIndex = members / 2;
+      Integer lower = null;
+      int seen = 0;
+      for (Map.Entry<Integer, Integer> entry : membersByChapter.entrySet()) {
+        seen += entry.getValue();
+        if (lower == null && seen > lowerIndex) {
+          lower = entry.getKey();
+        }
+        if (seen > upperIndex) {
+          return (lower + entry.getKey()) / 2.0;
+        }
+      }
+      throw new IllegalStateException("Histogram does not add up to " + members + " members");
+    }
+  }
+}
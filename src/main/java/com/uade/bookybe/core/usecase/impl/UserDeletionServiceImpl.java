@@ -0,0 +1,506 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import com.uade.bookybe.config.UserDeletionConfig;
+import com.uade.bookybe.core.model.UserDeletionJob;
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import com.uade.bookybe.core.model.constant.UserDeletionStage;
+import com.uade.bookybe.core.port.CommunitySearchPort;
+import com.uade.bookybe.core.port.ImageStoragePort;
+import com.uade.bookybe.core.usecase.CommunityDeletionService;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
+import com.uade.bookybe.core.usecase.GamificationService;
+import com.uade.bookybe.core.usecase.UserDeletionService;
+import com.uade.bookybe.infraestructure.entity.PendingImageDeletionEntity;
+import com.uade.bookybe.infraestructure.entity.UserDeletionJobEntity;
+import com.uade.bookybe.infraestructure.entity.UserEntity;
+import com.uade.bookybe.infraestructure.mapper.UserDeletionJobEntityMapper;
+import com.uade.bookybe.infraestructure.repository.BookExchangeRepository;
+import com.uade.bookybe.infraestructure.repository.ChatRepository;
+import com.uade.bookybe.infraestructure.repository.CommentRepository;
+import com.uade.bookybe.infraestructure.repository.CommunityMemberRepository;
+import com.uade.bookybe.infraestructure.repository.CommunityRepository;
+import com.uade.bookybe.infraestructure.repository.ExchangeIdempotencyKeyRepository;
+import com.uade.bookybe.infraestructure.repository.MessageRepository;
+import com.uade.bookybe.infraestructure.repository.PendingImageDeletionRepository;
+import com.uade.bookybe.infraestructure.repository.PostRepository;
+import com.uade.bookybe.infraestructure.repository.ReadingClubMemberRepository;
+import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
+import com.uade.bookybe.infraestructure.repository.UserBookRepository;
+import com.uade.bookybe.infraestructure.repository.UserDeletionJobRepository;
+import com.uade.bookybe.infraestructure.repository.UserRateRepository;
+import com.uade.bookybe.infraestructure.repository.UserRatingStatsRepository;
+import com.uade.bookybe.infraestructure.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes accounts in the background. The request only tombstones the user (users.deleted_at) and
+ * records a job in user_deletion_jobs; a worker then walks the {@link UserDeletionStage}s, deleting
+ * at most {@code user-deletion.chunk-size} rows per statement. Each chunk commits together with the
+ * job's new progress, so no transaction grows with the size of the account and a restarted job
+ * continues from the stage it was in. Images of deleted rows are queued in pending_image_deletions
+ * and removed through {@link ImageStoragePort} at the end, outside any transaction.
+ */
+@Service
+@Slf4j
+public class UserDeletionServiceImpl implements UserDeletionService {
+
+  private final UserRepository userRepository;
+  private final UserDeletionJobRepository jobRepository;
+  private final PendingImageDeletionRepository pendingImageRepository;
+  private final PostRepository postRepository;
+  private final CommentRepository commentRepository;
+  private final UserRateRepository userRateRepository;
+  private final UserRatingStatsRepository userRatingStatsRepository;
+  private final BookExchangeRepository bookExchangeRepository;
+  private final ExchangeIdempotencyKeyRepository exchangeIdempotencyKeyRepository;
+  private final MessageRepository messageRepository;
+  private final ChatRepository chatRepository;
+  private final CommunityRepository communityRepository;
+  private final CommunityMemberRepository communityMemberRepository;
+  private final ReadingClubRepository readingClubRepository;
+  private final ReadingClubMemberRepository readingClubMemberRepository;
+  private final UserBookRepository userBookRepository;
+  private final ExchangeMatchingService exchangeMatchingService;
+  private final GamificationService gamificationService;
+  private final CommunityDeletionService communityDeletionService;
+  private final CommunitySearchPort communitySearchPort;
+  private final ImageStoragePort imageStoragePort;
+  private final TransactionTemplate transactionTemplate;
+  private final Executor userDeletionExecutor;
+  private final UserDeletionConfig config;
+
+  /** Jobs queued or running on this node */
+  private final Set<String> activeJobIds = ConcurrentHashMap.newKeySet();
+
+  public UserDeletionServiceImpl(
+      UserRepository userRepository,
+      UserDeletionJobRepository jobRepository,
+      PendingImageDeletionRepository pendingImageRepository,
+      PostRepository postRepository,
+      CommentRepository commentRepository,
+      UserRateRepository userRateRepository,
+      UserRatingStatsRepository userRatingStatsRepository,
+      BookExchangeRepository bookExchangeRepository,
+      ExchangeIdempotencyKeyRepository exchangeIdempotencyKeyRepository,
+      MessageRepository messageRepository,
+      ChatRepository chatRepository,
+      CommunityRepository communityRepository,
+      CommunityMemberRepository communityMemberRepository,
+      ReadingClubRepository readingClubRepository,
+      ReadingClubMemberRepository readingClubMemberRepository,
+      UserBookRepository userBookRepository,
+      ExchangeMatchingService exchangeMatchingService,
+      GamificationService gamificationService,
+      CommunityDeletionService communityDeletionService,
+      CommunitySearchPort communitySearchPort,
+      ImageStoragePort imageStoragePort,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("userDeletionExecutor") Executor userDeletionExecutor,
+      UserDeletionConfig config) {
+    this.userRepository = userRepository;
+    this.jobRepository = jobRepository;
+    this.pendingImageRepository = pendingImageRepository;
+    this.postRepository = postRepository;
+    this.commentRepository = commentRepository;
+    this.userRateRepository = userRateRepository;
+    this.userRatingStatsRepository = userRatingStatsRepository;
+    this.bookExchangeRepository = bookExchangeRepository;
+    this.exchangeIdempotencyKeyRepository = exchangeIdempotencyKeyRepository;
+    this.messageRepository = messageRepository;
+    this.chatRepository = chatRepository;
+    this.communityRepository = communityRepository;
+    this.communityMemberRepository = communityMemberRepository;
+    this.readingClubRepository = readingClubRepository;
+    this.readingClubMemberRepository = readingClubMemberRepository;
+    this.userBookRepository = userBookRepository;
+    this.exchangeMatchingService = exchangeMatchingService;
+    this.gamificationService = gamificationService;
+    this.communityDeletionService = communityDeletionService;
+    this.communitySearchPort = communitySearchPort;
+    this.imageStoragePort = imageStoragePort;
+    this.transactionTemplate = transactionTemplate;
+    this.userDeletionExecutor = userDeletionExecutor;
+    this.config = config;
+  }
+
+  @Override
+  public Optional<UserDeletionJob> startDeletion(String userId) {
+    Optional<UserDeletionJobEntity> job =
+        transactionTemplate.execute(status -> tombstoneAndCreateJob(userId));
+    job.filter(j -> j.getStatus() != DeletionJobStatus.COMPLETED).ifPresent(j -> submit(j.getId()));
+    return job.map(UserDeletionJobEntityMapper.INSTANCE::toModel);
+  }
+
+  @Override
+  public Optional<UserDeletionJob> getDeletionJob(String userId) {
+    return jobRepository.findByUserId(userId).map(UserDeletionJobEntityMapper.INSTANCE::toModel);
+  }
+
+  /** Restarts jobs lost on restart, failed, or waiting for the deletion of their communities */
+  @Scheduled(fixedDelayString = "${user-deletion.resume-after:PT10M}")
+  public void resumeUnfinishedDeletions() {
+    List<String> jobIds;
+    try {
+      jobIds =
+          jobRepository.findIdsToResume(
+              DeletionJobStatus.COMPLETED, LocalDateTime.now().minus(config.getResumeAfter()));
+    } catch (RuntimeException e) {
+      log.error("Could not look up unfinished user deletions: {}", e.getMessage(), e);
+      return;
+    }
+    jobIds.forEach(this::submit);
+  }
+
+  private Optional<UserDeletionJobEntity> tombstoneAndCreateJob(String userId) {
+    Optional<UserDeletionJobEntity> existing = jobRepository.findByUserId(userId);
+    if (existing.isPresent()) {
+      // Un job completo significa que la cuenta ya no existe
+      return existing.filter(job -> job.getStatus() != DeletionJobStatus.COMPLETED);
+    }
+    Optional<UserEntity> user = userRepository.findById(userId);
+    LocalDateTime now = LocalDateTime.now();
+    if (user.isEmpty() || userRepository.tombstone(userId, now) == 0) {
+      // Inexistente, o lo acaba de borrar otro pedido que ya creó su job
+      return user.isEmpty() ? Optional.empty() : jobRepository.findByUserId(userId);
+    }
+
+    UserDeletionJobEntity job =
+        jobRepository.save(
+            UserDeletionJobEntity.builder()
+                .id("user-delete-" + UUID.randomUUID().toString().substring(0, 8))
+                .userId(userId)
+                .stage(UserDeletionStage.values()[0])
+                .status(DeletionJobStatus.PENDING)
+                .dateCreated(now)
+                .dateUpdated(now)
+                .build());
+    queueImage(job.getId(), user.get().getImage());
+    log.info("User {} tombstoned, deletion job {} created", userId, job.getId());
+    return Optional.of(job);
+  }
+
+  private void submit(String jobId) {
+    if (!activeJobIds.add(jobId)) {
+      return;
+    }
+    try {
+      userDeletionExecutor.execute(() -> runDeletion(jobId));
+    } catch (RuntimeException e) {
+      // El job queda pendiente en la base y lo retoma resumeUnfinishedDeletions
+      log.warn("User deletion queue is full, job {} will be resumed later", jobId);
+      activeJobIds.remove(jobId);
+    }
+  }
+
+  void runDeletion(String jobId) {
+    UserDeletionJobEntity job = null;
+    try {
+      job = jobRepository.findById(jobId).orElse(null);
+      if (job == null || job.getStatus() == DeletionJobStatus.COMPLETED) {
+        return;
+      }
+      job.setStatus(DeletionJobStatus.RUNNING);
+      job.setErrorMessage(null);
+      job = save(job);
+
+      while (job.getStatus() == DeletionJobStatus.RUNNING) {
+        job = runStep(job);
+      }
+    } catch (RuntimeException e) {
+      log.error("Deletion job {} failed: {}", jobId, e.getMessage(), e);
+      if (job != null) {
+        markFailed(jobId, e);
+      }
+    } finally {
+      activeJobIds.remove(jobId);
+    }
+  }
+
+  private UserDeletionJobEntity runStep(UserDeletionJobEntity job) {
+    return switch (job.getStage()) {
+      case COMMUNITIES -> transactionTemplate.execute(status -> awaitCommunities(job));
+      case IMAGES -> deleteImages(job);
+      case ACCOUNT -> transactionTemplate.execute(status -> deleteAccount(job));
+      default -> transactionTemplate.execute(status -> deleteChunk(job));
+    };
+  }
+
+  /** Deletes one chunk of the current stage and records it; the stage ends on a short chunk */
+  private UserDeletionJobEntity deleteChunk(UserDeletionJobEntity job) {
+    int limit = config.getChunkSize();
+    int deleted = deleteChunk(job, job.getStage(), limit);
+
+    job.setDeletedRows(job.getDeletedRows() + deleted);
+    if (deleted < limit) {
+      job.setStage(job.getStage().next());
+    }
+    return save(job);
+  }
+
+  private int deleteChunk(UserDeletionJobEntity job, UserDeletionStage stage, int limit) {
+    String userId = job.getUserId();
+    return switch (stage) {
+      case LIKES -> postRepository.deleteLikeChunkByUserId(userId, limit);
+      case COMMENTS -> commentRepository.deleteChunkByUserId(userId, limit);
+      case POSTS -> deletePosts(job, limit);
+      case RATINGS -> deleteRatings(userId, limit);
+      case EXCHANGES -> deleteExchanges(userId, limit);
+      case MESSAGES -> deleteMessages(job, limit);
+      case CHATS -> chatRepository.deleteChunkByUserId(userId, limit);
+      case COMMUNITY_MEMBERSHIPS -> deleteCommunityMemberships(userId, limit);
+      case READING_CLUB_MEMBERSHIPS ->
+          readingClubMemberRepository.deleteChunkByUserId(userId, limit);
+      case READING_CLUBS -> deleteReadingClubs(userId, limit);
+      case LIBRARY -> deleteLibrary(userId, limit);
+      case FOLLOWS -> userRepository.deleteFollowChunkByUserId(userId, limit);
+      case PROFILE -> deleteProfile(userId);
+      case COMMUNITIES, ACCOUNT, IMAGES ->
+          throw new IllegalStateException("Not a chunked stage");
+    };
+  }
+
+  /** The match index drops the user once the chunk commits; repeating it is harmless */
+  private int deleteLibrary(String userId, int limit) {
+    int deleted = userBookRepository.deleteChunkByUserId(userId, limit);
+    exchangeMatchingService.onUserLibraryRemoved(userId);
+    return deleted;
+  }
+
+  private int deletePosts(UserDeletionJobEntity job, int limit) {
+    List<Object[]> posts = postRepository.findIdAndImageChunkByUserId(job.getUserId(), limit);
+    if (posts.isEmpty()) {
+      return 0;
+    }
+    List<String> postIds = new ArrayList<>(posts.size());
+    for (Object[] post : posts) {
+      postIds.add((String) post[0]);
+      queueImage(job.getId(), (String) post[1]);
+    }
+    commentRepository.deleteByPostIdIn(postIds);
+    postRepository.deleteLikesByPostIdIn(postIds);
+    postRepository.deleteByIdIn(postIds);
+    return posts.size();
+  }
+
+  /** Messages of the user's chats, from both sides; their uploaded images are queued too */
+  private int deleteMessages(UserDeletionJobEntity job, int limit) {
+    List<Object[]> messages =
+        messageRepository.findIdAndImageChunkInChatsOfUser(job.getUserId(), limit);
+    if (messages.isEmpty()) {
+      return 0;
+    }
+    List<String> messageIds = new ArrayList<>(messages.size());
+    for (Object[] message : messages) {
+      messageIds.add((String) message[0]);
+      queueImage(job.getId(), (String) message[1]);
+    }
+    messageRepository.deleteByIdIn(messageIds);
+    return messages.size();
+  }
+
+  /** Ratings the user gave are taken back from the rated user's aggregates */
+  private int deleteRatings(String userId, int limit) {
+    List<Object[]> ratings = userRateRepository.findChunkInvolvingUser(userId, limit);
+    if (ratings.isEmpty()) {
+      return 0;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    List<String> ids = new ArrayList<>(ratings.size());
+    for (Object[] rating : ratings) {
+      ids.add((String) rating[0]);
+      String ratedUserId = (String) rating[2];
+      if (userId.equals(rating[1]) && ratedUserId != null && !ratedUserId.equals(userId)) {
+        userRatingStatsRepository.removeRating(ratedUserId, ((Number) rating[3]).intValue(), now);
+      }
+    }
+    return userRateRepository.deleteByIdIn(ids);
+  }
+
+  private int deleteExchanges(String userId, int limit) {
+    List<String> exchangeIds = bookExchangeRepository.findIdChunkByUserId(userId, limit);
+    if (exchangeIds.isEmpty()) {
+      return 0;
+    }
+    bookExchangeRepository.deleteOwnerBooksByExchangeIdIn(exchangeIds);
+    bookExchangeRepository.deleteRequesterBooksByExchangeIdIn(exchangeIds);
+    return bookExchangeRepository.deleteByIdIn(exchangeIds);
+  }
+
+  /** Only communities whose membership row this statement deleted lose a member */
+  private int deleteCommunityMemberships(String userId, int limit) {
+    List<String> communityIds =
+        communityMemberRepository.deleteChunkByUserIdReturningCommunityIds(userId, limit);
+    communityIds.forEach(communityId -> communityRepository.addToMemberCount(communityId, -1));
+    return communityIds.size();
+  }
+
+  private int deleteReadingClubs(String moderatorId, int limit) {
+    List<String> readingClubIds =
+        readingClubRepository.findIdChunkByModeratorId(moderatorId, limit);
+    if (readingClubIds.isEmpty()) {
+      return 0;
+    }
+    readingClubMemberRepository.deleteByReadingClubIdIn(readingClubIds);
+    return readingClubRepository.deleteByIdIn(readingClubIds);
+  }
+
+  private int deleteProfile(String userId) {
+    if (!gamificationService.deleteUserGamificationData(userId)) {
+      throw new IllegalStateException("Could not delete gamification data of user " + userId);
+    }
+    userRatingStatsRepository.deleteById(userId);
+    return exchangeIdempotencyKeyRepository.deleteByUserId(userId);
+  }
+
+  /**
+   * Requests already past the auth filter when the user was tombstoned may have written rows
+   * after their stage ended. Each earlier stage is swept once more, and the user row is deleted
+   * only after a sweep that finds nothing, so a late row can't fail the delete on a foreign key;
+   * a community created meanwhile sends the job back to the COMMUNITIES stage.
+   */
+  private UserDeletionJobEntity deleteAccount(UserDeletionJobEntity job) {
+    String userId = job.getUserId();
+    if (!communityRepository.findIdsByAdminId(userId).isEmpty()) {
+      log.info("Deletion job {} found new communities of user {}", job.getId(), userId);
+      job.setStage(UserDeletionStage.COMMUNITIES);
+      return save(job);
+    }
+
+    int limit = config.getChunkSize();
+    int swept = 0;
+    for (UserDeletionStage stage : UserDeletionStage.values()) {
+      if (stage.compareTo(UserDeletionStage.ACCOUNT) < 0
+          && stage != UserDeletionStage.COMMUNITIES) {
+        swept += deleteChunk(job, stage, limit);
+      }
+    }
+    if (swept > 0) {
+      // Se repite la etapa hasta que un barrido no encuentre nada
+      log.info("Deletion job {} swept {} rows written after their stage", job.getId(), swept);
+      job.setDeletedRows(job.getDeletedRows() + swept);
+      return save(job);
+    }
+
+    int deleted =
+        userRepository
+            .findById(userId)
+            .map(
+                user -> {
+                  userRepository.delete(user);
+                  return 1;
+                })
+            .orElse(0);
+    job.setDeletedRows(job.getDeletedRows() + deleted);
+    job.setStage(job.getStage().next());
+    return save(job);
+  }
+
+  /**
+   * Hides the communities the user administers and hands them to their own deletion jobs. The
+   * stage ends once none is left; until then the job waits and is resumed later.
+   */
+  private UserDeletionJobEntity awaitCommunities(UserDeletionJobEntity job) {
+    List<String> communityIds = communityRepository.findIdsByAdminId(job.getUserId());
+    if (communityIds.isEmpty()) {
+      job.setStage(job.getStage().next());
+      return save(job);
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    for (String communityId : communityIds) {
+      if (communityRepository.hide(communityId, now) > 0) {
+        communitySearchPort.remove(communityId);
+      }
+      communityDeletionService.startDeletion(communityId, null);
+    }
+    log.info(
+        "Deletion job {} waiting for {} communities of user {}",
+        job.getId(),
+        communityIds.size(),
+        job.getUserId());
+    job.setStatus(DeletionJobStatus.PENDING);
+    return save(job);
+  }
+
+  /** Deletes one chunk of queued images from storage, then forgets them and records progress */
+  private UserDeletionJobEntity deleteImages(UserDeletionJobEntity job) {
+    int limit = config.getChunkSize();
+    List<PendingImageDeletionEntity> images =
+        pendingImageRepository.findChunkByJobId(job.getId(), limit);
+
+    int deleted = 0;
+    for (PendingImageDeletionEntity image : images) {
+      try {
+        if (imageStoragePort.deleteImage(image.getImageUrl())) {
+          deleted++;
+        } else {
+          log.warn("Storage did not delete image {} of job {}", image.getImageUrl(), job.getId());
+        }
+      } catch (RuntimeException e) {
+        log.warn("Could not delete image {}: {}", image.getImageUrl(), e.getMessage());
+      }
+    }
+
+    int deletedImages = deleted;
+    return transactionTemplate.execute(
+        status -> {
+          pendingImageRepository.deleteAllInBatch(images);
+          job.setDeletedImages(job.getDeletedImages() + deletedImages);
+          if (images.size() < limit) {
+            job.setStatus(DeletionJobStatus.COMPLETED);
+            job.setDateFinished(LocalDateTime.now());
+            log.info(
+                "User {} deleted in background ({} rows, {} images)",
+                job.getUserId(),
+                job.getDeletedRows(),
+                job.getDeletedImages());
+          }
+          return save(job);
+        });
+  }
+
+  private void queueImage(String jobId, String imageUrl) {
+    if (imageUrl == null || imageUrl.isBlank()) {
+      return;
+    }
+    pendingImageRepository.save(
+        PendingImageDeletionEntity.builder()
+            .id(UUID.randomUUID().toString())
+            .jobId(jobId)
+            .imageUrl(imageUrl)
+            .dateCreated(LocalDateTime.now())
+            .build());
+  }
+
+  private void markFailed(String jobId, RuntimeException cause) {
+    try {
+      jobRepository
+          .findById(jobId)
+          .ifPresent(
+              job -> {
+                job.setStatus(DeletionJobStatus.FAILED);
+                job.setErrorMessage(cause.getMessage());
+                save(job);
+              });
+    } catch (RuntimeException e) {
+      log.error("Could not record failure of deletion job {}: {}", jobId, e.getMessage());
+    }
+  }
+
+  private UserDeletionJobEntity save(UserDeletionJobEntity job) {
+    job.setDateUpdated(LocalDateTime.now());
+    return jobRepository.save(job);
+  }
+}
@@ -3,22 +3,32 @@ package com.uade.bookybe.core.usecase.impl;
 import com.uade.bookybe.core.exception.BadRequestException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.UserRate;
+import com.uade.bookybe.core.model.UserRatingStats;
 import com.uade.bookybe.core.model.constant.ExchangeStatus;
 import com.uade.bookybe.core.usecase.UserRateService;
 import com.uade.bookybe.infraestructure.entity.BookExchangeEntity;
 import com.uade.bookybe.infraestructure.entity.UserRateEntity;
+import com.uade.bookybe.infraestructure.entity.UserRatingStatsEntity;
 import com.uade.bookybe.infraestructure.mapper.UserRateEntityMapper;
 import com.uade.bookybe.infraestructure.repository.BookExchangeRepository;
 import com.uade.bookybe.infraestructure.repository.UserRateRepository;
+import com.uade.bookybe.infraestructure.repository.UserRatingStatsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,8 +38,11 @@ public class UserRateServiceImpl implements UserRateService {
 
     private final UserRateRepository userRateRepository;
     private final BookExchangeRepository bookExchangeRepository;
+    private final UserRatingStatsRepository userRatingStatsRepository;
     private final UserRateEntityMapper userRateEntityMapper = UserRateEntityMapper.INSTANCE;
 
+    private static final int MAX_RATINGS_PAGE_SIZE = 100;
+
     @Override
     @Transactional
     public Optional<UserRate> createRating(String exchangeId, String userId, Integer rating, String comment) {
@@ -63,17 +76,26 @@ public class UserRateServiceImpl implements UserRateService {
             throw new BadRequestException("User has already rated this exchange");
         }
 
+        // The rated user is the other party of the exchange
+        String ratedUserId = exchange.getRequesterId().equals(userId)
+                ? exchange.getOwnerId()
+                : exchange.getRequesterId();
+
         // Create the rating
         UserRateEntity ratingEntity = UserRateEntity.builder()
                 .id(UUID.randomUUID().toString())
                 .userId(userId)
                 .exchangeId(exchangeId)
+                .ratedUserId(ratedUserId)
                 .rating(rating)
                 .comment(comment)
                 .dateCreated(LocalDateTime.now())
                 .build();
 
         UserRateEntity savedEntity = userRateRepository.save(ratingEntity);
+
+        // Same transaction as the rating itself
+        userRatingStatsRepository.addRating(ratedUserId, rating, savedEntity.getDateCreated());
         UserRate savedRating = userRateEntityMapper.toModel(savedEntity);
 
         log.info("Rating created successfully with ID: {}", savedEntity.getId());
@@ -81,13 +103,13 @@ public class UserRateServiceImpl implements UserRateService {
     }
 
     @Override
-    public List<UserRate> getUserRatings(String userId) {
-        log.info("Getting ratings for user: {}", userId);
-        
-        List<UserRateEntity> ratingEntities = userRateRepository.findRatingsForUser(userId);
-        return ratingEntities.stream()
-                .map(userRateEntityMapper::toModel)
-                .collect(Collectors.toList());
+    public Page<UserRate> getUserRatings(String userId, int page, int size) {
+        log.info("Getting ratings for user: {}, page: {}", userId, page);
+
+        Pageable pageable = PageRequest.of(
+                Math.max(page, 0), Math.min(Math.max(size, 1), MAX_RATINGS_PAGE_SIZE));
+        return userRateRepository.findRatingsForUser(userId, pageable)
+                .map(userRateEntityMapper::toModel);
     }
 
     @Override
@@ -100,6 +122,18 @@ public class UserRateServiceImpl implements UserRateService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<UserRate> getRatingsForExchanges(Collection<String> exchangeIds) {
+        if (exchangeIds.isEmpty()) {
+            return List.of();
+        }
+        log.info("Getting ratings for {} exchanges", exchangeIds.size());
+
+        return userRateRepository.findByExchangeIdIn(exchangeIds).stream()
+                .map(userRateEntityMapper::toModel)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public boolean canUserRateExchange(String exchangeId, String userId) {
         log.debug("Checking if user {} can rate exchange {}", userId, exchangeId);
@@ -126,16 +160,55 @@ public class UserRateServiceImpl implements UserRateService {
         return !userRateRepository.existsByUserIdAndExchangeId(userId, exchangeId);
     }
 
+    @Override
+    public UserRatingStats getUserRatingStats(String userId) {
+        log.debug("Getting rating stats for user: {}", userId);
+        return userRatingStatsRepository.findById(userId)
+                .map(UserRateServiceImpl::toStats)
+                .orElseGet(() -> emptyStats(userId));
+    }
+
+    @Override
+    public Map<String, UserRatingStats> getUserRatingStats(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        log.debug("Getting rating stats for {} users", userIds.size());
+
+        Map<String, UserRatingStats> stats = userRatingStatsRepository.findAllById(userIds).stream()
+                .map(UserRateServiceImpl::toStats)
+                .collect(Collectors.toMap(UserRatingStats::getUserId, Function.identity()));
+        userIds.forEach(userId -> stats.computeIfAbsent(userId, UserRateServiceImpl::emptyStats));
+        return stats;
+    }
+
     @Override
     public Double getUserAverageRating(String userId) {
-        log.debug("Getting average rating for user: {}", userId);
-        return userRateRepository.getAverageRatingForUser(userId);
+        return getUserRatingStats(userId).getAverageRating();
     }
 
     @Override
     public Long getUserRatingCount(String userId) {
-        log.debug("Getting rating count for user: {}", userId);
-        return userRateRepository.countRatingsForUser(userId);
+        return getUserRatingStats(userId).getRatingCount();
+    }
+
+    private static UserRatingStats toStats(UserRatingStatsEntity entity) {
+        Map<Integer, Long> byStar = new LinkedHashMap<>();
+        byStar.put(1, entity.getStars1());
+        byStar.put(2, entity.getStars2());
+        byStar.put(3, entity.getStars3());
+        byStar.put(4, entity.getStars4());
+        byStar.put(5, entity.getStars5());
+        return UserRatingStats.builder()
+                .userId(entity.getUserId())
+                .ratingCount(entity.getRatingCount())
+                .ratingSum(entity.getRatingSum())
+                .ratingsByStar(byStar)
+                .build();
+    }
+
+    private static UserRatingStats emptyStats(String userId) {
+        return toStats(UserRatingStatsEntity.builder().userId(userId).build());
     }
 
     @Override
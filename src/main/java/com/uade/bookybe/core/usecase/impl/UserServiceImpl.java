@@ -3,9 +3,12 @@ package com.uade.bookybe.core.usecase.impl;
 import com.uade.bookybe.core.exception.ConflictException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.User;
+import com.uade.bookybe.core.model.UserDeletionJob;
+import com.uade.bookybe.core.model.UserRatingStats;
 import com.uade.bookybe.core.model.UserSignUp;
 import com.uade.bookybe.core.port.ImageStoragePort;
 import com.uade.bookybe.core.usecase.GamificationService;
+import com.uade.bookybe.core.usecase.UserDeletionService;
 import com.uade.bookybe.core.usecase.UserRateService;
 import com.uade.bookybe.core.usecase.UserService;
 import com.uade.bookybe.infraestructure.entity.AddressEntity;
@@ -36,10 +39,14 @@ public class UserServiceImpl implements UserService {
   private final ImageStoragePort imageStoragePort;
   private final GamificationService gamificationService;
   private final UserRateService userRateService;
+  private final UserDeletionService userDeletionService;
 
   @Override
   public Optional<User> getUserById(String id) {
-    return userRepository.findById(id).map(UserEntityMapper.INSTANCE::toModel);
+    return userRepository
+        .findById(id)
+        .filter(user -> user.getDeletedAt() == null)
+        .map(UserEntityMapper.INSTANCE::toModel);
   }
 
   @Override
@@ -100,53 +107,8 @@ public class UserServiceImpl implements UserService {
   }
 
   @Override
-  @Transactional
-  public boolean deleteUser(String id) {
-    if (!userRepository.existsById(id)) {
-      log.warn("Attempted to delete non-existent user: {}", id);
-      return false;
-    }
-
-    try {
-      log.info("Deleting user: {}", id);
-
-      // Manual cleanup of gamification data first
-      // This ensures gamification data is deleted even if FK constraints are not properly
-      // configured
-      try {
-        boolean gamificationDeleted = gamificationService.deleteUserGamificationData(id);
-        if (gamificationDeleted) {
-          log.info("Successfully deleted gamification data for user: {}", id);
-        }
-      } catch (Exception e) {
-        log.warn("Could not delete gamification data for user {}: {}", id, e.getMessage());
-      }
-
-      // Delete the user (should CASCADE to related tables)
-      userRepository.deleteById(id);
-      log.info("User {} deleted successfully", id);
-      return true;
-
-    } catch (org.springframework.dao.DataIntegrityViolationException e) {
-      log.error("Foreign key constraint violation when deleting user {}: {}", id, e.getMessage());
-
-      // More specific error message
-      String message = e.getMessage();
-      if (message.contains("gamification_profiles")) {
-        throw new RuntimeException(
-            "Cannot delete user: gamification profile exists. Please run FK migration script.", e);
-      } else if (message.contains("user_achievements")) {
-        throw new RuntimeException(
-            "Cannot delete user: user achievements exist. Please run FK migration script.", e);
-      } else {
-        throw new RuntimeException(
-            "Cannot delete user due to foreign key constraints: " + message, e);
-      }
-
-    } catch (Exception e) {
-      log.error("Unexpected error deleting user {}: {}", id, e.getMessage(), e);
-      throw new RuntimeException("Failed to delete user: " + id, e);
-    }
+  public Optional<UserDeletionJob> deleteUser(String id) {
+    return userDeletionService.startDeletion(id);
   }
 
   @Override
@@ -214,7 +176,8 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public Optional<User> signIn(String email, String password) {
-    Optional<UserEntity> userEntity = userRepository.findByEmail(email);
+    Optional<UserEntity> userEntity =
+        userRepository.findByEmail(email).filter(user -> user.getDeletedAt() == null);
     if (userEntity.isEmpty()) {
       return Optional.empty();
     }
@@ -272,8 +235,8 @@ public class UserServiceImpl implements UserService {
     List<UserPreviewDto> users = userResults.stream()
         .map(this::mapToUserPreviewDto)
         .map(this::enrichWithAddress)
-        .map(this::enrichWithRate)
         .collect(Collectors.toList());
+    enrichWithRates(users);
 
     // Ordenar por distancia si el usuario solicitante tiene coordenadas
     if (finalRequestingUserLat != null && finalRequestingUserLon != null) {
@@ -339,14 +302,19 @@ public class UserServiceImpl implements UserService {
     return userPreviewDto;
   }
 
-  private UserPreviewDto enrichWithRate(UserPreviewDto userPreviewDto) {
-
-    Double averageRating = userRateService.getUserAverageRating(userPreviewDto.getId());
-    Long countRating = userRateService.getUserRatingCount(userPreviewDto.getId());
-    RateUserDto rateUserDto =
-        RateUserDto.builder().totalRatings(countRating).averageRating(averageRating).build();
-    userPreviewDto.setUserRate(rateUserDto);
-    return userPreviewDto;
+  /** Una sola lectura de user_rating_stats para todos los usuarios del resultado */
+  private void enrichWithRates(List<UserPreviewDto> users) {
+    Map<String, UserRatingStats> stats =
+        userRateService.getUserRatingStats(
+            users.stream().map(UserPreviewDto::getId).collect(Collectors.toSet()));
+    for (UserPreviewDto user : users) {
+      UserRatingStats userStats = stats.get(user.getId());
+      user.setUserRate(
+          RateUserDto.builder()
+              .totalRatings(userStats.getRatingCount())
+              .averageRating(userStats.getAverageRating())
+              .build());
+    }
   }
 
   @Override
@@ -0,0 +1,120 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.uade.bookybe.config.GoogleBooksConfig;
+import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.port.GoogleBooksPort;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache en memoria delante de {@link GoogleBooksAdapter}. Guarda tanto libros encontrados como
+ * respuestas "no encontrado" (con un TTL más corto) y agrupa las búsquedas concurrentes del mismo
+ * ISBN en una única llamada HTTP. Los errores de red no se cachean.
+ */
+@Slf4j
+@Primary
+@Component
+public class CachingGoogleBooksAdapter implements GoogleBooksPort {
+
+  private final GoogleBooksAdapter delegate;
+  private final Cache<String, Optional<Book>> cache;
+  private final ConcurrentMap<String, CompletableFuture<Optional<Book>>> inFlight =
+      new ConcurrentHashMap<>();
+
+  public CachingGoogleBooksAdapter(GoogleBooksAdapter delegate, GoogleBooksConfig config) {
+    this.delegate = delegate;
+    GoogleBooksConfig.Cache cacheConfig = config.getCache();
+    long ttlNanos = cacheConfig.getTtl().toNanos();
+    long negativeTtlNanos = cacheConfig.getNegativeTtl().toNanos();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(cacheConfig.getMaxSize())
+            .expireAfter(
+                new Expiry<String, Optional<Book>>() {
+                  @Override
+                  public long expireAfterCreate(String key, Optional<Book> value, long now) {
+                    return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                  }
+
+                  @Override
+                  public long expireAfterUpdate(
+                      String key, Optional<Book> value, long now, long currentDuration) {
+                    return expireAfterCreate(key, value, now);
+                  }
+
+                  @Override
+                  public long expireAfterRead(
+                      String key, Optional<Book> value, long now, long currentDuration) {
+                    return currentDuration;
+                  }
+                })
+            .build();
+  }
+
+  @Override
+  public Optional<Book> getBookByIsbn(String isbn) {
+    return getBookByIsbnAsync(isbn).join();
+  }
+
+  @Override
+  public CompletableFuture<Optional<Book>> getBookByIsbnAsync(String isbn) {
+    if (isbn == null || isbn.isBlank()) {
+      return delegate.getBookByIsbnAsync(isbn);
+    }
+
+    String key = cacheKey(isbn);
+    Optional<Book> cached = cache.getIfPresent(key);
+    if (cached != null) {
+      log.debug("Google Books cache hit for ISBN: {} (found: {})", isbn, cached.isPresent());
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    CompletableFuture<Optional<Book>> ownCall = new CompletableFuture<>();
+    CompletableFuture<Optional<Book>> leaderCall = inFlight.putIfAbsent(key, ownCall);
+    if (leaderCall != null) {
+      log.debug("Joining in-flight Google Books lookup for ISBN: {}", isbn);
+      return leaderCall;
+    }
+
+    try {
+      delegate
+          .fetchBookByIsbn(isbn)
+          .subscribe(
+              result -> {
+                cache.put(key, result);
+                complete(key, ownCall, result);
+              },
+              error -> {
+                log.error("Error calling Google Books API for ISBN {}: {}", isbn, error.getMessage());
+                complete(key, ownCall, Optional.empty());
+              });
+    } catch (RuntimeException e) {
+      log.error("Error calling Google Books API for ISBN {}: {}", isbn, e.getMessage());
+      complete(key, ownCall, Optional.empty());
+    }
+    return ownCall;
+  }
+
+  @Override
+  public Optional<Book> searchBookByTitle(String title) {
+    return delegate.searchBookByTitle(title);
+  }
+
+  private void complete(
+      String key, CompletableFuture<Optional<Book>> call, Optional<Book> result) {
+    inFlight.remove(key, call);
+    call.complete(result);
+  }
+
+  private String cacheKey(String isbn) {
+    return isbn.replace("-", "").replace(" ", "").trim().toUpperCase();
+  }
+}
@@ -112,6 +112,46 @@ public class CloudinaryImageStorageAdapter implements ImageStoragePort {
     }
   }
 
+  @Override
+  public Optional<String> uploadImage(byte[] bytes, String contentType, String folder) {
+    try {
+      log.info(
+          "Uploading image bytes to Cloudinary. Size: {}, Folder: {}",
+          bytes != null ? bytes.length : 0,
+          folder);
+
+      if (bytes == null || bytes.length == 0) {
+        log.error("Image bytes are null or empty");
+        return Optional.empty();
+      }
+
+      Map<String, Object> uploadParams =
+          ObjectUtils.asMap(
+              "resource_type",
+              "image",
+              "folder",
+              folder != null ? folder : "booky/images",
+              "public_id",
+              UUID.randomUUID().toString(),
+              "overwrite",
+              false,
+              "quality",
+              "auto:good",
+              "format",
+              "webp");
+
+      Map<?, ?> uploadResult = cloudinary.uploader().upload(bytes, uploadParams);
+      String imageUrl = (String) uploadResult.get("secure_url");
+
+      log.info("Image bytes uploaded successfully to Cloudinary. URL: {}", imageUrl);
+      return Optional.ofNullable(imageUrl);
+
+    } catch (Exception e) {
+      log.error("Error uploading image bytes to Cloudinary: {}", e.getMessage(), e);
+      return Optional.empty();
+    }
+  }
+
   @Override
   public boolean deleteImage(String imageUrl) {
     try {
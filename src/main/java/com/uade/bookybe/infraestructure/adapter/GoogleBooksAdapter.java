@@ -1,177 +1,212 @@
 package com.uade.bookybe.infraestructure.adapter;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.uade.bookybe.core.model.Book;
 import com.uade.bookybe.core.port.GoogleBooksPort;
-import java.util.Arrays;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.codec.DecodingException;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class GoogleBooksAdapter implements GoogleBooksPort {
 
-  private final RestTemplate restTemplate;
-  private final ObjectMapper objectMapper;
-  
-  private static final String GOOGLE_BOOKS_API_URL = "https://www.googleapis.com/books/v1/volumes";
+  @Qualifier("googleBooksWebClient")
+  private final WebClient webClient;
+
+  @Qualifier("googleBooksCircuitBreaker")
+  private final CircuitBreaker circuitBreaker;
+
+  private static final String VOLUMES_PATH = "/volumes";
+  private static final String NO_COVER_IMAGE =
+      "https://books.google.com/googlebooks/images/no_cover_thumb.gif";
 
   @Override
   public Optional<Book> getBookByIsbn(String isbn) {
+    return getBookByIsbnAsync(isbn).join();
+  }
+
+  @Override
+  public CompletableFuture<Optional<Book>> getBookByIsbnAsync(String isbn) {
+    return fetchBookByIsbn(isbn)
+        .onErrorResume(
+            e -> {
+              log.error("Error calling Google Books API for ISBN {}: {}", isbn, e.getMessage());
+              return Mono.just(Optional.empty());
+            })
+        .toFuture();
+  }
+
+  /**
+   * Same lookup as {@link #getBookByIsbn(String)} but lets transport errors (timeouts, 5xx, open
+   * circuit) propagate, so callers can tell "Google has no such book" apart from "Google could not
+   * be reached".
+   */
+  Mono<Optional<Book>> fetchBookByIsbn(String isbn) {
     log.info("Fetching book from Google Books API with ISBN: {}", isbn);
-    
-    try {
-      String url = GOOGLE_BOOKS_API_URL + "?q=isbn:" + isbn;
-      String response = restTemplate.getForObject(url, String.class);
-      
-      if (response == null) {
-        log.warn("No response from Google Books API for ISBN: {}", isbn);
-        return Optional.empty();
-      }
-      
-      JsonNode jsonResponse = objectMapper.readTree(response);
-      JsonNode items = jsonResponse.get("items");
-      
-      if (items == null || items.size() == 0) {
-        log.warn("No books found for ISBN: {}", isbn);
-        return Optional.empty();
-      }
-      
-      JsonNode bookItem = items.get(0);
-      Book book = parseBookFromJson(bookItem);
-      
-      log.info("Successfully fetched book: {}", book.getTitle());
-      return Optional.of(book);
-      
-    } catch (RestClientException e) {
-      log.error("Error calling Google Books API for ISBN {}: {}", isbn, e.getMessage());
-      return Optional.empty();
-    } catch (Exception e) {
-      log.error("Error parsing Google Books API response for ISBN {}: {}", isbn, e.getMessage());
-      return Optional.empty();
-    }
+
+    return fetchFirstVolume("isbn:" + isbn)
+        .doOnNext(
+            book -> book.ifPresent(b -> log.info("Successfully fetched book: {}", b.getTitle())))
+        .defaultIfEmpty(Optional.empty());
   }
 
   @Override
   public Optional<Book> searchBookByTitle(String title) {
     log.info("Searching book from Google Books API with title: {}", title);
-    
-    try {
-      String url = GOOGLE_BOOKS_API_URL + "?q=intitle:" + title.replace(" ", "+");
-      String response = restTemplate.getForObject(url, String.class);
-      
-      if (response == null) {
-        log.warn("No response from Google Books API for title: {}", title);
-        return Optional.empty();
-      }
-      
-      JsonNode jsonResponse = objectMapper.readTree(response);
-      JsonNode items = jsonResponse.get("items");
-      
-      if (items == null || items.size() == 0) {
-        log.warn("No books found for title: {}", title);
-        return Optional.empty();
-      }
-      
-      JsonNode bookItem = items.get(0);
-      Book book = parseBookFromJson(bookItem);
-      
-      log.info("Successfully found book: {}", book.getTitle());
-      return Optional.of(book);
-      
-    } catch (RestClientException e) {
-      log.error("Error calling Google Books API for title {}: {}", title, e.getMessage());
-      return Optional.empty();
-    } catch (Exception e) {
-      log.error("Error parsing Google Books API response for title {}: {}", title, e.getMessage());
+
+    return fetchFirstVolume("intitle:" + title)
+        .defaultIfEmpty(Optional.empty())
+        .onErrorResume(
+            e -> {
+              log.error("Error calling Google Books API for title {}: {}", title, e.getMessage());
+              return Mono.just(Optional.empty());
+            })
+        .block();
+  }
+
+  /**
+   * Runs a volumes query and maps the first hit. The body is decoded by Jackson directly from the
+   * response stream into {@link VolumesResponse}, and only one result is requested.
+   */
+  private Mono<Optional<Book>> fetchFirstVolume(String query) {
+    return webClient
+        .get()
+        .uri(
+            uriBuilder ->
+                uriBuilder
+                    .path(VOLUMES_PATH)
+                    .queryParam("q", "{query}")
+                    .queryParam("maxResults", 1)
+                    .build(query))
+        .retrieve()
+        .bodyToMono(VolumesResponse.class)
+        .map(response -> toBook(response, query))
+        .onErrorResume(
+            WebClientResponseException.NotFound.class, e -> Mono.just(Optional.empty()))
+        .onErrorResume(
+            DecodingException.class,
+            e -> {
+              log.error("Error parsing Google Books API response for {}: {}", query, e.getMessage());
+              return Mono.just(Optional.empty());
+            })
+        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+  }
+
+  private Optional<Book> toBook(VolumesResponse response, String query) {
+    if (response.getItems() == null || response.getItems().isEmpty()) {
+      log.warn("No books found for query: {}", query);
       return Optional.empty();
     }
-  }
 
-  private Book parseBookFromJson(JsonNode bookItem) throws Exception {
-    JsonNode volumeInfo = bookItem.get("volumeInfo");
-    
+    VolumeInfo volumeInfo = response.getItems().get(0).getVolumeInfo();
     if (volumeInfo == null) {
-      throw new Exception("Invalid book format: missing volumeInfo");
+      log.error("Invalid book format for query {}: missing volumeInfo", query);
+      return Optional.empty();
     }
 
     Book.BookBuilder bookBuilder = Book.builder();
-    
-    // Title
-    if (volumeInfo.has("title")) {
-      bookBuilder.title(volumeInfo.get("title").asText());
-    }
-    
+
+    bookBuilder.title(volumeInfo.getTitle());
+
     // Authors
-    if (volumeInfo.has("authors")) {
-      JsonNode authors = volumeInfo.get("authors");
-      if (authors.isArray() && authors.size() > 0) {
-        bookBuilder.author(authors.get(0).asText());
-      }
+    if (volumeInfo.getAuthors() != null && !volumeInfo.getAuthors().isEmpty()) {
+      bookBuilder.author(volumeInfo.getAuthors().get(0));
     }
-    
+
     // ISBN
-    if (volumeInfo.has("industryIdentifiers")) {
-      JsonNode identifiers = volumeInfo.get("industryIdentifiers");
-      for (JsonNode identifier : identifiers) {
-        if ("ISBN_13".equals(identifier.get("type").asText()) ||
-            "ISBN_10".equals(identifier.get("type").asText())) {
-          bookBuilder.isbn(identifier.get("identifier").asText());
-          break;
-        }
-      }
+    if (volumeInfo.getIndustryIdentifiers() != null) {
+      volumeInfo.getIndustryIdentifiers().stream()
+          .filter(id -> "ISBN_13".equals(id.getType()) || "ISBN_10".equals(id.getType()))
+          .findFirst()
+          .ifPresent(id -> bookBuilder.isbn(id.getIdentifier()));
     }
-    
+
     // Description
-    if (volumeInfo.has("description")) {
-      String description = volumeInfo.get("description").asText();
+    String description = volumeInfo.getDescription();
+    if (description != null) {
       bookBuilder.overview(description.length() > 500 ? description.substring(0, 500) : description);
       bookBuilder.synopsis(description);
     }
-    
-    // Pages
-    if (volumeInfo.has("pageCount")) {
-      bookBuilder.pages(volumeInfo.get("pageCount").asInt());
-    }
-    
-    // Publisher
-    if (volumeInfo.has("publisher")) {
-      bookBuilder.publisher(volumeInfo.get("publisher").asText());
-    }
-    
+
+    bookBuilder.pages(volumeInfo.getPageCount());
+    bookBuilder.publisher(volumeInfo.getPublisher());
+
     // Image
-    if (volumeInfo.has("imageLinks")) {
-      JsonNode imageLinks = volumeInfo.get("imageLinks");
-      if (imageLinks.has("thumbnail")) {
-        bookBuilder.image(imageLinks.get("thumbnail").asText());
-      }else if (imageLinks.has("smallThumbnail")){
-        bookBuilder.image(imageLinks.get("smallThumbnail").asText());
-      }else {
-        bookBuilder.image("https://books.google.com/googlebooks/images/no_cover_thumb.gif");
-      }
-    }
-    
-    // Categories
-    if (volumeInfo.has("categories")) {
-      JsonNode categories = volumeInfo.get("categories");
-      if (categories.isArray()) {
-        List<String> categoryList = Arrays.asList(objectMapper.convertValue(categories, String[].class));
-        bookBuilder.categories(categoryList);
+    ImageLinks imageLinks = volumeInfo.getImageLinks();
+    if (imageLinks != null) {
+      if (imageLinks.getThumbnail() != null) {
+        bookBuilder.image(imageLinks.getThumbnail());
+      } else if (imageLinks.getSmallThumbnail() != null) {
+        bookBuilder.image(imageLinks.getSmallThumbnail());
+      } else {
+        bookBuilder.image(NO_COVER_IMAGE);
       }
     }
-    
+
+    bookBuilder.categories(volumeInfo.getCategories());
+
     // Published date as edition
-    if (volumeInfo.has("publishedDate")) {
-      bookBuilder.edition(volumeInfo.get("publishedDate").asText());
-    }
-    
-    return bookBuilder.build();
+    bookBuilder.edition(volumeInfo.getPublishedDate());
+
+    return Optional.of(bookBuilder.build());
+  }
+
+  // DTOs for Google Books API
+
+  @lombok.Data
+  @lombok.NoArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private static class VolumesResponse {
+    private List<Volume> items;
+  }
+
+  @lombok.Data
+  @lombok.NoArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private static class Volume {
+    private VolumeInfo volumeInfo;
+  }
+
+  @lombok.Data
+  @lombok.NoArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private static class VolumeInfo {
+    private String title;
+    private List<String> authors;
+    private List<IndustryIdentifier> industryIdentifiers;
+    private String description;
+    private Integer pageCount;
+    private String publisher;
+    private ImageLinks imageLinks;
+    private List<String> categories;
+    private String publishedDate;
+  }
+
+  @lombok.Data
+  @lombok.NoArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private static class IndustryIdentifier {
+    private String type;
+    private String identifier;
+  }
+
+  @lombok.Data
+  @lombok.NoArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private static class ImageLinks {
+    private String thumbnail;
+    private String smallThumbnail;
   }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,300 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import com.uade.bookybe.config.BookSearchConfig;
+import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.BookSearchResult;
+import com.uade.bookybe.core.port.BookSearchPort;
+import com.uade.bookybe.infraestructure.entity.BookEntity;
+import com.uade.bookybe.infraestructure.mapper.BookEntityMapper;
+import com.uade.bookybe.infraestructure.repository.BookRepository;
+import com.uade.bookybe.util.TopK;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice invertido en memoria sobre título, autor y categorías de los libros. Se reconstruye
+ * desde la base al iniciar y cada {@code book-search.refresh-interval}, y se actualiza en el
+ * momento cuando se guardan libros nuevos. Solo guarda ids y términos; los libros de cada página
+ * se cargan de la base con una única consulta.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InMemoryBookSearchAdapter implements BookSearchPort {
+
+  private static final float TITLE_WEIGHT = 3f;
+  private static final float AUTHOR_WEIGHT = 2f;
+  private static final float CATEGORY_WEIGHT = 1f;
+  private static final float PREFIX_MATCH_FACTOR = 0.5f;
+  private static final int MIN_PREFIX_LENGTH = 2;
+
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Pattern NON_WORD = Pattern.compile("[^\\p{Alnum}]+");
+
+  private final BookRepository bookRepository;
+  private final BookSearchConfig config;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private Index index = new Index();
+  /** Books indexed while a rebuild is loading; replayed on the new index before swapping it in */
+  private List<Book> indexedDuringRebuild;
+
+  @Scheduled(fixedDelayString = "${book-search.refresh-interval:PT15M}")
+  public void rebuild() {
+    long start = System.currentTimeMillis();
+    withWriteLock(() -> indexedDuringRebuild = new ArrayList<>());
+
+    Index fresh = new Index();
+    try {
+      Map<String, List<String>> categoriesByBook = new HashMap<>();
+      for (Object[] row : bookRepository.findAllCategoryPairs()) {
+        categoriesByBook
+            .computeIfAbsent((String) row[0], id -> new ArrayList<>())
+            .add((String) row[1]);
+      }
+      for (Object[] row : bookRepository.findAllSearchFields()) {
+        String id = (String) row[0];
+        fresh.put(id, (String) row[1], (String) row[2], categoriesByBook.get(id));
+      }
+    } catch (RuntimeException e) {
+      log.error("Could not rebuild book search index: {}", e.getMessage(), e);
+      withWriteLock(() -> indexedDuringRebuild = null);
+      return;
+    }
+
+    withWriteLock(
+        () -> {
+          indexedDuringRebuild.forEach(fresh::put);
+          index = fresh;
+          indexedDuringRebuild = null;
+        });
+    log.info(
+        "Book search index rebuilt: {} books, {} terms in {} ms",
+        fresh.docs.size(),
+        fresh.postings.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  @Override
+  public void index(Collection<Book> books) {
+    if (books.isEmpty()) {
+      return;
+    }
+    withWriteLock(
+        () -> {
+          books.forEach(index::put);
+          if (indexedDuringRebuild != null) {
+            indexedDuringRebuild.addAll(books);
+          }
+        });
+  }
+
+  @Override
+  public BookSearchResult search(String query, String category, int page, int size) {
+    List<String> terms = tokenize(query).stream().distinct().toList();
+
+    List<String> pageIds;
+    long totalHits;
+    Map<String, Long> facets;
+
+    lock.readLock().lock();
+    try {
+      Map<String, Float> scores = index.score(terms);
+      facets = index.categoryFacets(scores.keySet(), config.getMaxFacets());
+      if (category != null && !category.isBlank()) {
+        scores.keySet().removeIf(id -> !index.hasCategory(id, category));
+      }
+      totalHits = scores.size();
+      pageIds = index.topK(scores, page, size);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    return BookSearchResult.builder()
+        .books(loadInOrder(pageIds))
+        .totalHits(totalHits)
+        .page(page)
+        .size(size)
+        .categoryFacets(facets)
+        .build();
+  }
+
+  private List<Book> loadInOrder(List<String> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    Map<String, BookEntity> byId =
+        bookRepository.findAllWithCategoriesByIdIn(ids).stream()
+            .collect(Collectors.toMap(BookEntity::getId, Function.identity(), (a, b) -> a));
+    return ids.stream()
+        .map(byId::get)
+        .filter(entity -> entity != null)
+        .map(BookEntityMapper.INSTANCE::toModel)
+        .toList();
+  }
+
+  private void withWriteLock(Runnable action) {
+    lock.writeLock().lock();
+    try {
+      action.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Lower-cases, strips accents and splits on anything that is not a letter or digit */
+  static List<String> tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return List.of();
+    }
+    String folded =
+        DIACRITICS
+            .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+    List<String> tokens = new ArrayList<>();
+    for (String token : NON_WORD.split(folded)) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  /** Not thread-safe; guarded by the adapter's lock */
+  private static final class Index {
+    private final Map<String, Doc> docs = new HashMap<>();
+    /** term -> (book id -> field weight) */
+    private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+
+    void put(Book book) {
+      put(book.getId(), book.getTitle(), book.getAuthor(), book.getCategories());
+    }
+
+    void put(String id, String title, String author, List<String> categories) {
+      remove(id);
+      List<String> bookCategories = categories != null ? List.copyOf(categories) : List.of();
+
+      Map<String, Float> weights = new HashMap<>();
+      addTerms(weights, title, TITLE_WEIGHT);
+      addTerms(weights, author, AUTHOR_WEIGHT);
+      bookCategories.forEach(c -> addTerms(weights, c, CATEGORY_WEIGHT));
+
+      String safeTitle = title != null ? title : "";
+      docs.put(id, new Doc(safeTitle, bookCategories, Set.copyOf(weights.keySet())));
+      weights.forEach(
+          (term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+    }
+
+    private void remove(String id) {
+      Doc previous = docs.remove(id);
+      if (previous == null) {
+        return;
+      }
+      for (String term : previous.terms()) {
+        Map<String, Float> books = postings.get(term);
+        if (books != null) {
+          books.remove(id);
+          if (books.isEmpty()) {
+            postings.remove(term);
+          }
+        }
+      }
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+      tokenize(text).forEach(token -> weights.merge(token, weight, Float::sum));
+    }
+
+    /**
+     * Books matching every term, scored by idf * field weight. A term matches whole words, and
+     * also word prefixes (at half the score) once it has at least two characters.
+     */
+    Map<String, Float> score(List<String> terms) {
+      Map<String, Float> scores = null;
+      for (String term : terms) {
+        Map<String, Float> termScores = new HashMap<>();
+        collect(termScores, postings.get(term), 1f);
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+          postings
+              .subMap(term, false, term + Character.MAX_VALUE, false)
+              .values()
+              .forEach(books -> collect(termScores, books, PREFIX_MATCH_FACTOR));
+        }
+
+        if (scores == null) {
+          scores = termScores;
+        } else {
+          scores.keySet().retainAll(termScores.keySet());
+          scores.replaceAll((id, score) -> score + termScores.get(id));
+        }
+        if (scores.isEmpty()) {
+          break;
+        }
+      }
+      return scores != null ? scores : new HashMap<>();
+    }
+
+    private void collect(Map<String, Float> termScores, Map<String, Float> books, float factor) {
+      if (books == null) {
+        return;
+      }
+      float idf = (float) Math.log(1 + (double) docs.size() / books.size());
+      books.forEach((id, weight) -> termScores.merge(id, idf * weight * factor, Math::max));
+    }
+
+    boolean hasCategory(String id, String category) {
+      Doc doc = docs.get(id);
+      return doc != null && doc.categories().stream().anyMatch(category::equalsIgnoreCase);
+    }
+
+    Map<String, Long> categoryFacets(Set<String> ids, int limit) {
+      Map<String, Long> counts = new HashMap<>();
+      for (String id : ids) {
+        docs.get(id).categories().stream().distinct().forEach(c -> counts.merge(c, 1L, Long::sum));
+      }
+      return counts.entrySet().stream()
+          .sorted(
+              Map.Entry.<String, Long>comparingByValue()
+                  .reversed()
+                  .thenComparing(Map.Entry.comparingByKey()))
+          .limit(limit)
+          .collect(
+              Collectors.toMap(
+                  Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /** Ids of the requested page, best score first */
+    List<String> topK(Map<String, Float> scores, int page, int size) {
+      Comparator<Map.Entry<String, Float>> ranking =
+          Map.Entry.<String, Float>comparingByValue()
+              .reversed()
+              .thenComparingInt(e -> docs.get(e.getKey()).title().length())
+              .thenComparing(Map.Entry.comparingByKey());
+      return TopK.page(scores.entrySet(), ranking, page, size).stream()
+          .map(Map.Entry::getKey)
+          .toList();
+    }
+  }
+
+  private record Doc(String title, List<String> categories, Set<String> terms) {}
+}
@@ -0,0 +1,233 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import com.uade.bookybe.core.model.Community;
+import com.uade.bookybe.core.model.CommunitySearchResult;
+import com.uade.bookybe.core.port.CommunitySearchPort;
+import com.uade.bookybe.infraestructure.entity.CommunityEntity;
+import com.uade.bookybe.infraestructure.mapper.CommunityEntityMapper;
+import com.uade.bookybe.infraestructure.repository.CommunityRepository;
+import com.uade.bookybe.util.TopK;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice invertido en memoria sobre nombre y descripción de las comunidades, con el mismo
+ * tokenizado y puntaje que {@link InMemoryBookSearchAdapter}. Se reconstruye al iniciar y cada
+ * {@code communities.search-refresh-interval}, y se actualiza cuando se crean, editan o borran
+ * comunidades.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InMemoryCommunitySearchAdapter implements CommunitySearchPort {
+
+  private static final float NAME_WEIGHT = 2f;
+  private static final float DESCRIPTION_WEIGHT = 1f;
+  private static final float PREFIX_MATCH_FACTOR = 0.5f;
+  private static final int MIN_PREFIX_LENGTH = 2;
+
+  private final CommunityRepository communityRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private Index index = new Index();
+  /** Changes applied while a rebuild is loading; replayed on the new index before swapping it in */
+  private List<Consumer<Index>> changedDuringRebuild;
+
+  @Scheduled(fixedDelayString = "${communities.search-refresh-interval:PT15M}")
+  public void rebuild() {
+    long start = System.currentTimeMillis();
+    withWriteLock(() -> changedDuringRebuild = new ArrayList<>());
+
+    Index fresh = new Index();
+    try {
+      for (Object[] row : communityRepository.findAllSearchFields()) {
+        fresh.put((String) row[0], (String) row[1], (String) row[2]);
+      }
+    } catch (RuntimeException e) {
+      log.error("Could not rebuild community search index: {}", e.getMessage(), e);
+      withWriteLock(() -> changedDuringRebuild = null);
+      return;
+    }
+
+    withWriteLock(
+        () -> {
+          changedDuringRebuild.forEach(change -> change.accept(fresh));
+          index = fresh;
+          changedDuringRebuild = null;
+        });
+    log.info(
+        "Community search index rebuilt: {} communities, {} terms in {} ms",
+        fresh.docs.size(),
+        fresh.postings.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  @Override
+  public void index(String communityId, String name, String description) {
+    apply(target -> target.put(communityId, name, description));
+  }
+
+  @Override
+  public void remove(String communityId) {
+    apply(target -> target.remove(communityId));
+  }
+
+  @Override
+  public CommunitySearchResult search(String query, int page, int size) {
+    List<String> terms = InMemoryBookSearchAdapter.tokenize(query).stream().distinct().toList();
+
+    List<String> pageIds;
+    long totalHits;
+    lock.readLock().lock();
+    try {
+      Map<String, Float> scores = index.score(terms);
+      totalHits = scores.size();
+      pageIds = index.topK(scores, page, size);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    return CommunitySearchResult.builder()
+        .communities(loadInOrder(pageIds))
+        .totalHits(totalHits)
+        .page(page)
+        .size(size)
+        .build();
+  }
+
+  private List<Community> loadInOrder(List<String> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    Map<String, CommunityEntity> byId =
+        communityRepository.findAllWithAdminByIdIn(ids).stream()
+            .collect(Collectors.toMap(CommunityEntity::getId, Function.identity()));
+    return ids.stream()
+        .map(byId::get)
+        .filter(entity -> entity != null)
+        .map(CommunityEntityMapper.INSTANCE::toModel)
+        .collect(Collectors.toList());
+  }
+
+  private void apply(Consumer<Index> change) {
+    withWriteLock(
+        () -> {
+          change.accept(index);
+          if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(change);
+          }
+        });
+  }
+
+  private void withWriteLock(Runnable action) {
+    lock.writeLock().lock();
+    try {
+      action.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Not thread-safe; guarded by the adapter's lock */
+  private static final class Index {
+    private final Map<String, Doc> docs = new HashMap<>();
+    /** term -> (community id -> field weight) */
+    private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+
+    void put(String id, String name, String description) {
+      remove(id);
+      Map<String, Float> weights = new HashMap<>();
+      addTerms(weights, name, NAME_WEIGHT);
+      addTerms(weights, description, DESCRIPTION_WEIGHT);
+
+      docs.put(id, new Doc(name != null ? name : "", Set.copyOf(weights.keySet())));
+      weights.forEach(
+          (term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+    }
+
+    void remove(String id) {
+      Doc previous = docs.remove(id);
+      if (previous == null) {
+        return;
+      }
+      for (String term : previous.terms()) {
+        Map<String, Float> communities = postings.get(term);
+        if (communities != null) {
+          communities.remove(id);
+          if (communities.isEmpty()) {
+            postings.remove(term);
+          }
+        }
+      }
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+      InMemoryBookSearchAdapter.tokenize(text)
+          .forEach(token -> weights.merge(token, weight, Float::sum));
+    }
+
+    /** Communities matching every term (word or, from two characters, word prefix) */
+    Map<String, Float> score(List<String> terms) {
+      Map<String, Float> scores = null;
+      for (String term : terms) {
+        Map<String, Float> termScores = new HashMap<>();
+        collect(termScores, postings.get(term), 1f);
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+          postings
+              .subMap(term, false, term + Character.MAX_VALUE, false)
+              .values()
+              .forEach(communities -> collect(termScores, communities, PREFIX_MATCH_FACTOR));
+        }
+
+        if (scores == null) {
+          scores = termScores;
+        } else {
+          scores.keySet().retainAll(termScores.keySet());
+          scores.replaceAll((id, score) -> score + termScores.get(id));
+        }
+        if (scores.isEmpty()) {
+          break;
+        }
+      }
+      return scores != null ? scores : new HashMap<>();
+    }
+
+    private void collect(
+        Map<String, Float> termScores, Map<String, Float> communities, float factor) {
+      if (communities == null) {
+        return;
+      }
+      float idf = (float) Math.log(1 + (double) docs.size() / communities.size());
+      communities.forEach((id, weight) -> termScores.merge(id, idf * weight * factor, Math::max));
+    }
+
+    /** Ids of the requested page, best score first */
+    List<String> topK(Map<String, Float> scores, int page, int size) {
+      Comparator<Map.Entry<String, Float>> ranking =
+          Map.Entry.<String, Float>comparingByValue()
+              .reversed()
+              .thenComparingInt(e -> docs.get(e.getKey()).name().length())
+              .thenComparing(Map.Entry.comparingByKey());
+      return TopK.page(scores.entrySet(), ranking, page, size).stream()
+          .map(Map.Entry::getKey)
+          .toList();
+    }
+  }
+
+  private record Doc(String name, Set<String> terms) {}
+}
@@ -0,0 +1,179 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import com.uade.bookybe.config.LivekitProps;
+import com.uade.bookybe.core.exception.UnauthorizedException;
+import com.uade.bookybe.core.model.LivekitRoom;
+import com.uade.bookybe.core.model.LivekitRoomEvent;
+import com.uade.bookybe.core.port.LivekitRoomPort;
+import io.livekit.server.RoomServiceClient;
+import io.livekit.server.WebhookReceiver;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import livekit.LivekitModels;
+import livekit.LivekitWebhook;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * {@link LivekitRoomPort} sobre el SDK de servidor de LiveKit (API Twirp por HTTP). Los clientes se
+ * crean al primer uso, así la aplicación levanta aunque LiveKit no esté configurado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LivekitServerRoomAdapter implements LivekitRoomPort {
+
+  private static final int HTTP_NOT_FOUND = 404;
+
+  private final LivekitProps livekitProps;
+
+  private volatile RoomServiceClient roomServiceClient;
+  private volatile WebhookReceiver webhookReceiver;
+
+  @Override
+  public LivekitRoom createRoom(String roomName, LivekitRoom.RoomOptions options) {
+    LivekitModels.Room room =
+        execute(
+            client()
+                .createRoom(
+                    roomName,
+                    options.getEmptyTimeout(),
+                    options.getMaxParticipants(),
+                    null,
+                    options.getMetadata()),
+            "createRoom");
+    return toModel(room, options);
+  }
+
+  @Override
+  public Optional<LivekitRoom> getRoom(String roomName) {
+    return execute(client().listRooms(List.of(roomName)), "listRooms").stream()
+        .filter(room -> roomName.equals(room.getName()))
+        .findFirst()
+        .map(room -> toModel(room, null));
+  }
+
+  @Override
+  public List<String> listParticipants(String roomName) {
+    return execute(client().listParticipants(roomName), "listParticipants").stream()
+        .map(LivekitModels.ParticipantInfo::getIdentity)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void deleteRoom(String roomName) {
+    try {
+      Response<Void> response = client().deleteRoom(roomName).execute();
+      if (!response.isSuccessful() && response.code() != HTTP_NOT_FOUND) {
+        throw new IllegalStateException("LiveKit deleteRoom failed with HTTP " + response.code());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("LiveKit deleteRoom failed", e);
+    }
+  }
+
+  @Override
+  public LivekitRoomEvent receiveWebhook(String body, String authorization) {
+    LivekitWebhook.WebhookEvent event;
+    try {
+      event = receiver().receive(body, authorization);
+    } catch (Exception e) {
+      log.warn("Rejected LiveKit webhook: {}", e.getMessage());
+      throw new UnauthorizedException("Invalid LiveKit webhook signature");
+    }
+
+    return LivekitRoomEvent.builder()
+        .id(event.getId())
+        .type(toType(event.getEvent()))
+        .roomName(event.hasRoom() ? event.getRoom().getName() : null)
+        .roomSid(event.hasRoom() ? event.getRoom().getSid() : null)
+        .roomCreationTime(event.hasRoom() ? event.getRoom().getCreationTime() : 0)
+        .participantIdentity(event.hasParticipant() ? event.getParticipant().getIdentity() : null)
+        .build();
+  }
+
+  private RoomServiceClient client() {
+    if (roomServiceClient == null) {
+      synchronized (this) {
+        if (roomServiceClient == null) {
+          roomServiceClient =
+              RoomServiceClient.createClient(
+                  apiUrl(), livekitProps.getApiKey(), livekitProps.getApiSecret());
+        }
+      }
+    }
+    return roomServiceClient;
+  }
+
+  private WebhookReceiver receiver() {
+    if (webhookReceiver == null) {
+      synchronized (this) {
+        if (webhookReceiver == null) {
+          webhookReceiver =
+              new WebhookReceiver(livekitProps.getApiKey(), livekitProps.getApiSecret());
+        }
+      }
+    }
+    return webhookReceiver;
+  }
+
+  /** The room API is served over HTTP(S) on the same host as the WebSocket URL */
+  private String apiUrl() {
+    if (livekitProps.getApiUrl() != null && !livekitProps.getApiUrl().isBlank()) {
+      return livekitProps.getApiUrl();
+    }
+    return livekitProps.getWsUrl().replaceFirst("^ws(s?)://", "http$1://");
+  }
+
+  private static <T> T execute(Call<T> call, String action) {
+    try {
+      Response<T> response = call.execute();
+      if (!response.isSuccessful()) {
+        throw new IllegalStateException(
+            "LiveKit " + action + " failed with HTTP " + response.code());
+      }
+      return response.body();
+    } catch (IOException e) {
+      throw new UncheckedIOException("LiveKit " + action + " failed", e);
+    }
+  }
+
+  private static LivekitRoom toModel(LivekitModels.Room room, LivekitRoom.RoomOptions options) {
+    return LivekitRoom.builder()
+        .name(room.getName())
+        .sid(room.getSid())
+        .isActive(room.getNumParticipants() > 0)
+        .participantCount(room.getNumParticipants())
+        .createdAt(
+            LocalDateTime.ofInstant(
+                Instant.ofEpochSecond(room.getCreationTime()), ZoneId.systemDefault()))
+        .options(
+            options != null
+                ? options
+                : LivekitRoom.RoomOptions.builder()
+                    .emptyTimeout(room.getEmptyTimeout())
+                    .maxParticipants(room.getMaxParticipants())
+                    .metadata(room.getMetadata())
+                    .build())
+        .build();
+  }
+
+  private static LivekitRoomEvent.Type toType(String event) {
+    return switch (event) {
+      case "room_started" -> LivekitRoomEvent.Type.ROOM_STARTED;
+      case "room_finished" -> LivekitRoomEvent.Type.ROOM_FINISHED;
+      case "participant_joined" -> LivekitRoomEvent.Type.PARTICIPANT_JOINED;
+      case "participant_left" -> LivekitRoomEvent.Type.PARTICIPANT_LEFT;
+      default -> LivekitRoomEvent.Type.OTHER;
+    };
+  }
+}
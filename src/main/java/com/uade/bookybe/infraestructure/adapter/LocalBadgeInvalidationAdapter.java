@@ -0,0 +1,18 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import com.uade.bookybe.core.port.BadgeInvalidationPort;
+import java.util.Collection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Single-node setups (or databases without LISTEN/NOTIFY): there is nobody else to tell. */
+@Component
+@ConditionalOnProperty(name = "badges.notify-enabled", havingValue = "false")
+public class LocalBadgeInvalidationAdapter implements BadgeInvalidationPort {
+
+  @Override
+  public void publish(Collection<String> userIds) {}
+
+  @Override
+  public void subscribe(Listener listener) {}
+}
@@ -0,0 +1,27 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import com.uade.bookybe.core.model.MeetingReminder;
+import com.uade.bookybe.core.port.MeetingReminderPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Canal de recordatorios por defecto: todavía no hay push ni mail, así que los recordatorios
+ * quedan en el log. Para enviarlos de verdad alcanza con otra implementación de {@link
+ * MeetingReminderPort}.
+ */
+@Slf4j
+@Component
+public class LoggingMeetingReminderAdapter implements MeetingReminderPort {
+
+  @Override
+  public void publish(MeetingReminder reminder) {
+    log.info(
+        "Meeting reminder for reading club {} ({}): meeting at {} in {} minutes, {} members",
+        reminder.getReadingClubId(),
+        reminder.getReadingClubName(),
+        reminder.getMeetingAt(),
+        reminder.getMinutesBefore(),
+        reminder.getMemberIds().size());
+  }
+}
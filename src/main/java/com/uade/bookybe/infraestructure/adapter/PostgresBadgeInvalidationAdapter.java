@@ -0,0 +1,153 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import com.uade.bookybe.config.BadgeConfig;
+import com.uade.bookybe.core.port.BadgeInvalidationPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidaciones de badges entre nodos con LISTEN/NOTIFY de Postgres. {@code pg_notify} corre en
+ * la transacción de la escritura, así que Postgres solo entrega el aviso si hace commit. Un hilo
+ * escucha el canal con una conexión propia del pool y, si la pierde, al reconectar descarta todos
+ * los contadores porque pudieron perderse avisos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "badges.notify-enabled", havingValue = "true", matchIfMissing = true)
+public class PostgresBadgeInvalidationAdapter implements BadgeInvalidationPort {
+
+  /** Postgres rejects payloads of 8000 bytes or more; user ids are ASCII */
+  private static final int MAX_PAYLOAD_LENGTH = 7500;
+
+  private static final char NODE_SEPARATOR = '|';
+  private static final String ID_SEPARATOR = ",";
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final BadgeConfig config;
+
+  /** Lets the node skip its own notices, which it already applied after commit */
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  private volatile boolean running;
+  private Thread listenerThread;
+
+  @PostConstruct
+  void start() {
+    running = true;
+    listenerThread = new Thread(this::listen, "badge-invalidation-listener");
+    listenerThread.setDaemon(true);
+    listenerThread.start();
+  }
+
+  @PreDestroy
+  void stop() {
+    running = false;
+    listenerThread.interrupt();
+  }
+
+  @Override
+  public void publish(Collection<String> userIds) {
+    for (String payload : payloads(userIds)) {
+      jdbcTemplate.query(
+          "SELECT pg_notify(?, ?)",
+          (ResultSetExtractor<Void>) rs -> null,
+          config.getNotifyChannel(),
+          payload);
+    }
+  }
+
+  @Override
+  public void subscribe(Listener listener) {
+    listeners.add(listener);
+  }
+
+  private List<String> payloads(Collection<String> userIds) {
+    List<String> payloads = new ArrayList<>();
+    StringBuilder payload = new StringBuilder(nodeId).append(NODE_SEPARATOR);
+    int emptyLength = payload.length();
+    for (String userId : userIds) {
+      if (payload.length() > emptyLength
+          && payload.length() + ID_SEPARATOR.length() + userId.length() > MAX_PAYLOAD_LENGTH) {
+        payloads.add(payload.toString());
+        payload.setLength(emptyLength);
+      }
+      if (payload.length() > emptyLength) {
+        payload.append(ID_SEPARATOR);
+      }
+      payload.append(userId);
+    }
+    if (payload.length() > emptyLength) {
+      payloads.add(payload.toString());
+    }
+    return payloads;
+  }
+
+  private void listen() {
+    boolean reconnecting = false;
+    while (running) {
+      try (Connection connection = dataSource.getConnection();
+          Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN \"" + config.getNotifyChannel() + "\"");
+        if (reconnecting) {
+          listeners.forEach(Listener::onInvalidationsMissed);
+        }
+        log.info("Listening for badge invalidations on channel {}", config.getNotifyChannel());
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        int timeoutMillis = (int) config.getListenTimeout().toMillis();
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              dispatch(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (!running) {
+          return;
+        }
+        reconnecting = true;
+        log.warn(
+            "Badge invalidation listener failed, retrying in {}: {}",
+            config.getReconnectDelay(),
+            e.getMessage());
+        try {
+          Thread.sleep(config.getReconnectDelay().toMillis());
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void dispatch(String payload) {
+    int separator = payload.indexOf(NODE_SEPARATOR);
+    if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+      return;
+    }
+    List<String> userIds = List.of(payload.substring(separator + 1).split(ID_SEPARATOR));
+    listeners.forEach(listener -> listener.onInvalidated(userIds));
+  }
+}
@@ -144,6 +144,49 @@ public class S3ImageStorageAdapter implements ImageStoragePort {
     }
   }
 
+  @Override
+  public Optional<String> uploadImage(byte[] bytes, String contentType, String folder) {
+    try {
+      log.info(
+          "Uploading image bytes to S3. Size: {}, Folder: {}, Bucket: {}",
+          bytes != null ? bytes.length : 0,
+          folder,
+          bucketName);
+
+      if (bytes == null || bytes.length == 0) {
+        log.error("Image bytes are null or empty");
+        return Optional.empty();
+      }
+
+      String type =
+          contentType != null && contentType.startsWith("image/") ? contentType : "image/jpeg";
+      String key = buildObjectKey(folder, UUID.randomUUID() + extensionOf(type));
+
+      PutObjectRequest putObjectRequest =
+          PutObjectRequest.builder()
+              .bucket(bucketName)
+              .key(key)
+              .contentType(type)
+              .contentLength((long) bytes.length)
+              .metadata(
+                  java.util.Map.of(
+                      "source", "bytes-upload",
+                      "upload-timestamp", String.valueOf(System.currentTimeMillis())))
+              .build();
+
+      s3Client.putObject(putObjectRequest, RequestBody.fromBytes(bytes));
+
+      String publicUrl = generatePublicUrl(key);
+      log.info("Image bytes uploaded successfully to S3. URL: {}", publicUrl);
+
+      return Optional.of(publicUrl);
+
+    } catch (Exception e) {
+      log.error("Error uploading image bytes to S3: {}", e.getMessage(), e);
+      return Optional.empty();
+    }
+  }
+
   @Override
   public boolean deleteImage(String imageUrl) {
     try {
@@ -329,6 +372,16 @@ public class S3ImageStorageAdapter implements ImageStoragePort {
     return "image/jpeg"; // default
   }
 
+  /** Extensión de archivo para un tipo MIME de imagen */
+  private String extensionOf(String contentType) {
+    return switch (contentType) {
+      case "image/png" -> ".png";
+      case "image/gif" -> ".gif";
+      case "image/webp" -> ".webp";
+      default -> ".jpg";
+    };
+  }
+
   /** Genera la URL pública del objeto */
   private String generatePublicUrl(String objectKey) {
     if (baseUrl != null && !baseUrl.isBlank()) {
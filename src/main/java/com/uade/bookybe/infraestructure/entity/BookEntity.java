@@ -6,17 +6,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "books")
+@Table(
+    name = "books",
+    indexes = @Index(name = "ux_books_isbn13", columnList = "isbn13", unique = true))
 public class BookEntity {
   @Id private String id;
 
   private String isbn;
+
+  /** Canonical ISBN-13 (digits only), see {@link com.uade.bookybe.util.IsbnUtil} */
+  @Column(name = "isbn13", length = 13)
+  private String isbn13;
+
   private String title;
   @Column(length = 3000)
   private String overview;
@@ -32,6 +40,7 @@ public class BookEntity {
   private Integer rate;
 
   @ElementCollection
+  @BatchSize(size = 50)
   @CollectionTable(name = "book_categories", joinColumns = @JoinColumn(name = "book_id"))
   @Column(name = "category")
   private List<String> categories;
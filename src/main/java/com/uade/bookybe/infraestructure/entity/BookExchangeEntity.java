@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 @Data
 @Builder
@@ -34,12 +35,22 @@ public class BookExchangeEntity {
   @Column(name = "date_updated", nullable = false)
   private LocalDateTime dateUpdated;
 
+  /**
+   * Null until first persisted (so saving a new exchange inserts it); existing rows start at 0.
+   * Status transitions bump it in their conditional UPDATE.
+   */
+  @Version
+  @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+  private Long version;
+
   @ElementCollection
+  @BatchSize(size = 50)
   @CollectionTable(name = "exchange_owner_books", joinColumns = @JoinColumn(name = "exchange_id"))
   @Column(name = "user_book_id")
   private List<String> ownerBookIds;
 
   @ElementCollection
+  @BatchSize(size = 50)
   @CollectionTable(
       name = "exchange_requester_books",
       joinColumns = @JoinColumn(name = "exchange_id"))
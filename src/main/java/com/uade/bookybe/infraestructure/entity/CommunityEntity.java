@@ -12,7 +12,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "community")
+@Table(
+    name = "community",
+    indexes = {
+      @Index(name = "ix_community_date_created_id", columnList = "date_created, id"),
+      @Index(name = "ix_community_member_count_id", columnList = "member_count, id"),
+      @Index(name = "ix_community_last_activity_at_id", columnList = "last_activity_at, id")
+    })
 public class CommunityEntity {
   @Id private String id;
 
@@ -27,6 +33,22 @@ public class CommunityEntity {
   @Column(name = "admin_id", nullable = false)
   private String adminId;
 
+  /**
+   * Mantenido por join/leave con un UPDATE atómico; las escrituras del entity no lo pisan. NULL en
+   * las comunidades anteriores a la columna hasta que CommunityBackfillConfig las cuenta.
+   */
+  @Builder.Default
+  @Column(name = "member_count", updatable = false, columnDefinition = "bigint")
+  private Long memberCount = 0L;
+
+  /** Último post en la comunidad (o su creación); lo actualiza PostService con un UPDATE atómico */
+  @Column(name = "last_activity_at", updatable = false)
+  private LocalDateTime lastActivityAt;
+
+  /** Oculta la comunidad mientras el job de borrado elimina posts, comentarios y miembros */
+  @Column(name = "deleted_at", updatable = false)
+  private LocalDateTime deletedAt;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "admin_id", insertable = false, updatable = false)
   private UserEntity admin;
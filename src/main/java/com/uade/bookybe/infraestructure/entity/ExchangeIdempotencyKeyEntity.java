@@ -0,0 +1,46 @@
+package com.uade.bookybe.infraestructure.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Result of an exchange request sent with an Idempotency-Key, so retries can replay it */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "exchange_idempotency_keys",
+    indexes = {
+      @Index(
+          name = "ux_exchange_idempotency_user_key",
+          columnList = "user_id, idempotency_key",
+          unique = true),
+      @Index(name = "ix_exchange_idempotency_date_created", columnList = "date_created")
+    })
+public class ExchangeIdempotencyKeyEntity {
+  @Id private String id;
+
+  @Column(name = "user_id", nullable = false)
+  private String userId;
+
+  @Column(name = "idempotency_key", nullable = false)
+  private String idempotencyKey;
+
+  @Column(name = "operation", nullable = false)
+  private String operation;
+
+  /** Exchange the request targeted; null for creations */
+  @Column(name = "exchange_id")
+  private String exchangeId;
+
+  @Column(name = "result_exchange_id", nullable = false)
+  private String resultExchangeId;
+
+  @Column(name = "date_created", nullable = false)
+  private LocalDateTime dateCreated;
+}
@@ -12,7 +12,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "messages")
+@Table(
+    name = "messages",
+    indexes = @Index(name = "ix_messages_chat_read", columnList = "chat_id, is_read"))
 public class MessageEntity {
   @Id private String id;
 
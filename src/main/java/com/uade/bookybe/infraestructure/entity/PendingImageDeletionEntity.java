@@ -0,0 +1,33 @@
+package com.uade.bookybe.infraestructure.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Image left behind by deleted rows, queued in the same transaction that deleted them and removed
+ * from the storage provider afterwards, outside any transaction
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "pending_image_deletions",
+    indexes = @Index(name = "ix_pending_image_deletions_job", columnList = "job_id"))
+public class PendingImageDeletionEntity {
+  @Id private String id;
+
+  @Column(name = "job_id", nullable = false)
+  private String jobId;
+
+  @Column(name = "image_url", nullable = false, length = 1000)
+  private String imageUrl;
+
+  @Column(name = "date_created", nullable = false)
+  private LocalDateTime dateCreated;
+}
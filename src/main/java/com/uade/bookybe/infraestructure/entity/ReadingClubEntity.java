@@ -12,7 +12,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "reading_clubs")
+@Table(
+    name = "reading_clubs",
+    indexes = {
+      @Index(name = "ix_reading_club_date_created_id", columnList = "date_created, id"),
+      @Index(name = "ix_reading_club_next_meeting", columnList = "next_meeting")
+    })
 public class ReadingClubEntity {
   @Id private String id;
 
@@ -39,6 +44,16 @@ public class ReadingClubEntity {
   @Column(name = "next_meeting")
   private LocalDateTime nextMeeting;
 
+  /**
+   * Last reminder sent, claimed with ReadingClubRepository.claimReminder. Never written by JPA, so
+   * saving a club loaded earlier can't undo a claim made by another node.
+   */
+  @Column(name = "reminder_meeting_at", insertable = false, updatable = false)
+  private LocalDateTime reminderMeetingAt;
+
+  @Column(name = "reminder_offset_minutes", insertable = false, updatable = false)
+  private Long reminderOffsetMinutes;
+
   @Builder.Default
   @Column(name = "current_chapter")
   private Integer currentChapter = 0;
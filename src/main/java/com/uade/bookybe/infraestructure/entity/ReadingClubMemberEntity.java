@@ -1,6 +1,7 @@
 package com.uade.bookybe.infraestructure.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,6 +24,13 @@ public class ReadingClubMemberEntity {
   @Column(name = "user_id")
   private String userId;
 
+  /** Chapter the member is on; null until the member reports progress */
+  @Column(name = "current_chapter")
+  private Integer currentChapter;
+
+  @Column(name = "progress_updated_at")
+  private LocalDateTime progressUpdatedAt;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "reading_club_id", insertable = false, updatable = false)
   private ReadingClubEntity readingClub;
@@ -2,6 +2,7 @@ package com.uade.bookybe.infraestructure.entity;
 
 import com.uade.bookybe.core.model.constant.BookStatus;
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,7 +13,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "user_books")
+@Table(
+    name = "user_books",
+    indexes = {
+      @Index(name = "ix_user_books_user_status", columnList = "user_id, status"),
+      @Index(name = "ix_user_books_user_date_created", columnList = "user_id, date_created")
+    })
 public class UserBookEntity {
   @Id private String id;
 
@@ -32,6 +38,9 @@ public class UserBookEntity {
   @Column(name = "wants_to_exchange", nullable = false)
   private boolean wantsToExchange;
 
+  @Column(name = "date_created")
+  private LocalDateTime dateCreated;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "book_id", insertable = false, updatable = false)
   private BookEntity book;
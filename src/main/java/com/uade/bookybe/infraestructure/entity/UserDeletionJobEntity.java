@@ -0,0 +1,59 @@
+package com.uade.bookybe.infraestructure.entity;
+
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import com.uade.bookybe.core.model.constant.UserDeletionStage;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an account deletion, saved in the same transaction as each deleted chunk so the job
+ * resumes from its last stage after a restart
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "user_deletion_jobs",
+    indexes = {
+      @Index(name = "ux_user_deletion_jobs_user", columnList = "user_id", unique = true),
+      @Index(name = "ix_user_deletion_jobs_status_updated", columnList = "status, date_updated")
+    })
+public class UserDeletionJobEntity {
+  @Id private String id;
+
+  /** No FK: the job outlives the user row */
+  @Column(name = "user_id", nullable = false)
+  private String userId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "stage", nullable = false)
+  private UserDeletionStage stage;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private DeletionJobStatus status;
+
+  @Column(name = "deleted_rows", nullable = false)
+  private long deletedRows;
+
+  @Column(name = "deleted_images", nullable = false)
+  private long deletedImages;
+
+  @Column(name = "error_message", length = 1000)
+  private String errorMessage;
+
+  @Column(name = "date_created", nullable = false)
+  private LocalDateTime dateCreated;
+
+  @Column(name = "date_updated", nullable = false)
+  private LocalDateTime dateUpdated;
+
+  @Column(name = "date_finished")
+  private LocalDateTime dateFinished;
+}
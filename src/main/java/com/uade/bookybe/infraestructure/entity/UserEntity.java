@@ -42,4 +42,8 @@ public class UserEntity {
   private AddressEntity address;
 
   private LocalDateTime dateCreated;
+
+  /** Set when the account is deleted; the row itself goes away at the end of the deletion job */
+  @Column(name = "deleted_at", updatable = false)
+  private LocalDateTime deletedAt;
 }
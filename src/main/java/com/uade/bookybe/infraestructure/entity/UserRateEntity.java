@@ -13,7 +13,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "user_rates")
+@Table(
+        name = "user_rates",
+        indexes = @Index(
+                name = "ix_user_rates_rated_user_date_created",
+                columnList = "rated_user_id, date_created"))
 public class UserRateEntity {
     @Id
     private String id;
@@ -24,6 +28,10 @@ public class UserRateEntity {
     @Column(name = "exchange_id", nullable = false)
     private String exchangeId;
 
+    /** The other party of the exchange; null only for legacy rows whose exchange is gone */
+    @Column(name = "rated_user_id")
+    private String ratedUserId;
+
     @Column(name = "rating", nullable = false)
     private Integer rating;
 
@@ -0,0 +1,13 @@
+package com.uade.bookybe.infraestructure.mapper;
+
+import com.uade.bookybe.core.model.UserDeletionJob;
+import com.uade.bookybe.infraestructure.entity.UserDeletionJobEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface UserDeletionJobEntityMapper {
+  UserDeletionJobEntityMapper INSTANCE = Mappers.getMapper(UserDeletionJobEntityMapper.class);
+
+  UserDeletionJob toModel(UserDeletionJobEntity entity);
+}
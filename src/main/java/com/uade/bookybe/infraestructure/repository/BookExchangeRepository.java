@@ -2,9 +2,12 @@ package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.core.model.constant.ExchangeStatus;
 import com.uade.bookybe.infraestructure.entity.BookExchangeEntity;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,6 +15,20 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BookExchangeRepository extends JpaRepository<BookExchangeEntity, String> {
 
+  /**
+   * Moves the exchange to {@code to} only if it is still in {@code from}. Returns 0 when another
+   * request changed the status first.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE BookExchangeEntity be SET be.status = :to, be.dateUpdated = :now,"
+          + " be.version = be.version + 1 WHERE be.id = :id AND be.status = :from")
+  int transitionStatus(
+      @Param("id") String id,
+      @Param("from") ExchangeStatus from,
+      @Param("to") ExchangeStatus to,
+      @Param("now") LocalDateTime now);
+
   List<BookExchangeEntity> findByRequesterIdOrderByDateCreatedDesc(String requesterId);
 
   List<BookExchangeEntity> findByOwnerIdOrderByDateCreatedDesc(String ownerId);
@@ -43,4 +60,31 @@ public interface BookExchangeRepository extends JpaRepository<BookExchangeEntity
   @Query(
       "SELECT COUNT(be) FROM BookExchangeEntity be WHERE be.ownerId = :userId AND be.status = 'PENDING'")
   long countPendingExchangesByOwner(@Param("userId") String userId);
+
+  @Query(
+      "SELECT COUNT(be) FROM BookExchangeEntity be WHERE (be.requesterId = :userId OR be.ownerId = :userId) AND be.status = 'PENDING'")
+  long countPendingExchangesForUser(@Param("userId") String userId);
+
+  @Query(
+      nativeQuery = true,
+      value =
+          "SELECT id FROM book_exchanges WHERE requester_id = :userId OR owner_id = :userId "
+              + "LIMIT :limit")
+  List<String> findIdChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value = "DELETE FROM exchange_owner_books WHERE exchange_id IN (:exchangeIds)")
+  int deleteOwnerBooksByExchangeIdIn(@Param("exchangeIds") Collection<String> exchangeIds);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value = "DELETE FROM exchange_requester_books WHERE exchange_id IN (:exchangeIds)")
+  int deleteRequesterBooksByExchangeIdIn(@Param("exchangeIds") Collection<String> exchangeIds);
+
+  @Modifying
+  @Query(nativeQuery = true, value = "DELETE FROM book_exchanges WHERE id IN (:exchangeIds)")
+  int deleteByIdIn(@Param("exchangeIds") Collection<String> exchangeIds);
 }
@@ -1,6 +1,7 @@
 package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.BookEntity;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,19 +10,23 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface BookRepository extends JpaRepository<BookEntity, String> {
+public interface BookRepository extends JpaRepository<BookEntity, String>, BookRepositoryCustom {
 
-  Optional<BookEntity> findByIsbn(String isbn);
+  Optional<BookEntity> findByIsbn13(String isbn13);
+
+  List<BookEntity> findByIsbn13In(Collection<String> isbn13s);
 
   @Query("SELECT b FROM BookEntity b LEFT JOIN FETCH b.categories WHERE b.id = :id")
   Optional<BookEntity> findByIdWithCategories(@Param("id") String id);
 
-  @Query(
-      """
-      SELECT DISTINCT b FROM BookEntity b LEFT JOIN b.categories c
-      WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%'))
-         OR LOWER(b.author) LIKE LOWER(CONCAT('%', :query, '%'))
-         OR LOWER(c) LIKE LOWER(CONCAT('%', :query, '%'))
-      """)
-  List<BookEntity> searchBooks(@Param("query") String query);
+  @Query("SELECT DISTINCT b FROM BookEntity b LEFT JOIN FETCH b.categories WHERE b.id IN :ids")
+  List<BookEntity> findAllWithCategoriesByIdIn(@Param("ids") Collection<String> ids);
+
+  /** id, title and author of every book, used to build the search index */
+  @Query("SELECT b.id, b.title, b.author FROM BookEntity b")
+  List<Object[]> findAllSearchFields();
+
+  /** (book id, category) pairs of every book, used to build the search index */
+  @Query("SELECT b.id, c FROM BookEntity b JOIN b.categories c")
+  List<Object[]> findAllCategoryPairs();
 }
@@ -0,0 +1,20 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.infraestructure.entity.BookEntity;
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+  /**
+   * Inserts the books whose isbn13 is not stored yet (with their categories) and skips the rest.
+   * Concurrent inserts of the same ISBN are resolved by the unique index instead of an exception.
+   * Returns the ids of the rows that were actually inserted.
+   */
+  List<String> insertAllIfAbsent(List<BookEntity> books);
+
+  /**
+   * Fills isbn13 for rows stored before the column existed, merging rows whose ISBN-13 another
+   * book already has into that book. Returns the number of rows updated
+   */
+  int backfillIsbn13();
+}
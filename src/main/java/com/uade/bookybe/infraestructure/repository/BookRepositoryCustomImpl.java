@@ -0,0 +1,173 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.infraestructure.entity.BookEntity;
+import com.uade.bookybe.util.IsbnUtil;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@Slf4j
+@RequiredArgsConstructor
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+  private static final int BATCH_SIZE = 200;
+
+  private static final String INSERT_IF_ABSENT_SQL =
+      """
+      INSERT INTO books (id, isbn, isbn13, title, overview, synopsis, pages, edition, publisher,
+                         author, image, rate)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+      ON CONFLICT (isbn13) DO NOTHING
+      """;
+
+  private static final String INSERT_CATEGORY_SQL =
+      "INSERT INTO book_categories (book_id, category) VALUES (?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public List<String> insertAllIfAbsent(List<BookEntity> books) {
+    if (books.isEmpty()) {
+      return List.of();
+    }
+
+    jdbcTemplate.batchUpdate(
+        INSERT_IF_ABSENT_SQL,
+        books,
+        BATCH_SIZE,
+        (ps, book) -> {
+          ps.setString(1, book.getId());
+          ps.setString(2, book.getIsbn());
+          ps.setString(3, book.getIsbn13());
+          ps.setString(4, book.getTitle());
+          ps.setString(5, book.getOverview());
+          ps.setString(6, book.getSynopsis());
+          ps.setObject(7, book.getPages(), Types.INTEGER);
+          ps.setString(8, book.getEdition());
+          ps.setString(9, book.getPublisher());
+          ps.setString(10, book.getAuthor());
+          ps.setString(11, book.getImage());
+          ps.setObject(12, book.getRate(), Types.INTEGER);
+        });
+
+    // Batch update counts are not reliable across drivers, so ask which of our ids made it
+    List<String> ids = books.stream().map(BookEntity::getId).toList();
+    String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+    Set<String> insertedIds =
+        new HashSet<>(
+            jdbcTemplate.queryForList(
+                "SELECT id FROM books WHERE id IN (" + placeholders + ")",
+                String.class,
+                ids.toArray()));
+
+    List<Object[]> categoryRows = new ArrayList<>();
+    for (BookEntity book : books) {
+      if (insertedIds.contains(book.getId()) && book.getCategories() != null) {
+        book.getCategories().stream()
+            .distinct()
+            .forEach(category -> categoryRows.add(new Object[] {book.getId(), category}));
+      }
+    }
+    if (!categoryRows.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_CATEGORY_SQL, categoryRows);
+    }
+
+    return ids.stream().filter(insertedIds::contains).toList();
+  }
+
+  @Override
+  public int backfillIsbn13() {
+    List<Map<String, Object>> pending =
+        jdbcTemplate.queryForList(
+            "SELECT id, isbn FROM books WHERE isbn13 IS NULL AND isbn IS NOT NULL");
+    if (pending.isEmpty()) {
+      return 0;
+    }
+
+    Map<String, String> owners = new HashMap<>();
+    jdbcTemplate.query(
+        "SELECT isbn13, id FROM books WHERE isbn13 IS NOT NULL",
+        (RowCallbackHandler) rs -> owners.put(rs.getString(1), rs.getString(2)));
+    List<Object[]> updates = new ArrayList<>();
+    for (Map<String, Object> row : pending) {
+      String id = (String) row.get("id");
+      String isbn13 = IsbnUtil.toIsbn13((String) row.get("isbn"));
+      if (isbn13 == null) {
+        log.warn("Book {} has an invalid ISBN ({}), leaving isbn13 empty", id, row.get("isbn"));
+        continue;
+      }
+      String owner = owners.putIfAbsent(isbn13, id);
+      if (owner == null) {
+        updates.add(new Object[] {isbn13, id});
+      } else {
+        log.warn("Book {} duplicates ISBN-13 {} of book {}, merging it", id, isbn13, owner);
+        mergeInto(id, owner);
+      }
+    }
+
+    jdbcTemplate.batchUpdate("UPDATE books SET isbn13 = ? WHERE id = ?", updates);
+    return updates.size();
+  }
+
+  /**
+   * Moves everything that points at {@code duplicateId} to {@code keeperId} and deletes the
+   * duplicate. References move before the delete, so a failure halfway leaves a duplicate that the
+   * next run merges again.
+   */
+  private void mergeInto(String duplicateId, String keeperId) {
+    mergeUserBooksOwningBoth(duplicateId, keeperId);
+    for (String table : List.of("user_books", "reading_clubs", "scene_image_generations")) {
+      jdbcTemplate.update(
+          "UPDATE " + table + " SET book_id = ? WHERE book_id = ?", keeperId, duplicateId);
+    }
+    jdbcTemplate.update("DELETE FROM book_categories WHERE book_id = ?", duplicateId);
+    jdbcTemplate.update("DELETE FROM books WHERE id = ?", duplicateId);
+  }
+
+  /**
+   * A user can only have one row per book, so when a user has both editions their duplicate row is
+   * folded into the keeper's: flags are OR-ed, exchanges are pointed at the keeper's row and the
+   * duplicate row is deleted.
+   */
+  private void mergeUserBooksOwningBoth(String duplicateId, String keeperId) {
+    List<Map<String, Object>> pairs =
+        jdbcTemplate.queryForList(
+            """
+            SELECT d.id AS duplicate_row, MIN(k.id) AS keeper_row,
+                   d.is_favorite AS favorite, d.wants_to_exchange AS wants_to_exchange
+            FROM user_books d
+            JOIN user_books k ON k.user_id = d.user_id AND k.book_id = ?
+            WHERE d.book_id = ?
+            GROUP BY d.id, d.is_favorite, d.wants_to_exchange
+            """,
+            keeperId,
+            duplicateId);
+
+    for (Map<String, Object> pair : pairs) {
+      String duplicateRow = (String) pair.get("duplicate_row");
+      String keeperRow = (String) pair.get("keeper_row");
+      jdbcTemplate.update(
+          "UPDATE user_books SET is_favorite = is_favorite OR ?,"
+              + " wants_to_exchange = wants_to_exchange OR ? WHERE id = ?",
+          pair.get("favorite"),
+          pair.get("wants_to_exchange"),
+          keeperRow);
+      for (String table : List.of("exchange_owner_books", "exchange_requester_books")) {
+        jdbcTemplate.update(
+            "UPDATE " + table + " SET user_book_id = ? WHERE user_book_id = ?",
+            keeperRow,
+            duplicateRow);
+      }
+      jdbcTemplate.update("DELETE FROM user_books WHERE id = ?", duplicateRow);
+    }
+  }
+}
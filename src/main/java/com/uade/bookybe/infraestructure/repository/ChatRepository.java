@@ -4,6 +4,7 @@ import com.uade.bookybe.infraestructure.entity.ChatEntity;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,4 +26,12 @@ public interface ChatRepository extends JpaRepository<ChatEntity, String> {
 
   @Query("SELECT DISTINCT c FROM ChatEntity c JOIN FETCH c.user1 JOIN FETCH c.user2 WHERE (c.user1Id = :userId OR c.user2Id = :userId) ORDER BY c.dateUpdated DESC")
   List<ChatEntity> findByUserIdWithUsersOrderByDateUpdatedDesc(@Param("userId") String userId);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM chats WHERE id IN (SELECT id FROM chats "
+              + "WHERE user1_id = :userId OR user2_id = :userId LIMIT :limit)")
+  int deleteChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
 }
@@ -1,11 +1,14 @@
 package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.CommentEntity;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<CommentEntity, String> {
@@ -20,4 +23,26 @@ public interface CommentRepository extends JpaRepository<CommentEntity, String>
 
   @Query("SELECT COUNT(c) FROM CommentEntity c WHERE c.postId = :postId or c.post.id = :postId")
   Integer countByPostId(String postId);
+
+  @Transactional
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM comment WHERE id IN (SELECT c.id FROM comment c "
+              + "JOIN post p ON p.id = c.post_id WHERE p.community_id = :communityId LIMIT :limit)")
+  int deleteChunkByCommunityId(
+      @Param("communityId") String communityId, @Param("limit") int limit);
+
+  @Modifying
+  @Query(nativeQuery = true, value = "DELETE FROM comment WHERE post_id IN (:postIds)")
+  int deleteByPostIdIn(@Param("postIds") Collection<String> postIds);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM comment WHERE id IN "
+              + "(SELECT id FROM comment WHERE user_id = :userId LIMIT :limit)")
+  int deleteChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
 }
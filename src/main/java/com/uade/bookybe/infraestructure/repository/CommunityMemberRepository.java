@@ -2,11 +2,14 @@ package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.CommunityMemberEntity;
 import com.uade.bookybe.infraestructure.entity.CommunityMemberId;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CommunityMemberRepository
@@ -21,10 +24,49 @@ public interface CommunityMemberRepository
   List<CommunityMemberEntity> findByCommunityIdWithUser(@Param("communityId") String communityId);
 
   @Query(
-      "SELECT cm FROM CommunityMemberEntity cm JOIN FETCH cm.community WHERE cm.userId = :userId")
+      "SELECT cm FROM CommunityMemberEntity cm JOIN FETCH cm.community c "
+          + "WHERE cm.userId = :userId AND c.deletedAt IS NULL")
   List<CommunityMemberEntity> findByUserIdWithCommunity(@Param("userId") String userId);
 
   boolean existsByCommunityIdAndUserId(String communityId, String userId);
 
   long countByCommunityId(String communityId);
+
+  @Query(
+      "SELECT cm.communityId FROM CommunityMemberEntity cm "
+          + "WHERE cm.userId = :userId AND cm.communityId IN :communityIds")
+  List<String> findCommunityIdsByUserIdAndCommunityIdIn(
+      @Param("userId") String userId, @Param("communityIds") Collection<String> communityIds);
+
+  @Modifying
+  @Query(
+      "DELETE FROM CommunityMemberEntity cm "
+          + "WHERE cm.communityId = :communityId AND cm.userId = :userId")
+  int deleteMember(@Param("communityId") String communityId, @Param("userId") String userId);
+
+  @Transactional
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM community_members WHERE community_id = :communityId AND user_id IN "
+              + "(SELECT user_id FROM community_members WHERE community_id = :communityId "
+              + "LIMIT :limit)")
+  int deleteChunkByCommunityId(
+      @Param("communityId") String communityId, @Param("limit") int limit);
+
+  /**
+   * Deletes up to {@code limit} memberships of the user and returns the communities of the rows
+   * actually deleted, so a membership removed concurrently is never discounted twice
+   */
+  @Transactional
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM community_members WHERE user_id = :userId AND community_id IN "
+              + "(SELECT community_id FROM community_members WHERE user_id = :userId "
+              + "LIMIT :limit) "
+              + "RETURNING community_id")
+  List<String> deleteChunkByUserIdReturningCommunityIds(
+      @Param("userId") String userId, @Param("limit") int limit);
 }
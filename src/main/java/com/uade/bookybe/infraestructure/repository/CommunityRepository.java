@@ -1,24 +1,132 @@
 package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.CommunityEntity;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CommunityRepository extends JpaRepository<CommunityEntity, String> {
 
-  List<CommunityEntity> findByAdminIdOrderByDateCreatedDesc(String adminId);
+  List<CommunityEntity> findByAdminIdAndDeletedAtIsNullOrderByDateCreatedDesc(String adminId);
 
+  boolean existsByIdAndDeletedAtIsNull(String id);
+
+  // Keyset pagination: la primera página no tiene cursor; las siguientes arrancan después de la
+  // última fila vista usando el mismo orden (columna, id) que los índices de CommunityEntity.
+  // Las comunidades ocultas (deleted_at) quedan afuera mientras se borran en segundo plano.
+
+  @EntityGraph(attributePaths = "admin")
+  List<CommunityEntity> findByDeletedAtIsNullOrderByDateCreatedDescIdDesc(Pageable pageable);
+
+  @EntityGraph(attributePaths = "admin")
   @Query(
-      "SELECT c FROM CommunityEntity c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%')) "
-          + "OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY c.dateCreated DESC")
-  List<CommunityEntity> searchCommunities(@Param("query") String query);
+      "SELECT c FROM CommunityEntity c WHERE c.deletedAt IS NULL "
+          + "AND (c.dateCreated < :dateCreated OR (c.dateCreated = :dateCreated AND c.id < :id)) "
+          + "ORDER BY c.dateCreated DESC, c.id DESC")
+  List<CommunityEntity> findNewestAfter(
+      @Param("dateCreated") LocalDateTime dateCreated, @Param("id") String id, Pageable pageable);
 
-  @Query("SELECT c FROM CommunityEntity c JOIN FETCH c.admin ORDER BY c.dateCreated DESC")
-  List<CommunityEntity> findAllWithAdminOrderByDateCreatedDesc();
+  @EntityGraph(attributePaths = "admin")
+  List<CommunityEntity> findByDeletedAtIsNullOrderByMemberCountDescIdDesc(Pageable pageable);
+
+  @EntityGraph(attributePaths = "admin")
+  @Query(
+      "SELECT c FROM CommunityEntity c WHERE c.deletedAt IS NULL "
+          + "AND (c.memberCount < :memberCount OR (c.memberCount = :memberCount AND c.id < :id)) "
+          + "ORDER BY c.memberCount DESC, c.id DESC")
+  List<CommunityEntity> findMostMembersAfter(
+      @Param("memberCount") long memberCount, @Param("id") String id, Pageable pageable);
+
+  @EntityGraph(attributePaths = "admin")
+  List<CommunityEntity> findByDeletedAtIsNullOrderByLastActivityAtDescIdDesc(Pageable pageable);
+
+  @EntityGraph(attributePaths = "admin")
+  @Query(
+      "SELECT c FROM CommunityEntity c WHERE c.deletedAt IS NULL "
+          + "AND (c.lastActivityAt < :lastActivityAt OR (c.lastActivityAt = :lastActivityAt AND c.id < :id)) "
+          + "ORDER BY c.lastActivityAt DESC, c.id DESC")
+  List<CommunityEntity> findMostActiveAfter(
+      @Param("lastActivityAt") LocalDateTime lastActivityAt,
+      @Param("id") String id,
+      Pageable pageable);
+
+  @Query(
+      "SELECT c FROM CommunityEntity c JOIN FETCH c.admin "
+          + "WHERE c.id IN :ids AND c.deletedAt IS NULL")
+  List<CommunityEntity> findAllWithAdminByIdIn(@Param("ids") Collection<String> ids);
+
+  /** id, name, description of every community, for the search index */
+  @Query("SELECT c.id, c.name, c.description FROM CommunityEntity c WHERE c.deletedAt IS NULL")
+  List<Object[]> findAllSearchFields();
 
   boolean existsByName(String name);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value = "UPDATE community SET member_count = member_count + :delta WHERE id = :communityId")
+  int addToMemberCount(@Param("communityId") String communityId, @Param("delta") long delta);
+
+  /** Cuenta los miembros solo de las comunidades que todavía no tienen member_count */
+  @Transactional
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "UPDATE community c SET member_count = "
+              + "(SELECT COUNT(*) FROM community_members cm WHERE cm.community_id = c.id) "
+              + "WHERE c.member_count IS NULL")
+  int backfillMemberCounts();
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "UPDATE community SET last_activity_at = :activityAt WHERE id = :communityId "
+              + "AND (last_activity_at IS NULL OR last_activity_at < :activityAt)")
+  int touchLastActivity(
+      @Param("communityId") String communityId, @Param("activityAt") LocalDateTime activityAt);
+
+  @Transactional
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "UPDATE community c SET last_activity_at = COALESCE("
+              + "(SELECT MAX(p.date_created) FROM post p WHERE p.community_id = c.id), "
+              + "c.date_created, now()) "
+              + "WHERE c.last_activity_at IS NULL")
+  int backfillLastActivity();
+
+  /** Oculta la comunidad; devuelve 0 si ya estaba oculta, así solo un pedido arranca el borrado */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "UPDATE community SET deleted_at = :deletedAt "
+              + "WHERE id = :communityId AND deleted_at IS NULL")
+  int hide(
+      @Param("communityId") String communityId, @Param("deletedAt") LocalDateTime deletedAt);
+
+  @Query("SELECT c.id FROM CommunityEntity c WHERE c.deletedAt < :hiddenBefore")
+  List<String> findIdsHiddenBefore(@Param("hiddenBefore") LocalDateTime hiddenBefore);
+
+  @Transactional
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value = "DELETE FROM community WHERE id = :communityId AND deleted_at IS NOT NULL")
+  int deleteHidden(@Param("communityId") String communityId);
+
+  @Query("SELECT c.id FROM CommunityEntity c WHERE c.adminId = :adminId")
+  List<String> findIdsByAdminId(@Param("adminId") String adminId);
 }
@@ -0,0 +1,26 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.infraestructure.entity.ExchangeIdempotencyKeyEntity;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExchangeIdempotencyKeyRepository
+    extends JpaRepository<ExchangeIdempotencyKeyEntity, String> {
+
+  Optional<ExchangeIdempotencyKeyEntity> findByUserIdAndIdempotencyKey(
+      String userId, String idempotencyKey);
+
+  @Modifying
+  @Query("DELETE FROM ExchangeIdempotencyKeyEntity k WHERE k.dateCreated < :cutoff")
+  int deleteByDateCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+  @Modifying
+  @Query("DELETE FROM ExchangeIdempotencyKeyEntity k WHERE k.userId = :userId")
+  int deleteByUserId(@Param("userId") String userId);
+}
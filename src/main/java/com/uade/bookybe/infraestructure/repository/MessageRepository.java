@@ -1,9 +1,11 @@
 package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.MessageEntity;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,4 +26,21 @@ public interface MessageRepository extends JpaRepository<MessageEntity, String>
   @Query(
       "SELECT COUNT(m) FROM MessageEntity m WHERE m.chatId = :chatId AND m.senderId != :userId AND m.read = false")
   long countUnreadMessagesByChatIdAndUserId(@Param("chatId") String chatId, @Param("userId") String userId);
+
+  @Query(
+      "SELECT COUNT(m) FROM MessageEntity m, ChatEntity c WHERE m.chatId = c.id AND (c.user1Id = :userId OR c.user2Id = :userId) AND m.senderId != :userId AND m.read = false")
+  long countUnreadMessagesForUser(@Param("userId") String userId);
+
+  /** Id and image of a chunk of the messages of every chat the user takes part in */
+  @Query(
+      nativeQuery = true,
+      value =
+          "SELECT m.id, m.image FROM messages m JOIN chats c ON c.id = m.chat_id "
+              + "WHERE c.user1_id = :userId OR c.user2_id = :userId LIMIT :limit")
+  List<Object[]> findIdAndImageChunkInChatsOfUser(
+      @Param("userId") String userId, @Param("limit") int limit);
+
+  @Modifying
+  @Query(nativeQuery = true, value = "DELETE FROM messages WHERE id IN (:messageIds)")
+  int deleteByIdIn(@Param("messageIds") Collection<String> messageIds);
 }
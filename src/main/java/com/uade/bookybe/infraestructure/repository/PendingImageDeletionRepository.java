@@ -0,0 +1,19 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.infraestructure.entity.PendingImageDeletionEntity;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PendingImageDeletionRepository
+    extends JpaRepository<PendingImageDeletionEntity, String> {
+
+  @Query(
+      nativeQuery = true,
+      value = "SELECT * FROM pending_image_deletions WHERE job_id = :jobId LIMIT :limit")
+  List<PendingImageDeletionEntity> findChunkByJobId(
+      @Param("jobId") String jobId, @Param("limit") int limit);
+}
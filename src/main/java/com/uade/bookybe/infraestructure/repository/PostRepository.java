@@ -1,8 +1,10 @@
 package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.PostEntity;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,4 +38,31 @@ public interface PostRepository extends JpaRepository<PostEntity, String> {
       """,
       nativeQuery = true)
   List<PostEntity> findPostsFromFollowedUsers(@Param("userId") String userId);
+
+  @Query(
+      nativeQuery = true,
+      value = "SELECT id FROM post WHERE community_id = :communityId LIMIT :limit")
+  List<String> findIdsByCommunityId(
+      @Param("communityId") String communityId, @Param("limit") int limit);
+
+  @Modifying
+  @Query(nativeQuery = true, value = "DELETE FROM post_likes WHERE post_id IN (:postIds)")
+  int deleteLikesByPostIdIn(@Param("postIds") Collection<String> postIds);
+
+  @Modifying
+  @Query(nativeQuery = true, value = "DELETE FROM post WHERE id IN (:postIds)")
+  int deleteByIdIn(@Param("postIds") Collection<String> postIds);
+
+  /** Id and image of a chunk of the posts written by a user */
+  @Query(nativeQuery = true, value = "SELECT id, image FROM post WHERE user_id = :userId LIMIT :limit")
+  List<Object[]> findIdAndImageChunkByUserId(
+      @Param("userId") String userId, @Param("limit") int limit);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM post_likes WHERE user_id = :userId AND post_id IN "
+              + "(SELECT post_id FROM post_likes WHERE user_id = :userId LIMIT :limit)")
+  int deleteLikeChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
 }
@@ -3,6 +3,7 @@ package com.uade.bookybe.infraestructure.repository;
 import com.uade.bookybe.infraestructure.entity.ReadingClubMemberEntity;
 import com.uade.bookybe.infraestructure.entity.ReadingClubMemberId;
 import jakarta.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -27,6 +28,15 @@ public interface ReadingClubMemberRepository
       "SELECT rcm FROM ReadingClubMemberEntity rcm JOIN FETCH rcm.readingClub WHERE rcm.userId = :userId")
   List<ReadingClubMemberEntity> findByUserIdWithReadingClub(@Param("userId") String userId);
 
+  @Query(
+      "SELECT rcm.userId FROM ReadingClubMemberEntity rcm WHERE rcm.readingClubId = :readingClubId")
+  List<String> findUserIdsByReadingClubId(@Param("readingClubId") String readingClubId);
+
+  @Query(
+      "SELECT rcm.userId, rcm.currentChapter FROM ReadingClubMemberEntity rcm "
+          + "WHERE rcm.readingClubId = :readingClubId AND rcm.currentChapter IS NOT NULL")
+  List<Object[]> findProgressByReadingClubId(@Param("readingClubId") String readingClubId);
+
   boolean existsByReadingClubIdAndUserId(String readingClubId, String userId);
 
   @Transactional
@@ -41,4 +51,31 @@ public interface ReadingClubMemberRepository
   void deleteAllByReadingClubId(@Param("readingClubId") String readingClubId);
 
   long countByReadingClubId(String readingClubId);
+
+  @Query(
+      "SELECT rcm.readingClubId, COUNT(rcm) FROM ReadingClubMemberEntity rcm "
+          + "WHERE rcm.readingClubId IN :readingClubIds GROUP BY rcm.readingClubId")
+  List<Object[]> countByReadingClubIdIn(
+      @Param("readingClubIds") Collection<String> readingClubIds);
+
+  @Query(
+      "SELECT rcm.readingClubId FROM ReadingClubMemberEntity rcm "
+          + "WHERE rcm.userId = :userId AND rcm.readingClubId IN :readingClubIds")
+  List<String> findReadingClubIdsByUserIdAndReadingClubIdIn(
+      @Param("userId") String userId, @Param("readingClubIds") Collection<String> readingClubIds);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM reading_club_members WHERE user_id = :userId AND reading_club_id IN "
+              + "(SELECT reading_club_id FROM reading_club_members WHERE user_id = :userId "
+              + "LIMIT :limit)")
+  int deleteChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value = "DELETE FROM reading_club_members WHERE reading_club_id IN (:readingClubIds)")
+  int deleteByReadingClubIdIn(@Param("readingClubIds") Collection<String> readingClubIds);
 }
@@ -1,15 +1,23 @@
 package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.ReadingClubEntity;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ReadingClubRepository extends JpaRepository<ReadingClubEntity, String> {
 
+  Page<ReadingClubEntity> findAllByOrderByDateCreatedDescIdDesc(Pageable pageable);
+
   List<ReadingClubEntity> findByCommunityIdOrderByDateCreatedDesc(String communityId);
 
   List<ReadingClubEntity> findByModeratorIdOrderByDateCreatedDesc(String moderatorId);
@@ -22,4 +30,50 @@ public interface ReadingClubRepository extends JpaRepository<ReadingClubEntity,
   List<ReadingClubEntity> searchReadingClubs(@Param("query") String query);
 
   boolean existsByName(String name);
+
+  /**
+   * One row (moderatorId, memberUserId, memberUsername) if the club exists; the member columns are
+   * null when the user is not a member. Everything a meeting token needs, by primary keys.
+   */
+  @Query(
+      "SELECT rc.moderatorId, rcm.userId, u.username FROM ReadingClubEntity rc "
+          + "LEFT JOIN ReadingClubMemberEntity rcm "
+          + "ON rcm.readingClubId = rc.id AND rcm.userId = :userId "
+          + "LEFT JOIN UserEntity u ON u.id = rcm.userId "
+          + "WHERE rc.id = :readingClubId")
+  List<Object[]> findMeetingAccess(
+      @Param("readingClubId") String readingClubId, @Param("userId") String userId);
+
+  @Query("SELECT rc.id, rc.nextMeeting FROM ReadingClubEntity rc WHERE rc.nextMeeting > :from")
+  List<Object[]> findUpcomingMeetings(@Param("from") LocalDateTime from);
+
+  /**
+   * Records that the reminder {@code offsetMinutes} before the meeting is being sent. Returns 0 if
+   * the meeting changed or another node already sent this reminder or a later one, since offsets
+   * come due from the largest to the smallest.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "UPDATE reading_clubs SET reminder_meeting_at = :meetingAt, "
+              + "reminder_offset_minutes = :offsetMinutes "
+              + "WHERE id = :readingClubId AND next_meeting = :meetingAt "
+              + "AND (reminder_meeting_at IS DISTINCT FROM :meetingAt "
+              + "OR reminder_offset_minutes > :offsetMinutes)")
+  int claimReminder(
+      @Param("readingClubId") String readingClubId,
+      @Param("meetingAt") LocalDateTime meetingAt,
+      @Param("offsetMinutes") long offsetMinutes);
+
+  @Query(
+      nativeQuery = true,
+      value = "SELECT id FROM reading_clubs WHERE moderator_id = :moderatorId LIMIT :limit")
+  List<String> findIdChunkByModeratorId(
+      @Param("moderatorId") String moderatorId, @Param("limit") int limit);
+
+  @Modifying
+  @Query(nativeQuery = true, value = "DELETE FROM reading_clubs WHERE id IN (:readingClubIds)")
+  int deleteByIdIn(@Param("readingClubIds") Collection<String> readingClubIds);
 }
@@ -23,6 +23,8 @@ public interface UserAchievementRepository extends JpaRepository<UserAchievement
   @Query("SELECT ua FROM UserAchievementEntity ua WHERE ua.userId = :userId AND ua.notified = false")
   List<UserAchievementEntity> findUnnotifiedByUserId(@Param("userId") String userId);
 
+  long countByUserIdAndNotifiedFalse(String userId);
+
   @Query("SELECT COUNT(ua) FROM UserAchievementEntity ua WHERE ua.userId = :userId")
   long countByUserId(@Param("userId") String userId);
 }
@@ -2,15 +2,25 @@ package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.core.model.constant.BookStatus;
 import com.uade.bookybe.infraestructure.entity.UserBookEntity;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface UserBookRepository extends JpaRepository<UserBookEntity, String> {
+public interface UserBookRepository
+    extends JpaRepository<UserBookEntity, String>,
+        JpaSpecificationExecutor<UserBookEntity>,
+        UserBookRepositoryCustom {
 
   Optional<UserBookEntity> findByUserIdAndBookId(String userId, String bookId);
 
@@ -29,25 +39,35 @@ public interface UserBookRepository extends JpaRepository<UserBookEntity, String
       "SELECT ub FROM UserBookEntity ub JOIN FETCH ub.book WHERE ub.userId = :userId AND ub.favorite = true")
   List<UserBookEntity> findByUserIdAndIsFavoriteTrueWithBook(@Param("userId") String userId);
 
+  /** Page of a user's library with its books; filters come from {@link UserBookSpecifications} */
+  @Override
+  @EntityGraph(attributePaths = "book")
+  Page<UserBookEntity> findAll(Specification<UserBookEntity> spec, Pageable pageable);
+
+  /** Per-status rows of (status, count, favorites, wants to exchange) for a user's library */
   @Query(
       """
-    SELECT ub FROM UserBookEntity ub JOIN FETCH ub.book
+    SELECT ub.status, COUNT(ub),
+           SUM(CASE WHEN ub.favorite = true THEN 1 ELSE 0 END),
+           SUM(CASE WHEN ub.wantsToExchange = true THEN 1 ELSE 0 END)
+    FROM UserBookEntity ub
     WHERE ub.userId = :userId
-    AND (:favorites IS NULL OR ub.favorite = :favorites)
-    AND (:status IS NULL OR ub.status = :status)
-    AND (:wantsToExchange IS NULL OR ub.wantsToExchange = :wantsToExchange)
+    GROUP BY ub.status
     """)
-  List<UserBookEntity> findByUserIdWithFilters(
-      @Param("userId") String userId,
-      @Param("favorites") Boolean favorites,
-      @Param("status") BookStatus status,
-      @Param("wantsToExchange") Boolean wantsToExchange);
+  List<Object[]> countLibraryByStatus(@Param("userId") String userId);
 
   @Query("SELECT ub FROM UserBookEntity ub JOIN FETCH ub.book WHERE ub.wantsToExchange = true")
   List<UserBookEntity> findByWantsToExchangeTrueWithBook();
 
-  @Query("SELECT ub FROM UserBookEntity ub JOIN FETCH ub.book WHERE ub.book.id IN :bookIds AND ub.userId = :userId ")
-  List<UserBookEntity> findByIdInWithBook(@Param("bookIds") List<String> bookIds, @Param("userId") String userId);
+  /**
+   * Books of any of the given users whose book id is any of the given ids. Callers pair the rows
+   * back to (user, book) in memory; the cross product only over-fetches books two of the users
+   * happen to share.
+   */
+  @Query(
+      "SELECT ub FROM UserBookEntity ub JOIN FETCH ub.book WHERE ub.userId IN :userIds AND ub.bookId IN :bookIds")
+  List<UserBookEntity> findByUserIdInAndBookIdInWithBook(
+      @Param("userIds") Collection<String> userIds, @Param("bookIds") Collection<String> bookIds);
 
   @Query(
       "SELECT ub FROM UserBookEntity ub JOIN FETCH ub.book WHERE ub.userId = :userId AND ub.bookId = :bookId")
@@ -56,6 +76,17 @@ public interface UserBookRepository extends JpaRepository<UserBookEntity, String
 
   boolean existsByUserIdAndBookId(String userId, String bookId);
 
+  /** (userId, bookId, status, wantsToExchange) of every row offered for exchange or wished */
+  @Query(
+      "SELECT ub.userId, ub.bookId, ub.status, ub.wantsToExchange FROM UserBookEntity ub"
+          + " WHERE ub.wantsToExchange = true OR ub.status = :wishlist")
+  List<Object[]> findMatchableEntries(@Param("wishlist") BookStatus wishlist);
+
+  @Query(
+      "SELECT ub.bookId FROM UserBookEntity ub WHERE ub.userId = :userId AND ub.bookId IN :bookIds")
+  List<String> findBookIdsByUserIdAndBookIdIn(
+      @Param("userId") String userId, @Param("bookIds") Collection<String> bookIds);
+
 
   @Query(
       value =
@@ -65,6 +96,7 @@ FROM users u INNER JOIN user_books ub ON u.id = ub.user_id
 WHERE ub.book_id IN :bookIds
 AND ub.wants_to_exchange = true
 AND ub.user_id != :excludeUserId
+AND u.deleted_at IS NULL
 GROUP BY u.id, u.username, u.name, u.lastname, u.image
 HAVING COUNT(DISTINCT ub.book_id) = :bookCount
 LIMIT 100
@@ -74,4 +106,12 @@ LIMIT 100
       @Param("bookIds") List<String> bookIds,
       @Param("excludeUserId") String excludeUserId,
       @Param("bookCount") int bookCount);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM user_books WHERE id IN "
+              + "(SELECT id FROM user_books WHERE user_id = :userId LIMIT :limit)")
+  int deleteChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
 }
@@ -0,0 +1,13 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.infraestructure.entity.UserBookEntity;
+import java.util.List;
+
+public interface UserBookRepositoryCustom {
+
+  /**
+   * Inserts new library rows with plain JDBC batches. Unlike {@code saveAll}, this skips the
+   * per-row SELECT that {@code merge} does for entities with assigned ids.
+   */
+  void insertAllInBatch(List<UserBookEntity> userBooks, int batchSize);
+}
@@ -0,0 +1,40 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.infraestructure.entity.UserBookEntity;
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class UserBookRepositoryCustomImpl implements UserBookRepositoryCustom {
+
+  private static final String INSERT_SQL =
+      """
+      INSERT INTO user_books (id, user_id, book_id, status, is_favorite, wants_to_exchange,
+                              date_created)
+      VALUES (?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void insertAllInBatch(List<UserBookEntity> userBooks, int batchSize) {
+    if (userBooks.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL,
+        userBooks,
+        batchSize,
+        (ps, userBook) -> {
+          ps.setString(1, userBook.getId());
+          ps.setString(2, userBook.getUserId());
+          ps.setString(3, userBook.getBookId());
+          ps.setString(4, userBook.getStatus().name());
+          ps.setBoolean(5, userBook.isFavorite());
+          ps.setBoolean(6, userBook.isWantsToExchange());
+          ps.setTimestamp(7, Timestamp.valueOf(userBook.getDateCreated()));
+        });
+  }
+}
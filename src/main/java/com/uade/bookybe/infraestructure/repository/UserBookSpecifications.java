@@ -0,0 +1,29 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.infraestructure.entity.UserBookEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros de la biblioteca de un usuario. Cada filtro ausente no agrega predicado, así la consulta
+ * final solo tiene las condiciones pedidas y puede usar los índices por (user_id, ...).
+ */
+public final class UserBookSpecifications {
+
+  private UserBookSpecifications() {}
+
+  public static Specification<UserBookEntity> libraryOf(
+      String userId, Boolean favorites, BookStatus status, Boolean wantsToExchange) {
+    Specification<UserBookEntity> spec = (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    if (status != null) {
+      spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+    }
+    if (favorites != null) {
+      spec = spec.and((root, query, cb) -> cb.equal(root.get("favorite"), favorites));
+    }
+    if (wantsToExchange != null) {
+      spec = spec.and((root, query, cb) -> cb.equal(root.get("wantsToExchange"), wantsToExchange));
+    }
+    return spec;
+  }
+}
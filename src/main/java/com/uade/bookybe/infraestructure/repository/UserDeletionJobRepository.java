@@ -0,0 +1,25 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import com.uade.bookybe.infraestructure.entity.UserDeletionJobEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJobEntity, String> {
+
+  Optional<UserDeletionJobEntity> findByUserId(String userId);
+
+  /** Unfinished jobs that made no progress since the cutoff: lost on restart, failed or waiting */
+  @Query(
+      "SELECT j.id FROM UserDeletionJobEntity j "
+          + "WHERE j.status <> :completed AND j.dateUpdated < :updatedBefore")
+  List<String> findIdsToResume(
+      @Param("completed") DeletionJobStatus completed,
+      @Param("updatedBefore") LocalDateTime updatedBefore);
+}
@@ -1,11 +1,16 @@
 package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.UserRateEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,12 +18,12 @@ import java.util.Optional;
 public interface UserRateRepository extends JpaRepository<UserRateEntity, String> {
 
     /**
-     * Find all ratings for a specific user (ratings received by this user)
+     * Find a page of the ratings received by a user, newest first (range scan on
+     * ix_user_rates_rated_user_date_created)
      */
-    @Query("SELECT ur FROM UserRateEntity ur WHERE ur.exchangeId IN " +
-           "(SELECT be.id FROM BookExchangeEntity be WHERE be.requesterId = :userId OR be.ownerId = :userId) " +
-           "AND ur.userId != :userId ORDER BY ur.dateCreated DESC")
-    List<UserRateEntity> findRatingsForUser(@Param("userId") String userId);
+    @Query("SELECT ur FROM UserRateEntity ur WHERE ur.ratedUserId = :userId " +
+           "ORDER BY ur.dateCreated DESC, ur.id DESC")
+    Page<UserRateEntity> findRatingsForUser(@Param("userId") String userId, Pageable pageable);
 
     /**
      * Find all ratings given by a specific user
@@ -30,6 +35,11 @@ public interface UserRateRepository extends JpaRepository<UserRateEntity, String
      */
     List<UserRateEntity> findByExchangeIdOrderByDateCreatedDesc(String exchangeId);
 
+    /**
+     * Find ratings for several exchanges at once
+     */
+    List<UserRateEntity> findByExchangeIdIn(Collection<String> exchangeIds);
+
     /**
      * Find a specific rating by user and exchange
      */
@@ -41,18 +51,28 @@ public interface UserRateRepository extends JpaRepository<UserRateEntity, String
     boolean existsByUserIdAndExchangeId(String userId, String exchangeId);
 
     /**
-     * Get average rating for a user (ratings received)
+     * Fills rated_user_id for ratings created before the column existed
      */
-    @Query("SELECT AVG(ur.rating) FROM UserRateEntity ur WHERE ur.exchangeId IN " +
-           "(SELECT be.id FROM BookExchangeEntity be WHERE be.requesterId = :userId OR be.ownerId = :userId) " +
-           "AND ur.userId != :userId")
-    Double getAverageRatingForUser(@Param("userId") String userId);
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "UPDATE user_rates ur SET rated_user_id = " +
+            "CASE WHEN ur.user_id = be.requester_id THEN be.owner_id ELSE be.requester_id END " +
+            "FROM book_exchanges be WHERE be.id = ur.exchange_id AND ur.rated_user_id IS NULL")
+    int backfillRatedUserId();
 
     /**
-     * Count total ratings received by a user
+     * Id, rater, rated user and rating of a chunk of the ratings a user gave, received, or that
+     * belong to one of their exchanges
      */
-    @Query("SELECT COUNT(ur) FROM UserRateEntity ur WHERE ur.exchangeId IN " +
-           "(SELECT be.id FROM BookExchangeEntity be WHERE be.requesterId = :userId OR be.ownerId = :userId) " +
-           "AND ur.userId != :userId")
-    Long countRatingsForUser(@Param("userId") String userId);
+    @Query(nativeQuery = true, value =
+            "SELECT ur.id, ur.user_id, ur.rated_user_id, ur.rating FROM user_rates ur " +
+            "WHERE ur.user_id = :userId OR ur.rated_user_id = :userId OR ur.exchange_id IN " +
+            "(SELECT be.id FROM book_exchanges be " +
+            "WHERE be.requester_id = :userId OR be.owner_id = :userId) LIMIT :limit")
+    List<Object[]> findChunkInvolvingUser(@Param("userId") String userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM user_rates WHERE id IN (:ids)")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
 }
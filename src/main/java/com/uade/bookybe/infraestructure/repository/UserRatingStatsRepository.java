@@ -0,0 +1,114 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import com.uade.bookybe.infraestructure.entity.UserRatingStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserRatingStatsRepository extends JpaRepository<UserRatingStatsEntity, String> {
+
+    /**
+     * Adds one rating to the user's aggregates in a single upsert, so concurrent ratings for the
+     * same user never lose an update
+     */
+    @Modifying
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+                    INSERT INTO user_rating_stats (user_id, rating_sum, rating_count, stars_1, stars_2,
+                                                   stars_3, stars_4, stars_5, date_updated)
+                    VALUES (:userId, :rating, 1,
+                            CASE WHEN :rating = 1 THEN 1 ELSE 0 END,
+                            CASE WHEN :rating = 2 THEN 1 ELSE 0 END,
+                            CASE WHEN :rating = 3 THEN 1 ELSE 0 END,
+                            CASE WHEN :rating = 4 THEN 1 ELSE 0 END,
+                            CASE WHEN :rating = 5 THEN 1 ELSE 0 END,
+                            :now)
+                    ON CONFLICT (user_id) DO UPDATE SET
+                        rating_sum = user_rating_stats.rating_sum + EXCLUDED.rating_sum,
+                        rating_count = user_rating_stats.rating_count + 1,
+                        stars_1 = user_rating_stats.stars_1 + EXCLUDED.stars_1,
+                        stars_2 = user_rating_stats.stars_2 + EXCLUDED.stars_2,
+                        stars_3 = user_rating_stats.stars_3 + EXCLUDED.stars_3,
+                        stars_4 = user_rating_stats.stars_4 + EXCLUDED.stars_4,
+                        stars_5 = user_rating_stats.stars_5 + EXCLUDED.stars_5,
+                        date_updated = EXCLUDED.date_updated
+                    """)
+    int addRating(
+            @Param("userId") String userId,
+            @Param("rating") int rating,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Recomputes the aggregates of every rated user from user_rates, the source of truth. The
+     * rated user is the other party of the exchange; existing rows are overwritten, and only
+     * rewritten when they drifted from user_rates
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+                    INSERT INTO user_rating_stats (user_id, rating_sum, rating_count, stars_1, stars_2,
+                                                   stars_3, stars_4, stars_5, date_updated)
+                    SELECT CASE WHEN ur.user_id = be.requester_id THEN be.owner_id
+                                ELSE be.requester_id END,
+                           SUM(ur.rating), COUNT(*),
+                           SUM(CASE WHEN ur.rating = 1 THEN 1 ELSE 0 END),
+                           SUM(CASE WHEN ur.rating = 2 THEN 1 ELSE 0 END),
+                           SUM(CASE WHEN ur.rating = 3 THEN 1 ELSE 0 END),
+                           SUM(CASE WHEN ur.rating = 4 THEN 1 ELSE 0 END),
+                           SUM(CASE WHEN ur.rating = 5 THEN 1 ELSE 0 END),
+                           now()
+                    FROM user_rates ur
+                    JOIN book_exchanges be ON be.id = ur.exchange_id
+                    GROUP BY 1
+                    ON CONFLICT (user_id) DO UPDATE SET
+                        rating_sum = EXCLUDED.rating_sum,
+                        rating_count = EXCLUDED.rating_count,
+                        stars_1 = EXCLUDED.stars_1,
+                        stars_2 = EXCLUDED.stars_2,
+                        stars_3 = EXCLUDED.stars_3,
+                        stars_4 = EXCLUDED.stars_4,
+                        stars_5 = EXCLUDED.stars_5,
+                        date_updated = EXCLUDED.date_updated
+                    WHERE (user_rating_stats.rating_sum, user_rating_stats.rating_count,
+                           user_rating_stats.stars_1, user_rating_stats.stars_2,
+                           user_rating_stats.stars_3, user_rating_stats.stars_4,
+                           user_rating_stats.stars_5)
+                          IS DISTINCT FROM
+                          (EXCLUDED.rating_sum, EXCLUDED.rating_count, EXCLUDED.stars_1,
+                           EXCLUDED.stars_2, EXCLUDED.stars_3, EXCLUDED.stars_4, EXCLUDED.stars_5)
+                    """)
+    int backfillFromRatings();
+
+    /** Takes back one rating from the user's aggregates, the inverse of {@link #addRating} */
+    @Modifying
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+                    UPDATE user_rating_stats SET
+                        rating_sum = rating_sum - :rating,
+                        rating_count = rating_count - 1,
+                        stars_1 = stars_1 - CASE WHEN :rating = 1 THEN 1 ELSE 0 END,
+                        stars_2 = stars_2 - CASE WHEN :rating = 2 THEN 1 ELSE 0 END,
+                        stars_3 = stars_3 - CASE WHEN :rating = 3 THEN 1 ELSE 0 END,
+                        stars_4 = stars_4 - CASE WHEN :rating = 4 THEN 1 ELSE 0 END,
+                        stars_5 = stars_5 - CASE WHEN :rating = 5 THEN 1 ELSE 0 END,
+                        date_updated = :now
+                    WHERE user_id = :userId AND rating_count > 0
+                    """)
+    int removeRating(
+            @Param("userId") String userId,
+            @Param("rating") int rating,
+            @Param("now") LocalDateTime now);
+}
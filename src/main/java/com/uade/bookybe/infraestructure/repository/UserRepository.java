@@ -1,6 +1,7 @@
 package com.uade.bookybe.infraestructure.repository;
 
 import com.uade.bookybe.infraestructure.entity.UserEntity;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,6 +13,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, String> {
+  /** False for users being deleted (tombstoned) or already gone */
+  boolean existsByIdAndDeletedAtIsNull(String id);
+
   @Query(
       value =
           "SELECT COUNT(*) > 0 FROM user_follows WHERE follower_id = :followerId AND followed_id = :followedId",
@@ -37,13 +41,13 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
 
   @Query(
       value =
-          "SELECT u.* FROM users u INNER JOIN user_follows uf ON u.id = uf.follower_id WHERE uf.followed_id = :userId",
+          "SELECT u.* FROM users u INNER JOIN user_follows uf ON u.id = uf.follower_id WHERE uf.followed_id = :userId AND u.deleted_at IS NULL",
       nativeQuery = true)
   List<UserEntity> findFollowers(@Param("userId") String userId);
 
   @Query(
       value =
-          "SELECT u.* FROM users u INNER JOIN user_follows uf ON u.id = uf.followed_id WHERE uf.follower_id = :userId",
+          "SELECT u.* FROM users u INNER JOIN user_follows uf ON u.id = uf.followed_id WHERE uf.follower_id = :userId AND u.deleted_at IS NULL",
       nativeQuery = true)
   List<UserEntity> findFollowing(@Param("userId") String userId);
 
@@ -51,7 +55,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
 
   @Query(
       value = 
-          "SELECT * FROM users WHERE LOWER(username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ORDER BY username",
+          "SELECT * FROM users WHERE LOWER(username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) AND deleted_at IS NULL ORDER BY username",
       nativeQuery = true)
   List<UserEntity> findByUsernameContainingIgnoreCase(@Param("searchTerm") String searchTerm);
 
@@ -61,6 +65,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
           "INNER JOIN addresses a ON u.address_id = a.id " +
           "WHERE a.latitude BETWEEN :bottomLeftLatitude AND :topRightLatitude " +
           "AND a.longitude BETWEEN :bottomLeftLongitude AND :topRightLongitude " +
+          "AND u.deleted_at IS NULL " +
           "ORDER BY u.username",
       nativeQuery = true)
   List<UserEntity> findUsersByLocationBounds(
@@ -68,4 +73,20 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
       @Param("bottomLeftLongitude") Double bottomLeftLongitude,
       @Param("topRightLatitude") Double topRightLatitude,
       @Param("topRightLongitude") Double topRightLongitude);
+
+  /** Marca la cuenta como borrada; devuelve 0 si ya lo estaba, así solo un pedido crea el job */
+  @Modifying
+  @Query(
+      value = "UPDATE users SET deleted_at = :deletedAt WHERE id = :userId AND deleted_at IS NULL",
+      nativeQuery = true)
+  int tombstone(@Param("userId") String userId, @Param("deletedAt") LocalDateTime deletedAt);
+
+  @Modifying
+  @Query(
+      value =
+          "DELETE FROM user_follows WHERE (follower_id, followed_id) IN "
+              + "(SELECT follower_id, followed_id FROM user_follows "
+              + "WHERE follower_id = :userId OR followed_id = :userId LIMIT :limit)",
+      nativeQuery = true)
+  int deleteFollowChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
 }
@@ -1,9 +1,13 @@
 package com.uade.bookybe.router;
 
-import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.BookSearchResult;
 import com.uade.bookybe.core.model.UserBook;
 import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.LibrarySort;
+import com.uade.bookybe.core.model.LibraryImportEntry;
+import com.uade.bookybe.core.model.LibraryImportJob;
 import com.uade.bookybe.core.usecase.BookService;
+import com.uade.bookybe.core.usecase.LibraryImportService;
 import com.uade.bookybe.router.dto.book.*;
 import com.uade.bookybe.router.mapper.BookDtoMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,13 +19,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequiredArgsConstructor
@@ -30,7 +38,10 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/books")
 public class BookController {
 
+  private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
   private final BookService bookService;
+  private final LibraryImportService libraryImportService;
 
   @Operation(
       summary = "Add book to user library",
@@ -82,10 +93,123 @@ public class BookController {
             });
   }
 
+  @Operation(
+      summary = "Import books into user library",
+      description =
+          "Starts a background import of a list of ISBNs into the user's library. Poll the returned"
+              + " job to follow its progress")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Import started",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = LibraryImportJobDto.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request data",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "409",
+            description = "An import is already running for the user",
+            content = @Content)
+      })
+  @PostMapping(value = "/library/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<LibraryImportJobDto> importBooksToUserLibrary(
+      @Parameter(description = "ISBNs to import", required = true) @Valid @RequestBody
+          BulkImportBooksDto dto,
+      Authentication authentication) {
+
+    String userId = authentication.getName();
+
+    log.info("Starting library import for user: {} with {} ISBNs", userId, dto.getIsbns().size());
+
+    List<LibraryImportEntry> entries =
+        dto.getIsbns().stream()
+            .map(isbn -> LibraryImportEntry.builder().isbn(isbn).status(dto.getStatus()).build())
+            .collect(Collectors.toList());
+
+    LibraryImportJob job = libraryImportService.startImport(userId, entries);
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(BookDtoMapper.INSTANCE.toLibraryImportJobDto(job));
+  }
+
+  @Operation(
+      summary = "Import books from a file",
+      description =
+          "Starts a background import from a CSV file: a Goodreads library export or a plain list"
+              + " with one ISBN per line")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Import started",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = LibraryImportJobDto.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid or empty file",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "409",
+            description = "An import is already running for the user",
+            content = @Content)
+      })
+  @PostMapping(value = "/library/import/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<LibraryImportJobDto> importBooksFromFile(
+      @Parameter(description = "CSV file", required = true) @RequestPart("file") MultipartFile file,
+      @Parameter(description = "Status for books without a Goodreads shelf")
+          @RequestParam(defaultValue = "TO_READ")
+          BookStatus status,
+      Authentication authentication) {
+
+    String userId = authentication.getName();
+
+    log.info("Starting library import from file for user: {}", userId);
+
+    LibraryImportJob job = libraryImportService.startImportFromCsv(userId, file, status);
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(BookDtoMapper.INSTANCE.toLibraryImportJobDto(job));
+  }
+
+  @Operation(
+      summary = "Get library import progress",
+      description = "Retrieves the status of a library import started by the user")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import job retrieved successfully",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = LibraryImportJobDto.class))),
+        @ApiResponse(responseCode = "404", description = "Import job not found", content = @Content)
+      })
+  @GetMapping("/library/import/{jobId}")
+  public ResponseEntity<LibraryImportJobDto> getLibraryImport(
+      @Parameter(description = "Import job ID", required = true) @PathVariable String jobId,
+      Authentication authentication) {
+
+    String userId = authentication.getName();
+
+    return libraryImportService
+        .getImportJob(userId, jobId)
+        .map(BookDtoMapper.INSTANCE::toLibraryImportJobDto)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
   @Operation(
       summary = "Get user library",
       description =
-          "Retrieves books from user's library with optional filters for favorites and status")
+          "Retrieves a page of books from user's library with optional filters for favorites and"
+              + " status, sorted by title, date added or status. The total is returned in the"
+              + " X-Total-Count header")
   @ApiResponses(
       value = {
         @ApiResponse(
@@ -101,21 +225,63 @@ public class BookController {
       @Parameter(description = "Filter by book status") @RequestParam(required = false)
           BookStatus status,
       @Parameter(description = "Filter by exchange preference") @RequestParam(required = false)
-          Boolean wantsToExchange) {
+          Boolean wantsToExchange,
+      @Parameter(description = "Sort field") @RequestParam(defaultValue = "DATE_ADDED")
+          LibrarySort sort,
+      @Parameter(description = "Sort direction (asc or desc)")
+          @RequestParam(defaultValue = "desc")
+          String direction,
+      @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
     log.info(
-        "Getting library for user: {} with filters - favorites: {}, status: {}, wantsToExchange: {}",
+        "Getting library for user: {} with filters - favorites: {}, status: {}, wantsToExchange: {}, sort: {} {}, page: {}",
         userId,
         favorites,
         status,
-        wantsToExchange);
-
-    List<UserBook> userBooks =
-        bookService.getUserLibraryFiltered(userId, favorites, status, wantsToExchange);
+        wantsToExchange,
+        sort,
+        direction,
+        page);
+
+    Page<UserBook> userBooks =
+        bookService.getUserLibraryFiltered(
+            userId,
+            favorites,
+            status,
+            wantsToExchange,
+            sort,
+            "asc".equalsIgnoreCase(direction),
+            page,
+            size);
     List<UserBookDto> userBookDtos =
         userBooks.stream().map(BookDtoMapper.INSTANCE::toUserBookDto).collect(Collectors.toList());
 
-    return ResponseEntity.ok(userBookDtos);
+    return ResponseEntity.ok()
+        .header(TOTAL_COUNT_HEADER, String.valueOf(userBooks.getTotalElements()))
+        .body(userBookDtos);
+  }
+
+  @Operation(
+      summary = "Get user library counts",
+      description =
+          "Counts the books in user's library per status, favorites and books flagged for exchange")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Library counts retrieved successfully",
+            content = @Content(mediaType = "application/json"))
+      })
+  @GetMapping("/library/{userId}/counts")
+  public ResponseEntity<LibraryCountsDto> getUserLibraryCounts(
+      @Parameter(description = "User ID", required = true) @PathVariable String userId) {
+
+    log.info("Getting library counts for user: {}", userId);
+
+    return ResponseEntity.ok(
+        BookDtoMapper.INSTANCE.toLibraryCountsDto(bookService.getUserLibraryCounts(userId)));
   }
 
   @Operation(
@@ -269,7 +435,9 @@ public class BookController {
 
   @Operation(
       summary = "Search books",
-      description = "Searches books by query (searches in title, author, and categories)")
+      description =
+          "Ranked search by query over title, author and categories. Results are ordered by"
+              + " relevance; the total number of matches is returned in the X-Total-Count header")
   @ApiResponses(
       value = {
         @ApiResponse(
@@ -279,15 +447,41 @@ public class BookController {
       })
   @GetMapping("/search")
   public ResponseEntity<List<BookDto>> searchBooks(
-      @Parameter(description = "Search query", required = true) @RequestParam String q) {
+      @Parameter(description = "Search query", required = true) @RequestParam String q,
+      @Parameter(description = "Filter by category") @RequestParam(required = false)
+          String category,
+      @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
     log.info("Searching books with query: {}", q);
 
-    List<Book> books = bookService.searchBooks(q);
+    BookSearchResult result = bookService.searchBooks(q, category, page, size);
     List<BookDto> bookDtos =
-        books.stream().map(BookDtoMapper.INSTANCE::toDto).collect(Collectors.toList());
+        result.getBooks().stream().map(BookDtoMapper.INSTANCE::toDto).collect(Collectors.toList());
+
+    return ResponseEntity.ok()
+        .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotalHits()))
+        .body(bookDtos);
+  }
+
+  @Operation(
+      summary = "Get search category facets",
+      description = "Counts the books matching the query per category, most frequent first")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Facets retrieved successfully",
+            content = @Content(mediaType = "application/json"))
+      })
+  @GetMapping("/search/facets")
+  public ResponseEntity<Map<String, Long>> getSearchFacets(
+      @Parameter(description = "Search query", required = true) @RequestParam String q) {
+
+    log.info("Getting search facets for query: {}", q);
 
-    return ResponseEntity.ok(bookDtos);
+    return ResponseEntity.ok(bookService.searchBooks(q, null, 0, 0).getCategoryFacets());
   }
 
   @Operation(
@@ -3,6 +3,7 @@ package com.uade.bookybe.router;
 import com.uade.bookybe.core.model.BookExchange;
 import com.uade.bookybe.core.model.constant.ExchangeStatus;
 import com.uade.bookybe.core.usecase.BookExchangeService;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
 import com.uade.bookybe.core.usecase.UserRateService;
 import com.uade.bookybe.core.usecase.UserService;
 import com.uade.bookybe.router.dto.exchange.*;
@@ -35,9 +36,12 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/exchanges")
 public class BookExchangeController {
 
+  private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
   private final BookExchangeService bookExchangeService;
   private final UserRateService userRateService;
   private final UserService userService;
+  private final ExchangeMatchingService exchangeMatchingService;
 
   @Operation(
       summary = "Create a new book exchange",
@@ -63,7 +67,10 @@ public class BookExchangeController {
   @PostMapping
   public ResponseEntity<BookExchangeDto> createExchange(
       @Parameter(description = "Exchange creation details", required = true) @Valid @RequestBody
-          CreateBookExchangeDto createDto) {
+          CreateBookExchangeDto createDto,
+      @Parameter(description = "Client-generated key; retries with the same key replay the result")
+          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+          String idempotencyKey) {
 
     log.info(
         "Creating exchange. RequesterId: {}, OwnerId: {}",
@@ -75,7 +82,8 @@ public class BookExchangeController {
             createDto.getRequesterId(),
             createDto.getOwnerId(),
             createDto.getOwnerBookIds(),
-            createDto.getRequesterBookIds());
+            createDto.getRequesterBookIds(),
+            idempotencyKey);
 
     if (exchange.isEmpty()) {
       return ResponseEntity.status(HttpStatus.CONFLICT).build();
@@ -215,13 +223,17 @@ public class BookExchangeController {
       @Parameter(description = "User ID performing the action", required = true) @RequestParam
           String userId,
       @Parameter(description = "Status update details", required = true) @Valid @RequestBody
-          UpdateExchangeStatusDto updateDto) {
+          UpdateExchangeStatusDto updateDto,
+      @Parameter(description = "Client-generated key; retries with the same key replay the result")
+          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+          String idempotencyKey) {
 
     log.info(
         "Updating exchange {} status to {} by user {}", exchangeId, updateDto.getStatus(), userId);
 
     Optional<BookExchange> exchange =
-        bookExchangeService.updateExchangeStatus(exchangeId, userId, updateDto.getStatus());
+        bookExchangeService.updateExchangeStatus(
+            exchangeId, userId, updateDto.getStatus(), idempotencyKey);
 
     if (exchange.isEmpty()) {
       return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -259,7 +271,10 @@ public class BookExchangeController {
       @Parameter(description = "User ID creating the counter offer", required = true) @RequestParam
           String userId,
       @Parameter(description = "Counter offer details", required = true) @Valid @RequestBody
-          CounterOfferDto counterOfferDto) {
+          CounterOfferDto counterOfferDto,
+      @Parameter(description = "Client-generated key; retries with the same key replay the result")
+          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+          String idempotencyKey) {
 
     log.info("Creating counter offer for exchange: {} by user: {}", exchangeId, userId);
 
@@ -268,7 +283,8 @@ public class BookExchangeController {
             exchangeId,
             userId,
             counterOfferDto.getOwnerBookIds(),
-            counterOfferDto.getRequesterBookIds());
+            counterOfferDto.getRequesterBookIds(),
+            idempotencyKey);
 
     if (exchange.isEmpty()) {
       return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -291,6 +307,37 @@ public class BookExchangeController {
     return ResponseEntity.ok(count);
   }
 
+  @Operation(
+      summary = "Get suggested trades",
+      description =
+          "Suggests trades for the authenticated user: users who offer a wished book and wish an"
+              + " offered one, and optionally three-way cycles. Ordered by overlap, then distance")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Suggestions retrieved successfully",
+            content = @Content(mediaType = "application/json"))
+      })
+  @GetMapping("/suggestions")
+  public ResponseEntity<List<SuggestedTradeDto>> getSuggestedTrades(
+      @Parameter(description = "Include three-way trades") @RequestParam(defaultValue = "false")
+          boolean includeThreeWay,
+      @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "20")
+          int limit,
+      Authentication authentication) {
+
+    String userId = authentication.getName();
+    log.info("Getting suggested trades for user: {} (three-way: {})", userId, includeThreeWay);
+
+    List<SuggestedTradeDto> suggestions =
+        exchangeMatchingService.getSuggestedTrades(userId, includeThreeWay, limit).stream()
+            .map(BookExchangeDtoMapper.INSTANCE::toSuggestedTradeDto)
+            .collect(Collectors.toList());
+
+    return ResponseEntity.ok(suggestions);
+  }
+
   /**
    * Helper method to get the current authenticated user ID
    */
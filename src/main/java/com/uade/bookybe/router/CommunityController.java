@@ -1,7 +1,12 @@
 package com.uade.bookybe.router;
 
 import com.uade.bookybe.core.model.Community;
+import com.uade.bookybe.core.model.CommunityPage;
+import com.uade.bookybe.core.model.CommunitySearchResult;
+import com.uade.bookybe.core.model.constant.CommunitySort;
+import com.uade.bookybe.core.usecase.CommunityDeletionService;
 import com.uade.bookybe.core.usecase.CommunityService;
+import com.uade.bookybe.router.dto.community.CommunityDeletionJobDto;
 import com.uade.bookybe.router.dto.community.CommunityDto;
 import com.uade.bookybe.router.dto.community.CreateCommunityDto;
 import com.uade.bookybe.router.mapper.CommunityDtoMapper;
@@ -29,7 +34,11 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Communities", description = "API para gestión de comunidades literarias")
 public class CommunityController {
 
+  private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private final CommunityService communityService;
+  private final CommunityDeletionService communityDeletionService;
 
   @Operation(summary = "Crear nueva comunidad", description = "Crea una nueva comunidad literaria")
   @ApiResponses(
@@ -73,25 +82,42 @@ public class CommunityController {
   }
 
   @Operation(
-      summary = "Obtener todas las comunidades",
-      description = "Obtiene la lista de todas las comunidades disponibles")
+      summary = "Obtener comunidades",
+      description =
+          "Obtiene una página de comunidades ordenadas por fecha de creación, cantidad de miembros"
+              + " o actividad reciente. Si hay más resultados, el header X-Next-Cursor trae el"
+              + " cursor para pedir la página siguiente con el mismo sort")
   @ApiResponses(
       value = {
         @ApiResponse(
             responseCode = "200",
             description = "Comunidades obtenidas exitosamente",
-            content = @Content(mediaType = "application/json"))
+            content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
       })
   @GetMapping
-  public ResponseEntity<List<CommunityDto>> getAllCommunities() {
-    log.info("Getting all communities");
-
-    List<Community> communities = communityService.getAllCommunities();
+  public ResponseEntity<List<CommunityDto>> getCommunities(
+      @Parameter(description = "Orden: NEWEST, MEMBERS o ACTIVITY")
+          @RequestParam(defaultValue = "NEWEST")
+          CommunitySort sort,
+      @Parameter(description = "Cursor devuelto en X-Next-Cursor por la página anterior")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "20") int size) {
+    log.info("Getting communities sorted by {}", sort);
+
+    CommunityPage page = communityService.getCommunities(sort, cursor, size);
     List<CommunityDto> communityDtos =
-        communities.stream().map(CommunityDtoMapper.INSTANCE::toDto).collect(Collectors.toList());
+        page.getCommunities().stream()
+            .map(CommunityDtoMapper.INSTANCE::toDto)
+            .collect(Collectors.toList());
 
     log.info("Retrieved {} communities", communityDtos.size());
-    return ResponseEntity.ok(communityDtos);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.getNextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return response.body(communityDtos);
   }
 
   @Operation(
@@ -221,7 +247,9 @@ public class CommunityController {
 
   @Operation(
       summary = "Buscar comunidades",
-      description = "Busca comunidades por nombre o descripción")
+      description =
+          "Busca comunidades por nombre o descripción, ordenadas por relevancia. El total de"
+              + " resultados viene en el header X-Total-Count")
   @ApiResponses(
       value = {
         @ApiResponse(
@@ -232,58 +260,90 @@ public class CommunityController {
   @GetMapping("/search")
   public ResponseEntity<List<CommunityDto>> searchCommunities(
       @Parameter(description = "Término de búsqueda", required = true) @RequestParam String q,
-      Authentication authentication) {
+      @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "20") int size) {
 
     log.info("Searching communities with query: {}", q);
 
-    String userId = authentication.getName();
-
-    List<Community> communities = communityService.searchCommunities(q);
+    CommunitySearchResult result = communityService.searchCommunities(q, page, size);
     List<CommunityDto> communityDtos =
-        communities.stream().map(CommunityDtoMapper.INSTANCE::toDto).collect(Collectors.toList());
-
-    communityDtos.forEach(
-        communityDto -> {
-          communityDto.setJoinAvailable(
-              !communityService.isUserMember(communityDto.getId(), userId));
-        });
-
-    log.info("Found {} communities for query: {}", communityDtos.size(), q);
-    return ResponseEntity.ok(communityDtos);
+        result.getCommunities().stream()
+            .map(CommunityDtoMapper.INSTANCE::toDto)
+            .collect(Collectors.toList());
+
+    log.info("Found {} communities for query: {}", result.getTotalHits(), q);
+    return ResponseEntity.ok()
+        .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotalHits()))
+        .body(communityDtos);
   }
 
   @Operation(
       summary = "Eliminar comunidad",
       description =
-          "Elimina una comunidad y todas sus relaciones (posts, comentarios, miembros). Solo el administrador puede eliminar la comunidad.")
+          "Oculta la comunidad en el momento y borra en segundo plano sus posts, comentarios y"
+              + " miembros. Solo el administrador puede eliminar la comunidad. El progreso se"
+              + " consulta en /communities/deletions/{jobId}")
   @ApiResponses(
       value = {
-        @ApiResponse(responseCode = "204", description = "Comunidad eliminada exitosamente"),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Comunidad oculta, borrado en curso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CommunityDeletionJobDto.class))),
         @ApiResponse(
             responseCode = "403",
             description = "No tienes permisos para eliminar esta comunidad"),
-        @ApiResponse(responseCode = "404", description = "Comunidad no encontrada"),
-        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+        @ApiResponse(responseCode = "404", description = "Comunidad no encontrada")
       })
   @DeleteMapping("/{communityId}")
-  public ResponseEntity<Void> deleteCommunity(
+  public ResponseEntity<CommunityDeletionJobDto> deleteCommunity(
       @Parameter(description = "ID de la comunidad a eliminar") @PathVariable String communityId,
       Authentication authentication) {
 
     String userId = authentication.getName();
     log.info("User {} attempting to delete community: {}", userId, communityId);
 
-    boolean deleted = communityService.deleteCommunity(communityId, userId);
+    return communityService
+        .deleteCommunity(communityId, userId)
+        .map(CommunityDtoMapper.INSTANCE::toDeletionJobDto)
+        .map(job -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job))
+        .orElseGet(
+            () -> {
+              log.warn(
+                  "Failed to delete community {} by user {} - not found or already being deleted",
+                  communityId,
+                  userId);
+              return ResponseEntity.notFound().build();
+            });
+  }
 
-    if (deleted) {
-      log.info("Community {} successfully deleted by user {}", communityId, userId);
-      return ResponseEntity.noContent().build();
-    } else {
-      log.warn(
-          "Failed to delete community {} by user {} - either not found or no permissions",
-          communityId,
-          userId);
-      return ResponseEntity.notFound().build();
-    }
+  @Operation(
+      summary = "Progreso del borrado de una comunidad",
+      description = "Obtiene el estado de un borrado de comunidad iniciado por el administrador")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estado del borrado obtenido exitosamente",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CommunityDeletionJobDto.class))),
+        @ApiResponse(responseCode = "404", description = "Borrado no encontrado", content = @Content)
+      })
+  @GetMapping("/deletions/{jobId}")
+  public ResponseEntity<CommunityDeletionJobDto> getCommunityDeletion(
+      @Parameter(description = "ID del job de borrado", required = true) @PathVariable
+          String jobId,
+      Authentication authentication) {
+
+    return communityDeletionService
+        .getDeletionJob(authentication.getName(), jobId)
+        .map(CommunityDtoMapper.INSTANCE::toDeletionJobDto)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
   }
 }
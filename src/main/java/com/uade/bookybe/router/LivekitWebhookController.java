@@ -0,0 +1,40 @@
+package com.uade.bookybe.router;
+
+import com.uade.bookybe.core.usecase.LivekitRoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Receives LiveKit webhooks (application/webhook+json). The Authorization header is not a user
+ * token but a JWT signed with the LiveKit API secret, verified against the raw body.
+ */
+@RestController
+@RequestMapping("/livekit/webhook")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Meetings", description = "LiveKit meeting management for reading clubs")
+public class LivekitWebhookController {
+
+    private final LivekitRoomService livekitRoomService;
+
+    @Operation(summary = "Receive a LiveKit room or participant event")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event applied"),
+        @ApiResponse(responseCode = "401", description = "Invalid webhook signature")
+    })
+    @PostMapping
+    public ResponseEntity<Void> receive(
+            @RequestBody String body,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+
+        livekitRoomService.handleWebhook(body, authorization);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -4,7 +4,6 @@ import com.uade.bookybe.core.model.LivekitToken;
 import com.uade.bookybe.core.model.MeetingStatus;
 import com.uade.bookybe.core.model.ReadingClub;
 import com.uade.bookybe.core.usecase.MeetingService;
-import com.uade.bookybe.core.usecase.UserService;
 import com.uade.bookybe.router.dto.meeting.MeetingActionResponseDto;
 import com.uade.bookybe.router.dto.meeting.MeetingStatusResponseDto;
 import com.uade.bookybe.router.dto.meeting.TokenRequestDto;
@@ -32,7 +31,6 @@ import java.time.LocalDateTime;
 public class MeetingController {
 
     private final MeetingService meetingService;
-    private final UserService userService;
     private final MeetingDtoMapper meetingDtoMapper = MeetingDtoMapper.INSTANCE;
 
     @Operation(summary = "Generate token for joining a meeting")
@@ -51,8 +49,7 @@ public class MeetingController {
 
         LivekitToken token = meetingService.generateMeetingToken(
             request.getReadingClubId(),
-            auth.getName(),
-            userService.getUserById(auth.getName()).get().getUsername()
+            auth.getName()
         );
 
         TokenResponseDto response = meetingDtoMapper.toTokenResponseDto(token);
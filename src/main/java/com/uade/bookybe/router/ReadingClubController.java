@@ -2,9 +2,12 @@ package com.uade.bookybe.router;
 
 import com.uade.bookybe.core.model.ReadingClub;
 import com.uade.bookybe.core.usecase.ReadingClubService;
+import com.uade.bookybe.core.usecase.ReadingProgressService;
 import com.uade.bookybe.router.dto.readingclub.CreateReadingClubDto;
 import com.uade.bookybe.router.dto.readingclub.ReadingClubDto;
+import com.uade.bookybe.router.dto.readingclub.ReadingProgressDto;
 import com.uade.bookybe.router.dto.readingclub.UpdateReadingClubMeetingDto;
+import com.uade.bookybe.router.dto.readingclub.UpdateReadingProgressDto;
 import com.uade.bookybe.router.mapper.ReadingClubDtoMapper;
 import com.uade.bookybe.router.mapper.ReadingClubDtoMapperWithNestedObjects;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,9 +19,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -32,12 +37,17 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Reading Clubs", description = "API para gestión de clubes de lectura")
 public class ReadingClubController {
 
+  private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
   private final ReadingClubService readingClubService;
+  private final ReadingProgressService readingProgressService;
   private final ReadingClubDtoMapperWithNestedObjects readingClubDtoMapperWithNestedObjects;
 
   @Operation(
       summary = "Obtener todos los clubes de lectura",
-      description = "Obtiene la lista de todos los clubes de lectura disponibles")
+      description =
+          "Obtiene una página de los clubes de lectura, los más nuevos primero. El total se"
+              + " devuelve en el header X-Total-Count")
   @ApiResponses(
       value = {
         @ApiResponse(
@@ -46,17 +56,22 @@ public class ReadingClubController {
             content = @Content(mediaType = "application/json"))
       })
   @GetMapping
-  public ResponseEntity<List<ReadingClubDto>> getAllReadingClubs() {
-    log.info("Getting all reading clubs");
-
-    List<ReadingClub> readingClubs = readingClubService.getAllReadingClubs();
+  public ResponseEntity<List<ReadingClubDto>> getAllReadingClubs(
+      @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Tamaño de página (máximo 50)") @RequestParam(defaultValue = "20")
+          int size) {
+    log.info("Getting reading clubs page {} (size {})", page, size);
+
+    Page<ReadingClub> readingClubs = readingClubService.getAllReadingClubs(page, size);
     List<ReadingClubDto> readingClubDtos =
-        readingClubs.stream()
-            .map(readingClubDtoMapperWithNestedObjects::toDtoWithNestedObjects)
-            .collect(Collectors.toList());
+        readingClubDtoMapperWithNestedObjects.toDtosWithNestedObjects(readingClubs.getContent());
 
-    log.info("Retrieved {} reading clubs", readingClubDtos.size());
-    return ResponseEntity.ok(readingClubDtos);
+    log.info(
+        "Retrieved {} of {} reading clubs", readingClubDtos.size(), readingClubs.getTotalElements());
+    return ResponseEntity.ok()
+        .header(TOTAL_COUNT_HEADER, String.valueOf(readingClubs.getTotalElements()))
+        .body(readingClubDtos);
   }
 
   @Operation(
@@ -136,15 +151,14 @@ public class ReadingClubController {
 
     List<ReadingClub> readingClubs = readingClubService.getReadingClubsByCommunityId(communityId);
     List<ReadingClubDto> readingClubDtos =
-        readingClubs.stream()
-            .map(readingClubDtoMapperWithNestedObjects::toDtoWithNestedObjects)
-            .collect(Collectors.toList());
+        readingClubDtoMapperWithNestedObjects.toDtosWithNestedObjects(readingClubs);
 
     String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+    Set<String> joined =
+        readingClubService.getJoinedReadingClubIds(
+            userId, readingClubs.stream().map(ReadingClub::getId).collect(Collectors.toList()));
     readingClubDtos.forEach(
-        readingClubDto ->
-            readingClubDto.setJoinAvailable(
-                !readingClubService.isUserMember(readingClubDto.getId(), userId)));
+        readingClubDto -> readingClubDto.setJoinAvailable(!joined.contains(readingClubDto.getId())));
 
     log.info("Retrieved {} reading clubs for community: {}", readingClubDtos.size(), communityId);
     return ResponseEntity.ok(readingClubDtos);
@@ -378,4 +392,70 @@ public class ReadingClubController {
               return ResponseEntity.notFound().build();
             });
   }
+
+  @Operation(
+      summary = "Actualizar mi progreso de lectura",
+      description =
+          "Registra el capítulo en el que está el usuario autenticado y devuelve el progreso del"
+              + " club. Solo los miembros pueden informar su progreso.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Progreso actualizado exitosamente",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ReadingProgressDto.class))),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos", content = @Content),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autorizado o no es miembro del club",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Club no encontrado", content = @Content)
+      })
+  @PutMapping("/{clubId}/progress")
+  public ResponseEntity<ReadingProgressDto> updateProgress(
+      @Parameter(description = "ID del club de lectura", required = true) @PathVariable
+          String clubId,
+      @Parameter(description = "Capítulo actual del usuario", required = true) @RequestBody @Valid
+          UpdateReadingProgressDto updateProgressDto,
+      Authentication authentication) {
+
+    String userId = authentication.getName();
+    log.info("Updating reading progress of user {} in reading club: {}", userId, clubId);
+
+    // NotFoundException and UnauthorizedException will be handled by GlobalExceptionHandler
+    readingProgressService.updateProgress(clubId, userId, updateProgressDto.getCurrentChapter());
+    return getProgress(clubId);
+  }
+
+  @Operation(
+      summary = "Obtener el progreso de lectura del club",
+      description =
+          "Obtiene por dónde van los miembros del club: capítulo mínimo, mediana, máximo e"
+              + " histograma de capítulos")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Progreso obtenido exitosamente",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ReadingProgressDto.class))),
+        @ApiResponse(responseCode = "404", description = "Club no encontrado", content = @Content)
+      })
+  @GetMapping("/{clubId}/progress")
+  public ResponseEntity<ReadingProgressDto> getProgress(
+      @Parameter(description = "ID del club de lectura", required = true) @PathVariable
+          String clubId) {
+    log.info("Getting reading progress of reading club: {}", clubId);
+
+    return readingProgressService
+        .getProgress(clubId)
+        .map(ReadingClubDtoMapper.INSTANCE::toProgressDto)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
 }
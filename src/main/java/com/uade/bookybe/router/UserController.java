@@ -3,6 +3,8 @@ package com.uade.bookybe.router;
 import com.uade.bookybe.core.model.User;
 import com.uade.bookybe.core.model.UserSignUp;
 import com.uade.bookybe.core.service.JwtService;
+import com.uade.bookybe.core.usecase.BadgeService;
+import com.uade.bookybe.core.usecase.UserDeletionService;
 import com.uade.bookybe.core.usecase.UserService;
 import com.uade.bookybe.router.dto.user.*;
 import com.uade.bookybe.router.mapper.UserDtoMapper;
@@ -33,6 +35,8 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
   private final UserService userService;
   private final JwtService jwtService;
+  private final BadgeService badgeService;
+  private final UserDeletionService userDeletionService;
 
   @Operation(
       summary = "Get user by ID",
@@ -198,6 +202,30 @@ public class UserController {
             });
   }
 
+  @Operation(
+      summary = "Get my badge counters",
+      description =
+          "Pending exchanges, unread messages and unnotified achievements of the authenticated"
+              + " user. Served from memory; meant to be polled")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Badges retrieved successfully",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = UserBadgesDto.class)))
+      })
+  @GetMapping("/users/me/badges")
+  public ResponseEntity<UserBadgesDto> getMyBadges(Authentication authentication) {
+    String userId = authentication.getName();
+    log.debug("Getting badges for user: {}", userId);
+
+    return ResponseEntity.ok(
+        UserDtoMapper.INSTANCE.toBadgesDto(badgeService.getBadges(userId)));
+  }
+
   @Operation(
       summary = "Get user followers",
       description = "Retrieves the list of users following the specified user")
@@ -304,25 +332,63 @@ public class UserController {
     }
   }
 
-  @Operation(summary = "Delete user", description = "Permanently deletes a user account")
+  @Operation(
+      summary = "Delete user",
+      description =
+          "Hides the account immediately and permanently deletes its data in the background")
   @ApiResponses(
       value = {
-        @ApiResponse(responseCode = "204", description = "User deleted successfully"),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Account hidden, deletion in progress",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = UserDeletionJobDto.class))),
         @ApiResponse(responseCode = "404", description = "User not found")
       })
   @DeleteMapping("/users/{id}")
-  public ResponseEntity<Void> deleteUser(
+  public ResponseEntity<UserDeletionJobDto> deleteUser(
       @Parameter(description = "User ID to delete", required = true) @PathVariable String id) {
     log.info("Attempting to delete user with ID: {}", id);
 
-    boolean deleted = userService.deleteUser(id);
-    if (deleted) {
-      log.info("User deleted successfully with ID: {}", id);
-      return ResponseEntity.noContent().build();
-    } else {
-      log.warn("Failed to delete user - User not found with ID: {}", id);
-      return ResponseEntity.notFound().build();
-    }
+    return userService
+        .deleteUser(id)
+        .map(UserDtoMapper.INSTANCE::toDeletionJobDto)
+        .map(
+            job -> {
+              log.info("Deletion of user {} accepted as job {}", id, job.getId());
+              return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+            })
+        .orElseGet(
+            () -> {
+              log.warn("Failed to delete user - User not found with ID: {}", id);
+              return ResponseEntity.notFound().build();
+            });
+  }
+
+  @Operation(
+      summary = "Get user deletion progress",
+      description = "Retrieves the stage and progress of a user's account deletion")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Deletion progress retrieved successfully",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = UserDeletionJobDto.class))),
+        @ApiResponse(responseCode = "404", description = "No deletion found", content = @Content)
+      })
+  @GetMapping("/users/{id}/deletion")
+  public ResponseEntity<UserDeletionJobDto> getUserDeletion(
+      @Parameter(description = "User ID", required = true) @PathVariable String id) {
+    return userDeletionService
+        .getDeletionJob(id)
+        .map(UserDtoMapper.INSTANCE::toDeletionJobDto)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
   @Operation(
@@ -1,6 +1,7 @@
 package com.uade.bookybe.router;
 
 import com.uade.bookybe.core.model.UserRate;
+import com.uade.bookybe.core.model.UserRatingStats;
 import com.uade.bookybe.core.usecase.UserRateService;
 import com.uade.bookybe.router.dto.rate.CreateUserRateDto;
 import com.uade.bookybe.router.dto.rate.UserRateDto;
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -22,6 +24,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -32,6 +35,8 @@ import java.util.stream.Collectors;
 @RequestMapping("/ratings")
 public class UserRateController {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final UserRateService userRateService;
 
     @Operation(
@@ -85,7 +90,8 @@ public class UserRateController {
 
     @Operation(
             summary = "Get ratings for a user",
-            description = "Retrieves all ratings received by a specific user (no authentication required)")
+            description = "Retrieves a page of the ratings received by a specific user, newest first"
+                    + " (no authentication required). The total is returned in the X-Total-Count header")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -97,16 +103,20 @@ public class UserRateController {
             })
     @GetMapping("/users/{userId}")
     public ResponseEntity<List<UserRateDto>> getUserRatings(
-            @Parameter(description = "User ID", required = true) @PathVariable String userId) {
+            @Parameter(description = "User ID", required = true) @PathVariable String userId,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
-        log.info("Getting ratings for user: {}", userId);
+        log.info("Getting ratings for user: {}, page: {}", userId, page);
 
-        List<UserRate> ratings = userRateService.getUserRatings(userId);
+        Page<UserRate> ratings = userRateService.getUserRatings(userId, page, size);
         List<UserRateDto> responseDtos = ratings.stream()
                 .map(UserRateDtoMapper.INSTANCE::toDto)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(responseDtos);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(ratings.getTotalElements()))
+                .body(responseDtos);
     }
 
     @Operation(
@@ -160,7 +170,7 @@ public class UserRateController {
 
     @Operation(
             summary = "Get user rating statistics",
-            description = "Gets average rating and total count for a user")
+            description = "Gets average rating, total count and ratings per star for a user")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -173,12 +183,13 @@ public class UserRateController {
 
         log.info("Getting rating statistics for user: {}", userId);
 
-        Double averageRating = userRateService.getUserAverageRating(userId);
-        Long totalRatings = userRateService.getUserRatingCount(userId);
+        UserRatingStats userStats = userRateService.getUserRatingStats(userId);
+        Double averageRating = userStats.getAverageRating();
 
         UserRatingStatsDto stats = new UserRatingStatsDto(
                 averageRating != null ? averageRating : 0.0,
-                totalRatings != null ? totalRatings : 0L
+                userStats.getRatingCount(),
+                userStats.getRatingsByStar()
         );
 
         return ResponseEntity.ok(stats);
@@ -200,10 +211,13 @@ public class UserRateController {
     public static class UserRatingStatsDto {
         private final Double averageRating;
         private final Long totalRatings;
+        private final Map<Integer, Long> ratingsByStar;
 
-        public UserRatingStatsDto(Double averageRating, Long totalRatings) {
+        public UserRatingStatsDto(
+                Double averageRating, Long totalRatings, Map<Integer, Long> ratingsByStar) {
             this.averageRating = averageRating;
             this.totalRatings = totalRatings;
+            this.ratingsByStar = ratingsByStar;
         }
 
         public Double getAverageRating() {
@@ -213,5 +227,9 @@ public class UserRateController {
         public Long getTotalRatings() {
             return totalRatings;
         }
+
+        public Map<Integer, Long> getRatingsByStar() {
+            return ratingsByStar;
+        }
     }
 }
@@ -1,10 +1,13 @@
 package com.uade.bookybe.router.controller;
 
+import com.uade.bookybe.config.SceneImageConfig;
 import com.uade.bookybe.core.exception.BookNotFoundException;
 import com.uade.bookybe.core.exception.InvalidImageSizeException;
 import com.uade.bookybe.core.exception.OpenAIServiceException;
 import com.uade.bookybe.core.model.dto.SceneImageRequest;
+import com.uade.bookybe.core.model.constant.SceneImageStatus;
 import com.uade.bookybe.core.model.dto.SceneImageResponse;
+import com.uade.bookybe.core.model.dto.SceneImageSummary;
 import com.uade.bookybe.core.service.SceneImageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,13 +18,20 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/reading-clubs")
@@ -31,6 +41,7 @@ import java.util.List;
 public class SceneImageController {
 
   private final SceneImageService sceneImageService;
+  private final SceneImageConfig sceneImageConfig;
 
   // Simple in-memory rate limiting (in production, use Redis or similar)
   private final ConcurrentHashMap<String, RateLimitInfo> rateLimitMap = new ConcurrentHashMap<>();
@@ -44,14 +55,16 @@ public class SceneImageController {
       description = "Creates a 360° equirectangular VR image based on a text fragment for the specified reading club. " +
                    "The system uses the reading club's book metadata (title, author, genre) combined with the text fragment " +
                    "to generate a detailed scene description prompt via GPT, then creates the image using DALL-E. " +
-                   "Multiple images can be generated for a reading club as they progress through the book."
+                   "Multiple images can be generated for a reading club as they progress through the book. " +
+                   "Generation runs in the background: follow it with GET scene-image/{generationId} or its events stream."
   )
-  @ApiResponse(responseCode = "200", description = "Scene image generated successfully")
+  @ApiResponse(responseCode = "202", description = "Scene image generation started")
+  @ApiResponse(responseCode = "200", description = "Scene image already generated for this fragment")
   @ApiResponse(responseCode = "400", description = "Invalid request parameters or reading club not found")
   @ApiResponse(responseCode = "404", description = "Reading club not found")
   @ApiResponse(responseCode = "422", description = "Invalid image size format")
   @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
-  @ApiResponse(responseCode = "503", description = "OpenAI service unavailable")
+  @ApiResponse(responseCode = "503", description = "Generation queue is full")
   public ResponseEntity<SceneImageResponse> generateSceneImage(
       @Parameter(description = "Reading Club ID", required = true)
       @PathVariable String readingClubId,
@@ -73,8 +86,13 @@ public class SceneImageController {
 
       SceneImageResponse response = sceneImageService.generateSceneImage(readingClubId, request);
 
-      log.info("Successfully generated scene image for reading club: {}", readingClubId);
-      return ResponseEntity.ok(response);
+      if (response.getStatus() == SceneImageStatus.COMPLETED) {
+        return ResponseEntity.ok(response);
+      }
+      log.info("Scene image generation {} accepted for reading club: {}", response.getId(), readingClubId);
+      return ResponseEntity.status(HttpStatus.ACCEPTED)
+          .location(URI.create("/api/reading-clubs/" + readingClubId + "/scene-image/" + response.getId()))
+          .body(response);
 
     } catch (IllegalArgumentException e) {
       log.warn("Invalid request for reading club {}: {}", readingClubId, e.getMessage());
@@ -94,16 +112,85 @@ public class SceneImageController {
     }
   }
 
+  @GetMapping("/{readingClubId}/scene-image/{generationId}")
+  @Operation(
+      summary = "Get the status of a scene image generation",
+      description = "Returns the generation started by POST scene-image: PENDING or RUNNING while OpenAI works, " +
+                   "then COMPLETED with the image or FAILED with the error"
+  )
+  @ApiResponse(responseCode = "200", description = "Generation found")
+  @ApiResponse(responseCode = "404", description = "Generation not found for this reading club")
+  public ResponseEntity<SceneImageResponse> getSceneImage(
+      @PathVariable String readingClubId,
+      @PathVariable Long generationId) {
+    return sceneImageService.getSceneImage(readingClubId, generationId)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  @GetMapping(value = "/{readingClubId}/scene-image/{generationId}/events",
+      produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(
+      summary = "Stream the status of a scene image generation",
+      description = "Server-sent events with the current status and every change until the generation " +
+                   "completes or fails. Each event is named after the status (pending, running, completed, failed)"
+  )
+  @ApiResponse(responseCode = "200", description = "Event stream opened")
+  @ApiResponse(responseCode = "404", description = "Generation not found for this reading club")
+  public ResponseEntity<SseEmitter> streamSceneImage(
+      @PathVariable String readingClubId,
+      @PathVariable Long generationId) {
+    SseEmitter emitter = new SseEmitter(sceneImageConfig.getEventsTimeout().toMillis());
+    AtomicBoolean finished = new AtomicBoolean();
+    Consumer<SceneImageResponse> listener = update -> sendEvent(emitter, finished, update);
+
+    // However the stream ends, the service stops pushing to it
+    Runnable unwatch = () -> sceneImageService.unwatchSceneImage(generationId, listener);
+    emitter.onCompletion(unwatch);
+    emitter.onTimeout(unwatch);
+    emitter.onError(error -> unwatch.run());
+
+    boolean found = sceneImageService.watchSceneImage(readingClubId, generationId, listener);
+    if (!found) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(emitter);
+  }
+
+  /** Sends one status; nothing is sent after the final one */
+  private void sendEvent(SseEmitter emitter, AtomicBoolean finished, SceneImageResponse update) {
+    boolean last = update.getStatus() == SceneImageStatus.COMPLETED
+        || update.getStatus() == SceneImageStatus.FAILED;
+    synchronized (emitter) {
+      if (finished.get()) {
+        return;
+      }
+      try {
+        emitter.send(SseEmitter.event()
+            .name(update.getStatus().name().toLowerCase(Locale.ROOT))
+            .data(update));
+        if (last) {
+          finished.set(true);
+          emitter.complete();
+        }
+      } catch (IOException | IllegalStateException e) {
+        // Client gone or stream timed out
+        finished.set(true);
+        emitter.completeWithError(e);
+      }
+    }
+  }
+
   @GetMapping("/{readingClubId}/scene-generations")
   @Operation(
       summary = "Get all scene generations for a reading club",
       description = "Returns all previous scene image generations for the specified reading club, " +
-                   "showing the progression of images created as the club reads through the book"
+                   "showing the progression of images created as the club reads through the book. " +
+                   "Each entry has the image and thumbnail URLs and dimensions, but no prompt or image data"
   )
-  public ResponseEntity<List<Object>> getReadingClubSceneGenerations(@PathVariable String readingClubId) {
+  public ResponseEntity<List<SceneImageSummary>> getReadingClubSceneGenerations(@PathVariable String readingClubId) {
     try {
-      var generations = sceneImageService.getReadingClubSceneGenerations(readingClubId);
-      return ResponseEntity.ok(List.of(generations.toArray()));
+      return ResponseEntity.ok(sceneImageService.getReadingClubSceneGenerations(readingClubId));
     } catch (Exception e) {
       log.error("Error retrieving scene generations for reading club: " + readingClubId, e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -0,0 +1,23 @@
+package com.uade.bookybe.router.dto.book;
+
+import com.uade.bookybe.core.model.constant.BookStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportBooksDto {
+
+  @NotEmpty(message = "At least one ISBN is required")
+  private List<String> isbns;
+
+  @NotNull(message = "Status is required")
+  private BookStatus status;
+}
@@ -0,0 +1,19 @@
+package com.uade.bookybe.router.dto.book;
+
+import com.uade.bookybe.core.model.constant.BookStatus;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LibraryCountsDto {
+  private long total;
+  private Map<BookStatus, Long> byStatus;
+  private long favorites;
+  private long wantsToExchange;
+}
@@ -0,0 +1,27 @@
+package com.uade.bookybe.router.dto.book;
+
+import com.uade.bookybe.core.model.constant.ImportJobStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LibraryImportJobDto {
+  private String id;
+  private ImportJobStatus status;
+  private int totalIsbns;
+  private int processedIsbns;
+  private int importedCount;
+  private int alreadyInLibraryCount;
+  private List<String> notFoundIsbns;
+  private List<String> invalidIsbns;
+  private String errorMessage;
+  private LocalDateTime dateCreated;
+  private LocalDateTime dateFinished;
+}
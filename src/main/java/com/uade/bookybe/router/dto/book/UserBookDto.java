@@ -1,6 +1,7 @@
 package com.uade.bookybe.router.dto.book;
 
 import com.uade.bookybe.core.model.constant.BookStatus;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,5 +17,6 @@ public class UserBookDto {
   private BookStatus status;
   private boolean favorite;
   private boolean wantsToExchange;
+  private LocalDateTime dateCreated;
   private BookDto book;
 }
@@ -0,0 +1,24 @@
+package com.uade.bookybe.router.dto.community;
+
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommunityDeletionJobDto {
+  private String id;
+  private String communityId;
+  private DeletionJobStatus status;
+  private long deletedComments;
+  private long deletedPosts;
+  private long deletedMembers;
+  private String errorMessage;
+  private LocalDateTime dateCreated;
+  private LocalDateTime dateFinished;
+}
@@ -19,5 +19,6 @@ public class CommunityDto {
   private String adminId;
   private UserPreviewDto admin;
   private long memberCount;
+  private LocalDateTime lastActivityAt;
   private boolean isJoinAvailable;
 }
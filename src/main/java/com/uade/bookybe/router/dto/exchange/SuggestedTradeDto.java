@@ -0,0 +1,24 @@
+package com.uade.bookybe.router.dto.exchange;
+
+import com.uade.bookybe.core.model.constant.TradeMatchType;
+import com.uade.bookybe.router.dto.book.BookDto;
+import com.uade.bookybe.router.dto.user.UserPreviewDto;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestedTradeDto {
+  private TradeMatchType type;
+  private UserPreviewDto receiveFrom;
+  private UserPreviewDto giveTo;
+  private List<BookDto> booksToReceive;
+  private List<BookDto> booksToGive;
+  private List<BookDto> intermediateBooks;
+  private Double distanceKm;
+}
@@ -15,6 +15,7 @@ public class UserRateDto {
     private String id;
     private String userId;
     private String exchangeId;
+    private String ratedUserId;
     private Integer rating;
     private String comment;
     private LocalDateTime dateCreated;
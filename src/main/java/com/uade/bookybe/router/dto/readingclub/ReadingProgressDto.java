@@ -0,0 +1,20 @@
+package com.uade.bookybe.router.dto.readingclub;
+
+import java.util.SortedMap;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadingProgressDto {
+  private String readingClubId;
+  private int reportingMembers; // miembros que informaron su capítulo
+  private Integer minChapter;
+  private Integer maxChapter;
+  private Double medianChapter;
+  private SortedMap<Integer, Integer> histogram; // capítulo -> cantidad de miembros
+}
@@ -0,0 +1,18 @@
+package com.uade.bookybe.router.dto.readingclub;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UpdateReadingProgressDto {
+  @NotNull(message = "Current chapter is required")
+  @PositiveOrZero(message = "Current chapter must be zero or a positive number")
+  private Integer currentChapter; // OBLIGATORIO - 0 si todavía no empezó
+}
@@ -0,0 +1,16 @@
+package com.uade.bookybe.router.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBadgesDto {
+  private long pendingExchanges;
+  private long unreadMessages;
+  private long unnotifiedAchievements;
+}
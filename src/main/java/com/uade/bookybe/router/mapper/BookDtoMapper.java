@@ -1,8 +1,12 @@
 package com.uade.bookybe.router.mapper;
 
 import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.LibraryCounts;
+import com.uade.bookybe.core.model.LibraryImportJob;
 import com.uade.bookybe.core.model.UserBook;
 import com.uade.bookybe.router.dto.book.BookDto;
+import com.uade.bookybe.router.dto.book.LibraryCountsDto;
+import com.uade.bookybe.router.dto.book.LibraryImportJobDto;
 import com.uade.bookybe.router.dto.book.UserBookDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.ReportingPolicy;
@@ -17,4 +21,8 @@ public interface BookDtoMapper {
   Book toModel(BookDto dto);
 
   UserBookDto toUserBookDto(UserBook userBook);
+
+  LibraryImportJobDto toLibraryImportJobDto(LibraryImportJob job);
+
+  LibraryCountsDto toLibraryCountsDto(LibraryCounts counts);
 }
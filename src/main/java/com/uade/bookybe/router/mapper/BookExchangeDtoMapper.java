@@ -1,15 +1,17 @@
 package com.uade.bookybe.router.mapper;
 
 import com.uade.bookybe.core.model.BookExchange;
+import com.uade.bookybe.core.model.SuggestedTrade;
 import com.uade.bookybe.router.dto.exchange.BookExchangeDto;
 import com.uade.bookybe.router.dto.exchange.CounterOfferDto;
 import com.uade.bookybe.router.dto.exchange.CreateBookExchangeDto;
+import com.uade.bookybe.router.dto.exchange.SuggestedTradeDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
 
-@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE, uses = {BookDtoMapper.class, UserRateDtoMapper.class})
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE, uses = {BookDtoMapper.class, UserRateDtoMapper.class, UserDtoMapper.class})
 public interface BookExchangeDtoMapper {
   BookExchangeDtoMapper INSTANCE = Mappers.getMapper(BookExchangeDtoMapper.class);
 
@@ -20,4 +22,6 @@ public interface BookExchangeDtoMapper {
   BookExchange toModel(CreateBookExchangeDto dto);
 
   BookExchange toModel(CounterOfferDto dto);
+
+  SuggestedTradeDto toSuggestedTradeDto(SuggestedTrade model);
 } 
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.uade.bookybe.router.mapper;
 
 import com.uade.bookybe.core.model.Community;
+import com.uade.bookybe.core.model.CommunityDeletionJob;
+import com.uade.bookybe.router.dto.community.CommunityDeletionJobDto;
 import com.uade.bookybe.router.dto.community.CommunityDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.ReportingPolicy;
@@ -13,4 +15,6 @@ public interface CommunityDtoMapper {
   CommunityDto toDto(Community model);
 
   Community toModel(CommunityDto dto);
+
+  CommunityDeletionJobDto toDeletionJobDto(CommunityDeletionJob job);
 }
@@ -1,7 +1,9 @@
 package com.uade.bookybe.router.mapper;
 
 import com.uade.bookybe.core.model.ReadingClub;
+import com.uade.bookybe.core.model.ReadingProgress;
 import com.uade.bookybe.router.dto.readingclub.ReadingClubDto;
+import com.uade.bookybe.router.dto.readingclub.ReadingProgressDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
@@ -18,4 +20,6 @@ public interface ReadingClubDtoMapper {
 
   @Mapping(target = "memberCount", ignore = true)
   ReadingClub toModel(ReadingClubDto dto);
+
+  ReadingProgressDto toProgressDto(ReadingProgress model);
 }
@@ -5,7 +5,16 @@ import com.uade.bookybe.infraestructure.mapper.BookEntityMapper;
 import com.uade.bookybe.infraestructure.mapper.UserEntityMapper;
 import com.uade.bookybe.infraestructure.repository.BookRepository;
 import com.uade.bookybe.infraestructure.repository.UserRepository;
+import com.uade.bookybe.router.dto.book.BookDto;
 import com.uade.bookybe.router.dto.readingclub.ReadingClubDto;
+import com.uade.bookybe.router.dto.user.UserPreviewDto;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -55,4 +64,56 @@ public class ReadingClubDtoMapperWithNestedObjects {
 
     return dto;
   }
+
+  /**
+   * Maps a page of clubs loading all their books (with categories) in one query and all their
+   * moderators in another, instead of two lookups per club.
+   */
+  public List<ReadingClubDto> toDtosWithNestedObjects(List<ReadingClub> models) {
+    if (models.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    Map<String, BookDto> books = new HashMap<>();
+    Map<String, UserPreviewDto> moderators = new HashMap<>();
+    try {
+      Set<String> bookIds =
+          models.stream()
+              .map(ReadingClub::getBookId)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toSet());
+      if (!bookIds.isEmpty()) {
+        bookRepository.findAllWithCategoriesByIdIn(bookIds).stream()
+            .map(BookEntityMapper.INSTANCE::toModel)
+            .forEach(book -> books.put(book.getId(), BookDtoMapper.INSTANCE.toDto(book)));
+      }
+
+      Set<String> moderatorIds =
+          models.stream()
+              .map(ReadingClub::getModeratorId)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toSet());
+      if (!moderatorIds.isEmpty()) {
+        userRepository.findAllById(moderatorIds).stream()
+            .map(UserEntityMapper.INSTANCE::toModel)
+            .forEach(
+                user -> moderators.put(user.getId(), UserDtoMapper.INSTANCE.toPreviewDto(user)));
+      }
+    } catch (Exception e) {
+      log.warn(
+          "Error enriching {} ReadingClub DTOs with nested objects: {}",
+          models.size(),
+          e.getMessage());
+    }
+
+    return models.stream()
+        .map(
+            model -> {
+              ReadingClubDto dto = ReadingClubDtoMapper.INSTANCE.toDto(model);
+              dto.setBook(books.get(model.getBookId()));
+              dto.setModerator(moderators.get(model.getModeratorId()));
+              return dto;
+            })
+        .collect(Collectors.toList());
+  }
 }
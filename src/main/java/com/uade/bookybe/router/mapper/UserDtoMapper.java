@@ -1,7 +1,11 @@
 package com.uade.bookybe.router.mapper;
 
 import com.uade.bookybe.core.model.User;
+import com.uade.bookybe.core.model.UserBadges;
+import com.uade.bookybe.core.model.UserDeletionJob;
 import com.uade.bookybe.core.model.UserSignUp;
+import com.uade.bookybe.router.dto.user.UserBadgesDto;
+import com.uade.bookybe.router.dto.user.UserDeletionJobDto;
 import com.uade.bookybe.router.dto.user.UserDto;
 import com.uade.bookybe.router.dto.user.UserPreviewDto;
 import com.uade.bookybe.router.dto.user.UserSignUpDto;
@@ -21,4 +25,8 @@ public interface UserDtoMapper {
   User toModel(UserUpdateDto dto);
 
   UserPreviewDto toPreviewDto(User model);
+
+  UserBadgesDto toBadgesDto(UserBadges model);
+
+  UserDeletionJobDto toDeletionJobDto(UserDeletionJob model);
 }
@@ -0,0 +1,79 @@
+package com.uade.bookybe.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvUtil {
+
+  private CsvUtil() {}
+
+  /**
+   * Parses RFC 4180 style CSV: comma separated, double-quoted fields, doubled quotes as escapes and
+   * line breaks allowed inside quoted fields. Blank lines are skipped.
+   */
+  public static List<List<String>> parse(Reader input) throws IOException {
+    Reader reader = input.markSupported() ? input : new BufferedReader(input);
+    List<List<String>> records = new ArrayList<>();
+    List<String> record = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean inQuotes = false;
+    boolean fieldStarted = false;
+
+    int c;
+    while ((c = reader.read()) != -1) {
+      char ch = (char) c;
+      if (inQuotes) {
+        if (ch == '"') {
+          reader.mark(1);
+          int next = reader.read();
+          if (next == '"') {
+            field.append('"');
+          } else {
+            inQuotes = false;
+            if (next != -1) {
+              reader.reset();
+            }
+          }
+        } else {
+          field.append(ch);
+        }
+        continue;
+      }
+
+      switch (ch) {
+        case '"' -> {
+          inQuotes = true;
+          fieldStarted = true;
+        }
+        case ',' -> {
+          record.add(field.toString());
+          field.setLength(0);
+          fieldStarted = true;
+        }
+        case '\r' -> {}
+        case '\n' -> {
+          if (fieldStarted || field.length() > 0 || !record.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+          }
+          record = new ArrayList<>();
+          field.setLength(0);
+          fieldStarted = false;
+        }
+        default -> {
+          field.append(ch);
+          fieldStarted = true;
+        }
+      }
+    }
+
+    if (fieldStarted || field.length() > 0 || !record.isEmpty()) {
+      record.add(field.toString());
+      records.add(record);
+    }
+    return records;
+  }
+}
@@ -0,0 +1,145 @@
+package com.uade.bookybe.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: {@code levels} wheels of {@code wheelSize} slots, where a slot of
+ * level n spans {@code wheelSize^n} ticks. Scheduling and cancelling are O(1); timers far in the
+ * future sit in a coarse slot and are moved down a level when the wheel reaches that slot, so
+ * advancing costs O(1) per tick plus O(1) per timer per level. Timers beyond the top level are
+ * parked in its furthest slot and re-placed from there. Timers fire on the first tick at or after
+ * their deadline, never before. Thread-safe.
+ */
+public final class HierarchicalTimingWheel<K, V> {
+
+  private final long tickMillis;
+  private final int levels;
+  private final int bits;
+  private final int mask;
+  private final List<List<Map<K, Timer<K, V>>>> wheels = new ArrayList<>();
+  private final Map<K, Timer<K, V>> timers = new HashMap<>();
+
+  /** Last tick already processed */
+  private long currentTick;
+
+  public HierarchicalTimingWheel(Duration tick, int wheelSize, int levels, long startMillis) {
+    if (tick.toMillis() <= 0 || Integer.bitCount(wheelSize) != 1 || wheelSize < 2 || levels < 1) {
+      throw new IllegalArgumentException("Invalid timing wheel geometry");
+    }
+    this.tickMillis = tick.toMillis();
+    this.levels = levels;
+    this.bits = Integer.numberOfTrailingZeros(wheelSize);
+    this.mask = wheelSize - 1;
+    if (bits * levels >= Long.SIZE - 2) {
+      throw new IllegalArgumentException("Timing wheel span does not fit in a long");
+    }
+    for (int level = 0; level < levels; level++) {
+      List<Map<K, Timer<K, V>>> slots = new ArrayList<>(wheelSize);
+      for (int slot = 0; slot < wheelSize; slot++) {
+        slots.add(new LinkedHashMap<>());
+      }
+      wheels.add(slots);
+    }
+    this.currentTick = Math.floorDiv(startMillis, tickMillis);
+  }
+
+  /**
+   * Schedules {@code value} to expire at {@code deadlineMillis}, replacing the timer already
+   * scheduled under {@code key}. Deadlines in the past expire on the next tick.
+   */
+  public synchronized void schedule(K key, long deadlineMillis, V value) {
+    cancel(key);
+    long deadlineTick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), currentTick + 1);
+    Timer<K, V> timer = new Timer<>(key, value, deadlineTick);
+    timers.put(key, timer);
+    place(timer, currentTick);
+  }
+
+  /** Returns whether there was a timer under {@code key} */
+  public synchronized boolean cancel(K key) {
+    Timer<K, V> timer = timers.remove(key);
+    if (timer == null) {
+      return false;
+    }
+    wheels.get(timer.level).get(timer.slot).remove(key);
+    return true;
+  }
+
+  /** Moves the wheel up to {@code nowMillis} and returns the values that expired, in order */
+  public synchronized List<V> advance(long nowMillis) {
+    List<V> expired = new ArrayList<>();
+    long nowTick = Math.floorDiv(nowMillis, tickMillis);
+    while (currentTick < nowTick) {
+      long tick = currentTick + 1;
+      // Top-down: a timer moved down a level may land in the slot cascaded next
+      for (int level = levels - 1; level >= 1; level--) {
+        if ((tick & ((1L << (bits * level)) - 1)) == 0) {
+          cascade(wheels.get(level).get(slotOf(tick, level)), tick);
+        }
+      }
+      Map<K, Timer<K, V>> due = wheels.get(0).get(slotOf(tick, 0));
+      for (Timer<K, V> timer : due.values()) {
+        timers.remove(timer.key);
+        expired.add(timer.value);
+      }
+      due.clear();
+      currentTick = tick;
+    }
+    return expired;
+  }
+
+  public synchronized int size() {
+    return timers.size();
+  }
+
+  /** Re-places the timers of a slot relative to {@code tick}, the tick being processed */
+  private void cascade(Map<K, Timer<K, V>> slot, long tick) {
+    if (slot.isEmpty()) {
+      return;
+    }
+    List<Timer<K, V>> moved = new ArrayList<>(slot.values());
+    slot.clear();
+    moved.forEach(timer -> place(timer, tick));
+  }
+
+  /**
+   * Puts the timer in the finest level whose slot for it is reached after {@code baseTick}, so a
+   * slot is never refilled while it is being cascaded.
+   */
+  private void place(Timer<K, V> timer, long baseTick) {
+    long delta = timer.deadlineTick - baseTick;
+    long span = 1L << bits;
+    int level = 0;
+    while (level < levels - 1 && delta >= span) {
+      level++;
+      span <<= bits;
+    }
+    long tick = delta < span ? timer.deadlineTick : baseTick + span - 1;
+    timer.level = level;
+    timer.slot = slotOf(tick, level);
+    wheels.get(level).get(timer.slot).put(timer.key, timer);
+  }
+
+  private int slotOf(long tick, int level) {
+    return (int) ((tick >>> (bits * level)) & mask);
+  }
+
+  private static final class Timer<K, V> {
+    private final K key;
+    private final V value;
+    private final long deadlineTick;
+    private int level;
+    private int slot;
+
+    private Timer(K key, V value, long deadlineTick) {
+      this.key = key;
+      this.value = value;
+      this.deadlineTick = deadlineTick;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.uade.bookybe.util;
+
+import java.util.Locale;
+
+/** Normalización de ISBN: todo ISBN-10 o ISBN-13 válido se convierte a su forma ISBN-13. */
+public final class IsbnUtil {
+
+  private IsbnUtil() {}
+
+  /**
+   * Returns the canonical ISBN-13 (digits only) for an ISBN-10 or ISBN-13, ignoring hyphens,
+   * spaces and a leading "ISBN" label. Returns null when the value is not a valid ISBN.
+   */
+  public static String toIsbn13(String raw) {
+    if (raw == null) {
+      return null;
+    }
+    String isbn =
+        raw.toUpperCase(Locale.ROOT).replace("ISBN", "").replaceAll("[\\s\\-:]", "");
+
+    if (isbn.matches("\\d{13}")) {
+      return isbn13CheckDigit(isbn.substring(0, 12)) == isbn.charAt(12) ? isbn : null;
+    }
+    if (isbn.matches("\\d{9}[\\dX]")) {
+      if (isbn10CheckDigit(isbn.substring(0, 9)) != isbn.charAt(9)) {
+        return null;
+      }
+      String body = "978" + isbn.substring(0, 9);
+      return body + isbn13CheckDigit(body);
+    }
+    return null;
+  }
+
+  private static char isbn13CheckDigit(String first12) {
+    int sum = 0;
+    for (int i = 0; i < 12; i++) {
+      int digit = first12.charAt(i) - '0';
+      sum += i % 2 == 0 ? digit : digit * 3;
+    }
+    return (char) ('0' + (10 - sum % 10) % 10);
+  }
+
+  private static char isbn10CheckDigit(String first9) {
+    int sum = 0;
+    for (int i = 0; i < 9; i++) {
+      sum += (first9.charAt(i) - '0') * (10 - i);
+    }
+    int check = (11 - sum % 11) % 11;
+    return check == 10 ? 'X' : (char) ('0' + check);
+  }
+}
@@ -0,0 +1,38 @@
+package com.uade.bookybe.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/** Page selection over an unsorted collection without sorting all of it */
+public final class TopK {
+
+  private TopK() {}
+
+  /**
+   * Returns page {@code page} of {@code items} in {@code ranking} order. Only the best
+   * {@code (page + 1) * size} items are kept in a heap, and never more than there are items, so
+   * the cost is O(n log k) and a huge page can't overflow the heap size.
+   */
+  public static <T> List<T> page(Collection<T> items, Comparator<T> ranking, int page, int size) {
+    long offset = (long) page * size;
+    if (page < 0 || size <= 0 || items.size() <= offset) {
+      return List.of();
+    }
+    int k = (int) Math.min(offset + size, items.size());
+
+    PriorityQueue<T> heap = new PriorityQueue<>(k, ranking.reversed());
+    for (T item : items) {
+      heap.offer(item);
+      if (heap.size() > k) {
+        heap.poll();
+      }
+    }
+
+    List<T> best = new ArrayList<>(heap);
+    best.sort(ranking);
+    return best.subList((int) offset, best.size());
+  }
+}
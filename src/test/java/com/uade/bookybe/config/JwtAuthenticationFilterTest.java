@@ -1,13 +1,13 @@
 package com.uade.bookybe.config;
 
 import com.uade.bookybe.core.service.JwtService;
+import com.uade.bookybe.infraestructure.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,12 +31,15 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
+    @Mock
+    private UserRepository userRepository;
+
     private JwtAuthenticationFilter filter;
 
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
+        filter = new JwtAuthenticationFilter(jwtService, userRepository, new UserDeletionConfig());
     }
 
     @Test
@@ -91,6 +94,7 @@ class JwtAuthenticationFilterTest {
         when(jwtService.validateToken(token)).thenReturn(true);
         when(jwtService.getUserIdFromToken(token)).thenReturn("user123");
         when(jwtService.getEmailFromToken(token)).thenReturn("user@example.com");
+        when(userRepository.existsByIdAndDeletedAtIsNull("user123")).thenReturn(true);
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -99,6 +103,24 @@ class JwtAuthenticationFilterTest {
         assertEquals("user123", SecurityContextHolder.getContext().getAuthentication().getPrincipal());
     }
 
+    @Test
+    void doFilterInternal_DeletedUser() throws Exception {
+        String token = "validToken";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.extractTokenFromHeader(anyString())).thenReturn(token);
+        when(jwtService.validateToken(token)).thenReturn(true);
+        when(jwtService.getUserIdFromToken(token)).thenReturn("user123");
+        when(jwtService.getEmailFromToken(token)).thenReturn("user@example.com");
+        when(userRepository.existsByIdAndDeletedAtIsNull("user123")).thenReturn(false);
+
+        filter.doFilterInternal(request, response, filterChain);
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(2)).doFilter(request, response);
+        verify(userRepository, times(1)).existsByIdAndDeletedAtIsNull("user123");
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
     @Test
     void doFilterInternal_InvalidToken() throws Exception {
         String token = "invalidToken";
@@ -11,16 +11,26 @@ import com.uade.bookybe.core.exception.OpenAIServiceException;
 import com.uade.bookybe.core.model.Book;
 import com.uade.bookybe.core.model.ReadingClub;
 import com.uade.bookybe.core.model.SceneImageGeneration;
+import com.uade.bookybe.core.model.constant.SceneImageStatus;
 import com.uade.bookybe.core.model.dto.ImageResult;
 import com.uade.bookybe.core.model.dto.SceneImageRequest;
 import com.uade.bookybe.core.model.dto.SceneImageResponse;
+import com.uade.bookybe.core.model.dto.SceneImageSummary;
+import com.uade.bookybe.core.model.dto.StoredImage;
 import com.uade.bookybe.core.port.SceneImageGenerationRepository;
 import com.uade.bookybe.core.service.gateway.OpenAIClient;
 import com.uade.bookybe.core.usecase.BookService;
 import com.uade.bookybe.core.usecase.ReadingClubService;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -34,9 +44,59 @@ class SceneImageServiceTest {
   @Mock private SceneImageGenerationRepository sceneImageGenerationRepository;
   @Mock private PromptCraftService promptCraftService;
   @Mock private OpenAIClient openAIClient;
+  @Mock private SceneImageStorageService sceneImageStorageService;
   @Mock private SceneImageConfig sceneImageConfig;
 
-  @InjectMocks private SceneImageService sut;
+  private SceneImageService sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = service(Runnable::run);
+  }
+
+  private SceneImageService service(Executor executor) {
+    return new SceneImageService(
+        bookService,
+        readingClubService,
+        sceneImageGenerationRepository,
+        promptCraftService,
+        openAIClient,
+        sceneImageStorageService,
+        sceneImageConfig,
+        executor);
+  }
+
+  /**
+   * Saves return the same instance, with ids 10, 11... as the database would assign, and every
+   * status transition applies
+   */
+  private void givenSavesAssignId() {
+    lenient()
+        .when(sceneImageGenerationRepository.transitionStatus(any(), any(), any(), any()))
+        .thenReturn(1);
+    AtomicLong ids = new AtomicLong(10);
+    given(sceneImageGenerationRepository.save(any(SceneImageGeneration.class)))
+        .willAnswer(
+            inv -> {
+              SceneImageGeneration generation = inv.getArgument(0, SceneImageGeneration.class);
+              if (generation.getId() == null) {
+                generation.setId(ids.getAndIncrement());
+              }
+              return generation;
+            });
+  }
+
+  private void givenStoredImage() {
+    given(sceneImageStorageService.store(any(ImageResult.class)))
+        .willReturn(
+            StoredImage.builder()
+                .url("https://storage/scene.png")
+                .thumbnailUrl("https://storage/thumbnails/scene.jpg")
+                .width(2048)
+                .height(1024)
+                .sizeBytes(3_000_000L)
+                .build());
+  }
 
   private static SceneImageRequest req(
       String text, String size, String style, Integer seed, Boolean returnBase64) {
@@ -173,15 +233,17 @@ class SceneImageServiceTest {
             .fragmentHash("hash")
             .craftedPrompt("p")
             .imageUrl("url")
-            .imageBase64(null)
+            .imageSizeBytes(1000L)
             .size("2048x1024")
             .style("photorealistic")
             .seed(1)
             .createdAt(LocalDateTime.now())
             .build();
 
-    given(sceneImageGenerationRepository.findByReadingClubIdAndFragmentHash(eq("rc1"), anyString()))
-        .willReturn(Optional.of(existing));
+    given(
+            sceneImageGenerationRepository.findReusableByReadingClubIdAndFragmentHash(
+                eq("rc1"), anyString(), eq(SceneImageStatus.FAILED)))
+        .willReturn(List.of(existing));
 
     SceneImageRequest request = req("Texto valido", "2048x1024", "photorealistic", 1, false);
 
@@ -194,6 +256,7 @@ class SceneImageServiceTest {
     assertEquals("p", response.getCraftedPrompt());
     assertEquals("url", response.getImageUrl());
     assertEquals("2048x1024", response.getSize());
+    assertEquals(SceneImageStatus.COMPLETED, response.getStatus());
 
     then(openAIClient).shouldHaveNoInteractions();
     then(promptCraftService).shouldHaveNoInteractions();
@@ -201,22 +264,44 @@ class SceneImageServiceTest {
   }
 
   @Test
-  void generateSceneImage_deberiaForzarUrl_siSizeGrande_yReturnBase64True() {
+  void generateSceneImage_deberiaRegenerar_siLaExistenteNoEstaEnNuestroStorage() {
     // given
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
     given(sceneImageConfig.getMinTextLength()).willReturn(1);
     given(sceneImageConfig.getMaxTextLength()).willReturn(2000);
+    given(readingClubService.getReadingClubById("rc1"))
+        .willReturn(Optional.of(ReadingClub.builder().id("rc1").bookId("b1").build()));
+    given(bookService.getBookById("b1"))
+        .willReturn(Optional.of(Book.builder().id("b1").title("Book").isbn("x").build()));
+    givenSavesAssignId();
+    SceneImageGeneration legacy =
+        SceneImageGeneration.builder()
+            .id(3L)
+            .bookId("b1")
+            .readingClubId("rc1")
+            .imageUrl("https://openai/expired")
+            .size("2048x1024")
+            .build();
+    given(
+            sceneImageGenerationRepository.findReusableByReadingClubIdAndFragmentHash(
+                eq("rc1"), anyString(), eq(SceneImageStatus.FAILED)))
+        .willReturn(List.of(legacy));
 
-    ReadingClub club = ReadingClub.builder().id("rc1").bookId("b1").build();
-    given(readingClubService.getReadingClubById("rc1")).willReturn(Optional.of(club));
-
-    Book book = Book.builder().id("b1").title("Book").isbn("x").build();
-    given(bookService.getBookById("b1")).willReturn(Optional.of(book));
+    // when
+    SceneImageResponse response =
+        sut.generateSceneImage("rc1", req("texto valido", "2048x1024", null, null, null));
 
-    given(sceneImageGenerationRepository.findByReadingClubIdAndFragmentHash(eq("rc1"), anyString()))
-        .willReturn(Optional.empty());
+    // then
+    assertEquals(10L, response.getId());
+    assertEquals(SceneImageStatus.PENDING, response.getStatus());
+    assertEquals(1, queued.size());
+  }
 
-    given(promptCraftService.buildPrompt(eq(book), anyString(), eq("photorealistic")))
-        .willReturn("crafted");
+  @Test
+  void generateSceneImage_deberiaForzarUrl_siSizeGrande_yReturnBase64True() {
+    // given
+    givenValidClubAndBook("photorealistic", "crafted");
 
     ImageResult imageResult =
         ImageResult.builder()
@@ -230,9 +315,9 @@ class SceneImageServiceTest {
     // size grande => 4096x2048; returnBase64 true pero se fuerza false
     given(openAIClient.generateImage(eq("crafted"), eq("4096x2048"), any(), eq(false)))
         .willReturn(imageResult);
+    givenStoredImage();
 
-    given(sceneImageGenerationRepository.save(any(SceneImageGeneration.class)))
-        .willAnswer(inv -> inv.getArgument(0, SceneImageGeneration.class));
+    givenSavesAssignId();
 
     SceneImageRequest request = req("texto valido", "4096x2048", null, 7, true);
 
@@ -240,43 +325,57 @@ class SceneImageServiceTest {
         ArgumentCaptor.forClass(SceneImageGeneration.class);
 
     // when
-    SceneImageResponse response = sut.generateSceneImage("rc1", request);
+    sut.generateSceneImage("rc1", request);
 
-    // then
-    assertNotNull(response);
-    assertEquals("b1", response.getBookId());
-    assertEquals("crafted", response.getCraftedPrompt());
-    assertEquals("https://img", response.getImageUrl());
-    assertEquals("4096x2048", response.getSize());
-    assertEquals("photorealistic", response.getStyle());
-    assertEquals(7, response.getSeed());
-
-    then(sceneImageGenerationRepository).should().save(captor.capture());
+    // then: pending, running y completed
+    then(sceneImageGenerationRepository).should(times(3)).save(captor.capture());
     SceneImageGeneration saved = captor.getValue();
+    assertEquals(SceneImageStatus.COMPLETED, saved.getStatus());
     assertEquals("b1", saved.getBookId());
     assertEquals("rc1", saved.getReadingClubId());
     assertEquals("crafted", saved.getCraftedPrompt());
-    assertEquals("https://img", saved.getImageUrl());
+    assertEquals("https://storage/scene.png", saved.getImageUrl());
+    assertEquals("4096x2048", saved.getSize());
+    assertEquals("photorealistic", saved.getStyle());
+    assertEquals(7, saved.getSeed());
     assertNull(saved.getImageBase64());
+    assertNotNull(saved.getCompletedAt());
   }
 
   @Test
-  void generateSceneImage_deberiaGenerar_yGuardar_yRetornarResponse_cuandoNoExiste() {
+  void generateSceneImage_deberiaGuardarPendiente_yDevolverlo_antesDeLlamarAOpenAI() {
     // given
-    given(sceneImageConfig.getMinTextLength()).willReturn(1);
-    given(sceneImageConfig.getMaxTextLength()).willReturn(2000);
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
+    givenValidClubAndBook("anime", "crafted-anime");
+    givenSavesAssignId();
 
-    ReadingClub club = ReadingClub.builder().id("rc1").bookId("b1").build();
-    given(readingClubService.getReadingClubById("rc1")).willReturn(Optional.of(club));
+    SceneImageRequest request = req("texto valido", "2048x1024", "anime", 42, true);
 
-    Book book = Book.builder().id("b1").title("Book").isbn("x").build();
-    given(bookService.getBookById("b1")).willReturn(Optional.of(book));
+    // when
+    SceneImageResponse response = sut.generateSceneImage("rc1", request);
 
-    given(sceneImageGenerationRepository.findByReadingClubIdAndFragmentHash(eq("rc1"), anyString()))
-        .willReturn(Optional.empty());
+    // then
+    assertEquals(10L, response.getId());
+    assertEquals(SceneImageStatus.PENDING, response.getStatus());
+    assertEquals("b1", response.getBookId());
+    assertEquals("2048x1024", response.getSize());
+    assertEquals("anime", response.getStyle());
+    assertEquals(42, response.getSeed());
+    assertNull(response.getCraftedPrompt());
+    assertNotNull(response.getCreatedAt());
+    assertEquals(1, queued.size());
+    then(promptCraftService).shouldHaveNoInteractions();
+    then(openAIClient).shouldHaveNoInteractions();
+  }
 
-    given(promptCraftService.buildPrompt(eq(book), anyString(), eq("anime")))
-        .willReturn("crafted-anime");
+  @Test
+  void generateSceneImage_deberiaGenerar_yGuardar_enElWorker() {
+    // given
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
+    givenValidClubAndBook("anime", "crafted-anime");
+    givenSavesAssignId();
 
     ImageResult imageResult =
         ImageResult.builder()
@@ -289,36 +388,479 @@ class SceneImageServiceTest {
 
     given(openAIClient.generateImage(eq("crafted-anime"), eq("2048x1024"), eq(42), eq(true)))
         .willReturn(imageResult);
+    givenStoredImage();
+
+    SceneImageRequest request = req("texto valido", "2048x1024", "anime", 42, false);
+    sut.generateSceneImage("rc1", request);
+
+    List<SceneImageStatus> seen = new ArrayList<>();
+    given(sceneImageGenerationRepository.findById(10L))
+        .willReturn(
+            Optional.of(
+                SceneImageGeneration.builder()
+                    .id(10L)
+                    .readingClubId("rc1")
+                    .status(SceneImageStatus.PENDING)
+                    .build()));
+    assertTrue(sut.watchSceneImage("rc1", 10L, update -> seen.add(update.getStatus())));
 
-    given(sceneImageGenerationRepository.save(any(SceneImageGeneration.class)))
-        .willAnswer(inv -> inv.getArgument(0, SceneImageGeneration.class));
+    // when
+    queued.get(0).run();
 
-    SceneImageRequest request = req("texto valido", "2048x1024", "anime", 42, true);
+    // then
+    assertEquals(
+        List.of(SceneImageStatus.PENDING, SceneImageStatus.RUNNING, SceneImageStatus.COMPLETED),
+        seen);
+
+    ArgumentCaptor<SceneImageGeneration> captor =
+        ArgumentCaptor.forClass(SceneImageGeneration.class);
+    then(sceneImageGenerationRepository).should(times(3)).save(captor.capture());
+    SceneImageGeneration saved = captor.getValue();
+    assertEquals("crafted-anime", saved.getCraftedPrompt());
+    assertNull(saved.getImageBase64());
+    assertEquals("https://storage/scene.png", saved.getImageUrl());
+    assertEquals("https://storage/thumbnails/scene.jpg", saved.getThumbnailUrl());
+    assertEquals(2048, saved.getImageWidth());
+    assertEquals(1024, saved.getImageHeight());
+    assertEquals(3_000_000L, saved.getImageSizeBytes());
+    assertEquals(456L, saved.getOpenaiResponseTimeMs());
+    assertEquals(99, saved.getPromptTokens());
+    assertEquals(0.02, saved.getTotalCostUsd());
+  }
+
+  @Test
+  void generateSceneImage_deberiaMarcarFailed_siCualquierPasoFalla() {
+    // given
+    givenValidClubAndBook("photorealistic", null);
+    given(promptCraftService.buildPrompt(any(), anyString(), anyString()))
+        .willThrow(new RuntimeException("boom"));
+    givenSavesAssignId();
+
+    SceneImageRequest request = req("texto valido", null, null, null, null);
 
     // when
     SceneImageResponse response = sut.generateSceneImage("rc1", request);
 
     // then
-    assertNotNull(response);
-    assertEquals("b1", response.getBookId());
+    assertEquals(10L, response.getId());
+    ArgumentCaptor<SceneImageGeneration> captor =
+        ArgumentCaptor.forClass(SceneImageGeneration.class);
+    then(sceneImageGenerationRepository).should(times(3)).save(captor.capture());
+    SceneImageGeneration saved = captor.getValue();
+    assertEquals(SceneImageStatus.FAILED, saved.getStatus());
+    assertTrue(saved.getErrorMessage().toLowerCase().contains("failed"));
+    assertTrue(saved.getErrorMessage().contains("boom"));
+    then(openAIClient).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void generateSceneImage_deberiaMarcarFailed_siNoSePuedeGuardarLaImagen() {
+    // given
+    givenValidClubAndBook("photorealistic", "crafted");
+    given(openAIClient.generateImage(anyString(), anyString(), any(), anyBoolean()))
+        .willReturn(ImageResult.builder().url("https://img").responseTimeMs(1L).build());
+    given(sceneImageStorageService.store(any(ImageResult.class)))
+        .willThrow(new IllegalStateException("Could not store generated image"));
+    givenSavesAssignId();
+
+    // when
+    sut.generateSceneImage("rc1", req("texto valido", "2048x1024", null, null, null));
+
+    // then
+    ArgumentCaptor<SceneImageGeneration> captor =
+        ArgumentCaptor.forClass(SceneImageGeneration.class);
+    then(sceneImageGenerationRepository).should(times(3)).save(captor.capture());
+    SceneImageGeneration saved = captor.getValue();
+    assertEquals(SceneImageStatus.FAILED, saved.getStatus());
+    assertTrue(saved.getErrorMessage().contains("Could not store"));
+    assertNull(saved.getImageUrl());
+  }
+
+  @Test
+  void generateSceneImage_deberiaLanzarOpenAIServiceException_yBorrarPendiente_siLaColaEstaLlena() {
+    // given
+    sut =
+        service(
+            task -> {
+              throw new RejectedExecutionException("full");
+            });
+    givenValidClubAndBook("photorealistic", null);
+    givenSavesAssignId();
+
+    SceneImageRequest request = req("texto valido", null, null, null, null);
+
+    // when + then
+    OpenAIServiceException ex =
+        assertThrows(OpenAIServiceException.class, () -> sut.generateSceneImage("rc1", request));
+    assertTrue(ex.getMessage().toLowerCase().contains("queue"));
+    then(sceneImageGenerationRepository).should().delete(any(SceneImageGeneration.class));
+  }
+
+  // ---------------- deduplication ----------------
+
+  @Test
+  void generateSceneImage_deberiaCopiarLaImagenDeOtroClub_siCoincidenLosParametros() {
+    // given
+    givenValidClubAndBook("anime", null);
+    givenSavesAssignId();
+    SceneImageGeneration otherClub =
+        SceneImageGeneration.builder()
+            .id(3L)
+            .bookId("b1")
+            .readingClubId("rc9")
+            .fragmentHash("ignored")
+            .size("2048x1024")
+            .style("anime")
+            .seed(42)
+            .craftedPrompt("crafted-anime")
+            .imageUrl("https://img")
+            .thumbnailUrl("https://thumb")
+            .imageWidth(2048)
+            .imageHeight(1024)
+            .imageSizeBytes(1000L)
+            .status(SceneImageStatus.COMPLETED)
+            .build();
+    given(sceneImageGenerationRepository.findByBookIdAndFragmentHashOrderByCreatedAtDesc(
+            eq("b1"), anyString()))
+        .willAnswer(
+            inv -> {
+              otherClub.setFragmentHash(inv.getArgument(1));
+              return List.of(otherClub);
+            });
+
+    // when
+    SceneImageResponse response =
+        sut.generateSceneImage("rc1", req("texto valido", "2048x1024", "anime", 42, false));
+
+    // then
+    assertEquals(SceneImageStatus.COMPLETED, response.getStatus());
+    assertEquals(10L, response.getId());
     assertEquals("crafted-anime", response.getCraftedPrompt());
-    assertEquals("2048x1024", response.getSize());
-    assertEquals("anime", response.getStyle());
-    assertEquals(42, response.getSeed());
-    assertEquals("b64", response.getImageBase64());
-    assertNotNull(response.getCreatedAt());
+    assertEquals("https://img", response.getImageUrl());
+    assertEquals("https://thumb", response.getThumbnailUrl());
+    assertEquals(2048, response.getWidth());
+    assertEquals(1000L, response.getSizeBytes());
+
+    ArgumentCaptor<SceneImageGeneration> captor =
+        ArgumentCaptor.forClass(SceneImageGeneration.class);
+    then(sceneImageGenerationRepository).should().save(captor.capture());
+    assertEquals("rc1", captor.getValue().getReadingClubId());
+    assertNull(captor.getValue().getTotalCostUsd());
+    then(promptCraftService).shouldHaveNoInteractions();
+    then(openAIClient).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void generateSceneImage_noDeberiaReutilizarOtroClub_siCambiaElEstilo() {
+    // given
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
+    givenValidClubAndBook("anime", null);
+    givenSavesAssignId();
+    given(sceneImageGenerationRepository.findByBookIdAndFragmentHashOrderByCreatedAtDesc(
+            eq("b1"), anyString()))
+        .willAnswer(
+            inv ->
+                List.of(
+                    SceneImageGeneration.builder()
+                        .bookId("b1")
+                        .readingClubId("rc9")
+                        .fragmentHash(inv.getArgument(1))
+                        .size("2048x1024")
+                        .style("photorealistic")
+                        .imageUrl("https://img")
+                        .imageSizeBytes(1000L)
+                        .status(SceneImageStatus.COMPLETED)
+                        .build()));
+
+    // when
+    SceneImageResponse response =
+        sut.generateSceneImage("rc1", req("texto valido", "2048x1024", "anime", null, false));
+
+    // then
+    assertEquals(SceneImageStatus.PENDING, response.getStatus());
+    assertEquals(1, queued.size());
+  }
+
+  @Test
+  void generateSceneImage_deberiaGenerarUnaSolaVez_siOtroClubPideLoMismoEnParalelo() {
+    // given
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
+    givenValidClubAndBook("anime", "crafted-anime");
+    given(readingClubService.getReadingClubById("rc2"))
+        .willReturn(Optional.of(ReadingClub.builder().id("rc2").bookId("b1").build()));
+    given(
+            sceneImageGenerationRepository.findReusableByReadingClubIdAndFragmentHash(
+                eq("rc2"), anyString(), eq(SceneImageStatus.FAILED)))
+        .willReturn(List.of());
+    givenSavesAssignId();
+    given(openAIClient.generateImage(eq("crafted-anime"), eq("2048x1024"), eq(42), eq(true)))
+        .willReturn(ImageResult.builder().base64("b64").responseTimeMs(1L).build());
+    givenStoredImage();
+
+    SceneImageRequest request = req("texto valido", "2048x1024", "anime", 42, false);
+
+    // when
+    SceneImageResponse leader = sut.generateSceneImage("rc1", request);
+    SceneImageResponse follower = sut.generateSceneImage("rc2", request);
+    queued.forEach(Runnable::run);
+
+    // then
+    assertEquals(1, queued.size());
+    assertEquals(10L, leader.getId());
+    assertEquals(11L, follower.getId());
+    assertEquals(SceneImageStatus.PENDING, follower.getStatus());
+    then(openAIClient).should(times(1)).generateImage(anyString(), anyString(), any(), anyBoolean());
+
+    ArgumentCaptor<SceneImageGeneration> captor =
+        ArgumentCaptor.forClass(SceneImageGeneration.class);
+    then(sceneImageGenerationRepository).should(atLeastOnce()).save(captor.capture());
+    SceneImageGeneration followerRow =
+        captor.getAllValues().stream().filter(g -> g.getId() == 11L).reduce((a, b) -> b).orElseThrow();
+    assertEquals("rc2", followerRow.getReadingClubId());
+    assertEquals(SceneImageStatus.COMPLETED, followerRow.getStatus());
+    assertEquals("https://storage/scene.png", followerRow.getImageUrl());
+    assertEquals(3_000_000L, followerRow.getImageSizeBytes());
+    assertEquals("crafted-anime", followerRow.getCraftedPrompt());
+  }
+
+  @Test
+  void generateSceneImage_deberiaDevolverElJobEnCurso_siElMismoClubLoPideDosVeces() {
+    // given
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
+    givenValidClubAndBook("anime", null);
+    givenSavesAssignId();
+    SceneImageRequest request = req("texto valido", "2048x1024", "anime", 42, false);
+
+    // when
+    SceneImageResponse first = sut.generateSceneImage("rc1", request);
+    SceneImageResponse second = sut.generateSceneImage("rc1", request);
+
+    // then
+    assertEquals(first.getId(), second.getId());
+    assertEquals(1, queued.size());
+    then(sceneImageGenerationRepository).should(times(1)).save(any(SceneImageGeneration.class));
+  }
+
+  @Test
+  void generateSceneImage_deberiaFallarAlSeguidor_siFallaElLider() {
+    // given
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
+    givenValidClubAndBook("anime", null);
+    given(readingClubService.getReadingClubById("rc2"))
+        .willReturn(Optional.of(ReadingClub.builder().id("rc2").bookId("b1").build()));
+    given(promptCraftService.buildPrompt(any(), anyString(), anyString()))
+        .willThrow(new RuntimeException("boom"));
+    givenSavesAssignId();
+    SceneImageRequest request = req("texto valido", "2048x1024", "anime", null, false);
+
+    // when
+    sut.generateSceneImage("rc1", request);
+    sut.generateSceneImage("rc2", request);
+    queued.forEach(Runnable::run);
+
+    // then
+    ArgumentCaptor<SceneImageGeneration> captor =
+        ArgumentCaptor.forClass(SceneImageGeneration.class);
+    then(sceneImageGenerationRepository).should(atLeastOnce()).save(captor.capture());
+    SceneImageGeneration followerRow =
+        captor.getAllValues().stream().filter(g -> g.getId() == 11L).reduce((a, b) -> b).orElseThrow();
+    assertEquals(SceneImageStatus.FAILED, followerRow.getStatus());
+    assertTrue(followerRow.getErrorMessage().contains("boom"));
+  }
+
+  // ---------------- status ----------------
+
+  @Test
+  void getSceneImage_deberiaDevolverEmpty_siLaGeneracionEsDeOtroClub() {
+    // given
+    given(sceneImageGenerationRepository.findById(10L))
+        .willReturn(
+            Optional.of(
+                SceneImageGeneration.builder()
+                    .id(10L)
+                    .readingClubId("rc2")
+                    .status(SceneImageStatus.COMPLETED)
+                    .build()));
+
+    // when + then
+    assertTrue(sut.getSceneImage("rc1", 10L).isEmpty());
+  }
 
-    then(openAIClient)
+  @Test
+  void getSceneImage_deberiaTratarComoCompletadas_lasGeneracionesSinEstado() {
+    // given
+    given(sceneImageGenerationRepository.findById(10L))
+        .willReturn(
+            Optional.of(
+                SceneImageGeneration.builder().id(10L).readingClubId("rc1").imageUrl("u").build()));
+
+    // when
+    SceneImageResponse response = sut.getSceneImage("rc1", 10L).orElseThrow();
+
+    // then
+    assertEquals(SceneImageStatus.COMPLETED, response.getStatus());
+  }
+
+  @Test
+  void watchSceneImage_deberiaEnviarSoloElEstadoFinal_siYaTermino() {
+    // given
+    given(sceneImageGenerationRepository.findById(10L))
+        .willReturn(
+            Optional.of(
+                SceneImageGeneration.builder()
+                    .id(10L)
+                    .readingClubId("rc1")
+                    .status(SceneImageStatus.FAILED)
+                    .build()));
+    List<SceneImageResponse> seen = new ArrayList<>();
+
+    // when
+    boolean found = sut.watchSceneImage("rc1", 10L, seen::add);
+
+    // then
+    assertTrue(found);
+    assertEquals(1, seen.size());
+    assertEquals(SceneImageStatus.FAILED, seen.get(0).getStatus());
+  }
+
+  @Test
+  void unwatchSceneImage_deberiaDejarDeAvisarle_alListenerQueSeFue() {
+    // given
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
+    givenValidClubAndBook("anime", "crafted-anime");
+    givenSavesAssignId();
+    sut.generateSceneImage("rc1", req("texto valido", "2048x1024", "anime", 42, false));
+    given(sceneImageGenerationRepository.findById(10L))
+        .willReturn(
+            Optional.of(
+                SceneImageGeneration.builder()
+                    .id(10L)
+                    .readingClubId("rc1")
+                    .status(SceneImageStatus.PENDING)
+                    .build()));
+    List<SceneImageStatus> seen = new ArrayList<>();
+    Consumer<SceneImageResponse> listener = update -> seen.add(update.getStatus());
+    sut.watchSceneImage("rc1", 10L, listener);
+
+    // when
+    sut.unwatchSceneImage(10L, listener);
+    queued.get(0).run();
+
+    // then: solo el estado inicial que recibió al suscribirse
+    assertEquals(List.of(SceneImageStatus.PENDING), seen);
+  }
+
+  @Test
+  void watchSceneImage_deberiaRetornarFalse_siNoExiste() {
+    // given
+    given(sceneImageGenerationRepository.findById(10L)).willReturn(Optional.empty());
+    List<SceneImageResponse> seen = new ArrayList<>();
+
+    // when + then
+    assertFalse(sut.watchSceneImage("rc1", 10L, seen::add));
+    assertTrue(seen.isEmpty());
+  }
+
+  @Test
+  void failStaleGenerations_deberiaFallarLosJobsSinCambiosDesdeElTimeout() {
+    // given
+    given(sceneImageConfig.getJobTimeout()).willReturn(Duration.ofMinutes(10));
+    given(sceneImageGenerationRepository.findStaleIds(eq(List.of(SceneImageStatus.PENDING, SceneImageStatus.RUNNING)), any()))
+        .willReturn(List.of(3L));
+    LocalDateTime before = LocalDateTime.now();
+
+    // when
+    sut.failStaleGenerations();
+
+    // then
+    ArgumentCaptor<LocalDateTime> updatedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+    then(sceneImageGenerationRepository)
+        .should()
+        .failStaleGenerations(
+            eq(List.of(3L)),
+            eq(List.of(SceneImageStatus.PENDING, SceneImageStatus.RUNNING)),
+            updatedBefore.capture(),
+            eq(SceneImageStatus.FAILED),
+            anyString(),
+            any(LocalDateTime.class));
+    assertFalse(updatedBefore.getValue().isAfter(before.minusMinutes(10).plusSeconds(1)));
+  }
+
+  @Test
+  void failStaleGenerations_noDeberiaFallarLosJobsDeEsteNodo_yAvisarALosWatchersDeLosDemas() {
+    // given: el job 10 está encolado acá, el 3 quedó colgado en otro nodo
+    List<Runnable> queued = new ArrayList<>();
+    sut = service(queued::add);
+    givenValidClubAndBook("anime", null);
+    givenSavesAssignId();
+    sut.generateSceneImage("rc1", req("texto valido", "2048x1024", "anime", 42, false));
+
+    SceneImageGeneration stale = SceneImageGeneration.builder()
+        .id(3L)
+        .readingClubId("rc1")
+        .status(SceneImageStatus.RUNNING)
+        .build();
+    given(sceneImageGenerationRepository.findById(3L)).willReturn(Optional.of(stale));
+    List<SceneImageStatus> seen = new ArrayList<>();
+    sut.watchSceneImage("rc1", 3L, update -> seen.add(update.getStatus()));
+
+    given(sceneImageConfig.getJobTimeout()).willReturn(Duration.ofMinutes(10));
+    given(sceneImageGenerationRepository.findStaleIds(any(), any())).willReturn(List.of(3L, 10L));
+    given(sceneImageGenerationRepository.failStaleGenerations(any(), any(), any(), any(), any(), any()))
+        .willAnswer(inv -> {
+          stale.setStatus(SceneImageStatus.FAILED);
+          return 1;
+        });
+
+    // when
+    sut.failStaleGenerations();
+
+    // then
+    then(sceneImageGenerationRepository)
         .should()
-        .generateImage(eq("crafted-anime"), eq("2048x1024"), eq(42), eq(true));
-    then(sceneImageGenerationRepository).should().save(any(SceneImageGeneration.class));
+        .failStaleGenerations(eq(List.of(3L)), any(), any(), any(), any(), any());
+    assertEquals(List.of(SceneImageStatus.RUNNING, SceneImageStatus.FAILED), seen);
   }
 
   @Test
-  void generateSceneImage_deberiaLanzarOpenAIServiceException_siCualquierPasoFalla() {
+  void generateSceneImage_noDeberiaPisarElFailed_siElSweepLoFalloMientrasCorria() {
     // given
+    givenValidClubAndBook("anime", "crafted-anime");
+    givenSavesAssignId();
+    given(openAIClient.generateImage(anyString(), anyString(), any(), anyBoolean()))
+        .willReturn(ImageResult.builder().base64("b64").responseTimeMs(1L).build());
+    givenStoredImage();
+    // otro nodo lo marcó FAILED: RUNNING -> COMPLETED ya no aplica
+    given(sceneImageGenerationRepository.transitionStatus(
+            any(), eq(List.of(SceneImageStatus.RUNNING)), eq(SceneImageStatus.COMPLETED), any()))
+        .willReturn(0);
+    given(sceneImageGenerationRepository.findById(10L))
+        .willReturn(
+            Optional.of(
+                SceneImageGeneration.builder()
+                    .id(10L)
+                    .readingClubId("rc1")
+                    .status(SceneImageStatus.FAILED)
+                    .errorMessage("Generation did not finish in time")
+                    .build()));
+
+    // when
+    sut.generateSceneImage("rc1", req("texto valido", "2048x1024", "anime", 42, false));
+
+    // then: solo el insert y el RUNNING; el resultado no se guarda sobre el FAILED
+    then(sceneImageGenerationRepository).should(times(2)).save(any(SceneImageGeneration.class));
+    then(sceneImageGenerationRepository).should().findById(10L);
+  }
+
+  private void givenValidClubAndBook(String style, String craftedPrompt) {
     given(sceneImageConfig.getMinTextLength()).willReturn(1);
     given(sceneImageConfig.getMaxTextLength()).willReturn(2000);
+    lenient().when(sceneImageConfig.getDefaultSize()).thenReturn("1024x1024");
 
     ReadingClub club = ReadingClub.builder().id("rc1").bookId("b1").build();
     given(readingClubService.getReadingClubById("rc1")).willReturn(Optional.of(club));
@@ -326,18 +868,16 @@ class SceneImageServiceTest {
     Book book = Book.builder().id("b1").title("Book").isbn("x").build();
     given(bookService.getBookById("b1")).willReturn(Optional.of(book));
 
-    given(sceneImageGenerationRepository.findByReadingClubIdAndFragmentHash(eq("rc1"), anyString()))
-        .willReturn(Optional.empty());
-
-    given(promptCraftService.buildPrompt(any(), anyString(), anyString()))
-        .willThrow(new RuntimeException("boom"));
-
-    SceneImageRequest request = req("texto valido", null, null, null, null);
+    given(
+            sceneImageGenerationRepository.findReusableByReadingClubIdAndFragmentHash(
+                eq("rc1"), anyString(), eq(SceneImageStatus.FAILED)))
+        .willReturn(List.of());
 
-    // when + then
-    OpenAIServiceException ex =
-        assertThrows(OpenAIServiceException.class, () -> sut.generateSceneImage("rc1", request));
-    assertTrue(ex.getMessage().toLowerCase().contains("failed"));
+    if (craftedPrompt != null) {
+      lenient()
+          .when(promptCraftService.buildPrompt(eq(book), anyString(), eq(style)))
+          .thenReturn(craftedPrompt);
+    }
   }
 
   // ---------------- passthrough methods ----------------
@@ -345,31 +885,36 @@ class SceneImageServiceTest {
   @Test
   void getBookSceneGenerations_deberiaDelegarEnRepo() {
     // given
-    given(sceneImageGenerationRepository.findByBookIdOrderByCreatedAtDesc("b1"))
-        .willReturn(List.of(SceneImageGeneration.builder().id(1L).build()));
+    given(sceneImageGenerationRepository.findSummariesByBookId("b1"))
+        .willReturn(
+            List.of(
+                SceneImageSummary.builder().id(1L).status(SceneImageStatus.RUNNING).build()));
 
     // when
-    List<SceneImageGeneration> result = sut.getBookSceneGenerations("b1");
+    List<SceneImageSummary> result = sut.getBookSceneGenerations("b1");
 
     // then
     assertEquals(1, result.size());
     assertEquals(1l, result.get(0).getId());
-    then(sceneImageGenerationRepository).should().findByBookIdOrderByCreatedAtDesc("b1");
+    assertEquals(SceneImageStatus.RUNNING, result.get(0).getStatus());
+    then(sceneImageGenerationRepository).should().findSummariesByBookId("b1");
   }
 
   @Test
-  void getReadingClubSceneGenerations_deberiaDelegarEnRepo() {
+  void getReadingClubSceneGenerations_deberiaDelegarEnRepo_yCompletarLasQueNoTienenEstado() {
     // given
-    given(sceneImageGenerationRepository.findByReadingClubIdOrderByCreatedAtDesc("rc1"))
-        .willReturn(List.of(SceneImageGeneration.builder().id(1L).build()));
+    given(sceneImageGenerationRepository.findSummariesByReadingClubId("rc1"))
+        .willReturn(List.of(SceneImageSummary.builder().id(1L).thumbnailUrl("t").build()));
 
     // when
-    List<SceneImageGeneration> result = sut.getReadingClubSceneGenerations("rc1");
+    List<SceneImageSummary> result = sut.getReadingClubSceneGenerations("rc1");
 
     // then
     assertEquals(1, result.size());
     assertEquals(1L, result.get(0).getId());
-    then(sceneImageGenerationRepository).should().findByReadingClubIdOrderByCreatedAtDesc("rc1");
+    assertEquals("t", result.get(0).getThumbnailUrl());
+    assertEquals(SceneImageStatus.COMPLETED, result.get(0).getStatus());
+    then(sceneImageGenerationRepository).should().findSummariesByReadingClubId("rc1");
   }
 
   @Test
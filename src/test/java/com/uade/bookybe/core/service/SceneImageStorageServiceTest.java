@@ -0,0 +1,150 @@
+package com.uade.bookybe.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.uade.bookybe.config.SceneImageConfig;
+import com.uade.bookybe.core.model.dto.ImageResult;
+import com.uade.bookybe.core.model.dto.StoredImage;
+import com.uade.bookybe.core.port.ImageStoragePort;
+import com.uade.bookybe.core.service.gateway.ImageDownloadClient;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Optional;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SceneImageStorageServiceTest {
+
+  @Mock private ImageStoragePort imageStoragePort;
+  @Mock private ImageDownloadClient imageDownloadClient;
+
+  private SceneImageConfig sceneImageConfig;
+  private SceneImageStorageService sut;
+
+  @BeforeEach
+  void setUp() {
+    sceneImageConfig = new SceneImageConfig();
+    sceneImageConfig.setStorageFolder("scenes");
+    sceneImageConfig.setThumbnailWidth(128);
+    sut = new SceneImageStorageService(imageStoragePort, imageDownloadClient, sceneImageConfig);
+  }
+
+  private static byte[] png(int width, int height) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+    return out.toByteArray();
+  }
+
+  @Test
+  void store_deberiaSubirImagenYPreview_yDevolverDimensiones_cuandoVieneEnBase64() throws Exception {
+    // given
+    byte[] image = png(1024, 512);
+    given(imageStoragePort.uploadImage(any(byte[].class), eq("image/png"), eq("scenes")))
+        .willReturn(Optional.of("https://storage/scene.png"));
+    given(imageStoragePort.uploadImage(any(byte[].class), eq("image/jpeg"), eq("scenes/thumbnails")))
+        .willReturn(Optional.of("https://storage/thumb.jpg"));
+
+    // when
+    StoredImage stored =
+        sut.store(ImageResult.builder().base64(Base64.getEncoder().encodeToString(image)).build());
+
+    // then
+    assertEquals("https://storage/scene.png", stored.getUrl());
+    assertEquals("https://storage/thumb.jpg", stored.getThumbnailUrl());
+    assertEquals(1024, stored.getWidth());
+    assertEquals(512, stored.getHeight());
+    assertEquals((long) image.length, stored.getSizeBytes());
+    then(imageDownloadClient).shouldHaveNoInteractions();
+
+    ArgumentCaptor<byte[]> thumbnail = ArgumentCaptor.forClass(byte[].class);
+    then(imageStoragePort).should().uploadImage(thumbnail.capture(), eq("image/jpeg"), anyString());
+    BufferedImage preview = ImageIO.read(new ByteArrayInputStream(thumbnail.getValue()));
+    assertEquals(128, preview.getWidth());
+    assertEquals(64, preview.getHeight());
+  }
+
+  @Test
+  void store_deberiaDescargarLaImagen_cuandoVieneComoUrl() throws Exception {
+    // given
+    byte[] image = png(256, 128);
+    given(imageDownloadClient.download("https://openai/img", sceneImageConfig.getMaxImageBytes()))
+        .willReturn(image);
+    given(imageStoragePort.uploadImage(any(byte[].class), anyString(), anyString()))
+        .willReturn(Optional.of("https://storage/x"));
+
+    // when
+    StoredImage stored = sut.store(ImageResult.builder().url("https://openai/img").build());
+
+    // then
+    assertEquals("https://storage/x", stored.getUrl());
+    assertEquals(256, stored.getWidth());
+    assertEquals(128, stored.getHeight());
+  }
+
+  @Test
+  void store_deberiaGuardarSinPreview_siFallaLaSubidaDelPreview() throws Exception {
+    // given
+    byte[] image = png(256, 128);
+    given(imageStoragePort.uploadImage(any(byte[].class), eq("image/png"), anyString()))
+        .willReturn(Optional.of("https://storage/scene.png"));
+    given(imageStoragePort.uploadImage(any(byte[].class), eq("image/jpeg"), anyString()))
+        .willReturn(Optional.empty());
+
+    // when
+    StoredImage stored =
+        sut.store(ImageResult.builder().base64(Base64.getEncoder().encodeToString(image)).build());
+
+    // then
+    assertEquals("https://storage/scene.png", stored.getUrl());
+    assertNull(stored.getThumbnailUrl());
+  }
+
+  @Test
+  void store_deberiaFallar_siNoSePuedeGuardarLaImagen() throws Exception {
+    // given
+    byte[] image = png(256, 128);
+    given(imageStoragePort.uploadImage(any(byte[].class), eq("image/png"), anyString()))
+        .willReturn(Optional.empty());
+    ImageResult result =
+        ImageResult.builder().base64(Base64.getEncoder().encodeToString(image)).build();
+
+    // when + then
+    IllegalStateException ex = assertThrows(IllegalStateException.class, () -> sut.store(result));
+    assertTrue(ex.getMessage().contains("Could not store"));
+    then(imageStoragePort).should(never()).uploadImage(any(byte[].class), eq("image/jpeg"), any());
+  }
+
+  @Test
+  void store_deberiaFallar_siLosBytesNoSonUnaImagen() {
+    // given
+    ImageResult result =
+        ImageResult.builder().base64(Base64.getEncoder().encodeToString("hola".getBytes())).build();
+
+    // when + then
+    assertThrows(IllegalStateException.class, () -> sut.store(result));
+    then(imageStoragePort).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void store_deberiaFallar_siLaImagenSuperaElMaximo() throws Exception {
+    // given
+    sceneImageConfig.setMaxImageBytes(10);
+    ImageResult result =
+        ImageResult.builder().base64(Base64.getEncoder().encodeToString(png(256, 128))).build();
+
+    // when + then
+    IllegalStateException ex = assertThrows(IllegalStateException.class, () -> sut.store(result));
+    assertTrue(ex.getMessage().contains("larger"));
+    then(imageStoragePort).shouldHaveNoInteractions();
+  }
+}
@@ -1,85 +1,291 @@
 package com.uade.bookybe.core.usecase.impl;
 
+import com.uade.bookybe.config.LivekitProps;
+import com.uade.bookybe.core.exception.UnauthorizedException;
 import com.uade.bookybe.core.model.LivekitRoom;
+import com.uade.bookybe.core.model.LivekitRoomEvent;
 import com.uade.bookybe.core.model.MeetingStatus;
+import com.uade.bookybe.core.port.LivekitRoomPort;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class DefaultLivekitRoomServiceTest {
 
-    private final DefaultLivekitRoomService sut = new DefaultLivekitRoomService();
+    private static final String ROOM = "reading-club-club1";
+    private static final String SIGNATURE = "valid-signature";
+
+    private StubLivekit livekit;
+    private DefaultLivekitRoomService sut;
+
+    @BeforeEach
+    void setUp() {
+        livekit = new StubLivekit();
+        sut = new DefaultLivekitRoomService(livekit, new LivekitProps());
+    }
 
     @Test
-    void createRoom_deberiaCrearRoomConValoresEsperados() {
+    void createRoom_deberiaCrearLaSalaEnLivekit() {
         // given
-        String roomName = "room-1";
-        LivekitRoom.RoomOptions options = LivekitRoom.RoomOptions.builder().build();
+        LivekitRoom.RoomOptions options = LivekitRoom.RoomOptions.builder().maxParticipants(10).build();
 
         // when
-        LivekitRoom room = sut.createRoom(roomName, options);
+        LivekitRoom room = sut.createRoom(ROOM, options);
 
         // then
-        assertNotNull(room);
-        assertEquals(roomName, room.getName());
-        assertFalse(room.isActive());
-        assertEquals(0, room.getParticipantCount());
-        assertNotNull(room.getCreatedAt());
-        assertTrue(room.getCreatedAt().isBefore(LocalDateTime.now().plusSeconds(1)));
+        assertEquals(ROOM, room.getName());
+        assertNotNull(room.getSid());
         assertEquals(options, room.getOptions());
+        assertTrue(livekit.rooms.containsKey(ROOM));
     }
 
     @Test
-    void getRoom_deberiaRetornarEmpty() {
+    void getRoomStatus_deberiaServirseDeMemoria_despuesDeLaPrimeraLectura() {
+        // given
+        livekit.start(ROOM, "RM_1", "u1", "u2");
+
         // when
-        Optional<LivekitRoom> result = sut.getRoom("room-1");
+        MeetingStatus first = sut.getRoomStatus(ROOM);
+        MeetingStatus second = sut.getRoomStatus(ROOM);
 
         // then
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(first.isExists());
+        assertTrue(first.isActive());
+        assertEquals(2, first.getParticipantCount());
+        assertEquals(ROOM, first.getRoomName());
+        assertEquals(livekit.creationTime, first.getCreationTime());
+        assertNotNull(first.getStartedAt());
+        assertEquals(first, second);
+        assertEquals(1, livekit.getRoomCalls);
+        assertEquals(1, livekit.listParticipantsCalls);
     }
 
     @Test
-    void deleteRoom_deberiaRetornarTrue() {
+    void getRoomStatus_deberiaDevolverInexistente_siLaSalaNoExiste() {
         // when
-        boolean result = sut.deleteRoom("room-1");
+        MeetingStatus status = sut.getRoomStatus(ROOM);
+        sut.getRoomStatus(ROOM);
 
         // then
-        assertTrue(result);
+        assertFalse(status.isExists());
+        assertFalse(status.isActive());
+        assertEquals(0, status.getParticipantCount());
+        assertEquals(1, livekit.getRoomCalls);
     }
 
     @Test
-    void getParticipants_deberiaRetornarListaVacia() {
+    void getRoomStatus_deberiaReintentar_siLivekitFalla() {
+        // given
+        livekit.failing = true;
+
         // when
-        List<String> result = sut.getParticipants("room-1");
+        MeetingStatus failed = sut.getRoomStatus(ROOM);
+        livekit.failing = false;
+        livekit.start(ROOM, "RM_1", "u1");
+        MeetingStatus recovered = sut.getRoomStatus(ROOM);
 
         // then
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertFalse(failed.isExists());
+        assertTrue(recovered.isExists());
+        assertEquals(1, recovered.getParticipantCount());
     }
 
     @Test
-    void getRoomStatus_deberiaRetornarStatusBasico() {
+    void handleWebhook_deberiaActualizarParticipantes_sinLlamarALivekit() {
         // given
-        String roomName = "room-1";
+        sut.createRoom(ROOM, LivekitRoom.RoomOptions.builder().build());
+        String sid = livekit.rooms.get(ROOM).getSid();
+
+        // when
+        sut.handleWebhook(livekit.webhook(LivekitRoomEvent.Type.PARTICIPANT_JOINED, sid, "u1"), SIGNATURE);
+        sut.handleWebhook(livekit.webhook(LivekitRoomEvent.Type.PARTICIPANT_JOINED, sid, "u2"), SIGNATURE);
+        sut.handleWebhook(livekit.webhook(LivekitRoomEvent.Type.PARTICIPANT_LEFT, sid, "u1"), SIGNATURE);
+        MeetingStatus status = sut.getRoomStatus(ROOM);
+
+        // then
+        assertTrue(status.isActive());
+        assertEquals(1, status.getParticipantCount());
+        assertEquals(List.of("u2"), sut.getParticipants(ROOM));
+        assertEquals(0, livekit.getRoomCalls);
+        assertEquals(0, livekit.listParticipantsCalls);
+    }
+
+    @Test
+    void handleWebhook_deberiaLeerLaSalaDeLivekit_cuandoEntraAlguienAUnaSalaNoCacheada() {
+        // given: la sala ya tenía gente antes de que este nodo la conociera
+        livekit.start(ROOM, "RM_1", "u1", "u2", "u3");
 
         // when
-        MeetingStatus status = sut.getRoomStatus(roomName);
+        sut.handleWebhook(livekit.webhook(LivekitRoomEvent.Type.PARTICIPANT_JOINED, "RM_1", "u3"), SIGNATURE);
+        MeetingStatus status = sut.getRoomStatus(ROOM);
 
         // then
-        assertNotNull(status);
         assertTrue(status.isExists());
-        assertFalse(status.isActive());
+        assertEquals(3, status.getParticipantCount());
+        assertEquals(1, livekit.getRoomCalls);
+        assertEquals(1, livekit.listParticipantsCalls);
+    }
+
+    @Test
+    void handleWebhook_deberiaMarcarLaSalaInexistente_cuandoTermina() {
+        // given
+        sut.createRoom(ROOM, LivekitRoom.RoomOptions.builder().build());
+        String sid = livekit.rooms.get(ROOM).getSid();
+        sut.handleWebhook(livekit.webhook(LivekitRoomEvent.Type.PARTICIPANT_JOINED, sid, "u1"), SIGNATURE);
+
+        // when
+        sut.handleWebhook(livekit.webhook(LivekitRoomEvent.Type.ROOM_FINISHED, sid, null), SIGNATURE);
+        MeetingStatus status = sut.getRoomStatus(ROOM);
+
+        // then
+        assertFalse(status.isExists());
         assertEquals(0, status.getParticipantCount());
-        assertEquals(roomName, status.getRoomName());
-        assertNotNull(status.getStartedAt());
-        assertTrue(status.getCreationTime() > 0);
+        assertEquals(0, livekit.getRoomCalls);
+    }
+
+    @Test
+    void handleWebhook_deberiaIgnorarEventosDeUnaSesionAnterior() {
+        // given
+        livekit.start(ROOM, "RM_2", "u1");
+        sut.getRoomStatus(ROOM);
+
+        // when
+        sut.handleWebhook(livekit.webhook(LivekitRoomEvent.Type.ROOM_FINISHED, "RM_1", null), SIGNATURE);
+        sut.handleWebhook(livekit.webhook(LivekitRoomEvent.Type.PARTICIPANT_LEFT, "RM_1", "u1"), SIGNATURE);
+        MeetingStatus status = sut.getRoomStatus(ROOM);
+
+        // then
+        assertTrue(status.isExists());
+        assertEquals(1, status.getParticipantCount());
+    }
+
+    @Test
+    void handleWebhook_deberiaRechazarFirmaInvalida_sinCambiarElEstado() {
+        // given
+        livekit.start(ROOM, "RM_1", "u1");
+        sut.getRoomStatus(ROOM);
+        String body = livekit.webhook(LivekitRoomEvent.Type.ROOM_FINISHED, "RM_1", null);
+
+        // when + then
+        assertThrows(UnauthorizedException.class, () -> sut.handleWebhook(body, "forged"));
+        assertTrue(sut.getRoomStatus(ROOM).isExists());
+    }
+
+    @Test
+    void deleteRoom_deberiaBorrarEnLivekitYDejarDeServirLaSala() {
+        // given
+        sut.createRoom(ROOM, LivekitRoom.RoomOptions.builder().build());
+
+        // when
+        boolean deleted = sut.deleteRoom(ROOM);
+        MeetingStatus status = sut.getRoomStatus(ROOM);
+
+        // then
+        assertTrue(deleted);
+        assertFalse(livekit.rooms.containsKey(ROOM));
+        assertFalse(status.isExists());
+        assertEquals(0, livekit.getRoomCalls);
+    }
+
+    @Test
+    void deleteRoom_deberiaRetornarFalse_siLivekitFalla() {
+        // given
+        livekit.failing = true;
+
+        // when + then
+        assertFalse(sut.deleteRoom(ROOM));
+    }
+
+    /**
+     * Stands in for the LiveKit server: keeps rooms in memory, counts remote reads and accepts only
+     * webhooks signed with {@link #SIGNATURE}. Webhook bodies are keys into the events it issued.
+     */
+    private static final class StubLivekit implements LivekitRoomPort {
+        private final Map<String, LivekitRoom> rooms = new HashMap<>();
+        private final Map<String, Set<String>> participants = new HashMap<>();
+        private final List<LivekitRoomEvent> issued = new ArrayList<>();
+        private final long creationTime = 1_700_000_000L;
+        private int getRoomCalls;
+        private int listParticipantsCalls;
+        private boolean failing;
+
+        void start(String name, String sid, String... identities) {
+            rooms.put(name, LivekitRoom.builder()
+                .name(name)
+                .sid(sid)
+                .createdAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(creationTime), ZoneId.systemDefault()))
+                .build());
+            participants.put(name, new LinkedHashSet<>(List.of(identities)));
+        }
+
+        String webhook(LivekitRoomEvent.Type type, String sid, String identity) {
+            issued.add(LivekitRoomEvent.builder()
+                .id("EV_" + issued.size())
+                .type(type)
+                .roomName(ROOM)
+                .roomSid(sid)
+                .roomCreationTime(creationTime)
+                .participantIdentity(identity)
+                .build());
+            return String.valueOf(issued.size() - 1);
+        }
+
+        @Override
+        public LivekitRoom createRoom(String roomName, LivekitRoom.RoomOptions options) {
+            fail();
+            if (!rooms.containsKey(roomName)) {
+                start(roomName, "RM_" + rooms.size());
+            }
+            LivekitRoom room = rooms.get(roomName);
+            room.setOptions(options);
+            return room;
+        }
+
+        @Override
+        public Optional<LivekitRoom> getRoom(String roomName) {
+            getRoomCalls++;
+            fail();
+            return Optional.ofNullable(rooms.get(roomName));
+        }
+
+        @Override
+        public List<String> listParticipants(String roomName) {
+            listParticipantsCalls++;
+            fail();
+            return List.copyOf(participants.getOrDefault(roomName, Set.of()));
+        }
+
+        @Override
+        public void deleteRoom(String roomName) {
+            fail();
+            rooms.remove(roomName);
+            participants.remove(roomName);
+        }
+
+        @Override
+        public LivekitRoomEvent receiveWebhook(String body, String authorization) {
+            if (!SIGNATURE.equals(authorization)) {
+                throw new UnauthorizedException("Invalid LiveKit webhook signature");
+            }
+            return issued.get(Integer.parseInt(body));
+        }
+
+        private void fail() {
+            if (failing) {
+                throw new IllegalStateException("LiveKit unavailable");
+            }
+        }
     }
 }
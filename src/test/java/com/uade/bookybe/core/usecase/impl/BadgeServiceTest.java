@@ -0,0 +1,150 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.uade.bookybe.config.BadgeConfig;
+import com.uade.bookybe.core.model.UserBadges;
+import com.uade.bookybe.core.port.BadgeInvalidationPort;
+import com.uade.bookybe.infraestructure.repository.BookExchangeRepository;
+import com.uade.bookybe.infraestructure.repository.MessageRepository;
+import com.uade.bookybe.infraestructure.repository.UserAchievementRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class BadgeServiceImplTest {
+
+  @Mock private BookExchangeRepository bookExchangeRepository;
+  @Mock private MessageRepository messageRepository;
+  @Mock private UserAchievementRepository userAchievementRepository;
+  @Mock private BadgeInvalidationPort badgeInvalidationPort;
+
+  private BadgeServiceImpl sut;
+
+  @BeforeEach
+  void setUp() {
+    sut =
+        new BadgeServiceImpl(
+            bookExchangeRepository,
+            messageRepository,
+            userAchievementRepository,
+            badgeInvalidationPort,
+            new BadgeConfig());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private void givenCounts(long pending, long unread, long achievements) {
+    given(bookExchangeRepository.countPendingExchangesForUser("u1")).willReturn(pending);
+    given(messageRepository.countUnreadMessagesForUser("u1")).willReturn(unread);
+    given(userAchievementRepository.countByUserIdAndNotifiedFalse("u1")).willReturn(achievements);
+  }
+
+  @Test
+  void constructor_deberiaSuscribirseALasInvalidacionesDeOtrosNodos() {
+    then(badgeInvalidationPort).should().subscribe(sut);
+  }
+
+  @Test
+  void getBadges_deberiaCalcularUnaVez_yServirDesdeMemoria() {
+    // given
+    givenCounts(2, 5, 1);
+
+    // when
+    UserBadges first = sut.getBadges("u1");
+    UserBadges second = sut.getBadges("u1");
+
+    // then
+    assertEquals(2, first.getPendingExchanges());
+    assertEquals(5, first.getUnreadMessages());
+    assertEquals(1, first.getUnnotifiedAchievements());
+    assertSame(first, second);
+    then(bookExchangeRepository).should(times(1)).countPendingExchangesForUser("u1");
+    then(messageRepository).should(times(1)).countUnreadMessagesForUser("u1");
+  }
+
+  @Test
+  void invalidate_deberiaRecalcular_yAvisarAOtrosNodos_cuandoNoHayTransaccion() {
+    // given
+    givenCounts(2, 5, 1);
+    sut.getBadges("u1");
+
+    // when
+    sut.invalidate("u1", null, "u1");
+    sut.getBadges("u1");
+
+    // then
+    then(badgeInvalidationPort).should().publish(Set.of("u1"));
+    then(bookExchangeRepository).should(times(2)).countPendingExchangesForUser("u1");
+  }
+
+  @Test
+  void invalidate_deberiaEsperarAlCommit_cuandoHayTransaccion() {
+    // given
+    givenCounts(2, 5, 1);
+    sut.getBadges("u1");
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    sut.invalidate("u1");
+    UserBadges beforeCommit = sut.getBadges("u1");
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    sut.getBadges("u1");
+
+    // then
+    assertEquals(2, beforeCommit.getPendingExchanges());
+    then(bookExchangeRepository).should(times(2)).countPendingExchangesForUser("u1");
+  }
+
+  @Test
+  void getBadges_noDeberiaCachear_cuandoLlegaUnaInvalidacionMientrasCuenta() {
+    // given: otro nodo invalida mientras se cuentan los mensajes
+    given(bookExchangeRepository.countPendingExchangesForUser("u1")).willReturn(2L);
+    given(messageRepository.countUnreadMessagesForUser("u1"))
+        .willAnswer(
+            inv -> {
+              sut.onInvalidated(List.of("u1"));
+              return 5L;
+            })
+        .willReturn(6L);
+    given(userAchievementRepository.countByUserIdAndNotifiedFalse("u1")).willReturn(0L);
+
+    // when
+    sut.getBadges("u1");
+    UserBadges fresh = sut.getBadges("u1");
+
+    // then
+    assertEquals(6, fresh.getUnreadMessages());
+  }
+
+  @Test
+  void onInvalidationsMissed_deberiaDescartarTodosLosContadores() {
+    // given
+    givenCounts(2, 5, 1);
+    sut.getBadges("u1");
+
+    // when
+    sut.onInvalidationsMissed();
+    sut.getBadges("u1");
+
+    // then
+    then(userAchievementRepository).should(times(2)).countByUserIdAndNotifiedFalse("u1");
+    then(badgeInvalidationPort).should(never()).publish(anyCollection());
+  }
+}
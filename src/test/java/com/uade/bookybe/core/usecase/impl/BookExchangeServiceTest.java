@@ -8,17 +8,22 @@ import static org.mockito.BDDMockito.*;
 import static org.mockito.Mockito.never;
 
 import com.uade.bookybe.core.exception.BadRequestException;
+import com.uade.bookybe.core.exception.ConflictException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.BookExchange;
 import com.uade.bookybe.core.model.Chat;
 import com.uade.bookybe.core.model.UserRate;
+import com.uade.bookybe.core.model.UserBadges;
 import com.uade.bookybe.core.model.constant.ExchangeStatus;
+import com.uade.bookybe.core.usecase.BadgeService;
 import com.uade.bookybe.core.usecase.ChatService;
 import com.uade.bookybe.core.usecase.GamificationService;
 import com.uade.bookybe.core.usecase.UserRateService;
 import com.uade.bookybe.infraestructure.entity.BookExchangeEntity;
+import com.uade.bookybe.infraestructure.entity.ExchangeIdempotencyKeyEntity;
 import com.uade.bookybe.infraestructure.entity.UserBookEntity;
 import com.uade.bookybe.infraestructure.repository.BookExchangeRepository;
+import com.uade.bookybe.infraestructure.repository.ExchangeIdempotencyKeyRepository;
 import com.uade.bookybe.infraestructure.repository.UserBookRepository;
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @ExtendWith(MockitoExtension.class)
 class BookExchangeServiceImplTest {
@@ -35,6 +41,8 @@ class BookExchangeServiceImplTest {
     @Mock private GamificationService gamificationService;
     @Mock private UserRateService userRateService;
     @Mock private ChatService chatService;
+    @Mock private ExchangeIdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock private BadgeService badgeService;
 
     @InjectMocks private BookExchangeServiceImpl sut;
 
@@ -44,7 +52,7 @@ class BookExchangeServiceImplTest {
     void createExchange_deberiaRetornarEmpty_cuandoRequesterYOwnerSonIguales() {
         // when
         Optional<BookExchange> result =
-                sut.createExchange("u1", "u1", List.of("b1"), List.of("b2"));
+                sut.createExchange("u1", "u1", List.of("b1"), List.of("b2"), null);
 
         // then
         assertTrue(result.isEmpty());
@@ -63,13 +71,9 @@ class BookExchangeServiceImplTest {
         List<String> ownerBookIds = List.of("ob1", "ob2");
         List<String> requesterBookIds = List.of("rb1");
 
-        // validar books
-        for (String id : ownerBookIds) {
-            given(userBookRepository.existsByUserIdAndBookId(ownerId, id)).willReturn(true);
-        }
-        for (String id : requesterBookIds) {
-            given(userBookRepository.existsByUserIdAndBookId(requesterId, id)).willReturn(true);
-        }
+        // validar books: una consulta por lado
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn(ownerId, ownerBookIds)).willReturn(ownerBookIds);
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn(requesterId, requesterBookIds)).willReturn(requesterBookIds);
 
         given(chatService.createOrGetChat(requesterId, ownerId))
                 .willReturn(Optional.of(Chat.builder().id("chat1").build()));
@@ -81,7 +85,7 @@ class BookExchangeServiceImplTest {
 
         // when
         Optional<BookExchange> result =
-                sut.createExchange(requesterId, ownerId, ownerBookIds, requesterBookIds);
+                sut.createExchange(requesterId, ownerId, ownerBookIds, requesterBookIds, null);
 
         // then
         assertTrue(result.isPresent());
@@ -99,6 +103,25 @@ class BookExchangeServiceImplTest {
         assertEquals(requesterBookIds, saved.getRequesterBookIds());
 
         then(gamificationService).should().processExchangeCreated(requesterId);
+        then(userBookRepository).should(times(2)).findBookIdsByUserIdAndBookIdIn(anyString(), anyCollection());
+    }
+
+    @Test
+    void createExchange_deberiaRetornarEmpty_yNoGuardar_cuandoFaltanLibros() {
+        // given
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn("u2", List.of("ob1", "ob2")))
+                .willReturn(List.of("ob1"));
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn("u1", List.of("rb1")))
+                .willReturn(List.of());
+
+        // when
+        Optional<BookExchange> result =
+                sut.createExchange("u1", "u2", List.of("ob1", "ob2"), List.of("rb1"), null);
+
+        // then
+        assertTrue(result.isEmpty());
+        then(bookExchangeRepository).shouldHaveNoInteractions();
+        then(chatService).shouldHaveNoInteractions();
     }
 
     @Test
@@ -107,8 +130,8 @@ class BookExchangeServiceImplTest {
         String requesterId = "u1";
         String ownerId = "u2";
 
-        given(userBookRepository.existsByUserIdAndBookId(ownerId, "ob1")).willReturn(true);
-        given(userBookRepository.existsByUserIdAndBookId(requesterId, "rb1")).willReturn(true);
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn(ownerId, List.of("ob1"))).willReturn(List.of("ob1"));
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn(requesterId, List.of("rb1"))).willReturn(List.of("rb1"));
 
         given(chatService.createOrGetChat(requesterId, ownerId)).willReturn(Optional.empty());
         given(bookExchangeRepository.save(any(BookExchangeEntity.class)))
@@ -116,7 +139,7 @@ class BookExchangeServiceImplTest {
 
         // when
         Optional<BookExchange> result =
-                sut.createExchange(requesterId, ownerId, List.of("ob1"), List.of("rb1"));
+                sut.createExchange(requesterId, ownerId, List.of("ob1"), List.of("rb1"), null);
 
         // then
         assertTrue(result.isPresent());
@@ -144,8 +167,8 @@ class BookExchangeServiceImplTest {
         UserBookEntity ob = UserBookEntity.builder().id("ob1").userId("u2").bookId("ob1").build();
         UserBookEntity rb = UserBookEntity.builder().id("rb1").userId("u1").bookId("rb1").build();
 
-        given(userBookRepository.findByIdInWithBook(List.of("ob1"), "u2")).willReturn(List.of(ob));
-        given(userBookRepository.findByIdInWithBook(List.of("rb1"), "u1")).willReturn(List.of(rb));
+        given(userBookRepository.findByUserIdInAndBookIdInWithBook(anyCollection(), anyCollection()))
+                .willReturn(List.of(ob, rb));
 
         // when
         List<BookExchange> result = sut.getUserExchanges(userId);
@@ -158,6 +181,45 @@ class BookExchangeServiceImplTest {
         assertEquals(1, result.get(0).getRequesterBooks().size());
     }
 
+    @Test
+    void getUserExchanges_deberiaResolverLibrosYRatings_conUnaConsultaCadaUno() {
+        // given
+        String userId = "u1";
+        BookExchangeEntity e1 = BookExchangeEntity.builder()
+                .id("ex1").requesterId("u1").ownerId("u2").status(COMPLETED)
+                .ownerBookIds(List.of("b1")).requesterBookIds(List.of("b2"))
+                .build();
+        BookExchangeEntity e2 = BookExchangeEntity.builder()
+                .id("ex2").requesterId("u3").ownerId("u1").status(ExchangeStatus.PENDING)
+                .ownerBookIds(List.of("b2")).requesterBookIds(List.of("b1", "b3"))
+                .build();
+        given(bookExchangeRepository.findByUserIdOrderByDateCreatedDesc(userId)).willReturn(List.of(e1, e2));
+
+        // u1 y u3 tienen b1; cada libro tiene que quedar en el intercambio de su dueño
+        given(userBookRepository.findByUserIdInAndBookIdInWithBook(anyCollection(), anyCollection()))
+                .willReturn(List.of(
+                        UserBookEntity.builder().id("ub1").userId("u2").bookId("b1").build(),
+                        UserBookEntity.builder().id("ub2").userId("u1").bookId("b2").build(),
+                        UserBookEntity.builder().id("ub3").userId("u3").bookId("b1").build(),
+                        UserBookEntity.builder().id("ub4").userId("u3").bookId("b3").build()));
+        given(userRateService.getRatingsForExchanges(List.of("ex1")))
+                .willReturn(List.of(UserRate.builder().id("r1").userId("u2").exchangeId("ex1").rating(5).build()));
+
+        // when
+        List<BookExchange> result = sut.getUserExchanges(userId);
+
+        // then
+        assertEquals("ub1", result.get(0).getOwnerBooks().get(0).getId());
+        assertEquals("ub2", result.get(0).getRequesterBooks().get(0).getId());
+        assertEquals("r1", result.get(0).getOwnerRate().getId());
+        assertNull(result.get(0).getRequesterRate());
+        assertEquals("ub2", result.get(1).getOwnerBooks().get(0).getId());
+        assertEquals(List.of("ub3", "ub4"),
+                result.get(1).getRequesterBooks().stream().map(ub -> ub.getId()).toList());
+        then(userBookRepository).should(times(1)).findByUserIdInAndBookIdInWithBook(anyCollection(), anyCollection());
+        then(userRateService).should(times(1)).getRatingsForExchanges(anyCollection());
+    }
+
     @Test
     void getUserExchangesByStatus_deberiaFiltrarPorEstado_yEnriquecer() {
         // given
@@ -213,14 +275,14 @@ class BookExchangeServiceImplTest {
 
         given(bookExchangeRepository.findByIdWithUsers("ex1")).willReturn(Optional.of(e));
 
-        given(userBookRepository.findByIdInWithBook(List.of("ob1"), "u2"))
-                .willReturn(List.of(UserBookEntity.builder().id("ob1").userId("u2").bookId("ob1").build()));
-        given(userBookRepository.findByIdInWithBook(List.of("rb1"), "u1"))
-                .willReturn(List.of(UserBookEntity.builder().id("rb1").userId("u1").bookId("rb1").build()));
+        given(userBookRepository.findByUserIdInAndBookIdInWithBook(anyCollection(), anyCollection()))
+                .willReturn(List.of(
+                        UserBookEntity.builder().id("ob1").userId("u2").bookId("ob1").build(),
+                        UserBookEntity.builder().id("rb1").userId("u1").bookId("rb1").build()));
 
         UserRate r1 = UserRate.builder().id("r1").userId("u1").exchangeId("ex1").rating(5).build();
         UserRate r2 = UserRate.builder().id("r2").userId("u2").exchangeId("ex1").rating(4).build();
-        given(userRateService.getExchangeRatings("ex1")).willReturn(List.of(r1, r2));
+        given(userRateService.getRatingsForExchanges(List.of("ex1"))).willReturn(List.of(r1, r2));
 
         // when
         Optional<BookExchange> result = sut.getExchangeById("ex1");
@@ -237,6 +299,18 @@ class BookExchangeServiceImplTest {
 
     // ---------------- updateExchangeStatus ----------------
 
+    /** Simula el UPDATE condicional: solo aplica si el estado sigue siendo el leído */
+    private void givenTransitionApplies(BookExchangeEntity e) {
+        given(bookExchangeRepository.transitionStatus(eq(e.getId()), any(), any(), any()))
+                .willAnswer(inv -> {
+                    if (e.getStatus() != inv.getArgument(1)) {
+                        return 0;
+                    }
+                    e.setStatus(inv.getArgument(2));
+                    return 1;
+                });
+    }
+
     @Test
     void updateExchangeStatus_deberiaLanzarNotFound_cuandoNoExiste() {
         // given
@@ -244,7 +318,7 @@ class BookExchangeServiceImplTest {
 
         // when + then
         assertThrows(NotFoundException.class,
-                () -> sut.updateExchangeStatus("ex1", "u1", ExchangeStatus.ACCEPTED));
+                () -> sut.updateExchangeStatus("ex1", "u1", ExchangeStatus.ACCEPTED, null));
 
         then(bookExchangeRepository).should(never()).save(any());
     }
@@ -262,7 +336,7 @@ class BookExchangeServiceImplTest {
         given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
 
         // when (intenta aceptar siendo requester)
-        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", ExchangeStatus.ACCEPTED);
+        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", ExchangeStatus.ACCEPTED, null);
 
         // then
         assertTrue(result.isEmpty());
@@ -283,11 +357,10 @@ class BookExchangeServiceImplTest {
                 .build();
 
         given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
-        given(bookExchangeRepository.save(any(BookExchangeEntity.class)))
-                .willAnswer(inv -> inv.getArgument(0, BookExchangeEntity.class));
+        givenTransitionApplies(e);
 
         // when
-        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u2", ExchangeStatus.ACCEPTED);
+        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u2", ExchangeStatus.ACCEPTED, null);
 
         // then
         assertTrue(result.isPresent());
@@ -308,11 +381,10 @@ class BookExchangeServiceImplTest {
                 .build();
 
         given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
-        given(bookExchangeRepository.save(any(BookExchangeEntity.class)))
-                .willAnswer(inv -> inv.getArgument(0, BookExchangeEntity.class));
+        givenTransitionApplies(e);
 
         // when
-        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", ExchangeStatus.CANCELLED);
+        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", ExchangeStatus.CANCELLED, null);
 
         // then
         assertTrue(result.isPresent());
@@ -332,7 +404,7 @@ class BookExchangeServiceImplTest {
         given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
 
         // when
-        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", ExchangeStatus.CANCELLED);
+        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", ExchangeStatus.CANCELLED, null);
 
         // then
         assertTrue(result.isEmpty());
@@ -352,17 +424,17 @@ class BookExchangeServiceImplTest {
                 .build();
 
         given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
-        given(bookExchangeRepository.save(any(BookExchangeEntity.class)))
-                .willAnswer(inv -> inv.getArgument(0, BookExchangeEntity.class));
+        givenTransitionApplies(e);
 
         // when (marca completed requester)
-        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", COMPLETED);
+        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", COMPLETED, null);
 
         // then
         assertTrue(result.isPresent());
         assertEquals(COMPLETED, result.get().getStatus());
         then(gamificationService).should().processExchangeCompleted("u1");
         then(gamificationService).should().processExchangeCompleted("u2");
+        then(badgeService).should().invalidate("u1", "u2");
     }
 
     @Test
@@ -378,13 +450,138 @@ class BookExchangeServiceImplTest {
         given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
 
         // when
-        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", COMPLETED);
+        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u1", COMPLETED, null);
 
         // then
         assertTrue(result.isEmpty());
         then(bookExchangeRepository).should(never()).save(any());
     }
 
+    @Test
+    void updateExchangeStatus_deberiaLanzarConflict_yNoDarPuntos_cuandoOtraRequestCambioElEstado() {
+        // given: se leyó ACCEPTED pero otra request ya lo canceló
+        BookExchangeEntity e = BookExchangeEntity.builder()
+                .id("ex1")
+                .requesterId("u1")
+                .ownerId("u2")
+                .status(ACCEPTED)
+                .build();
+
+        given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
+        given(bookExchangeRepository.transitionStatus(eq("ex1"), eq(ACCEPTED), eq(COMPLETED), any()))
+                .willReturn(0);
+
+        // when + then
+        assertThrows(ConflictException.class,
+                () -> sut.updateExchangeStatus("ex1", "u1", COMPLETED, null));
+        then(gamificationService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void updateExchangeStatus_noDeberiaDarPuntosDosVeces_cuandoYaEstaCompleted() {
+        // given: segundo click de "completar"
+        BookExchangeEntity e = BookExchangeEntity.builder()
+                .id("ex1")
+                .requesterId("u1")
+                .ownerId("u2")
+                .status(COMPLETED)
+                .ownerBookIds(List.of())
+                .requesterBookIds(List.of())
+                .build();
+
+        given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
+
+        // when
+        Optional<BookExchange> result = sut.updateExchangeStatus("ex1", "u2", COMPLETED, null);
+
+        // then
+        assertTrue(result.isPresent());
+        assertEquals(COMPLETED, result.get().getStatus());
+        then(bookExchangeRepository).should(never()).transitionStatus(any(), any(), any(), any());
+        then(gamificationService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void updateExchangeStatus_deberiaGuardarIdempotencyKey_yReplayarSinEfectos() {
+        // given
+        BookExchangeEntity e = BookExchangeEntity.builder()
+                .id("ex1")
+                .requesterId("u1")
+                .ownerId("u2")
+                .status(ACCEPTED)
+                .ownerBookIds(List.of())
+                .requesterBookIds(List.of())
+                .build();
+
+        given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
+        givenTransitionApplies(e);
+        given(idempotencyKeyRepository.findByUserIdAndIdempotencyKey("u1", "key-1"))
+                .willReturn(Optional.empty());
+
+        // when
+        sut.updateExchangeStatus("ex1", "u1", COMPLETED, "key-1");
+
+        // then
+        ArgumentCaptor<ExchangeIdempotencyKeyEntity> key = ArgumentCaptor.forClass(ExchangeIdempotencyKeyEntity.class);
+        then(idempotencyKeyRepository).should().saveAndFlush(key.capture());
+        assertEquals("STATUS_COMPLETED", key.getValue().getOperation());
+        assertEquals("ex1", key.getValue().getResultExchangeId());
+
+        // given: el cliente reintenta con la misma key
+        given(idempotencyKeyRepository.findByUserIdAndIdempotencyKey("u1", "key-1"))
+                .willReturn(Optional.of(key.getValue()));
+
+        // when
+        Optional<BookExchange> retried = sut.updateExchangeStatus("ex1", "u1", COMPLETED, "key-1");
+
+        // then
+        assertEquals(COMPLETED, retried.orElseThrow().getStatus());
+        then(bookExchangeRepository).should(times(1)).transitionStatus(any(), any(), any(), any());
+        then(gamificationService).should(times(1)).processExchangeCompleted("u1");
+    }
+
+    @Test
+    void updateExchangeStatus_deberiaLanzarConflict_cuandoLaKeyFueUsadaParaOtraOperacion() {
+        // given
+        given(idempotencyKeyRepository.findByUserIdAndIdempotencyKey("u1", "key-1"))
+                .willReturn(Optional.of(ExchangeIdempotencyKeyEntity.builder()
+                        .userId("u1")
+                        .idempotencyKey("key-1")
+                        .operation("STATUS_CANCELLED")
+                        .exchangeId("ex1")
+                        .resultExchangeId("ex1")
+                        .build()));
+
+        // when + then
+        assertThrows(ConflictException.class,
+                () -> sut.updateExchangeStatus("ex1", "u1", COMPLETED, "key-1"));
+        then(bookExchangeRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void updateExchangeStatus_deberiaLanzarConflict_cuandoUnRequestConcurrenteGuardoLaMismaKey() {
+        // given
+        BookExchangeEntity e = BookExchangeEntity.builder()
+                .id("ex1")
+                .requesterId("u1")
+                .ownerId("u2")
+                .status(ACCEPTED)
+                .ownerBookIds(List.of())
+                .requesterBookIds(List.of())
+                .build();
+
+        given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(e));
+        givenTransitionApplies(e);
+        given(idempotencyKeyRepository.findByUserIdAndIdempotencyKey("u1", "key-1"))
+                .willReturn(Optional.empty());
+        given(idempotencyKeyRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("ux_exchange_idempotency_user_key"));
+
+        // when + then
+        assertThrows(ConflictException.class,
+                () -> sut.updateExchangeStatus("ex1", "u1", COMPLETED, "key-1"));
+    }
+
     // ---------------- createCounterOffer ----------------
 
     @Test
@@ -394,7 +591,7 @@ class BookExchangeServiceImplTest {
 
         // when + then
         assertThrows(NotFoundException.class,
-                () -> sut.createCounterOffer("ex1", "u1", List.of(), List.of()));
+                () -> sut.createCounterOffer("ex1", "u1", List.of(), List.of(), null));
     }
 
     @Test
@@ -411,7 +608,7 @@ class BookExchangeServiceImplTest {
 
         // when
         Optional<BookExchange> result =
-                sut.createCounterOffer("ex1", "u1", List.of("x"), List.of("y"));
+                sut.createCounterOffer("ex1", "u1", List.of("x"), List.of("y"), null);
 
         // then
         assertTrue(result.isEmpty());
@@ -432,7 +629,7 @@ class BookExchangeServiceImplTest {
 
         // when
         Optional<BookExchange> result =
-                sut.createCounterOffer("ex1", "u2", List.of("x"), List.of("y"));
+                sut.createCounterOffer("ex1", "u2", List.of("x"), List.of("y"), null);
 
         // then
         assertTrue(result.isEmpty());
@@ -453,12 +650,14 @@ class BookExchangeServiceImplTest {
         given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(original));
 
         // validación invertida:
-        // validateUserBooks(ownerId, requesterBookIds) => u2 + ["rb1"] => false
-        given(userBookRepository.existsByUserIdAndBookId("u2", "rb1")).willReturn(false);
+        // findMissingBooks(ownerId, requesterBookIds) => u2 + ["rb1"] => falta rb1
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn("u2", List.of("rb1"))).willReturn(List.of());
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn("u1", List.of("ob1"))).willReturn(List.of("ob1"));
 
         // when + then
-        assertThrows(BadRequestException.class,
-                () -> sut.createCounterOffer("ex1", "u2", List.of("ob1"), List.of("rb1")));
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> sut.createCounterOffer("ex1", "u2", List.of("ob1"), List.of("rb1"), null));
+        assertTrue(ex.getMessage().contains("rb1"));
     }
 
     @Test
@@ -475,12 +674,13 @@ class BookExchangeServiceImplTest {
         given(bookExchangeRepository.findById("ex1")).willReturn(Optional.of(original));
 
         // Validación invertida:
-        // validateUserBooks(ownerId=u2, requesterBookIds=["rb1"]) => true
-        given(userBookRepository.existsByUserIdAndBookId("u2", "rb1")).willReturn(true);
-        // validateUserBooks(requesterId=u1, ownerBookIds=["ob1"]) => true
-        given(userBookRepository.existsByUserIdAndBookId("u1", "ob1")).willReturn(true);
+        // findMissingBooks(ownerId=u2, requesterBookIds=["rb1"]) => ninguno
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn("u2", List.of("rb1"))).willReturn(List.of("rb1"));
+        // findMissingBooks(requesterId=u1, ownerBookIds=["ob1"]) => ninguno
+        given(userBookRepository.findBookIdsByUserIdAndBookIdIn("u1", List.of("ob1"))).willReturn(List.of("ob1"));
 
-        // save 1: original (REJECTED), save 2: new exchange
+        // original pasa a REJECTED con el UPDATE condicional; la nueva se guarda
+        givenTransitionApplies(original);
         given(bookExchangeRepository.save(any(BookExchangeEntity.class)))
                 .willAnswer(inv -> inv.getArgument(0, BookExchangeEntity.class));
 
@@ -488,7 +688,7 @@ class BookExchangeServiceImplTest {
 
         // when
         Optional<BookExchange> result =
-                sut.createCounterOffer("ex1", "u2", List.of("ob1"), List.of("rb1"));
+                sut.createCounterOffer("ex1", "u2", List.of("ob1"), List.of("rb1"), null);
 
         // then
         assertTrue(result.isPresent());
@@ -498,14 +698,12 @@ class BookExchangeServiceImplTest {
         assertEquals("chat1", result.get().getChatId());
         assertEquals(ExchangeStatus.PENDING, result.get().getStatus());
 
-        then(bookExchangeRepository).should(times(2)).save(captor.capture());
-        List<BookExchangeEntity> saves = captor.getAllValues();
+        then(bookExchangeRepository).should()
+                .transitionStatus(eq("ex1"), eq(ExchangeStatus.PENDING), eq(ExchangeStatus.REJECTED), any());
+        assertEquals(ExchangeStatus.REJECTED, original.getStatus());
 
-        BookExchangeEntity savedOriginal = saves.get(0);
-        assertEquals("ex1", savedOriginal.getId());
-        assertEquals(ExchangeStatus.REJECTED, savedOriginal.getStatus());
-
-        BookExchangeEntity savedNew = saves.get(1);
+        then(bookExchangeRepository).should().save(captor.capture());
+        BookExchangeEntity savedNew = captor.getValue();
         assertNotNull(savedNew.getId());
         assertTrue(savedNew.getId().startsWith("exchange-"));
         assertEquals("u2", savedNew.getRequesterId());
@@ -562,15 +760,16 @@ class BookExchangeServiceImplTest {
     // ---------------- getPendingExchangesCount ----------------
 
     @Test
-    void getPendingExchangesCount_deberiaSumarRequesterYOwner() {
+    void getPendingExchangesCount_deberiaLeerLosBadges_sinConsultarLaBase() {
         // given
-        given(bookExchangeRepository.countPendingExchangesByRequester("u1")).willReturn(2L);
-        given(bookExchangeRepository.countPendingExchangesByOwner("u1")).willReturn(3L);
+        given(badgeService.getBadges("u1"))
+                .willReturn(UserBadges.builder().pendingExchanges(5L).unreadMessages(1L).build());
 
         // when
         long result = sut.getPendingExchangesCount("u1");
 
         // then
         assertEquals(5L, result);
+        then(bookExchangeRepository).shouldHaveNoInteractions();
     }
 }
@@ -5,10 +5,16 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
 import static org.mockito.Mockito.never;
 
+import com.uade.bookybe.config.BookSearchConfig;
 import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.BookSearchResult;
+import com.uade.bookybe.core.model.LibraryCounts;
 import com.uade.bookybe.core.model.UserBook;
 import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.LibrarySort;
+import com.uade.bookybe.core.port.BookSearchPort;
 import com.uade.bookybe.core.port.GoogleBooksPort;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
 import com.uade.bookybe.core.usecase.GamificationService;
 import com.uade.bookybe.infraestructure.entity.BookEntity;
 import com.uade.bookybe.infraestructure.entity.UserBookEntity;
@@ -21,7 +27,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
 class BookServiceImplTest {
@@ -30,6 +42,9 @@ class BookServiceImplTest {
     @Mock private UserBookRepository userBookRepository;
     @Mock private GoogleBooksPort googleBooksPort;
     @Mock private GamificationService gamificationService;
+    @Mock private BookSearchPort bookSearchPort;
+    @Mock private ExchangeMatchingService exchangeMatchingService;
+    @Spy private BookSearchConfig bookSearchConfig = new BookSearchConfig();
 
     @InjectMocks private BookServiceImpl sut;
 
@@ -39,7 +54,7 @@ class BookServiceImplTest {
     void addBookToUserLibrary_deberiaRetornarEmpty_cuandoUsuarioYaTieneElLibro() {
         // given
         String userId = "u1";
-        String isbn = "9780000000001";
+        String isbn = "9780000000002";
         BookStatus status = BookStatus.READING;
 
         BookEntity existingBookEntity = BookEntity.builder()
@@ -48,7 +63,7 @@ class BookServiceImplTest {
                 .title("T")
                 .build();
 
-        given(bookRepository.findByIsbn(isbn)).willReturn(Optional.of(existingBookEntity));
+        given(bookRepository.findByIsbn13(isbn)).willReturn(Optional.of(existingBookEntity));
         given(userBookRepository.existsByUserIdAndBookId(userId, "book-1")).willReturn(true);
 
         // when
@@ -65,7 +80,7 @@ class BookServiceImplTest {
     void addBookToUserLibrary_deberiaGuardarYRetornarUserBook_cuandoNoExisteEnLaBiblioteca() {
         // given
         String userId = "u1";
-        String isbn = "9780000000001";
+        String isbn = "9780000000002";
         BookStatus status = BookStatus.READING;
 
         BookEntity existingBookEntity = BookEntity.builder()
@@ -74,7 +89,7 @@ class BookServiceImplTest {
                 .title("T")
                 .build();
 
-        given(bookRepository.findByIsbn(isbn)).willReturn(Optional.of(existingBookEntity));
+        given(bookRepository.findByIsbn13(isbn)).willReturn(Optional.of(existingBookEntity));
         given(userBookRepository.existsByUserIdAndBookId(userId, "book-1")).willReturn(false);
 
         // capturamos el entity guardado para verificar campos importantes
@@ -127,7 +142,7 @@ class BookServiceImplTest {
     void addBookToUserLibrary_deberiaRetornarEmpty_cuandoNoPuedeRecargarConBook() {
         // given
         String userId = "u1";
-        String isbn = "9780000000001";
+        String isbn = "9780000000002";
         BookStatus status = BookStatus.READING;
 
         BookEntity existingBookEntity = BookEntity.builder()
@@ -136,7 +151,7 @@ class BookServiceImplTest {
                 .title("T")
                 .build();
 
-        given(bookRepository.findByIsbn(isbn)).willReturn(Optional.of(existingBookEntity));
+        given(bookRepository.findByIsbn13(isbn)).willReturn(Optional.of(existingBookEntity));
         given(userBookRepository.existsByUserIdAndBookId(userId, "book-1")).willReturn(false);
 
         given(userBookRepository.save(any(UserBookEntity.class)))
@@ -156,25 +171,47 @@ class BookServiceImplTest {
     // ---------------- searchBooks ----------------
 
     @Test
-    void searchBooks_deberiaMapearYRetornarLista() {
+    void searchBooks_deberiaDelegarEnElIndice() {
         // given
-        String query = "harry";
-        List<BookEntity> entities = List.of(
-                BookEntity.builder().id("b1").isbn("1").title("A").build(),
-                BookEntity.builder().id("b2").isbn("2").title("B").build()
-        );
+        BookSearchResult expected = BookSearchResult.builder()
+                .books(List.of(Book.builder().id("b1").title("A").build()))
+                .totalHits(1)
+                .page(1)
+                .size(10)
+                .build();
+        given(bookSearchPort.search("harry", "Fantasy", 1, 10)).willReturn(expected);
+
+        // when
+        BookSearchResult result = sut.searchBooks("harry", "Fantasy", 1, 10);
 
-        given(bookRepository.searchBooks(query)).willReturn(entities);
+        // then
+        assertSame(expected, result);
+    }
+
+    @Test
+    void searchBooks_deberiaAcotarPaginaYTamanio() {
+        // given
+        given(bookSearchPort.search(anyString(), any(), anyInt(), anyInt()))
+                .willReturn(BookSearchResult.builder().books(List.of()).build());
 
         // when
-        List<Book> result = sut.searchBooks(query);
+        sut.searchBooks("harry", null, -3, 1000);
 
         // then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("b1", result.get(0).getId());
-        assertEquals("b2", result.get(1).getId());
-        then(bookRepository).should().searchBooks(query);
+        then(bookSearchPort).should().search("harry", null, 0, 50);
+    }
+
+    @Test
+    void searchBooks_deberiaAcotarLaProfundidadDePaginado() {
+        // given
+        given(bookSearchPort.search(anyString(), any(), anyInt(), anyInt()))
+                .willReturn(BookSearchResult.builder().books(List.of()).build());
+
+        // when
+        sut.searchBooks("harry", null, Integer.MAX_VALUE, 50);
+
+        // then
+        then(bookSearchPort).should().search("harry", null, 20, 50);
     }
 
     // ---------------- getBookByIsbn ----------------
@@ -182,14 +219,15 @@ class BookServiceImplTest {
     @Test
     void getBookByIsbn_deberiaRetornarBook_cuandoExisteEnDB() {
         // given
-        String isbn = "9780000000001";
+        String isbn = "9780000000002";
         BookEntity entity = BookEntity.builder()
                 .id("b1")
                 .isbn(isbn)
+                .isbn13(isbn)
                 .title("DB Book")
                 .build();
 
-        given(bookRepository.findByIsbn(isbn)).willReturn(Optional.of(entity));
+        given(bookRepository.findByIsbn13(isbn)).willReturn(Optional.of(entity));
 
         // when
         Optional<Book> result = sut.getBookByIsbn(isbn);
@@ -199,14 +237,40 @@ class BookServiceImplTest {
         assertEquals("b1", result.get().getId());
         assertEquals(isbn, result.get().getIsbn());
         then(googleBooksPort).shouldHaveNoInteractions();
-        then(bookRepository).should(never()).save(any(BookEntity.class));
+        then(bookRepository).should(never()).insertAllIfAbsent(anyList());
+    }
+
+    @Test
+    void getBookByIsbn_deberiaBuscarPorIsbn13Canonico_cuandoRecibeIsbn10ConGuiones() {
+        // given
+        BookEntity entity = BookEntity.builder().id("dune").isbn13("9780441172719").build();
+        given(bookRepository.findByIsbn13("9780441172719")).willReturn(Optional.of(entity));
+
+        // when
+        Optional<Book> result = sut.getBookByIsbn("0-441-17271-7");
+
+        // then
+        assertEquals("dune", result.orElseThrow().getId());
+        then(bookRepository).should().findByIsbn13("9780441172719");
+        then(bookRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void getBookByIsbn_deberiaRetornarEmpty_cuandoIsbnInvalido() {
+        // when
+        Optional<Book> result = sut.getBookByIsbn("9780000000001");
+
+        // then
+        assertTrue(result.isEmpty());
+        then(bookRepository).shouldHaveNoInteractions();
+        then(googleBooksPort).shouldHaveNoInteractions();
     }
 
     @Test
     void getBookByIsbn_deberiaRetornarEmpty_cuandoNoExisteEnDBNiEnGoogle() {
         // given
-        String isbn = "9780000000001";
-        given(bookRepository.findByIsbn(isbn)).willReturn(Optional.empty());
+        String isbn = "9780000000002";
+        given(bookRepository.findByIsbn13(isbn)).willReturn(Optional.empty());
         given(googleBooksPort.getBookByIsbn(isbn)).willReturn(Optional.empty());
 
         // when
@@ -214,18 +278,18 @@ class BookServiceImplTest {
 
         // then
         assertTrue(result.isEmpty());
-        then(bookRepository).should().findByIsbn(isbn);
+        then(bookRepository).should().findByIsbn13(isbn);
         then(googleBooksPort).should().getBookByIsbn(isbn);
-        then(bookRepository).should(never()).save(any(BookEntity.class));
+        then(bookRepository).should(never()).insertAllIfAbsent(anyList());
     }
 
     @Test
     void getBookByIsbn_deberiaRetornarExistentePorIsbnDeGoogle_cuandoGoogleDevuelveOtroIsbnQueYaExiste() {
         // given
-        String isbnSolicitado = "9780000000001";
-        String isbnGoogle = "9789999999999";
+        String isbnSolicitado = "9780000000002";
+        String isbnGoogle = "9789999999991";
 
-        given(bookRepository.findByIsbn(isbnSolicitado)).willReturn(Optional.empty());
+        given(bookRepository.findByIsbn13(isbnSolicitado)).willReturn(Optional.empty());
 
         Book googleBook = Book.builder()
                 .id("ignored")
@@ -237,9 +301,10 @@ class BookServiceImplTest {
         BookEntity existingGoogleIsbnEntity = BookEntity.builder()
                 .id("b-google")
                 .isbn(isbnGoogle)
+                .isbn13(isbnGoogle)
                 .title("Existing")
                 .build();
-        given(bookRepository.findByIsbn(isbnGoogle)).willReturn(Optional.of(existingGoogleIsbnEntity));
+        given(bookRepository.findByIsbn13(isbnGoogle)).willReturn(Optional.of(existingGoogleIsbnEntity));
 
         // when
         Optional<Book> result = sut.getBookByIsbn(isbnSolicitado);
@@ -248,14 +313,14 @@ class BookServiceImplTest {
         assertTrue(result.isPresent());
         assertEquals("b-google", result.get().getId());
         assertEquals(isbnGoogle, result.get().getIsbn());
-        then(bookRepository).should(never()).save(any(BookEntity.class));
+        then(bookRepository).should(never()).insertAllIfAbsent(anyList());
     }
 
     @Test
     void getBookByIsbn_deberiaGuardarYRetornarBook_cuandoVieneDeGoogleYNoHayConflictos() {
         // given
-        String isbn = "9780000000001";
-        given(bookRepository.findByIsbn(isbn)).willReturn(Optional.empty());
+        String isbn = "9780000000002";
+        given(bookRepository.findByIsbn13(isbn)).willReturn(Optional.empty());
 
         Book googleBook = Book.builder()
                 .id("x")
@@ -264,9 +329,9 @@ class BookServiceImplTest {
                 .build();
         given(googleBooksPort.getBookByIsbn(isbn)).willReturn(Optional.of(googleBook));
 
-        // el save debe devolver un entity con id seteado por el service
-        given(bookRepository.save(any(BookEntity.class)))
-                .willAnswer(inv -> inv.getArgument(0, BookEntity.class));
+        // el insert devuelve los ids realmente insertados
+        given(bookRepository.insertAllIfAbsent(anyList()))
+                .willAnswer(inv -> List.of(inv.<List<BookEntity>>getArgument(0).get(0).getId()));
 
         // when
         Optional<Book> result = sut.getBookByIsbn(isbn);
@@ -277,67 +342,38 @@ class BookServiceImplTest {
         assertTrue(result.get().getId().startsWith("book-"));
         assertEquals(isbn, result.get().getIsbn());
 
-        ArgumentCaptor<BookEntity> captor = ArgumentCaptor.forClass(BookEntity.class);
-        then(bookRepository).should().save(captor.capture());
-        BookEntity saved = captor.getValue();
-        assertNotNull(saved.getId());
+        ArgumentCaptor<List<BookEntity>> captor = ArgumentCaptor.forClass(List.class);
+        then(bookRepository).should().insertAllIfAbsent(captor.capture());
+        BookEntity saved = captor.getValue().get(0);
         assertTrue(saved.getId().startsWith("book-"));
         assertEquals(isbn, saved.getIsbn());
+        assertEquals(isbn, saved.getIsbn13());
+        then(bookSearchPort).should().index(List.of(result.get()));
     }
 
     @Test
-    void getBookByIsbn_deberiaRetornarLibroPorIsbnGoogle_cuandoSaveDaConflictoDuplicateKey() {
-        // given
-        String isbnSolicitado = "9780000000001";
-        String isbnGoogle = "9789999999999";
-
-        given(bookRepository.findByIsbn(isbnSolicitado)).willReturn(Optional.empty());
-
-        Book googleBook = Book.builder()
-                .id("x")
-                .isbn(isbnGoogle)
-                .title("Google Book")
-                .build();
-        given(googleBooksPort.getBookByIsbn(isbnSolicitado)).willReturn(Optional.of(googleBook));
-
-        BookEntity conflictEntity = BookEntity.builder()
-                .id("b-conflict")
-                .isbn(isbnGoogle)
-                .title("Conflict")
-                .build();
-        given(bookRepository.findByIsbn(isbnGoogle)).willReturn(Optional.of(conflictEntity));
-
-        // when
-        Optional<Book> result = sut.getBookByIsbn(isbnSolicitado);
-
-        // then
-        assertTrue(result.isPresent());
-        assertEquals("b-conflict", result.get().getId());
-        assertEquals(isbnGoogle, result.get().getIsbn());
-    }
-
-
-    @Test
-    void getBookByIsbn_deberiaRetornarEmpty_cuandoSaveDaErrorNoDuplicateKey() {
+    void getBookByIsbn_deberiaRetornarFilaExistente_cuandoOtroRequestLaInsertoAntes() {
         // given
-        String isbn = "9780000000001";
-        given(bookRepository.findByIsbn(isbn)).willReturn(Optional.empty());
-
-        Book googleBook = Book.builder()
-                .id("x")
+        String isbn = "9780000000002";
+        BookEntity concurrent = BookEntity.builder()
+                .id("b-concurrent")
                 .isbn(isbn)
-                .title("Google Book")
+                .isbn13(isbn)
+                .title("Concurrent")
                 .build();
-        given(googleBooksPort.getBookByIsbn(isbn)).willReturn(Optional.of(googleBook));
-
-        given(bookRepository.save(any(BookEntity.class)))
-                .willThrow(new RuntimeException("boom"));
+        given(bookRepository.findByIsbn13(isbn))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(concurrent));
+        given(googleBooksPort.getBookByIsbn(isbn))
+                .willReturn(Optional.of(Book.builder().isbn(isbn).title("Google Book").build()));
+        given(bookRepository.insertAllIfAbsent(anyList())).willReturn(List.of());
 
         // when
         Optional<Book> result = sut.getBookByIsbn(isbn);
 
         // then
-        assertTrue(result.isEmpty());
+        assertEquals("b-concurrent", result.orElseThrow().getId());
+        then(bookSearchPort).shouldHaveNoInteractions();
     }
 
     // ---------------- updateBookStatus ----------------
@@ -480,6 +516,7 @@ class BookServiceImplTest {
         assertTrue(result.isPresent());
         assertTrue(result.get().isWantsToExchange());
         then(gamificationService).should().processBookOfferedForExchange(userId);
+        then(exchangeMatchingService).should().onLibraryEntryChanged(userId, bookId, BookStatus.READING, true);
     }
 
     @Test
@@ -621,25 +658,68 @@ class BookServiceImplTest {
     }
 
     @Test
-    void getUserLibraryFiltered_deberiaLlamarRepoConFiltrosYMapear() {
+    void getUserLibraryFiltered_deberiaPaginarConSpecYMapear() {
         // given
         String userId = "u1";
-        Boolean favorites = true;
         BookStatus status = BookStatus.READING;
-        Boolean wantsToExchange = false;
 
-        given(userBookRepository.findByUserIdWithFilters(userId, favorites, status, wantsToExchange))
+        given(userBookRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .willAnswer(inv -> new PageImpl<>(
+                        List.of(UserBookEntity.builder().id("ub1").userId(userId).bookId("b1").status(status).favorite(true).build()),
+                        inv.getArgument(1),
+                        21));
+
+        // when
+        Page<UserBook> result = sut.getUserLibraryFiltered(userId, true, status, false, LibrarySort.TITLE, true, 2, 10);
+
+        // then
+        assertEquals(1, result.getContent().size());
+        assertEquals(21, result.getTotalElements());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        then(userBookRepository).should().findAll(any(Specification.class), pageable.capture());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals(10, pageable.getValue().getPageSize());
+        assertEquals(Sort.Direction.ASC, pageable.getValue().getSort().getOrderFor("book.title").getDirection());
+        assertNotNull(pageable.getValue().getSort().getOrderFor("id"));
+    }
+
+    @Test
+    void getUserLibraryFiltered_deberiaOrdenarPorFechaDesc_yLimitarTamanio() {
+        // given
+        given(userBookRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .willReturn(Page.empty());
+
+        // when
+        sut.getUserLibraryFiltered("u1", null, null, null, null, false, -1, 5000);
+
+        // then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        then(userBookRepository).should().findAll(any(Specification.class), pageable.capture());
+        assertEquals(0, pageable.getValue().getPageNumber());
+        assertEquals(100, pageable.getValue().getPageSize());
+        Sort.Order byDate = pageable.getValue().getSort().getOrderFor("dateCreated");
+        assertEquals(Sort.Direction.DESC, byDate.getDirection());
+        assertEquals(Sort.NullHandling.NULLS_LAST, byDate.getNullHandling());
+    }
+
+    @Test
+    void getUserLibraryCounts_deberiaSumarFilasYCompletarEstadosFaltantes() {
+        // given
+        given(userBookRepository.countLibraryByStatus("u1"))
                 .willReturn(List.of(
-                        UserBookEntity.builder().id("ub1").userId(userId).bookId("b1").status(status).favorite(true).wantsToExchange(false).build()
+                        new Object[] {BookStatus.READ, 3L, 2L, 1L},
+                        new Object[] {BookStatus.READING, 1L, 0L, 1L}
                 ));
 
         // when
-        List<UserBook> result = sut.getUserLibraryFiltered(userId, favorites, status, wantsToExchange);
+        LibraryCounts result = sut.getUserLibraryCounts("u1");
 
         // then
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        then(userBookRepository).should().findByUserIdWithFilters(userId, favorites, status, wantsToExchange);
+        assertEquals(4, result.getTotal());
+        assertEquals(2, result.getFavorites());
+        assertEquals(2, result.getWantsToExchange());
+        assertEquals(3L, result.getByStatus().get(BookStatus.READ));
+        assertEquals(0L, result.getByStatus().get(BookStatus.TO_READ));
     }
 
     @Test
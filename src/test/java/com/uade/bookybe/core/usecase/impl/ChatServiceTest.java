@@ -8,6 +8,7 @@ import static org.mockito.Mockito.never;
 import com.uade.bookybe.core.model.Chat;
 import com.uade.bookybe.core.model.Message;
 import com.uade.bookybe.core.port.ImageStoragePort;
+import com.uade.bookybe.core.usecase.BadgeService;
 import com.uade.bookybe.infraestructure.entity.ChatEntity;
 import com.uade.bookybe.infraestructure.entity.MessageEntity;
 import com.uade.bookybe.infraestructure.repository.ChatRepository;
@@ -26,6 +27,7 @@ class ChatServiceImplTest {
   @Mock private ChatRepository chatRepository;
   @Mock private MessageRepository messageRepository;
   @Mock private ImageStoragePort imageStoragePort;
+  @Mock private BadgeService badgeService;
 
   @InjectMocks private ChatServiceImpl sut;
 
@@ -142,6 +144,7 @@ class ChatServiceImplTest {
     assertNotNull(savedChat.getDateUpdated());
 
     then(imageStoragePort).shouldHaveNoInteractions();
+    then(badgeService).should().invalidate("u2");
   }
 
   @Test
@@ -401,5 +404,6 @@ class ChatServiceImplTest {
     assertEquals(1, saved.size());
     assertEquals("m1", saved.get(0).getId());
     assertTrue(saved.get(0).isRead());
+    then(badgeService).should().invalidate("u1");
   }
 }
@@ -0,0 +1,211 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.never;
+
+import com.uade.bookybe.config.CommunityConfig;
+import com.uade.bookybe.core.model.CommunityDeletionJob;
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import com.uade.bookybe.infraestructure.repository.CommentRepository;
+import com.uade.bookybe.infraestructure.repository.CommunityMemberRepository;
+import com.uade.bookybe.infraestructure.repository.CommunityRepository;
+import com.uade.bookybe.infraestructure.repository.PostRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class CommunityDeletionServiceImplTest {
+
+  @Mock private CommunityRepository communityRepository;
+  @Mock private CommunityMemberRepository communityMemberRepository;
+  @Mock private PostRepository postRepository;
+  @Mock private CommentRepository commentRepository;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  private final List<Runnable> queuedTasks = new ArrayList<>();
+  private final CommunityConfig config = new CommunityConfig();
+  private CommunityDeletionServiceImpl sut;
+
+  @BeforeEach
+  void setUp() {
+    config.setDeletionChunkSize(2);
+    sut = newService(queuedTasks::add);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private CommunityDeletionServiceImpl newService(Executor executor) {
+    return new CommunityDeletionServiceImpl(
+        communityRepository,
+        communityMemberRepository,
+        postRepository,
+        commentRepository,
+        transactionTemplate,
+        executor,
+        config);
+  }
+
+  private void runQueuedTasks() {
+    List<Runnable> tasks = new ArrayList<>(queuedTasks);
+    queuedTasks.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenTransactionRunsCallback() {
+    given(transactionTemplate.execute(any()))
+        .willAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+  }
+
+  @Test
+  void runDeletion_deberiaBorrarEnChunks_comentariosPostsMiembros_yLaComunidadAlFinal() {
+    // given
+    givenTransactionRunsCallback();
+    given(commentRepository.deleteChunkByCommunityId("c1", 2)).willReturn(2, 1);
+    given(postRepository.findIdsByCommunityId("c1", 2))
+        .willReturn(List.of("p1", "p2"), List.of("p3"), List.of());
+    given(commentRepository.deleteByPostIdIn(anyCollection())).willReturn(0);
+    given(postRepository.deleteByIdIn(List.of("p1", "p2"))).willReturn(2);
+    given(postRepository.deleteByIdIn(List.of("p3"))).willReturn(1);
+    given(communityMemberRepository.deleteChunkByCommunityId("c1", 2)).willReturn(2, 2, 0);
+
+    // when
+    CommunityDeletionJob job = sut.startDeletion("c1", "admin1");
+    runQueuedTasks();
+
+    // then
+    CommunityDeletionJob finished = sut.getDeletionJob("admin1", job.getId()).orElseThrow();
+    assertEquals(DeletionJobStatus.COMPLETED, finished.getStatus());
+    assertEquals(3, finished.getDeletedComments());
+    assertEquals(3, finished.getDeletedPosts());
+    assertEquals(4, finished.getDeletedMembers());
+    assertNotNull(finished.getDateFinished());
+
+    InOrder order = inOrder(commentRepository, postRepository, communityMemberRepository, communityRepository);
+    order.verify(commentRepository, times(2)).deleteChunkByCommunityId("c1", 2);
+    order.verify(postRepository).deleteLikesByPostIdIn(List.of("p1", "p2"));
+    order.verify(postRepository).deleteByIdIn(List.of("p1", "p2"));
+    order.verify(communityMemberRepository, times(3)).deleteChunkByCommunityId("c1", 2);
+    order.verify(communityRepository).deleteHidden("c1");
+  }
+
+  @Test
+  void runDeletion_deberiaQuedarFailed_yLiberarLaComunidad_cuandoFallaUnChunk() {
+    // given
+    given(commentRepository.deleteChunkByCommunityId("c1", 2))
+        .willThrow(new RuntimeException("lock timeout"));
+
+    // when
+    CommunityDeletionJob job = sut.startDeletion("c1", "admin1");
+    runQueuedTasks();
+    CommunityDeletionJob retry = sut.startDeletion("c1", "admin1");
+
+    // then
+    CommunityDeletionJob failed = sut.getDeletionJob("admin1", job.getId()).orElseThrow();
+    assertEquals(DeletionJobStatus.FAILED, failed.getStatus());
+    assertEquals("lock timeout", failed.getErrorMessage());
+    assertNotEquals(job.getId(), retry.getId());
+    then(communityRepository).should(never()).deleteHidden(any());
+  }
+
+  @Test
+  void startDeletion_deberiaDevolverElJobEnCurso_cuandoYaSeEstaBorrando() {
+    // when
+    CommunityDeletionJob first = sut.startDeletion("c1", "admin1");
+    CommunityDeletionJob second = sut.startDeletion("c1", "admin1");
+
+    // then
+    assertEquals(first.getId(), second.getId());
+    assertEquals(1, queuedTasks.size());
+  }
+
+  @Test
+  void startDeletion_deberiaEncolarRecienDespuesDelCommit() {
+    // given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    sut.startDeletion("c1", "admin1");
+    int queuedBeforeCommit = queuedTasks.size();
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+    // then
+    assertEquals(0, queuedBeforeCommit);
+    assertEquals(1, queuedTasks.size());
+  }
+
+  @Test
+  void startDeletion_noDeberiaEncolar_cuandoElPedidoHaceRollback() {
+    // given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    CommunityDeletionJob job = sut.startDeletion("c1", "admin1");
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    // then
+    assertTrue(queuedTasks.isEmpty());
+    assertTrue(sut.getDeletionJob("admin1", job.getId()).isEmpty());
+  }
+
+  @Test
+  void startDeletion_deberiaMarcarFailed_cuandoLaColaEstaLlena() {
+    // given
+    sut =
+        newService(
+            task -> {
+              throw new RejectedExecutionException("full");
+            });
+
+    // when
+    CommunityDeletionJob job = sut.startDeletion("c1", "admin1");
+
+    // then
+    assertEquals(
+        DeletionJobStatus.FAILED, sut.getDeletionJob("admin1", job.getId()).orElseThrow().getStatus());
+  }
+
+  @Test
+  void getDeletionJob_noDeberiaDevolverJobsDeOtroAdmin() {
+    // when
+    CommunityDeletionJob job = sut.startDeletion("c1", "admin1");
+
+    // then
+    assertTrue(sut.getDeletionJob("otro", job.getId()).isEmpty());
+  }
+
+  @Test
+  void resumeAbandonedDeletions_deberiaRetomarComunidadesOcultasSinJob() {
+    // given
+    sut.startDeletion("c1", "admin1");
+    given(communityRepository.findIdsHiddenBefore(any())).willReturn(List.of("c1", "c2"));
+
+    // when
+    sut.resumeAbandonedDeletions();
+
+    // then: c1 ya tenía job, solo se encola c2
+    assertEquals(2, queuedTasks.size());
+  }
+}
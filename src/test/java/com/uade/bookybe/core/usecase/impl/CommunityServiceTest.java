@@ -5,26 +5,32 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
 import static org.mockito.Mockito.never;
 
+import com.uade.bookybe.config.CommunityConfig;
+import com.uade.bookybe.core.exception.BadRequestException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.exception.UnauthorizedException;
 import com.uade.bookybe.core.model.Community;
+import com.uade.bookybe.core.model.CommunityDeletionJob;
+import com.uade.bookybe.core.model.CommunityPage;
+import com.uade.bookybe.core.model.CommunitySearchResult;
+import com.uade.bookybe.core.model.constant.CommunitySort;
+import com.uade.bookybe.core.port.CommunitySearchPort;
+import com.uade.bookybe.core.usecase.CommunityDeletionService;
 import com.uade.bookybe.core.usecase.GamificationService;
-import com.uade.bookybe.infraestructure.entity.CommentEntity;
 import com.uade.bookybe.infraestructure.entity.CommunityEntity;
 import com.uade.bookybe.infraestructure.entity.CommunityMemberEntity;
 import com.uade.bookybe.infraestructure.entity.CommunityMemberId;
-import com.uade.bookybe.infraestructure.entity.PostEntity;
-import com.uade.bookybe.infraestructure.repository.CommentRepository;
 import com.uade.bookybe.infraestructure.repository.CommunityMemberRepository;
 import com.uade.bookybe.infraestructure.repository.CommunityRepository;
-import com.uade.bookybe.infraestructure.repository.PostRepository;
 import com.uade.bookybe.infraestructure.repository.UserRepository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -34,10 +40,11 @@ class CommunityServiceImplTest {
 
     @Mock private CommunityRepository communityRepository;
     @Mock private CommunityMemberRepository communityMemberRepository;
-    @Mock private PostRepository postRepository;
-    @Mock private CommentRepository commentRepository;
     @Mock private UserRepository userRepository;
     @Mock private GamificationService gamificationService;
+    @Mock private CommunitySearchPort communitySearchPort;
+    @Mock private CommunityDeletionService communityDeletionService;
+    @Spy private CommunityConfig communityConfig = new CommunityConfig();
 
     @InjectMocks private CommunityServiceImpl sut;
 
@@ -112,16 +119,15 @@ class CommunityServiceImplTest {
         given(communityRepository.save(any(CommunityEntity.class))).willReturn(savedEntity);
 
         // joinCommunity llamado internamente:
-        given(communityRepository.existsById(communityId)).willReturn(true);
+        given(communityRepository.existsByIdAndDeletedAtIsNull(communityId)).willReturn(true);
         given(userRepository.existsById(adminId)).willReturn(true);
         given(communityMemberRepository.existsById(any(CommunityMemberId.class))).willReturn(false);
         given(communityMemberRepository.save(any(CommunityMemberEntity.class)))
                 .willAnswer(inv -> inv.getArgument(0, CommunityMemberEntity.class));
 
-        // joinAvailable = !isUserMember => isUserMember usa existsById(memberId)
-        // Como arriba devolvemos false, joinAvailable debería quedar true (admin no es miembro aún en check final)
-        // memberCount
-        given(communityMemberRepository.countByCommunityId(communityId)).willReturn(3L);
+        // joinAvailable se resuelve con una sola consulta de membresías
+        given(communityMemberRepository.findCommunityIdsByUserIdAndCommunityIdIn(adminId, List.of(communityId)))
+                .willReturn(List.of(communityId));
 
         // when
         Optional<Community> result = sut.createCommunity(adminId, name, description);
@@ -132,9 +138,11 @@ class CommunityServiceImplTest {
         assertEquals(name, result.get().getName());
         assertEquals(description, result.get().getDescription());
         assertEquals(adminId, result.get().getAdminId());
-        assertEquals(3L, result.get().getMemberCount());
-        assertTrue(result.get().isJoinAvailable());
+        assertEquals(1L, result.get().getMemberCount());
+        assertFalse(result.get().isJoinAvailable());
 
+        then(communityRepository).should().addToMemberCount(communityId, 1);
+        then(communitySearchPort).should().index(communityId, name, description);
         then(gamificationService).should().processCommunityCreated(adminId);
 
         clearSecurity();
@@ -164,13 +172,10 @@ class CommunityServiceImplTest {
         mockAuthUser(currentUser);
 
         given(communityRepository.findById(communityId))
-                .willReturn(Optional.of(CommunityEntity.builder().id(communityId).name("N").adminId("admin").build()));
-
-        // joinAvailable depende de isUserMember -> existsById(memberId)
-        given(communityMemberRepository.existsById(new CommunityMemberId(communityId, currentUser)))
-                .willReturn(false);
+                .willReturn(Optional.of(CommunityEntity.builder().id(communityId).name("N").adminId("admin").memberCount(10L).build()));
 
-        given(communityMemberRepository.countByCommunityId(communityId)).willReturn(10L);
+        given(communityMemberRepository.findCommunityIdsByUserIdAndCommunityIdIn(currentUser, List.of(communityId)))
+                .willReturn(List.of());
 
         // when
         Optional<Community> result = sut.getCommunityById(communityId);
@@ -191,14 +196,14 @@ class CommunityServiceImplTest {
         // given
         mockAuthUser("u-current");
 
-        given(communityRepository.findByAdminIdOrderByDateCreatedDesc("admin1"))
+        given(communityRepository.findByAdminIdAndDeletedAtIsNullOrderByDateCreatedDesc("admin1"))
                 .willReturn(List.of(
                         CommunityEntity.builder().id("c1").adminId("admin1").name("A").build(),
                         CommunityEntity.builder().id("c2").adminId("admin1").name("B").build()
                 ));
 
-        given(communityMemberRepository.existsById(new CommunityMemberId("c1", "u-current"))).willReturn(false);
-        given(communityMemberRepository.existsById(new CommunityMemberId("c2", "u-current"))).willReturn(true);
+        given(communityMemberRepository.findCommunityIdsByUserIdAndCommunityIdIn("u-current", List.of("c1", "c2")))
+                .willReturn(List.of("c2"));
 
         // when
         List<Community> result = sut.getCommunitiesByAdminId("admin1");
@@ -212,50 +217,143 @@ class CommunityServiceImplTest {
     }
 
     @Test
-    void getAllCommunities_deberiaMapearYEnriquecerMemberCount_yJoinAvailable() {
+    void getCommunities_deberiaDevolverCursor_yContinuarDesdeLaUltimaFila() {
         // given
         mockAuthUser("u-current");
+        LocalDateTime d1 = LocalDateTime.of(2025, 3, 3, 10, 0);
+        LocalDateTime d2 = LocalDateTime.of(2025, 3, 2, 10, 0);
+        LocalDateTime d3 = LocalDateTime.of(2025, 3, 1, 10, 0);
 
-        given(communityRepository.findAllWithAdminOrderByDateCreatedDesc())
+        given(communityRepository.findByDeletedAtIsNullOrderByDateCreatedDescIdDesc(PageRequest.of(0, 3)))
+                .willReturn(List.of(
+                        CommunityEntity.builder().id("c1").name("A").adminId("a").dateCreated(d1).build(),
+                        CommunityEntity.builder().id("c2").name("B").adminId("b").dateCreated(d2).build(),
+                        CommunityEntity.builder().id("c3").name("C").adminId("c").dateCreated(d3).build()
+                ));
+        given(communityRepository.findNewestAfter(d2, "c2", PageRequest.of(0, 3)))
                 .willReturn(List.of(
-                        CommunityEntity.builder().id("c1").name("A").adminId("a").build(),
-                        CommunityEntity.builder().id("c2").name("B").adminId("b").build()
+                        CommunityEntity.builder().id("c3").name("C").adminId("c").dateCreated(d3).build()
                 ));
+        given(communityMemberRepository.findCommunityIdsByUserIdAndCommunityIdIn(eq("u-current"), anyList()))
+                .willReturn(List.of("c2"));
 
-        given(communityMemberRepository.countByCommunityId("c1")).willReturn(2L);
-        given(communityMemberRepository.countByCommunityId("c2")).willReturn(5L);
+        // when
+        CommunityPage first = sut.getCommunities(CommunitySort.NEWEST, null, 2);
+        CommunityPage second = sut.getCommunities(CommunitySort.NEWEST, first.getNextCursor(), 2);
+
+        // then
+        assertEquals(List.of("c1", "c2"), first.getCommunities().stream().map(Community::getId).toList());
+        assertTrue(first.getCommunities().get(0).isJoinAvailable());
+        assertFalse(first.getCommunities().get(1).isJoinAvailable());
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of("c3"), second.getCommunities().stream().map(Community::getId).toList());
+        assertNull(second.getNextCursor());
 
-        given(communityMemberRepository.existsById(new CommunityMemberId("c1", "u-current"))).willReturn(false);
-        given(communityMemberRepository.existsById(new CommunityMemberId("c2", "u-current"))).willReturn(false);
+        clearSecurity();
+    }
+
+    @Test
+    void getCommunities_porMiembros_deberiaUsarLaColumnaMemberCount_sinConsultasPorFila() {
+        // given
+        mockAuthUser("u-current");
+
+        given(communityRepository.findByDeletedAtIsNullOrderByMemberCountDescIdDesc(PageRequest.of(0, 21)))
+                .willReturn(List.of(
+                        CommunityEntity.builder().id("c2").name("B").adminId("b").memberCount(5L).build(),
+                        CommunityEntity.builder().id("c1").name("A").adminId("a").memberCount(2L).build()
+                ));
+        given(communityMemberRepository.findCommunityIdsByUserIdAndCommunityIdIn("u-current", List.of("c2", "c1")))
+                .willReturn(List.of());
 
         // when
-        List<Community> result = sut.getAllCommunities();
+        CommunityPage result = sut.getCommunities(CommunitySort.MEMBERS, null, 20);
 
         // then
-        assertEquals(2, result.size());
-        assertEquals(2L, result.get(0).getMemberCount());
-        assertEquals(5L, result.get(1).getMemberCount());
-        assertTrue(result.get(0).isJoinAvailable());
-        assertTrue(result.get(1).isJoinAvailable());
+        assertEquals(2, result.getCommunities().size());
+        assertEquals(5L, result.getCommunities().get(0).getMemberCount());
+        assertEquals(2L, result.getCommunities().get(1).getMemberCount());
+        assertNull(result.getNextCursor());
+        then(communityMemberRepository).should(never()).countByCommunityId(any());
+        then(communityMemberRepository).should(never()).existsById(any());
 
         clearSecurity();
     }
 
     @Test
-    void searchCommunities_deberiaMapearYEnriquecerMemberCount() {
+    void getCommunities_deberiaLimitarElTamanio_aMaxPageSize() {
+        // given
+        communityConfig.setMaxPageSize(5);
+        given(communityRepository.findByDeletedAtIsNullOrderByLastActivityAtDescIdDesc(PageRequest.of(0, 6)))
+                .willReturn(List.of());
+
+        // when
+        CommunityPage result = sut.getCommunities(CommunitySort.ACTIVITY, null, 500);
+
+        // then
+        assertTrue(result.getCommunities().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getCommunities_deberiaLanzarBadRequest_cuandoElCursorEsDeOtroSort() {
         // given
-        given(communityRepository.searchCommunities("q"))
+        mockAuthUser("u-current");
+        given(communityRepository.findByDeletedAtIsNullOrderByDateCreatedDescIdDesc(PageRequest.of(0, 2)))
                 .willReturn(List.of(
-                        CommunityEntity.builder().id("c1").name("A").adminId("a").build()
+                        CommunityEntity.builder().id("c1").name("A").adminId("a").dateCreated(LocalDateTime.now()).build(),
+                        CommunityEntity.builder().id("c2").name("B").adminId("b").dateCreated(LocalDateTime.now()).build()
                 ));
-        given(communityMemberRepository.countByCommunityId("c1")).willReturn(7L);
+        String newestCursor = sut.getCommunities(CommunitySort.NEWEST, null, 1).getNextCursor();
+
+        // when / then
+        assertThrows(
+                BadRequestException.class,
+                () -> sut.getCommunities(CommunitySort.MEMBERS, newestCursor, 1));
+        assertThrows(
+                BadRequestException.class,
+                () -> sut.getCommunities(CommunitySort.NEWEST, "no-es-un-cursor!", 1));
+
+        clearSecurity();
+    }
+
+    @Test
+    void searchCommunities_deberiaDelegarEnElIndice_yMarcarJoinAvailableEnLote() {
+        // given
+        mockAuthUser("u-current");
+        communityConfig.setMaxPageSize(10);
+        Community c1 = Community.builder().id("c1").name("A").memberCount(7L).build();
+        given(communitySearchPort.search("q", 0, 10))
+                .willReturn(CommunitySearchResult.builder()
+                        .communities(List.of(c1))
+                        .totalHits(1)
+                        .page(0)
+                        .size(10)
+                        .build());
+        given(communityMemberRepository.findCommunityIdsByUserIdAndCommunityIdIn("u-current", List.of("c1")))
+                .willReturn(List.of("c1"));
 
         // when
-        List<Community> result = sut.searchCommunities("q");
+        CommunitySearchResult result = sut.searchCommunities("q", -1, 50);
 
         // then
-        assertEquals(1, result.size());
-        assertEquals(7L, result.get(0).getMemberCount());
+        assertEquals(1, result.getTotalHits());
+        assertEquals(7L, result.getCommunities().get(0).getMemberCount());
+        assertFalse(result.getCommunities().get(0).isJoinAvailable());
+
+        clearSecurity();
+    }
+
+    @Test
+    void searchCommunities_deberiaAcotarLaProfundidadDePaginado() {
+        // given
+        given(communitySearchPort.search(anyString(), anyInt(), anyInt()))
+                .willReturn(CommunitySearchResult.builder().communities(List.of()).build());
+
+        // when
+        sut.searchCommunities("q", Integer.MAX_VALUE, 50);
+
+        // then
+        then(communitySearchPort).should().search("q", 20, 50);
     }
 
     // ---------------- updateCommunity ----------------
@@ -335,16 +433,32 @@ class CommunityServiceImplTest {
     // ---------------- deleteCommunity ----------------
 
     @Test
-    void deleteCommunity_deberiaRetornarFalse_cuandoNoExiste() {
+    void deleteCommunity_deberiaRetornarEmpty_cuandoNoExiste() {
         // given
         given(communityRepository.findById("c1")).willReturn(Optional.empty());
 
         // when
-        boolean result = sut.deleteCommunity("c1", "admin1");
+        Optional<CommunityDeletionJob> result = sut.deleteCommunity("c1", "admin1");
 
         // then
-        assertFalse(result);
-        then(communityRepository).should(never()).delete(any());
+        assertTrue(result.isEmpty());
+        then(communityRepository).should(never()).hide(any(), any());
+        then(communityDeletionService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deleteCommunity_deberiaRetornarEmpty_cuandoYaEstaOculta() {
+        // given
+        given(communityRepository.findById("c1"))
+                .willReturn(Optional.of(CommunityEntity.builder().id("c1").adminId("admin1")
+                        .deletedAt(LocalDateTime.now()).build()));
+
+        // when
+        Optional<CommunityDeletionJob> result = sut.deleteCommunity("c1", "admin1");
+
+        // then
+        assertTrue(result.isEmpty());
+        then(communityDeletionService).shouldHaveNoInteractions();
     }
 
     @Test
@@ -355,68 +469,44 @@ class CommunityServiceImplTest {
 
         // when + then
         assertThrows(UnauthorizedException.class, () -> sut.deleteCommunity("c1", "admin1"));
-        then(communityRepository).should(never()).delete(any());
+        then(communityRepository).should(never()).hide(any(), any());
     }
 
     @Test
-    void deleteCommunity_deberiaHacerCascadeDelete_yRetornarTrue_cuandoValido() {
+    void deleteCommunity_deberiaOcultar_yEncolarElBorrado_sinBorrarEnElPedido() {
         // given
         String communityId = "c1";
         String adminId = "admin1";
 
-        CommunityEntity communityEntity = CommunityEntity.builder().id(communityId).adminId(adminId).build();
-        given(communityRepository.findById(communityId)).willReturn(Optional.of(communityEntity));
-
-        PostEntity p1 = PostEntity.builder().id("p1").communityId(communityId).build();
-        PostEntity p2 = PostEntity.builder().id("p2").communityId(communityId).build();
-        given(postRepository.findByCommunityIdOrderByDateCreatedDesc(communityId)).willReturn(List.of(p1, p2));
-
-        CommentEntity c1 = CommentEntity.builder().id("cmt1").postId("p1").build();
-        CommentEntity c2 = CommentEntity.builder().id("cmt2").postId("p2").build();
-        given(commentRepository.findByPostIdOrderByDateCreatedDesc("p1")).willReturn(List.of(c1));
-        given(commentRepository.findByPostIdOrderByDateCreatedDesc("p2")).willReturn(List.of(c2));
-
-        CommunityMemberEntity m1 = CommunityMemberEntity.builder().communityId(communityId).userId("u1").build();
-        CommunityMemberEntity m2 = CommunityMemberEntity.builder().communityId(communityId).userId("u2").build();
-        given(communityMemberRepository.findByCommunityIdWithUser(communityId)).willReturn(List.of(m1, m2));
-
-        willDoNothing().given(commentRepository).deleteAll(anyList());
-        willDoNothing().given(postRepository).deleteAll(anyList());
-        willDoNothing().given(communityMemberRepository).deleteAll(anyList());
-        willDoNothing().given(communityRepository).delete(communityEntity);
+        given(communityRepository.findById(communityId))
+                .willReturn(Optional.of(CommunityEntity.builder().id(communityId).adminId(adminId).build()));
+        given(communityRepository.hide(eq(communityId), any(LocalDateTime.class))).willReturn(1);
+        CommunityDeletionJob job = CommunityDeletionJob.builder().id("delete-1").communityId(communityId).build();
+        given(communityDeletionService.startDeletion(communityId, adminId)).willReturn(job);
 
         // when
-        boolean result = sut.deleteCommunity(communityId, adminId);
+        Optional<CommunityDeletionJob> result = sut.deleteCommunity(communityId, adminId);
 
         // then
-        assertTrue(result);
-
-        then(commentRepository).should().deleteAll(List.of(c1));
-        then(commentRepository).should().deleteAll(List.of(c2));
-        then(postRepository).should().deleteAll(List.of(p1, p2));
-        then(communityMemberRepository).should().deleteAll(List.of(m1, m2));
-        then(communityRepository).should().delete(communityEntity);
+        assertEquals(Optional.of(job), result);
+        then(communitySearchPort).should().remove(communityId);
+        then(communityRepository).should(never()).delete(any());
+        then(communityMemberRepository).shouldHaveNoInteractions();
     }
 
     @Test
-    void deleteCommunity_deberiaRetornarFalse_cuandoFallaAlgunaEliminacion() {
+    void deleteCommunity_noDeberiaEncolar_cuandoOtroPedidoLaOcultoAntes() {
         // given
-        String communityId = "c1";
-        String adminId = "admin1";
-
-        CommunityEntity communityEntity = CommunityEntity.builder().id(communityId).adminId(adminId).build();
-        given(communityRepository.findById(communityId)).willReturn(Optional.of(communityEntity));
-
-        given(postRepository.findByCommunityIdOrderByDateCreatedDesc(communityId)).willReturn(List.of());
-        given(communityMemberRepository.findByCommunityIdWithUser(communityId)).willReturn(List.of());
-
-        willThrow(new RuntimeException("boom")).given(communityRepository).delete(communityEntity);
+        given(communityRepository.findById("c1"))
+                .willReturn(Optional.of(CommunityEntity.builder().id("c1").adminId("admin1").build()));
+        given(communityRepository.hide(eq("c1"), any(LocalDateTime.class))).willReturn(0);
 
         // when
-        boolean result = sut.deleteCommunity(communityId, adminId);
+        Optional<CommunityDeletionJob> result = sut.deleteCommunity("c1", "admin1");
 
         // then
-        assertFalse(result);
+        assertTrue(result.isEmpty());
+        then(communityDeletionService).shouldHaveNoInteractions();
     }
 
     // ---------------- joinCommunity ----------------
@@ -424,7 +514,7 @@ class CommunityServiceImplTest {
     @Test
     void joinCommunity_deberiaLanzarNotFound_cuandoCommunityNoExiste() {
         // given
-        given(communityRepository.existsById("c1")).willReturn(false);
+        given(communityRepository.existsByIdAndDeletedAtIsNull("c1")).willReturn(false);
 
         // when + then
         assertThrows(NotFoundException.class, () -> sut.joinCommunity("c1", "u1"));
@@ -436,7 +526,7 @@ class CommunityServiceImplTest {
     @Test
     void joinCommunity_deberiaLanzarNotFound_cuandoUserNoExiste() {
         // given
-        given(communityRepository.existsById("c1")).willReturn(true);
+        given(communityRepository.existsByIdAndDeletedAtIsNull("c1")).willReturn(true);
         given(userRepository.existsById("u1")).willReturn(false);
 
         // when + then
@@ -448,7 +538,7 @@ class CommunityServiceImplTest {
     @Test
     void joinCommunity_deberiaRetornarFalse_cuandoYaEsMiembro() {
         // given
-        given(communityRepository.existsById("c1")).willReturn(true);
+        given(communityRepository.existsByIdAndDeletedAtIsNull("c1")).willReturn(true);
         given(userRepository.existsById("u1")).willReturn(true);
         given(communityMemberRepository.existsById(new CommunityMemberId("c1", "u1"))).willReturn(true);
 
@@ -458,6 +548,7 @@ class CommunityServiceImplTest {
         // then
         assertFalse(result);
         then(communityMemberRepository).should(never()).save(any());
+        then(communityRepository).should(never()).addToMemberCount(any(), anyLong());
         then(gamificationService).shouldHaveNoInteractions();
     }
 
@@ -467,7 +558,7 @@ class CommunityServiceImplTest {
         String communityId = "c1";
         String userId = "u1";
 
-        given(communityRepository.existsById(communityId)).willReturn(true);
+        given(communityRepository.existsByIdAndDeletedAtIsNull(communityId)).willReturn(true);
         given(userRepository.existsById(userId)).willReturn(true);
         given(communityMemberRepository.existsById(new CommunityMemberId(communityId, userId))).willReturn(false);
 
@@ -484,6 +575,7 @@ class CommunityServiceImplTest {
         // then
         assertTrue(result);
         then(communityMemberRepository).should().save(argThat(m -> communityId.equals(m.getCommunityId()) && userId.equals(m.getUserId())));
+        then(communityRepository).should().addToMemberCount(communityId, 1);
         then(gamificationService).should().processCommunityJoined(userId);
     }
 
@@ -493,7 +585,7 @@ class CommunityServiceImplTest {
         String communityId = "c1";
         String adminId = "admin1";
 
-        given(communityRepository.existsById(communityId)).willReturn(true);
+        given(communityRepository.existsByIdAndDeletedAtIsNull(communityId)).willReturn(true);
         given(userRepository.existsById(adminId)).willReturn(true);
         given(communityMemberRepository.existsById(new CommunityMemberId(communityId, adminId))).willReturn(false);
         given(communityMemberRepository.save(any(CommunityMemberEntity.class)))
@@ -516,7 +608,7 @@ class CommunityServiceImplTest {
         String communityId = "c1";
         String userId = "u1";
 
-        given(communityRepository.existsById(communityId)).willReturn(true);
+        given(communityRepository.existsByIdAndDeletedAtIsNull(communityId)).willReturn(true);
         given(userRepository.existsById(userId)).willReturn(true);
         given(communityMemberRepository.existsById(new CommunityMemberId(communityId, userId))).willReturn(false);
         given(communityMemberRepository.save(any(CommunityMemberEntity.class)))
@@ -539,7 +631,7 @@ class CommunityServiceImplTest {
         String communityId = "c1";
         String userId = "u1";
 
-        given(communityRepository.existsById(communityId)).willReturn(true);
+        given(communityRepository.existsByIdAndDeletedAtIsNull(communityId)).willReturn(true);
         given(userRepository.existsById(userId)).willReturn(true);
         given(communityMemberRepository.existsById(new CommunityMemberId(communityId, userId))).willReturn(false);
 
@@ -566,7 +658,8 @@ class CommunityServiceImplTest {
 
         // then
         assertFalse(result);
-        then(communityMemberRepository).should(never()).deleteById(any());
+        then(communityMemberRepository).should(never()).deleteMember(any(), any());
+        then(communityRepository).should(never()).addToMemberCount(any(), anyLong());
     }
 
     @Test
@@ -574,14 +667,29 @@ class CommunityServiceImplTest {
         // given
         CommunityMemberId memberId = new CommunityMemberId("c1", "u1");
         given(communityMemberRepository.existsById(memberId)).willReturn(true);
-        willDoNothing().given(communityMemberRepository).deleteById(memberId);
+        given(communityMemberRepository.deleteMember("c1", "u1")).willReturn(1);
 
         // when
         boolean result = sut.leaveCommunity("c1", "u1");
 
         // then
         assertTrue(result);
-        then(communityMemberRepository).should().deleteById(memberId);
+        then(communityRepository).should().addToMemberCount("c1", -1);
+    }
+
+    @Test
+    void leaveCommunity_noDeberiaDescontar_cuandoOtraBajaBorroLaFilaAntes() {
+        // given
+        CommunityMemberId memberId = new CommunityMemberId("c1", "u1");
+        given(communityMemberRepository.existsById(memberId)).willReturn(true);
+        given(communityMemberRepository.deleteMember("c1", "u1")).willReturn(0);
+
+        // when
+        boolean result = sut.leaveCommunity("c1", "u1");
+
+        // then
+        assertFalse(result);
+        then(communityRepository).should(never()).addToMemberCount(any(), anyLong());
     }
 
     @Test
@@ -589,7 +697,7 @@ class CommunityServiceImplTest {
         // given
         CommunityMemberId memberId = new CommunityMemberId("c1", "u1");
         given(communityMemberRepository.existsById(memberId)).willReturn(true);
-        willThrow(new RuntimeException("boom")).given(communityMemberRepository).deleteById(memberId);
+        given(communityMemberRepository.deleteMember("c1", "u1")).willThrow(new RuntimeException("boom"));
 
         // when
         boolean result = sut.leaveCommunity("c1", "u1");
@@ -603,8 +711,8 @@ class CommunityServiceImplTest {
     @Test
     void getUserCommunities_deberiaMapearDesdeMemberEntity_yEnriquecerMemberCount() {
         // given
-        CommunityEntity c1 = CommunityEntity.builder().id("c1").name("A").adminId("a").build();
-        CommunityEntity c2 = CommunityEntity.builder().id("c2").name("B").adminId("b").build();
+        CommunityEntity c1 = CommunityEntity.builder().id("c1").name("A").adminId("a").memberCount(2L).build();
+        CommunityEntity c2 = CommunityEntity.builder().id("c2").name("B").adminId("b").memberCount(5L).build();
 
         CommunityMemberEntity m1 = CommunityMemberEntity.builder().communityId("c1").userId("u1").build();
         CommunityMemberEntity m2 = CommunityMemberEntity.builder().communityId("c2").userId("u1").build();
@@ -613,8 +721,6 @@ class CommunityServiceImplTest {
         m2.setCommunity(c2);
 
         given(communityMemberRepository.findByUserIdWithCommunity("u1")).willReturn(List.of(m1, m2));
-        given(communityMemberRepository.countByCommunityId("c1")).willReturn(2L);
-        given(communityMemberRepository.countByCommunityId("c2")).willReturn(5L);
 
         // when
         List<Community> result = sut.getUserCommunities("u1");
@@ -641,27 +747,21 @@ class CommunityServiceImplTest {
         then(communityMemberRepository).should().existsById(memberId);
     }
 
-    // ---------------- enrichWithMemberCount (error path) ----------------
-    // Se prueba indirectamente: si countByCommunityId lanza excepción, memberCount = 0
+    // ---------------- enrichWithJoinAvailable ----------------
 
     @Test
-    void getAllCommunities_siFallaCount_deberiaSetearMemberCountCero() {
+    void getCommunities_sinAutenticacion_deberiaMarcarJoinAvailable_sinConsultarMembresias() {
         // given
-        mockAuthUser("u-current");
-
-        given(communityRepository.findAllWithAdminOrderByDateCreatedDesc())
+        clearSecurity();
+        given(communityRepository.findByDeletedAtIsNullOrderByDateCreatedDescIdDesc(any()))
                 .willReturn(List.of(CommunityEntity.builder().id("c1").name("A").adminId("a").build()));
 
-        given(communityMemberRepository.countByCommunityId("c1")).willThrow(new RuntimeException("boom"));
-        given(communityMemberRepository.existsById(new CommunityMemberId("c1", "u-current"))).willReturn(false);
-
         // when
-        List<Community> result = sut.getAllCommunities();
+        List<Community> result = sut.getCommunities(CommunitySort.NEWEST, null, 20).getCommunities();
 
         // then
         assertEquals(1, result.size());
-        assertEquals(0L, result.get(0).getMemberCount());
-
-        clearSecurity();
+        assertTrue(result.get(0).isJoinAvailable());
+        then(communityMemberRepository).shouldHaveNoInteractions();
     }
 }
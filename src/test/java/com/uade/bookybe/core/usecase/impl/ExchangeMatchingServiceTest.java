@@ -0,0 +1,249 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.uade.bookybe.config.ExchangeMatchingConfig;
+import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.SuggestedTrade;
+import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.TradeMatchType;
+import com.uade.bookybe.infraestructure.entity.AddressEntity;
+import com.uade.bookybe.infraestructure.entity.BookEntity;
+import com.uade.bookybe.infraestructure.entity.UserEntity;
+import com.uade.bookybe.infraestructure.repository.BookRepository;
+import com.uade.bookybe.infraestructure.repository.UserBookRepository;
+import com.uade.bookybe.infraestructure.repository.UserRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeMatchingServiceImplTest {
+
+  @Mock private UserBookRepository userBookRepository;
+  @Mock private BookRepository bookRepository;
+  @Mock private UserRepository userRepository;
+
+  private ExchangeMatchingServiceImpl sut;
+
+  /** Coordenadas por usuario; u1 está en el Obelisco */
+  private static final Map<String, double[]> LOCATIONS =
+      Map.of(
+          "u1", new double[] {-34.6037, -58.3816},
+          "u2", new double[] {-34.6158, -58.4333},
+          "u5", new double[] {-31.4201, -64.1888});
+
+  @BeforeEach
+  void setUp() {
+    sut =
+        new ExchangeMatchingServiceImpl(
+            userBookRepository, bookRepository, userRepository, new ExchangeMatchingConfig());
+  }
+
+  private void offer(String userId, String bookId) {
+    sut.onLibraryEntryChanged(userId, bookId, BookStatus.READ, true);
+  }
+
+  private void wish(String userId, String bookId) {
+    sut.onLibraryEntryChanged(userId, bookId, BookStatus.WISHLIST, false);
+  }
+
+  private void givenRepositoriesLoadRequestedIds() {
+    given(userRepository.findAllById(anyIterable()))
+        .willAnswer(
+            inv ->
+                StreamSupport.stream(inv.<Iterable<String>>getArgument(0).spliterator(), false)
+                    .map(ExchangeMatchingServiceImplTest::user)
+                    .toList());
+    given(bookRepository.findAllWithCategoriesByIdIn(anyCollection()))
+        .willAnswer(
+            inv ->
+                inv.<Collection<String>>getArgument(0).stream()
+                    .map(id -> BookEntity.builder().id(id).title(id).build())
+                    .toList());
+  }
+
+  private static UserEntity user(String id) {
+    double[] location = LOCATIONS.get(id);
+    return UserEntity.builder()
+        .id(id)
+        .username(id)
+        .address(
+            location == null
+                ? null
+                : AddressEntity.builder()
+                    .id("a-" + id)
+                    .latitude(location[0])
+                    .longitude(location[1])
+                    .build())
+        .build();
+  }
+
+  private static List<String> ids(List<Book> books) {
+    return books.stream().map(Book::getId).toList();
+  }
+
+  @Test
+  void getSuggestedTrades_deberiaEncontrarMatchDeDosVias() {
+    // given
+    givenRepositoriesLoadRequestedIds();
+    offer("u1", "b1");
+    wish("u1", "b2");
+    offer("u2", "b2");
+    wish("u2", "b1");
+    offer("u3", "b2"); // ofrece lo que quiero pero no quiere nada mío
+
+    // when
+    List<SuggestedTrade> result = sut.getSuggestedTrades("u1", false, 10);
+
+    // then
+    assertEquals(1, result.size());
+    SuggestedTrade trade = result.get(0);
+    assertEquals(TradeMatchType.TWO_WAY, trade.getType());
+    assertEquals("u2", trade.getReceiveFrom().getId());
+    assertEquals(List.of("b2"), ids(trade.getBooksToReceive()));
+    assertEquals(List.of("b1"), ids(trade.getBooksToGive()));
+    assertEquals(5, trade.getDistanceKm(), 1.0);
+  }
+
+  @Test
+  void getSuggestedTrades_deberiaEncontrarCiclosDeTresVias_soloSiSeSolicitan() {
+    // given: u1 -> u3 (b1), u3 -> u4 (b4), u4 -> u1 (b2)
+    givenRepositoriesLoadRequestedIds();
+    offer("u1", "b1");
+    wish("u1", "b2");
+    wish("u3", "b1");
+    offer("u3", "b4");
+    offer("u4", "b2");
+    wish("u4", "b4");
+
+    // when
+    List<SuggestedTrade> twoWayOnly = sut.getSuggestedTrades("u1", false, 10);
+    List<SuggestedTrade> result = sut.getSuggestedTrades("u1", true, 10);
+
+    // then
+    assertTrue(twoWayOnly.isEmpty());
+    assertEquals(1, result.size());
+    SuggestedTrade trade = result.get(0);
+    assertEquals(TradeMatchType.THREE_WAY, trade.getType());
+    assertEquals("u4", trade.getReceiveFrom().getId());
+    assertEquals("u3", trade.getGiveTo().getId());
+    assertEquals(List.of("b4"), ids(trade.getIntermediateBooks()));
+    assertNull(trade.getDistanceKm(), "u3 y u4 no tienen dirección");
+  }
+
+  @Test
+  void getSuggestedTrades_deberiaRankearPorSolapamiento_yLuegoPorDistancia() {
+    // given
+    givenRepositoriesLoadRequestedIds();
+    offer("u1", "b1");
+    offer("u1", "b3");
+    wish("u1", "b2");
+    wish("u1", "b4");
+    // u5 (Córdoba) y u2 (CABA) intercambian un libro; u6 (sin dirección) intercambia dos
+    offer("u5", "b2");
+    wish("u5", "b1");
+    offer("u2", "b2");
+    wish("u2", "b1");
+    offer("u6", "b2");
+    offer("u6", "b4");
+    wish("u6", "b1");
+    wish("u6", "b3");
+
+    // when
+    List<SuggestedTrade> result = sut.getSuggestedTrades("u1", false, 10);
+
+    // then
+    assertEquals(
+        List.of("u6", "u2", "u5"),
+        result.stream().map(trade -> trade.getReceiveFrom().getId()).toList());
+  }
+
+  @Test
+  void onLibraryEntryChanged_deberiaQuitarElMatch_cuandoDejaDeOfrecerse() {
+    // given
+    offer("u1", "b1");
+    wish("u1", "b2");
+    offer("u2", "b2");
+    wish("u2", "b1");
+
+    // when
+    sut.onLibraryEntryChanged("u2", "b2", BookStatus.READ, false);
+    List<SuggestedTrade> result = sut.getSuggestedTrades("u1", true, 10);
+
+    // then
+    assertTrue(result.isEmpty());
+    then(userRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void onUserLibraryRemoved_deberiaQuitarTodasLasEntradasDelUsuario() {
+    // given
+    offer("u1", "b1");
+    wish("u1", "b2");
+    offer("u2", "b2");
+    wish("u2", "b1");
+
+    // when
+    sut.onUserLibraryRemoved("u2");
+    List<SuggestedTrade> result = sut.getSuggestedTrades("u1", true, 10);
+
+    // then
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void onLibraryEntryChanged_noDeberiaTocarElIndice_siLaTransaccionHaceRollback() {
+    // given
+    offer("u1", "b1");
+    wish("u1", "b2");
+    wish("u2", "b1");
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      offer("u2", "b2");
+
+      // when
+      TransactionSynchronizationUtils.invokeAfterCompletion(
+          TransactionSynchronizationManager.getSynchronizations(),
+          TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // then
+    assertTrue(sut.getSuggestedTrades("u1", false, 10).isEmpty());
+  }
+
+  @Test
+  void rebuild_deberiaCargarDesdeLaBase_yReemplazarElIndice() {
+    // given
+    givenRepositoriesLoadRequestedIds();
+    offer("u1", "viejo");
+    given(userBookRepository.findMatchableEntries(BookStatus.WISHLIST))
+        .willReturn(
+            List.of(
+                new Object[] {"u1", "b1", BookStatus.READ, true},
+                new Object[] {"u1", "b2", BookStatus.WISHLIST, false},
+                new Object[] {"u2", "b2", BookStatus.READ, true},
+                new Object[] {"u2", "b1", BookStatus.WISHLIST, false}));
+
+    // when
+    sut.rebuild();
+    List<SuggestedTrade> result = sut.getSuggestedTrades("u1", false, 10);
+
+    // then
+    assertEquals(1, result.size());
+    assertEquals(List.of("b1"), ids(result.get(0).getBooksToGive()));
+  }
+}
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.never;
 
 import com.uade.bookybe.core.model.*;
 import com.uade.bookybe.core.model.constant.GamificationActivity;
+import com.uade.bookybe.core.usecase.BadgeService;
 import com.uade.bookybe.infraestructure.entity.*;
 import com.uade.bookybe.infraestructure.repository.*;
 import java.util.*;
@@ -23,6 +24,7 @@ class GamificationServiceImplTest {
   @Mock private AchievementRepository achievementRepository;
   @Mock private UserLevelRepository userLevelRepository;
   @Mock private UserRepository userRepository;
+  @Mock private BadgeService badgeService;
 
   @InjectMocks private GamificationServiceImpl sut;
 
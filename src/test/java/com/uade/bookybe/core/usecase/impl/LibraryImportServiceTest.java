@@ -0,0 +1,254 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.never;
+
+import com.uade.bookybe.config.LibraryImportConfig;
+import com.uade.bookybe.core.exception.BadRequestException;
+import com.uade.bookybe.core.exception.ConflictException;
+import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.LibraryImportEntry;
+import com.uade.bookybe.core.model.LibraryImportJob;
+import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.ImportJobStatus;
+import com.uade.bookybe.core.port.BookSearchPort;
+import com.uade.bookybe.core.port.GoogleBooksPort;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
+import com.uade.bookybe.core.usecase.GamificationService;
+import com.uade.bookybe.infraestructure.entity.BookEntity;
+import com.uade.bookybe.infraestructure.entity.UserBookEntity;
+import com.uade.bookybe.infraestructure.repository.BookRepository;
+import com.uade.bookybe.infraestructure.repository.UserBookRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class LibraryImportServiceImplTest {
+
+  @Mock private BookRepository bookRepository;
+  @Mock private UserBookRepository userBookRepository;
+  @Mock private GoogleBooksPort googleBooksPort;
+  @Mock private BookSearchPort bookSearchPort;
+  @Mock private GamificationService gamificationService;
+  @Mock private ExchangeMatchingService exchangeMatchingService;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  private final List<Runnable> queuedTasks = new ArrayList<>();
+  private LibraryImportServiceImpl sut;
+
+  @BeforeEach
+  void setUp() {
+    Executor queueingExecutor = queuedTasks::add;
+    sut =
+        new LibraryImportServiceImpl(
+            bookRepository,
+            userBookRepository,
+            googleBooksPort,
+            bookSearchPort,
+            gamificationService,
+            exchangeMatchingService,
+            transactionTemplate,
+            queueingExecutor,
+            new LibraryImportConfig());
+  }
+
+  private void runQueuedTasks() {
+    List<Runnable> tasks = new ArrayList<>(queuedTasks);
+    queuedTasks.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenTransactionRunsCallback() {
+    given(transactionTemplate.execute(any()))
+        .willAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+  }
+
+  private void givenInsertSucceeds() {
+    given(bookRepository.insertAllIfAbsent(anyList()))
+        .willAnswer(
+            inv -> inv.<List<BookEntity>>getArgument(0).stream().map(BookEntity::getId).toList());
+  }
+
+  private static LibraryImportEntry entry(String isbn) {
+    return LibraryImportEntry.builder().isbn(isbn).status(BookStatus.TO_READ).build();
+  }
+
+  // ---------------- startImport ----------------
+
+  @Test
+  void startImport_deberiaImportarEnLote_usandoBaseYGoogle() {
+    // given
+    String userId = "u1";
+    BookEntity known = BookEntity.builder().id("book-1").isbn13("9780000000002").build();
+    BookEntity owned = BookEntity.builder().id("book-2").isbn13("9780000000019").build();
+    Book fetched = Book.builder().isbn("9780000000026").title("Nuevo").build();
+
+    given(bookRepository.findByIsbn13In(anyCollection())).willReturn(List.of(known, owned));
+    given(googleBooksPort.getBookByIsbnAsync("9780000000026"))
+        .willReturn(CompletableFuture.completedFuture(Optional.of(fetched)));
+    given(googleBooksPort.getBookByIsbnAsync("9780000000033"))
+        .willReturn(CompletableFuture.completedFuture(Optional.empty()));
+    given(userBookRepository.findBookIdsByUserIdAndBookIdIn(eq(userId), anyCollection()))
+        .willReturn(List.of("book-2"));
+    givenTransactionRunsCallback();
+    givenInsertSucceeds();
+
+    // when
+    LibraryImportJob started =
+        sut.startImport(
+            userId,
+            List.of(
+                entry("978-0000000002"),
+                entry("9780000000019"),
+                entry("9780000000026"),
+                entry("9780000000033"),
+                entry("9780000000002"),
+                entry("no-es-isbn")));
+    runQueuedTasks();
+
+    // then
+    assertEquals(ImportJobStatus.PENDING, started.getStatus());
+    assertEquals(4, started.getTotalIsbns());
+    assertEquals(List.of("no-es-isbn"), started.getInvalidIsbns());
+
+    LibraryImportJob finished = sut.getImportJob(userId, started.getId()).orElseThrow();
+    assertEquals(ImportJobStatus.COMPLETED, finished.getStatus());
+    assertEquals(4, finished.getProcessedIsbns());
+    assertEquals(2, finished.getImportedCount());
+    assertEquals(1, finished.getAlreadyInLibraryCount());
+    assertEquals(List.of("9780000000033"), finished.getNotFoundIsbns());
+
+    ArgumentCaptor<List<UserBookEntity>> rows = ArgumentCaptor.forClass(List.class);
+    then(userBookRepository).should().insertAllInBatch(rows.capture(), anyInt());
+    assertEquals(2, rows.getValue().size());
+    assertTrue(rows.getValue().stream().anyMatch(row -> "book-1".equals(row.getBookId())));
+    then(bookRepository).should().insertAllIfAbsent(argThat(books -> books.size() == 1));
+    then(gamificationService).should().processBooksAdded(userId, 2);
+    then(bookSearchPort).should().index(argThat(books -> books.size() == 1));
+  }
+
+  @Test
+  void startImport_deberiaReutilizarLibroExistente_cuandoGoogleDevuelveOtroIsbn() {
+    // given
+    String userId = "u1";
+    BookEntity stored = BookEntity.builder().id("book-9").isbn13("9789999999991").build();
+    given(bookRepository.findByIsbn13In(anyCollection()))
+        .willReturn(List.of())
+        .willReturn(List.of(stored));
+    given(googleBooksPort.getBookByIsbnAsync("9780441172719"))
+        .willReturn(
+            CompletableFuture.completedFuture(
+                Optional.of(Book.builder().isbn("9789999999991").build())));
+    given(userBookRepository.findBookIdsByUserIdAndBookIdIn(eq(userId), anyCollection()))
+        .willReturn(List.of());
+    givenTransactionRunsCallback();
+
+    // when
+    String jobId = sut.startImport(userId, List.of(entry("0441172717"))).getId();
+    runQueuedTasks();
+
+    // then
+    ArgumentCaptor<List<UserBookEntity>> rows = ArgumentCaptor.forClass(List.class);
+    then(userBookRepository).should().insertAllInBatch(rows.capture(), anyInt());
+    assertEquals("book-9", rows.getValue().get(0).getBookId());
+    then(bookRepository).should().insertAllIfAbsent(List.of());
+    assertEquals(1, sut.getImportJob(userId, jobId).orElseThrow().getImportedCount());
+  }
+
+  @Test
+  void startImport_deberiaLanzarConflict_cuandoYaHayUnaImportacionEnCurso() {
+    // given
+    sut.startImport("u1", List.of(entry("9780000000002")));
+
+    // when / then
+    assertThrows(
+        ConflictException.class, () -> sut.startImport("u1", List.of(entry("9780000000002"))));
+  }
+
+  @Test
+  void startImport_deberiaLanzarBadRequest_cuandoNingunIsbnEsValido() {
+    // when / then
+    assertThrows(BadRequestException.class, () -> sut.startImport("u1", List.of(entry("123"))));
+    assertTrue(queuedTasks.isEmpty());
+  }
+
+  @Test
+  void startImport_deberiaMarcarFailed_yLiberarUsuario_cuandoFallaLaEscritura() {
+    // given
+    given(bookRepository.findByIsbn13In(anyCollection()))
+        .willReturn(List.of(BookEntity.builder().id("book-1").isbn13("9780000000002").build()));
+    given(transactionTemplate.execute(any())).willThrow(new IllegalStateException("db down"));
+
+    // when
+    String jobId = sut.startImport("u1", List.of(entry("9780000000002"))).getId();
+    runQueuedTasks();
+
+    // then
+    LibraryImportJob job = sut.getImportJob("u1", jobId).orElseThrow();
+    assertEquals(ImportJobStatus.FAILED, job.getStatus());
+    assertEquals("db down", job.getErrorMessage());
+    then(gamificationService).should(never()).processBooksAdded(anyString(), anyInt());
+    assertNotNull(sut.startImport("u1", List.of(entry("9780000000002"))));
+  }
+
+  // ---------------- startImportFromCsv ----------------
+
+  @Test
+  void startImportFromCsv_deberiaLeerExportDeGoodreads() {
+    // given
+    String csv =
+        "Book Id,Title,ISBN,ISBN13,Exclusive Shelf\n"
+            + "1,\"Dune, Part One\",\"=\"\"0441172717\"\"\",\"=\"\"9780441172719\"\"\",read\n"
+            + "2,Sin isbn13,\"=\"\"0439023483\"\"\",\"=\"\"\"\"\",to-read\n"
+            + "3,Sin isbn,\"=\"\"\"\"\",\"=\"\"\"\"\",currently-reading\n";
+    MockMultipartFile file =
+        new MockMultipartFile("file", "goodreads.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+    // when
+    LibraryImportJob job = sut.startImportFromCsv("u1", file, BookStatus.TO_READ);
+
+    // then
+    assertEquals(2, job.getTotalIsbns());
+    assertTrue(job.getInvalidIsbns().isEmpty());
+  }
+
+  @Test
+  void startImportFromCsv_deberiaLanzarBadRequest_cuandoArchivoVacio() {
+    // given
+    MockMultipartFile file = new MockMultipartFile("file", new byte[0]);
+
+    // when / then
+    assertThrows(
+        BadRequestException.class, () -> sut.startImportFromCsv("u1", file, BookStatus.TO_READ));
+  }
+
+  // ---------------- getImportJob ----------------
+
+  @Test
+  void getImportJob_deberiaRetornarEmpty_cuandoElJobEsDeOtroUsuario() {
+    // given
+    String jobId = sut.startImport("u1", List.of(entry("9780000000002"))).getId();
+
+    // when
+    Optional<LibraryImportJob> result = sut.getImportJob("u2", jobId);
+
+    // then
+    assertTrue(result.isEmpty());
+  }
+}
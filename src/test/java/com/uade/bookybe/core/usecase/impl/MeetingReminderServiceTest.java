@@ -0,0 +1,204 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.never;
+
+import com.uade.bookybe.config.MeetingReminderConfig;
+import com.uade.bookybe.core.model.MeetingReminder;
+import com.uade.bookybe.core.port.MeetingReminderPort;
+import com.uade.bookybe.infraestructure.entity.ReadingClubEntity;
+import com.uade.bookybe.infraestructure.repository.ReadingClubMemberRepository;
+import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class MeetingReminderServiceImplTest {
+
+  @Mock private ReadingClubRepository readingClubRepository;
+  @Mock private ReadingClubMemberRepository readingClubMemberRepository;
+  @Mock private MeetingReminderPort meetingReminderPort;
+
+  private final MeetingReminderConfig config = new MeetingReminderConfig();
+  private MeetingReminderServiceImpl sut;
+
+  @BeforeEach
+  void setUp() {
+    config.setOffsets(List.of(Duration.ofHours(1), Duration.ofMinutes(10)));
+    sut =
+        new MeetingReminderServiceImpl(
+            readingClubRepository, readingClubMemberRepository, meetingReminderPort, config);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private static long toMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  @Test
+  void sendDueReminders_deberiaAvisarALosMiembros_encadaOffset() {
+    // given
+    LocalDateTime meeting = LocalDateTime.now().plusHours(3).truncatedTo(ChronoUnit.MINUTES);
+    given(readingClubRepository.findById("c1"))
+        .willReturn(
+            Optional.of(
+                ReadingClubEntity.builder().id("c1").name("Club").nextMeeting(meeting).build()));
+    given(readingClubRepository.claimReminder(eq("c1"), eq(meeting), anyLong())).willReturn(1);
+    given(readingClubMemberRepository.findUserIdsByReadingClubId("c1"))
+        .willReturn(List.of("u1", "u2"));
+
+    // when
+    sut.scheduleMeeting("c1", meeting);
+    sut.sendDueReminders(toMillis(meeting.minusHours(2)));
+    then(meetingReminderPort).should(never()).publish(any());
+    sut.sendDueReminders(toMillis(meeting.minusHours(1)));
+    sut.sendDueReminders(toMillis(meeting.minusMinutes(10)));
+
+    // then
+    ArgumentCaptor<MeetingReminder> captor = ArgumentCaptor.forClass(MeetingReminder.class);
+    then(meetingReminderPort).should(times(2)).publish(captor.capture());
+    assertEquals(60, captor.getAllValues().get(0).getMinutesBefore());
+    assertEquals(10, captor.getAllValues().get(1).getMinutesBefore());
+    assertEquals(List.of("u1", "u2"), captor.getAllValues().get(1).getMemberIds());
+    assertEquals("Club", captor.getAllValues().get(1).getReadingClubName());
+    assertEquals(0, sut.pendingReminders());
+  }
+
+  @Test
+  void sendDueReminders_noDeberiaAvisar_cuandoOtroNodoYaReclamoElRecordatorio() {
+    // given
+    LocalDateTime meeting = LocalDateTime.now().plusHours(3).truncatedTo(ChronoUnit.MINUTES);
+    given(readingClubRepository.findById("c1"))
+        .willReturn(
+            Optional.of(
+                ReadingClubEntity.builder().id("c1").name("Club").nextMeeting(meeting).build()));
+    given(readingClubRepository.claimReminder("c1", meeting, 60)).willReturn(0);
+
+    // when
+    sut.scheduleMeeting("c1", meeting);
+    sut.sendDueReminders(toMillis(meeting.minusHours(1)));
+
+    // then
+    then(meetingReminderPort).should(never()).publish(any());
+    then(readingClubMemberRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void scheduleMeeting_noDeberiaAgendarOffsetsQueYaPasaron() {
+    // when
+    sut.scheduleMeeting("c1", LocalDateTime.now().plusMinutes(30));
+
+    // then: solo queda el de 10 minutos
+    assertEquals(1, sut.pendingReminders());
+  }
+
+  @Test
+  void scheduleMeeting_deberiaReemplazarLosRecordatoriosDeLaReunionAnterior() {
+    // given
+    LocalDateTime moved = LocalDateTime.now().plusDays(2);
+
+    // when
+    sut.scheduleMeeting("c1", LocalDateTime.now().plusDays(1));
+    sut.scheduleMeeting("c1", moved);
+    sut.sendDueReminders(toMillis(moved.minusHours(3)));
+
+    // then
+    assertEquals(2, sut.pendingReminders());
+    then(readingClubRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void cancelMeeting_deberiaQuitarLosRecordatorios() {
+    // given
+    sut.scheduleMeeting("c1", LocalDateTime.now().plusDays(1));
+
+    // when
+    sut.cancelMeeting("c1");
+
+    // then
+    assertEquals(0, sut.pendingReminders());
+  }
+
+  @Test
+  void sendDueReminders_deberiaDescartar_cuandoLaReunionCambioEnLaBase() {
+    // given
+    LocalDateTime meeting = LocalDateTime.now().plusHours(3);
+    given(readingClubRepository.findById("c1"))
+        .willReturn(
+            Optional.of(
+                ReadingClubEntity.builder().id("c1").nextMeeting(meeting.plusDays(1)).build()));
+
+    // when
+    sut.scheduleMeeting("c1", meeting);
+    sut.sendDueReminders(toMillis(meeting));
+
+    // then
+    then(meetingReminderPort).should(never()).publish(any());
+    then(readingClubMemberRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void scheduleMeeting_deberiaAgendarRecienDespuesDelCommit() {
+    // given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    sut.scheduleMeeting("c1", LocalDateTime.now().plusDays(1));
+    int pendingBeforeCommit = sut.pendingReminders();
+    TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+
+    // then
+    assertEquals(0, pendingBeforeCommit);
+    assertEquals(2, sut.pendingReminders());
+  }
+
+  @Test
+  void loadUpcomingMeetings_deberiaAgendarLasReunionesFuturas() {
+    // given
+    given(readingClubRepository.findUpcomingMeetings(any()))
+        .willReturn(
+            List.<Object[]>of(
+                new Object[] {"c1", LocalDateTime.now().plusDays(1)},
+                new Object[] {"c2", LocalDateTime.now().plusDays(3)}));
+
+    // when
+    sut.loadUpcomingMeetings();
+
+    // then
+    assertEquals(4, sut.pendingReminders());
+  }
+
+  @Test
+  void scheduleMeeting_noDeberiaHacerNada_cuandoEstaDeshabilitado() {
+    // given
+    config.setEnabled(false);
+
+    // when
+    sut.scheduleMeeting("c1", LocalDateTime.now().plusDays(1));
+    sut.loadUpcomingMeetings();
+
+    // then
+    assertEquals(0, sut.pendingReminders());
+    then(readingClubRepository).shouldHaveNoInteractions();
+  }
+}
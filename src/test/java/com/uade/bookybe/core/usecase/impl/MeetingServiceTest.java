@@ -6,6 +6,7 @@ import static org.mockito.BDDMockito.*;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uade.bookybe.config.LivekitProps;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.exception.UnauthorizedException;
 import com.uade.bookybe.core.model.LivekitRoom;
@@ -18,7 +19,9 @@ import com.uade.bookybe.core.usecase.ReadingClubService;
 import com.uade.bookybe.infraestructure.entity.ReadingClubEntity;
 import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -33,19 +36,30 @@ class DefaultMeetingServiceTest {
   @Mock private ReadingClubRepository readingClubRepository;
   @Mock private ObjectMapper objectMapper;
 
-  @InjectMocks private DefaultMeetingService sut;
+  private DefaultMeetingService sut;
+
+  @BeforeEach
+  void setUp() {
+    sut =
+        new DefaultMeetingService(
+            livekitTokenService,
+            livekitRoomService,
+            readingClubService,
+            readingClubRepository,
+            objectMapper,
+            new LivekitProps());
+  }
 
   // ---------------- generateMeetingToken ----------------
 
   @Test
   void generateMeetingToken_deberiaLanzarNotFound_siClubNoExiste() {
     // given
-    given(readingClubService.getReadingClubById("club1")).willReturn(Optional.empty());
+    given(readingClubRepository.findMeetingAccess("club1", "u1")).willReturn(List.of());
 
     // when + then
     NotFoundException ex =
-        assertThrows(
-            NotFoundException.class, () -> sut.generateMeetingToken("club1", "u1", "Felipe"));
+        assertThrows(NotFoundException.class, () -> sut.generateMeetingToken("club1", "u1"));
     assertTrue(ex.getMessage().toLowerCase().contains("reading club not found"));
 
     then(livekitTokenService).shouldHaveNoInteractions();
@@ -55,14 +69,12 @@ class DefaultMeetingServiceTest {
   @Test
   void generateMeetingToken_deberiaLanzarUnauthorized_siUserNoEsMiembro() {
     // given
-    ReadingClub club = ReadingClub.builder().id("club1").name("Club").moderatorId("u9").build();
-    given(readingClubService.getReadingClubById("club1")).willReturn(Optional.of(club));
-    given(readingClubService.isUserMember("club1", "u1")).willReturn(false);
+    given(readingClubRepository.findMeetingAccess("club1", "u1"))
+        .willReturn(List.<Object[]>of(new Object[] {"u9", null, null}));
 
     // when + then
     UnauthorizedException ex =
-        assertThrows(
-            UnauthorizedException.class, () -> sut.generateMeetingToken("club1", "u1", "Felipe"));
+        assertThrows(UnauthorizedException.class, () -> sut.generateMeetingToken("club1", "u1"));
     assertTrue(ex.getMessage().toLowerCase().contains("not a member"));
 
     then(livekitTokenService).shouldHaveNoInteractions();
@@ -73,10 +85,8 @@ class DefaultMeetingServiceTest {
     // given
     String clubId = "club1";
     String userId = "u1";
-    ReadingClub club = ReadingClub.builder().id(clubId).name("Club").moderatorId(userId).build();
-
-    given(readingClubService.getReadingClubById(clubId)).willReturn(Optional.of(club));
-    given(readingClubService.isUserMember(clubId, userId)).willReturn(true);
+    given(readingClubRepository.findMeetingAccess(clubId, userId))
+        .willReturn(List.<Object[]>of(new Object[] {userId, userId, "Felipe"}));
 
     LivekitToken expected =
         LivekitToken.builder()
@@ -93,7 +103,7 @@ class DefaultMeetingServiceTest {
         ArgumentCaptor.forClass(LivekitToken.TokenPermissions.class);
 
     // when
-    LivekitToken result = sut.generateMeetingToken(clubId, userId, "Felipe");
+    LivekitToken result = sut.generateMeetingToken(clubId, userId);
 
     // then
     assertNotNull(result);
@@ -104,6 +114,7 @@ class DefaultMeetingServiceTest {
         .createToken(eq("reading-club-" + clubId), eq("Felipe"), eq(userId), permCaptor.capture());
 
     assertTrue(permCaptor.getValue().isModerator());
+    then(readingClubService).shouldHaveNoInteractions();
   }
 
   @Test
@@ -111,10 +122,8 @@ class DefaultMeetingServiceTest {
     // given
     String clubId = "club1";
     String userId = "u2";
-    ReadingClub club = ReadingClub.builder().id(clubId).name("Club").moderatorId("u1").build();
-
-    given(readingClubService.getReadingClubById(clubId)).willReturn(Optional.of(club));
-    given(readingClubService.isUserMember(clubId, userId)).willReturn(true);
+    given(readingClubRepository.findMeetingAccess(clubId, userId))
+        .willReturn(List.<Object[]>of(new Object[] {"u1", userId, "User2"}));
 
     LivekitToken expected =
         LivekitToken.builder()
@@ -131,7 +140,7 @@ class DefaultMeetingServiceTest {
         ArgumentCaptor.forClass(LivekitToken.TokenPermissions.class);
 
     // when
-    LivekitToken result = sut.generateMeetingToken(clubId, userId, "User2");
+    LivekitToken result = sut.generateMeetingToken(clubId, userId);
 
     // then
     assertNotNull(result);
@@ -142,6 +151,52 @@ class DefaultMeetingServiceTest {
     assertFalse(permCaptor.getValue().isModerator());
   }
 
+  @Test
+  void generateMeetingToken_deberiaReutilizarElToken_paraElMismoClubYUsuario() {
+    // given
+    given(readingClubRepository.findMeetingAccess("club1", "u2"))
+        .willReturn(List.<Object[]>of(new Object[] {"u1", "u2", "User2"}));
+    given(readingClubRepository.findMeetingAccess("club2", "u2"))
+        .willReturn(List.<Object[]>of(new Object[] {"u1", "u2", "User2"}));
+    given(
+            livekitTokenService.createToken(
+                anyString(), anyString(), anyString(), any(LivekitToken.TokenPermissions.class)))
+        .willAnswer(
+            invocation -> LivekitToken.builder().token("jwt-" + invocation.getArgument(0)).build());
+
+    // when
+    LivekitToken first = sut.generateMeetingToken("club1", "u2");
+    LivekitToken second = sut.generateMeetingToken("club1", "u2");
+    LivekitToken otherClub = sut.generateMeetingToken("club2", "u2");
+
+    // then
+    assertSame(first, second);
+    assertNotEquals(first.getToken(), otherClub.getToken());
+    then(readingClubRepository).should(times(1)).findMeetingAccess("club1", "u2");
+    then(livekitTokenService)
+        .should(times(2))
+        .createToken(anyString(), anyString(), anyString(), any(LivekitToken.TokenPermissions.class));
+  }
+
+  @Test
+  void generateMeetingToken_noDeberiaCachearElRechazo() {
+    // given
+    given(readingClubRepository.findMeetingAccess("club1", "u2"))
+        .willReturn(List.<Object[]>of(new Object[] {"u1", null, null}))
+        .willReturn(List.<Object[]>of(new Object[] {"u1", "u2", "User2"}));
+    given(
+            livekitTokenService.createToken(
+                anyString(), anyString(), anyString(), any(LivekitToken.TokenPermissions.class)))
+        .willReturn(LivekitToken.builder().token("jwt").build());
+
+    // when
+    assertThrows(UnauthorizedException.class, () -> sut.generateMeetingToken("club1", "u2"));
+    LivekitToken result = sut.generateMeetingToken("club1", "u2");
+
+    // then
+    assertEquals("jwt", result.getToken());
+  }
+
   // ---------------- startMeeting ----------------
 
   @Test
@@ -344,43 +399,45 @@ class DefaultMeetingServiceTest {
   // ---------------- getMeetingStatus ----------------
 
   @Test
-  void getMeetingStatus_deberiaDevolverStatusDeLivekit_yEnriquecerConStartedAtSiExisteClub() {
+  void getMeetingStatus_deberiaDevolverStatusDeLivekit_sinConsultarLaBase() {
     // given
     String clubId = "club1";
+    LocalDateTime startedAt = LocalDateTime.now().minusMinutes(2);
     MeetingStatus status =
-        MeetingStatus.builder().exists(true).roomName("reading-club-" + clubId).build();
+        MeetingStatus.builder()
+            .exists(true)
+            .isActive(true)
+            .participantCount(3)
+            .startedAt(startedAt)
+            .roomName("reading-club-" + clubId)
+            .build();
     given(livekitRoomService.getRoomStatus("reading-club-" + clubId)).willReturn(status);
 
-    LocalDateTime startedAt = LocalDateTime.now().minusMinutes(2);
-    ReadingClub club =
-        ReadingClub.builder().id(clubId).moderatorId("u1").meetingStartedAt(startedAt).build();
-    given(readingClubService.getReadingClubById(clubId)).willReturn(Optional.of(club));
-
     // when
     MeetingStatus result = sut.getMeetingStatus(clubId);
 
     // then
-    assertNotNull(result);
+    assertSame(status, result);
     assertEquals(startedAt, result.getStartedAt());
     then(livekitRoomService).should().getRoomStatus("reading-club-" + clubId);
+    then(readingClubService).shouldHaveNoInteractions();
+    then(readingClubRepository).shouldHaveNoInteractions();
   }
 
   @Test
-  void getMeetingStatus_deberiaDevolverStatusDeLivekit_sinModificarStartedAt_siClubNoExiste() {
+  void getMeetingStatus_deberiaDevolverStatusInexistente_siNoHaySala() {
     // given
     String clubId = "club1";
-    MeetingStatus status =
-        MeetingStatus.builder().exists(true).roomName("reading-club-" + clubId).build();
-    given(livekitRoomService.getRoomStatus("reading-club-" + clubId)).willReturn(status);
-    given(readingClubService.getReadingClubById(clubId)).willReturn(Optional.empty());
+    given(livekitRoomService.getRoomStatus("reading-club-" + clubId))
+        .willReturn(new MeetingStatus(false, false, 0, null));
 
     // when
     MeetingStatus result = sut.getMeetingStatus(clubId);
 
     // then
-    assertNotNull(result);
-    // no assert sobre startedAt porque depende del builder / default
-    then(livekitRoomService).should().getRoomStatus("reading-club-" + clubId);
+    assertFalse(result.isExists());
+    assertFalse(result.isActive());
+    assertEquals(0, result.getParticipantCount());
   }
 
   // ---------------- passthroughs ----------------
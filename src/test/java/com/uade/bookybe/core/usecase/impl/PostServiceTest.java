@@ -40,7 +40,7 @@ class PostServiceImplTest {
     String userId = "u1";
     String communityId = "c1";
 
-    given(communityRepository.existsById(communityId)).willReturn(false);
+    given(communityRepository.existsByIdAndDeletedAtIsNull(communityId)).willReturn(false);
 
     // when + then
     NotFoundException ex =
@@ -60,7 +60,7 @@ class PostServiceImplTest {
     String body = "hola";
     String communityId = "c1";
 
-    given(communityRepository.existsById(communityId)).willReturn(true);
+    given(communityRepository.existsByIdAndDeletedAtIsNull(communityId)).willReturn(true);
 
     // devolvemos el mismo entity que se guarda
     given(postRepository.save(any(PostEntity.class)))
@@ -86,6 +86,7 @@ class PostServiceImplTest {
     assertEquals(communityId, saved.getCommunityId());
     assertNull(saved.getImage());
 
+    then(communityRepository).should().touchLastActivity(communityId, saved.getDateCreated());
     then(imageStoragePort).shouldHaveNoInteractions();
     then(gamificationService).should().processPostCreated(userId);
   }
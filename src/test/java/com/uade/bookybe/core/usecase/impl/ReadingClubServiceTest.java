@@ -9,6 +9,8 @@ import com.uade.bookybe.core.exception.ConflictException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.ReadingClub;
 import com.uade.bookybe.core.usecase.GamificationService;
+import com.uade.bookybe.core.usecase.MeetingReminderService;
+import com.uade.bookybe.core.usecase.ReadingProgressService;
 import com.uade.bookybe.infraestructure.entity.ReadingClubEntity;
 import com.uade.bookybe.infraestructure.entity.ReadingClubMemberEntity;
 import com.uade.bookybe.infraestructure.repository.BookRepository;
@@ -18,10 +20,14 @@ import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 @ExtendWith(MockitoExtension.class)
 class ReadingClubServiceImplTest {
@@ -31,6 +37,8 @@ class ReadingClubServiceImplTest {
   @Mock private CommunityRepository communityRepository;
   @Mock private BookRepository bookRepository;
   @Mock private GamificationService gamificationService;
+  @Mock private MeetingReminderService meetingReminderService;
+  @Mock private ReadingProgressService readingProgressService;
 
   @InjectMocks private ReadingClubServiceImpl sut;
 
@@ -41,20 +49,40 @@ class ReadingClubServiceImplTest {
     // given
     ReadingClubEntity e1 = ReadingClubEntity.builder().id("c1").name("Club 1").build();
     ReadingClubEntity e2 = ReadingClubEntity.builder().id("c2").name("Club 2").build();
-    given(readingClubRepository.findAll()).willReturn(List.of(e1, e2));
+    given(readingClubRepository.findAllByOrderByDateCreatedDescIdDesc(PageRequest.of(0, 20)))
+        .willReturn(new PageImpl<>(List.of(e1, e2), PageRequest.of(0, 20), 42));
 
-    given(readingClubMemberRepository.countByReadingClubId("c1")).willReturn(3L);
-    given(readingClubMemberRepository.countByReadingClubId("c2")).willReturn(0L);
+    given(readingClubMemberRepository.countByReadingClubIdIn(Set.of("c1", "c2")))
+        .willReturn(List.<Object[]>of(new Object[] {"c1", 3L}));
 
     // when
-    List<ReadingClub> result = sut.getAllReadingClubs();
+    Page<ReadingClub> page = sut.getAllReadingClubs(0, 20);
 
     // then
+    List<ReadingClub> result = page.getContent();
+    assertEquals(42, page.getTotalElements());
     assertEquals(2, result.size());
     assertEquals("c1", result.get(0).getId());
     assertEquals(3L, result.get(0).getMemberCount());
     assertEquals("c2", result.get(1).getId());
     assertEquals(0L, result.get(1).getMemberCount());
+    then(readingClubMemberRepository).should(never()).countByReadingClubId(anyString());
+  }
+
+  @Test
+  void getAllReadingClubs_deberiaAcotarPaginaYTamanio() {
+    // given
+    given(readingClubRepository.findAllByOrderByDateCreatedDescIdDesc(any()))
+        .willReturn(Page.empty());
+
+    // when
+    sut.getAllReadingClubs(-3, 1000);
+
+    // then
+    then(readingClubRepository)
+        .should()
+        .findAllByOrderByDateCreatedDescIdDesc(PageRequest.of(0, 50));
+    then(readingClubMemberRepository).shouldHaveNoInteractions();
   }
 
   // ---------------- getReadingClubById ----------------
@@ -104,7 +132,8 @@ class ReadingClubServiceImplTest {
     given(readingClubMemberRepository.findByUserIdWithReadingClub("u1"))
         .willReturn(List.of(memberEntity));
 
-    given(readingClubMemberRepository.countByReadingClubId("c1")).willReturn(2L);
+    given(readingClubMemberRepository.countByReadingClubIdIn(Set.of("c1")))
+        .willReturn(List.<Object[]>of(new Object[] {"c1", 2L}));
 
     // when
     List<ReadingClub> result = sut.getReadingClubsByUserId("u1");
@@ -123,7 +152,8 @@ class ReadingClubServiceImplTest {
     ReadingClubEntity e = ReadingClubEntity.builder().id("c1").communityId("com1").build();
     given(readingClubRepository.findByCommunityIdOrderByDateCreatedDesc("com1"))
         .willReturn(List.of(e));
-    given(readingClubMemberRepository.countByReadingClubId("c1")).willReturn(7L);
+    given(readingClubMemberRepository.countByReadingClubIdIn(Set.of("c1")))
+        .willReturn(List.<Object[]>of(new Object[] {"c1", 7L}));
 
     // when
     List<ReadingClub> result = sut.getReadingClubsByCommunityId("com1");
@@ -155,7 +185,7 @@ class ReadingClubServiceImplTest {
   void createReadingClub_deberiaRetornarEmpty_siCommunityNoExiste() {
     // given
     given(readingClubRepository.existsByName("Club")).willReturn(false);
-    given(communityRepository.existsById("com1")).willReturn(false);
+    given(communityRepository.existsByIdAndDeletedAtIsNull("com1")).willReturn(false);
 
     // when
     Optional<ReadingClub> result =
@@ -171,7 +201,7 @@ class ReadingClubServiceImplTest {
   void createReadingClub_deberiaRetornarEmpty_siBookNoExiste() {
     // given
     given(readingClubRepository.existsByName("Club")).willReturn(false);
-    given(communityRepository.existsById("com1")).willReturn(true);
+    given(communityRepository.existsByIdAndDeletedAtIsNull("com1")).willReturn(true);
     given(bookRepository.existsById("b1")).willReturn(false);
 
     // when
@@ -191,7 +221,7 @@ class ReadingClubServiceImplTest {
     LocalDateTime next = LocalDateTime.now().plusDays(1);
 
     given(readingClubRepository.existsByName("Club")).willReturn(false);
-    given(communityRepository.existsById("com1")).willReturn(true);
+    given(communityRepository.existsByIdAndDeletedAtIsNull("com1")).willReturn(true);
     given(bookRepository.existsById("b1")).willReturn(true);
 
     given(readingClubRepository.save(any(ReadingClubEntity.class)))
@@ -229,13 +259,14 @@ class ReadingClubServiceImplTest {
     assertEquals(savedClub.getId(), savedMember.getReadingClubId());
 
     then(gamificationService).should().processReadingClubCreated("u1");
+    then(meetingReminderService).should().scheduleMeeting(savedClub.getId(), next);
   }
 
   @Test
   void createReadingClub_deberiaRetornarEmpty_siExplotaAlgunaExcepcion() {
     // given
     given(readingClubRepository.existsByName("Club")).willReturn(false);
-    given(communityRepository.existsById("com1")).willReturn(true);
+    given(communityRepository.existsByIdAndDeletedAtIsNull("com1")).willReturn(true);
     given(bookRepository.existsById("b1")).willReturn(true);
 
     willThrow(new RuntimeException("boom"))
@@ -381,6 +412,7 @@ class ReadingClubServiceImplTest {
     // then
     assertTrue(result);
     then(readingClubMemberRepository).should().leaveFromReadingClub("c1", "u1");
+    then(readingProgressService).should().removeMember("c1", "u1");
   }
 
   @Test
@@ -454,6 +486,8 @@ class ReadingClubServiceImplTest {
     assertTrue(result);
     then(readingClubMemberRepository).should().deleteAllByReadingClubId("c1");
     then(readingClubRepository).should().deleteById("c1");
+    then(meetingReminderService).should().cancelMeeting("c1");
+    then(readingProgressService).should().evict("c1");
   }
 
   @Test
@@ -482,7 +516,8 @@ class ReadingClubServiceImplTest {
     // given
     given(readingClubRepository.searchReadingClubs("harry"))
         .willReturn(List.of(ReadingClubEntity.builder().id("c1").name("Harry").build()));
-    given(readingClubMemberRepository.countByReadingClubId("c1")).willReturn(9L);
+    given(readingClubMemberRepository.countByReadingClubIdIn(Set.of("c1")))
+        .willReturn(List.<Object[]>of(new Object[] {"c1", 9L}));
 
     // when
     List<ReadingClub> result = sut.searchReadingClubs("harry");
@@ -497,7 +532,8 @@ class ReadingClubServiceImplTest {
     // given
     given(readingClubRepository.findByBookIdOrderByDateCreatedDesc("b1"))
         .willReturn(List.of(ReadingClubEntity.builder().id("c1").bookId("b1").build()));
-    given(readingClubMemberRepository.countByReadingClubId("c1")).willReturn(4L);
+    given(readingClubMemberRepository.countByReadingClubIdIn(Set.of("c1")))
+        .willReturn(List.<Object[]>of(new Object[] {"c1", 4L}));
 
     // when
     List<ReadingClub> result = sut.getReadingClubsByBookId("b1");
@@ -509,6 +545,21 @@ class ReadingClubServiceImplTest {
 
   // ---------------- getMemberCount / isUserMember ----------------
 
+  @Test
+  void getJoinedReadingClubIds_deberiaResolverTodaLaListaEnUnaConsulta() {
+    // given
+    given(readingClubMemberRepository.findReadingClubIdsByUserIdAndReadingClubIdIn(
+            "u1", List.of("c1", "c2", "c3")))
+        .willReturn(List.of("c2"));
+
+    // when
+    Set<String> result = sut.getJoinedReadingClubIds("u1", List.of("c1", "c2", "c3"));
+
+    // then
+    assertEquals(Set.of("c2"), result);
+    then(readingClubMemberRepository).should(never()).existsByReadingClubIdAndUserId(any(), any());
+  }
+
   @Test
   void getMemberCount_deberiaDelegarEnRepo() {
     // given
@@ -594,6 +645,7 @@ class ReadingClubServiceImplTest {
     assertEquals(next, saved.getNextMeeting());
     assertEquals(15, saved.getCurrentChapter());
     assertNotNull(saved.getLastUpdated());
+    then(meetingReminderService).should().scheduleMeeting("c1", next);
   }
 
   @Test
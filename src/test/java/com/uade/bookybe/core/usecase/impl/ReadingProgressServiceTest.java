@@ -0,0 +1,187 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.never;
+
+import com.uade.bookybe.config.ReadingClubConfig;
+import com.uade.bookybe.core.exception.NotFoundException;
+import com.uade.bookybe.core.exception.UnauthorizedException;
+import com.uade.bookybe.core.model.ReadingProgress;
+import com.uade.bookybe.infraestructure.entity.ReadingClubMemberEntity;
+import com.uade.bookybe.infraestructure.entity.ReadingClubMemberId;
+import com.uade.bookybe.infraestructure.repository.ReadingClubMemberRepository;
+import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class ReadingProgressServiceImplTest {
+
+  @Mock private ReadingClubRepository readingClubRepository;
+  @Mock private ReadingClubMemberRepository readingClubMemberRepository;
+
+  private ReadingProgressServiceImpl sut;
+
+  @BeforeEach
+  void setUp() {
+    sut =
+        new ReadingProgressServiceImpl(
+            readingClubRepository, readingClubMemberRepository, new ReadingClubConfig());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private void givenMember(String userId) {
+    given(readingClubMemberRepository.findById(new ReadingClubMemberId("c1", userId)))
+        .willReturn(
+            Optional.of(
+                ReadingClubMemberEntity.builder().readingClubId("c1").userId(userId).build()));
+  }
+
+  @Test
+  void getProgress_deberiaCalcularMinMedianaMaxEHistograma() {
+    // given
+    given(readingClubRepository.existsById("c1")).willReturn(true);
+    given(readingClubMemberRepository.findProgressByReadingClubId("c1"))
+        .willReturn(
+            List.of(
+                new Object[] {"u1", 3},
+                new Object[] {"u2", 5},
+                new Object[] {"u3", 5},
+                new Object[] {"u4", 9}));
+
+    // when
+    ReadingProgress result = sut.getProgress("c1").orElseThrow();
+
+    // then
+    assertEquals(4, result.getReportingMembers());
+    assertEquals(3, result.getMinChapter());
+    assertEquals(9, result.getMaxChapter());
+    assertEquals(5.0, result.getMedianChapter());
+    assertEquals(Map.of(3, 1, 5, 2, 9, 1), result.getHistogram());
+  }
+
+  @Test
+  void getProgress_noDeberiaVolverALeerMiembros_enVistasSiguientes() {
+    // given
+    given(readingClubRepository.existsById("c1")).willReturn(true);
+    given(readingClubMemberRepository.findProgressByReadingClubId("c1")).willReturn(List.of());
+
+    // when
+    ReadingProgress first = sut.getProgress("c1").orElseThrow();
+    sut.getProgress("c1");
+    sut.getProgress("c1");
+
+    // then
+    assertEquals(0, first.getReportingMembers());
+    assertNull(first.getMedianChapter());
+    then(readingClubMemberRepository).should(times(1)).findProgressByReadingClubId("c1");
+    then(readingClubRepository).should(times(1)).existsById("c1");
+  }
+
+  @Test
+  void getProgress_deberiaRetornarEmpty_siClubNoExiste() {
+    // given
+    given(readingClubRepository.existsById("c1")).willReturn(false);
+
+    // when / then
+    assertTrue(sut.getProgress("c1").isEmpty());
+    then(readingClubMemberRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void updateProgress_deberiaActualizarElAgregadoEnMemoria_sinRecargar() {
+    // given
+    given(readingClubRepository.existsById("c1")).willReturn(true);
+    given(readingClubMemberRepository.findProgressByReadingClubId("c1"))
+        .willReturn(List.of(new Object[] {"u1", 2}, new Object[] {"u2", 4}));
+    givenMember("u1");
+    sut.getProgress("c1");
+
+    // when
+    sut.updateProgress("c1", "u1", 6);
+    ReadingProgress result = sut.getProgress("c1").orElseThrow();
+
+    // then
+    assertEquals(Map.of(4, 1, 6, 1), result.getHistogram());
+    assertEquals(5.0, result.getMedianChapter());
+    then(readingClubMemberRepository).should(times(1)).findProgressByReadingClubId("c1");
+    then(readingClubMemberRepository)
+        .should()
+        .save(
+            argThat(
+                member -> member.getCurrentChapter() == 6 && member.getProgressUpdatedAt() != null));
+  }
+
+  @Test
+  void updateProgress_deberiaAplicarseRecienDespuesDelCommit() {
+    // given
+    given(readingClubRepository.existsById("c1")).willReturn(true);
+    given(readingClubMemberRepository.findProgressByReadingClubId("c1")).willReturn(List.of());
+    givenMember("u1");
+    sut.getProgress("c1");
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    sut.updateProgress("c1", "u1", 6);
+    int beforeCommit = sut.getProgress("c1").orElseThrow().getReportingMembers();
+    TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+
+    // then
+    assertEquals(0, beforeCommit);
+    assertEquals(1, sut.getProgress("c1").orElseThrow().getReportingMembers());
+  }
+
+  @Test
+  void updateProgress_deberiaLanzarUnauthorized_siNoEsMiembro() {
+    // given
+    given(readingClubRepository.existsById("c1")).willReturn(true);
+    given(readingClubMemberRepository.findById(any())).willReturn(Optional.empty());
+
+    // when / then
+    assertThrows(UnauthorizedException.class, () -> sut.updateProgress("c1", "u1", 3));
+    then(readingClubMemberRepository).should(never()).save(any());
+  }
+
+  @Test
+  void updateProgress_deberiaLanzarNotFound_siClubNoExiste() {
+    // given
+    given(readingClubRepository.existsById("c1")).willReturn(false);
+
+    // when / then
+    assertThrows(NotFoundException.class, () -> sut.updateProgress("c1", "u1", 3));
+  }
+
+  @Test
+  void removeMember_deberiaSacarloDelAgregado() {
+    // given
+    given(readingClubRepository.existsById("c1")).willReturn(true);
+    given(readingClubMemberRepository.findProgressByReadingClubId("c1"))
+        .willReturn(List.of(new Object[] {"u1", 2}, new Object[] {"u2", 4}));
+    sut.getProgress("c1");
+
+    // when
+    sut.removeMember("c1", "u2");
+    sut.removeMember("c1", "u2");
+
+    // then
+    ReadingProgress result = sut.getProgress("c1").orElseThrow();
+    assertEquals(1, result.getReportingMembers());
+    assertEquals(2, result.getMaxChapter());
+  }
+}
@@ -0,0 +1,461 @@
+package com.uade.bookybe.core.usecase.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.never;
+
+import com.uade.bookybe.config.UserDeletionConfig;
+import com.uade.bookybe.core.model.UserDeletionJob;
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import com.uade.bookybe.core.model.constant.UserDeletionStage;
+import com.uade.bookybe.core.port.CommunitySearchPort;
+import com.uade.bookybe.core.port.ImageStoragePort;
+import com.uade.bookybe.core.usecase.CommunityDeletionService;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
+import com.uade.bookybe.core.usecase.GamificationService;
+import com.uade.bookybe.infraestructure.entity.PendingImageDeletionEntity;
+import com.uade.bookybe.infraestructure.entity.UserDeletionJobEntity;
+import com.uade.bookybe.infraestructure.entity.UserEntity;
+import com.uade.bookybe.infraestructure.repository.BookExchangeRepository;
+import com.uade.bookybe.infraestructure.repository.ChatRepository;
+import com.uade.bookybe.infraestructure.repository.CommentRepository;
+import com.uade.bookybe.infraestructure.repository.CommunityMemberRepository;
+import com.uade.bookybe.infraestructure.repository.CommunityRepository;
+import com.uade.bookybe.infraestructure.repository.ExchangeIdempotencyKeyRepository;
+import com.uade.bookybe.infraestructure.repository.MessageRepository;
+import com.uade.bookybe.infraestructure.repository.PendingImageDeletionRepository;
+import com.uade.bookybe.infraestructure.repository.PostRepository;
+import com.uade.bookybe.infraestructure.repository.ReadingClubMemberRepository;
+import com.uade.bookybe.infraestructure.repository.ReadingClubRepository;
+import com.uade.bookybe.infraestructure.repository.UserBookRepository;
+import com.uade.bookybe.infraestructure.repository.UserDeletionJobRepository;
+import com.uade.bookybe.infraestructure.repository.UserRateRepository;
+import com.uade.bookybe.infraestructure.repository.UserRatingStatsRepository;
+import com.uade.bookybe.infraestructure.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class UserDeletionServiceImplTest {
+
+  @Mock private UserRepository userRepository;
+  @Mock private UserDeletionJobRepository jobRepository;
+  @Mock private PendingImageDeletionRepository pendingImageRepository;
+  @Mock private PostRepository postRepository;
+  @Mock private CommentRepository commentRepository;
+  @Mock private UserRateRepository userRateRepository;
+  @Mock private UserRatingStatsRepository userRatingStatsRepository;
+  @Mock private BookExchangeRepository bookExchangeRepository;
+  @Mock private ExchangeIdempotencyKeyRepository exchangeIdempotencyKeyRepository;
+  @Mock private MessageRepository messageRepository;
+  @Mock private ChatRepository chatRepository;
+  @Mock private CommunityRepository communityRepository;
+  @Mock private CommunityMemberRepository communityMemberRepository;
+  @Mock private ReadingClubRepository readingClubRepository;
+  @Mock private ReadingClubMemberRepository readingClubMemberRepository;
+  @Mock private UserBookRepository userBookRepository;
+  @Mock private ExchangeMatchingService exchangeMatchingService;
+  @Mock private GamificationService gamificationService;
+  @Mock private CommunityDeletionService communityDeletionService;
+  @Mock private CommunitySearchPort communitySearchPort;
+  @Mock private ImageStoragePort imageStoragePort;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  private final List<Runnable> queuedTasks = new ArrayList<>();
+  private final UserDeletionConfig config = new UserDeletionConfig();
+  private UserDeletionServiceImpl sut;
+
+  @BeforeEach
+  void setUp() {
+    config.setChunkSize(2);
+    sut =
+        new UserDeletionServiceImpl(
+            userRepository,
+            jobRepository,
+            pendingImageRepository,
+            postRepository,
+            commentRepository,
+            userRateRepository,
+            userRatingStatsRepository,
+            bookExchangeRepository,
+            exchangeIdempotencyKeyRepository,
+            messageRepository,
+            chatRepository,
+            communityRepository,
+            communityMemberRepository,
+            readingClubRepository,
+            readingClubMemberRepository,
+            userBookRepository,
+            exchangeMatchingService,
+            gamificationService,
+            communityDeletionService,
+            communitySearchPort,
+            imageStoragePort,
+            transactionTemplate,
+            queuedTasks::add,
+            config);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenTransactionRunsCallback() {
+    given(transactionTemplate.execute(any()))
+        .willAnswer(
+            inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+  }
+
+  private void givenSaveReturnsJob() {
+    given(jobRepository.save(any(UserDeletionJobEntity.class)))
+        .willAnswer(inv -> inv.getArgument(0));
+  }
+
+  private UserDeletionJobEntity givenJob(UserDeletionStage stage) {
+    UserDeletionJobEntity job =
+        UserDeletionJobEntity.builder()
+            .id("job1")
+            .userId("u1")
+            .stage(stage)
+            .status(DeletionJobStatus.PENDING)
+            .dateCreated(LocalDateTime.now())
+            .dateUpdated(LocalDateTime.now())
+            .build();
+    given(jobRepository.findById("job1")).willReturn(Optional.of(job));
+    return job;
+  }
+
+  /** Lo que necesitan las etapas finales para terminar el job */
+  private void givenProfileAndAccountAreDeleted() {
+    given(gamificationService.deleteUserGamificationData("u1")).willReturn(true);
+    given(userRepository.findById("u1"))
+        .willReturn(Optional.of(UserEntity.builder().id("u1").build()));
+  }
+
+  // ---------------- startDeletion ----------------
+
+  @Test
+  void startDeletion_deberiaMarcarLaCuenta_crearElJob_yEncolarElAvatar() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    given(jobRepository.findByUserId("u1")).willReturn(Optional.empty());
+    given(userRepository.findById("u1"))
+        .willReturn(Optional.of(UserEntity.builder().id("u1").image("https://img/u1.png").build()));
+    given(userRepository.tombstone(eq("u1"), any())).willReturn(1);
+
+    // when
+    Optional<UserDeletionJob> result = sut.startDeletion("u1");
+
+    // then
+    assertTrue(result.isPresent());
+    assertEquals(UserDeletionStage.LIKES, result.get().getStage());
+    assertEquals(DeletionJobStatus.PENDING, result.get().getStatus());
+    ArgumentCaptor<PendingImageDeletionEntity> image =
+        ArgumentCaptor.forClass(PendingImageDeletionEntity.class);
+    then(pendingImageRepository).should().save(image.capture());
+    assertEquals("https://img/u1.png", image.getValue().getImageUrl());
+    assertEquals(result.get().getId(), image.getValue().getJobId());
+    assertEquals(1, queuedTasks.size());
+  }
+
+  @Test
+  void startDeletion_deberiaRetornarEmpty_siElUsuarioNoExiste() {
+    // given
+    givenTransactionRunsCallback();
+    given(jobRepository.findByUserId("u1")).willReturn(Optional.empty());
+    given(userRepository.findById("u1")).willReturn(Optional.empty());
+
+    // when
+    Optional<UserDeletionJob> result = sut.startDeletion("u1");
+
+    // then
+    assertTrue(result.isEmpty());
+    then(userRepository).should(never()).tombstone(anyString(), any());
+    assertTrue(queuedTasks.isEmpty());
+  }
+
+  @Test
+  void startDeletion_deberiaDevolverElJobExistente_sinEncolarloDosVeces() {
+    // given
+    givenTransactionRunsCallback();
+    UserDeletionJobEntity existing =
+        UserDeletionJobEntity.builder()
+            .id("job1")
+            .userId("u1")
+            .stage(UserDeletionStage.POSTS)
+            .status(DeletionJobStatus.RUNNING)
+            .build();
+    given(jobRepository.findByUserId("u1")).willReturn(Optional.of(existing));
+
+    // when
+    Optional<UserDeletionJob> first = sut.startDeletion("u1");
+    Optional<UserDeletionJob> second = sut.startDeletion("u1");
+
+    // then
+    assertEquals("job1", first.orElseThrow().getId());
+    assertEquals("job1", second.orElseThrow().getId());
+    assertEquals(1, queuedTasks.size());
+    then(userRepository).should(never()).tombstone(anyString(), any());
+  }
+
+  @Test
+  void startDeletion_deberiaRetornarEmpty_siElBorradoYaTermino() {
+    // given
+    givenTransactionRunsCallback();
+    given(jobRepository.findByUserId("u1"))
+        .willReturn(
+            Optional.of(
+                UserDeletionJobEntity.builder()
+                    .id("job1")
+                    .userId("u1")
+                    .status(DeletionJobStatus.COMPLETED)
+                    .build()));
+
+    // when
+    Optional<UserDeletionJob> result = sut.startDeletion("u1");
+
+    // then
+    assertTrue(result.isEmpty());
+    assertTrue(queuedTasks.isEmpty());
+  }
+
+  // ---------------- runDeletion ----------------
+
+  @Test
+  void runDeletion_deberiaRecorrerTodasLasEtapas_yBorrarLaCuentaAlFinal() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.LIKES);
+    givenProfileAndAccountAreDeleted();
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    assertEquals(DeletionJobStatus.COMPLETED, job.getStatus());
+    assertEquals(UserDeletionStage.IMAGES, job.getStage());
+    assertEquals(1, job.getDeletedRows());
+    assertNotNull(job.getDateFinished());
+
+    // cada etapa corre una vez y otra más en el barrido de ACCOUNT, antes de borrar la cuenta
+    InOrder order = inOrder(postRepository, commentRepository, chatRepository, userRepository);
+    order.verify(postRepository, calls(1)).deleteLikeChunkByUserId("u1", 2);
+    order.verify(commentRepository, calls(1)).deleteChunkByUserId("u1", 2);
+    order.verify(chatRepository, calls(1)).deleteChunkByUserId("u1", 2);
+    order.verify(userRepository, calls(1)).deleteFollowChunkByUserId("u1", 2);
+    order.verify(postRepository, calls(1)).deleteLikeChunkByUserId("u1", 2);
+    order.verify(userRepository, calls(1)).deleteFollowChunkByUserId("u1", 2);
+    order.verify(userRepository).delete(any(UserEntity.class));
+    then(userRatingStatsRepository).should(times(2)).deleteById("u1");
+    then(exchangeIdempotencyKeyRepository).should(times(2)).deleteByUserId("u1");
+    then(exchangeMatchingService).should(times(2)).onUserLibraryRemoved("u1");
+  }
+
+  @Test
+  void runDeletion_deberiaBorrarPostsEnChunks_yEncolarSusImagenes() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.POSTS);
+    givenProfileAndAccountAreDeleted();
+    given(postRepository.findIdAndImageChunkByUserId("u1", 2))
+        .willReturn(
+            List.of(new Object[] {"p1", "https://img/p1.png"}, new Object[] {"p2", null}),
+            List.<Object[]>of(new Object[] {"p3", "https://img/p3.png"}),
+            List.of());
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    then(postRepository).should().deleteByIdIn(List.of("p1", "p2"));
+    then(postRepository).should().deleteByIdIn(List.of("p3"));
+    then(commentRepository).should().deleteByPostIdIn(List.of("p1", "p2"));
+    then(postRepository).should().deleteLikesByPostIdIn(List.of("p3"));
+    then(pendingImageRepository).should(times(2)).save(any(PendingImageDeletionEntity.class));
+    assertEquals(4, job.getDeletedRows());
+  }
+
+  @Test
+  void runDeletion_deberiaBorrarMensajes_yEncolarSusImagenes() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.MESSAGES);
+    givenProfileAndAccountAreDeleted();
+    given(messageRepository.findIdAndImageChunkInChatsOfUser("u1", 2))
+        .willReturn(
+            List.of(new Object[] {"m1", "https://img/m1.png"}, new Object[] {"m2", null}),
+            List.of());
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    then(messageRepository).should().deleteByIdIn(List.of("m1", "m2"));
+    ArgumentCaptor<PendingImageDeletionEntity> captor =
+        ArgumentCaptor.forClass(PendingImageDeletionEntity.class);
+    then(pendingImageRepository).should().save(captor.capture());
+    assertEquals("https://img/m1.png", captor.getValue().getImageUrl());
+    assertEquals("job1", captor.getValue().getJobId());
+    assertEquals(3, job.getDeletedRows());
+  }
+
+  @Test
+  void runDeletion_deberiaDescontarLasCalificacionesDadas_delPromedioDelCalificado() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    givenJob(UserDeletionStage.RATINGS);
+    givenProfileAndAccountAreDeleted();
+    given(userRateRepository.findChunkInvolvingUser("u1", 2))
+        .willReturn(
+            List.of(
+                new Object[] {"r1", "u1", "u2", 4}, // dada por u1
+                new Object[] {"r2", "u3", "u1", 5}), // recibida por u1
+            List.of());
+    given(userRateRepository.deleteByIdIn(List.of("r1", "r2"))).willReturn(1);
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    then(userRatingStatsRepository).should().removeRating(eq("u2"), eq(4), any());
+    then(userRatingStatsRepository).should(never()).removeRating(eq("u1"), anyInt(), any());
+  }
+
+  @Test
+  void runDeletion_deberiaDescontarMiembros_soloDeLasMembresiasQueBorro() {
+    // given: c2 la borró otro pedido, así que el DELETE solo devuelve c1
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.COMMUNITY_MEMBERSHIPS);
+    givenProfileAndAccountAreDeleted();
+    given(communityMemberRepository.deleteChunkByUserIdReturningCommunityIds("u1", 2))
+        .willReturn(List.of("c1"), List.of());
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    then(communityRepository).should().addToMemberCount("c1", -1);
+    then(communityRepository).should(never()).addToMemberCount(eq("c2"), anyLong());
+    assertEquals(2, job.getDeletedRows());
+  }
+
+  @Test
+  void runDeletion_deberiaOcultarSusComunidades_yEsperarASusJobs() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.COMMUNITIES);
+    given(communityRepository.findIdsByAdminId("u1")).willReturn(List.of("c1", "c2"));
+    given(communityRepository.hide(eq("c1"), any())).willReturn(1);
+    given(communityRepository.hide(eq("c2"), any())).willReturn(0);
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    assertEquals(DeletionJobStatus.PENDING, job.getStatus());
+    assertEquals(UserDeletionStage.COMMUNITIES, job.getStage());
+    then(communitySearchPort).should().remove("c1");
+    then(communitySearchPort).should(never()).remove("c2");
+    then(communityDeletionService).should().startDeletion("c1", null);
+    then(communityDeletionService).should().startDeletion("c2", null);
+    then(userRepository).should(never()).delete(any(UserEntity.class));
+  }
+
+  @Test
+  void runDeletion_deberiaVolverABarrer_antesDeBorrarLaCuenta_cuandoAparecieronFilasNuevas() {
+    // given: un comentario escrito por un request en vuelo después de la etapa COMMENTS
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.ACCOUNT);
+    givenProfileAndAccountAreDeleted();
+    given(commentRepository.deleteChunkByUserId("u1", 2)).willReturn(1, 0);
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    assertEquals(DeletionJobStatus.COMPLETED, job.getStatus());
+    assertEquals(2, job.getDeletedRows());
+    InOrder order = inOrder(commentRepository, userRepository);
+    order.verify(commentRepository, times(2)).deleteChunkByUserId("u1", 2);
+    order.verify(userRepository).delete(any(UserEntity.class));
+  }
+
+  @Test
+  void runDeletion_deberiaVolverAEsperarComunidades_cuandoElUsuarioCreoUnaNueva() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.ACCOUNT);
+    given(communityRepository.findIdsByAdminId("u1")).willReturn(List.of("c1"));
+    given(communityRepository.hide(eq("c1"), any())).willReturn(1);
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    assertEquals(DeletionJobStatus.PENDING, job.getStatus());
+    assertEquals(UserDeletionStage.COMMUNITIES, job.getStage());
+    then(communityDeletionService).should().startDeletion("c1", null);
+    then(userRepository).should(never()).delete(any(UserEntity.class));
+  }
+
+  @Test
+  void runDeletion_deberiaBorrarLasImagenes_yContarSoloLasQueElStorageBorro() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.IMAGES);
+    List<PendingImageDeletionEntity> images =
+        List.of(
+            PendingImageDeletionEntity.builder().id("i1").imageUrl("https://img/1.png").build());
+    given(pendingImageRepository.findChunkByJobId("job1", 2)).willReturn(images);
+    given(imageStoragePort.deleteImage("https://img/1.png")).willReturn(false);
+
+    // when
+    sut.runDeletion("job1");
+
+    // then
+    assertEquals(DeletionJobStatus.COMPLETED, job.getStatus());
+    assertEquals(0, job.getDeletedImages());
+    then(pendingImageRepository).should().deleteAllInBatch(images);
+  }
+
+  @Test
+  void runDeletion_deberiaQuedarFailed_yPoderReintentarse_cuandoFallaUnaEtapa() {
+    // given
+    givenTransactionRunsCallback();
+    givenSaveReturnsJob();
+    UserDeletionJobEntity job = givenJob(UserDeletionStage.MESSAGES);
+    given(messageRepository.findIdAndImageChunkInChatsOfUser("u1", 2))
+        .willThrow(new RuntimeException("lock timeout"));
+    given(jobRepository.findIdsToResume(eq(DeletionJobStatus.COMPLETED), any()))
+        .willReturn(List.of("job1"));
+
+    // when
+    sut.runDeletion("job1");
+    sut.resumeUnfinishedDeletions();
+
+    // then
+    assertEquals(DeletionJobStatus.FAILED, job.getStatus());
+    assertEquals("lock timeout", job.getErrorMessage());
+    assertEquals(UserDeletionStage.MESSAGES, job.getStage());
+    assertEquals(1, queuedTasks.size());
+  }
+}
@@ -8,12 +8,16 @@ import static org.mockito.Mockito.never;
 import com.uade.bookybe.core.exception.BadRequestException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.UserRate;
+import com.uade.bookybe.core.model.UserRatingStats;
 import com.uade.bookybe.core.model.constant.ExchangeStatus;
 import com.uade.bookybe.infraestructure.entity.BookExchangeEntity;
 import com.uade.bookybe.infraestructure.entity.UserRateEntity;
+import com.uade.bookybe.infraestructure.entity.UserRatingStatsEntity;
 import com.uade.bookybe.infraestructure.repository.BookExchangeRepository;
 import com.uade.bookybe.infraestructure.repository.UserRateRepository;
+import com.uade.bookybe.infraestructure.repository.UserRatingStatsRepository;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,12 +25,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 class UserRateServiceImplTest {
 
     @Mock private UserRateRepository userRateRepository;
     @Mock private BookExchangeRepository bookExchangeRepository;
+    @Mock private UserRatingStatsRepository userRatingStatsRepository;
 
     @InjectMocks private UserRateServiceImpl sut;
 
@@ -182,6 +190,9 @@ class UserRateServiceImplTest {
         assertEquals(rating, saved.getRating());
         assertEquals(comment, saved.getComment());
         assertNotNull(saved.getDateCreated());
+
+        assertEquals("u2", saved.getRatedUserId());
+        then(userRatingStatsRepository).should().addRating("u2", rating, saved.getDateCreated());
     }
 
     @Test
@@ -211,29 +222,33 @@ class UserRateServiceImplTest {
         assertEquals(exchangeId, result.get().getExchangeId());
         assertEquals(5, result.get().getRating());
         assertNull(result.get().getComment());
+        then(userRatingStatsRepository).should().addRating(eq("u1"), eq(5), any());
     }
 
     // ---------------- getUserRatings ----------------
 
     @Test
-    void getUserRatings_deberiaMapearYRetornarLista() {
+    void getUserRatings_deberiaPaginarPorRatedUser_yAcotarElTamanio() {
         // given
         String userId = "u1";
-        given(userRateRepository.findRatingsForUser(userId))
-                .willReturn(List.of(
-                        UserRateEntity.builder().id("r1").userId(userId).exchangeId("ex1").rating(4).build(),
-                        UserRateEntity.builder().id("r2").userId(userId).exchangeId("ex2").rating(5).build()
-                ));
+        given(userRateRepository.findRatingsForUser(eq(userId), any(Pageable.class)))
+                .willAnswer(inv -> new PageImpl<>(List.of(
+                        UserRateEntity.builder().id("r1").userId("u2").ratedUserId(userId).rating(4).build(),
+                        UserRateEntity.builder().id("r2").userId("u3").ratedUserId(userId).rating(5).build()
+                ), inv.getArgument(1, Pageable.class), 2));
 
         // when
-        List<UserRate> result = sut.getUserRatings(userId);
+        Page<UserRate> result = sut.getUserRatings(userId, -1, 500);
 
         // then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("r1", result.get(0).getId());
-        assertEquals("r2", result.get(1).getId());
-        then(userRateRepository).should().findRatingsForUser(userId);
+        assertEquals(2, result.getTotalElements());
+        assertEquals("r1", result.getContent().get(0).getId());
+        assertEquals(userId, result.getContent().get(1).getRatedUserId());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        then(userRateRepository).should().findRatingsForUser(eq(userId), pageable.capture());
+        assertEquals(0, pageable.getValue().getPageNumber());
+        assertEquals(100, pageable.getValue().getPageSize());
     }
 
     // ---------------- getExchangeRatings ----------------
@@ -257,6 +272,25 @@ class UserRateServiceImplTest {
         then(userRateRepository).should().findByExchangeIdOrderByDateCreatedDesc(exchangeId);
     }
 
+    @Test
+    void getRatingsForExchanges_deberiaConsultarUnaVez_yNoConsultarSiNoHayIds() {
+        // given
+        given(userRateRepository.findByExchangeIdIn(List.of("ex1", "ex2")))
+                .willReturn(List.of(
+                        UserRateEntity.builder().id("r1").exchangeId("ex1").userId("u1").rating(3).build(),
+                        UserRateEntity.builder().id("r2").exchangeId("ex2").userId("u2").rating(5).build()
+                ));
+
+        // when
+        List<UserRate> result = sut.getRatingsForExchanges(List.of("ex1", "ex2"));
+        List<UserRate> empty = sut.getRatingsForExchanges(List.of());
+
+        // then
+        assertEquals(2, result.size());
+        assertTrue(empty.isEmpty());
+        then(userRateRepository).should().findByExchangeIdIn(anyCollection());
+    }
+
     // ---------------- canUserRateExchange ----------------
 
     @Test
@@ -359,29 +393,49 @@ class UserRateServiceImplTest {
     // ---------------- averages / counts / exists ----------------
 
     @Test
-    void getUserAverageRating_deberiaDelegarEnRepo() {
+    void getUserAverageRating_deberiaLeerLasEstadisticasPorPk() {
         // given
-        given(userRateRepository.getAverageRatingForUser("u1")).willReturn(4.25);
+        given(userRatingStatsRepository.findById("u1")).willReturn(Optional.of(
+                UserRatingStatsEntity.builder().userId("u1").ratingSum(17).ratingCount(4).build()));
 
         // when
         Double result = sut.getUserAverageRating("u1");
 
         // then
         assertEquals(4.25, result);
-        then(userRateRepository).should().getAverageRatingForUser("u1");
+        then(userRateRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void getUserRatingCount_deberiaRetornarCeroYPromedioNull_cuandoNuncaFueCalificado() {
+        // given
+        given(userRatingStatsRepository.findById("u1")).willReturn(Optional.empty());
+
+        // when
+        Long count = sut.getUserRatingCount("u1");
+        Double average = sut.getUserAverageRating("u1");
+
+        // then
+        assertEquals(0L, count);
+        assertNull(average);
     }
 
     @Test
-    void getUserRatingCount_deberiaDelegarEnRepo() {
+    void getUserRatingStats_deberiaBuscarEnLote_yCompletarUsuariosSinCalificaciones() {
         // given
-        given(userRateRepository.countRatingsForUser("u1")).willReturn(10L);
+        given(userRatingStatsRepository.findAllById(List.of("u1", "u2"))).willReturn(List.of(
+                UserRatingStatsEntity.builder()
+                        .userId("u1").ratingSum(9).ratingCount(2).stars4(1).stars5(1).build()));
 
         // when
-        Long result = sut.getUserRatingCount("u1");
+        Map<String, UserRatingStats> result = sut.getUserRatingStats(List.of("u1", "u2"));
 
         // then
-        assertEquals(10L, result);
-        then(userRateRepository).should().countRatingsForUser("u1");
+        assertEquals(4.5, result.get("u1").getAverageRating());
+        assertEquals(1L, result.get("u1").getRatingsByStar().get(5));
+        assertEquals(0L, result.get("u1").getRatingsByStar().get(1));
+        assertEquals(0L, result.get("u2").getRatingCount());
+        then(userRatingStatsRepository).should(never()).findById(any());
     }
 
     @Test
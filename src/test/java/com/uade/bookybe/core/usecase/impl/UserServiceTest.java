@@ -8,22 +8,28 @@ import static org.mockito.Mockito.never;
 import com.uade.bookybe.core.exception.ConflictException;
 import com.uade.bookybe.core.exception.NotFoundException;
 import com.uade.bookybe.core.model.User;
+import com.uade.bookybe.core.model.UserDeletionJob;
+import com.uade.bookybe.core.model.UserRatingStats;
 import com.uade.bookybe.core.model.UserSignUp;
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
 import com.uade.bookybe.core.port.ImageStoragePort;
 import com.uade.bookybe.core.usecase.GamificationService;
+import com.uade.bookybe.core.usecase.UserDeletionService;
 import com.uade.bookybe.core.usecase.UserRateService;
 import com.uade.bookybe.infraestructure.entity.AddressEntity;
 import com.uade.bookybe.infraestructure.entity.UserEntity;
 import com.uade.bookybe.infraestructure.repository.UserBookRepository;
 import com.uade.bookybe.infraestructure.repository.UserRepository;
 import com.uade.bookybe.router.dto.user.UserPreviewDto;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +41,7 @@ class UserServiceImplTest {
   @Mock private ImageStoragePort imageStoragePort;
   @Mock private GamificationService gamificationService;
   @Mock private UserRateService userRateService;
+  @Mock private UserDeletionService userDeletionService;
 
   @InjectMocks private UserServiceImpl sut;
 
@@ -253,90 +260,34 @@ class UserServiceImplTest {
   // ---------------- deleteUser ----------------
 
   @Test
-  void deleteUser_deberiaRetornarFalse_siNoExiste() {
+  void deleteUser_deberiaDelegarEnElJobDeBorrado() {
     // given
-    given(userRepository.existsById("u1")).willReturn(false);
+    UserDeletionJob job =
+        UserDeletionJob.builder()
+            .id("user-delete-1")
+            .userId("u1")
+            .status(DeletionJobStatus.PENDING)
+            .build();
+    given(userDeletionService.startDeletion("u1")).willReturn(Optional.of(job));
 
     // when
-    boolean result = sut.deleteUser("u1");
+    Optional<UserDeletionJob> result = sut.deleteUser("u1");
 
     // then
-    assertFalse(result);
+    assertEquals(Optional.of(job), result);
     then(userRepository).should(never()).deleteById(anyString());
   }
 
   @Test
-  void deleteUser_deberiaBorrarUsuario_yRetornarTrue_aunSiGamificationFalla() {
+  void deleteUser_deberiaRetornarEmpty_siNoExiste() {
     // given
-    given(userRepository.existsById("u1")).willReturn(true);
-
-    willThrow(new RuntimeException("boom"))
-        .given(gamificationService)
-        .deleteUserGamificationData("u1");
-
-    willDoNothing().given(userRepository).deleteById("u1");
+    given(userDeletionService.startDeletion("u1")).willReturn(Optional.empty());
 
     // when
-    boolean result = sut.deleteUser("u1");
+    Optional<UserDeletionJob> result = sut.deleteUser("u1");
 
     // then
-    assertTrue(result);
-    then(userRepository).should().deleteById("u1");
-  }
-
-  @Test
-  void
-      deleteUser_deberiaLanzarRuntimeConMensajeEspecifico_siDataIntegrityPorGamificationProfiles() {
-    // given
-    given(userRepository.existsById("u1")).willReturn(true);
-
-    DataIntegrityViolationException dive =
-        new DataIntegrityViolationException("fk violation on gamification_profiles");
-    willThrow(dive).given(userRepository).deleteById("u1");
-
-    // when + then
-    RuntimeException ex = assertThrows(RuntimeException.class, () -> sut.deleteUser("u1"));
-    assertTrue(ex.getMessage().toLowerCase().contains("gamification profile"));
-  }
-
-  @Test
-  void deleteUser_deberiaLanzarRuntimeConMensajeEspecifico_siDataIntegrityPorUserAchievements() {
-    // given
-    given(userRepository.existsById("u1")).willReturn(true);
-
-    DataIntegrityViolationException dive =
-        new DataIntegrityViolationException("fk violation on user_achievements");
-    willThrow(dive).given(userRepository).deleteById("u1");
-
-    // when + then
-    RuntimeException ex = assertThrows(RuntimeException.class, () -> sut.deleteUser("u1"));
-    assertTrue(ex.getMessage().toLowerCase().contains("user achievements"));
-  }
-
-  @Test
-  void deleteUser_deberiaLanzarRuntimeGenerico_siDataIntegrityOtroCaso() {
-    // given
-    given(userRepository.existsById("u1")).willReturn(true);
-
-    DataIntegrityViolationException dive =
-        new DataIntegrityViolationException("fk violation on something_else");
-    willThrow(dive).given(userRepository).deleteById("u1");
-
-    // when + then
-    RuntimeException ex = assertThrows(RuntimeException.class, () -> sut.deleteUser("u1"));
-    assertTrue(ex.getMessage().toLowerCase().contains("foreign key"));
-  }
-
-  @Test
-  void deleteUser_deberiaLanzarRuntimeGenerico_siErrorInesperado() {
-    // given
-    given(userRepository.existsById("u1")).willReturn(true);
-
-    willThrow(new RuntimeException("boom")).given(userRepository).deleteById("u1");
-
-    // when + then
-    RuntimeException ex = assertThrows(RuntimeException.class, () -> sut.deleteUser("u1"));
-    assertTrue(ex.getMessage().contains("Failed to delete user"));
+    assertTrue(result.isEmpty());
   }
 
   // ---------------- follow / unfollow ----------------
@@ -464,6 +415,26 @@ class UserServiceImplTest {
     then(passwordEncoder).should(never()).matches(anyString(), anyString());
   }
 
+  @Test
+  void signIn_deberiaRetornarEmpty_siLaCuentaEstaBorrandose() {
+    // given
+    UserEntity entity =
+        UserEntity.builder()
+            .id("u1")
+            .email("a@a.com")
+            .password("hash")
+            .deletedAt(LocalDateTime.now())
+            .build();
+    given(userRepository.findByEmail("a@a.com")).willReturn(Optional.of(entity));
+
+    // when
+    Optional<User> result = sut.signIn("a@a.com", "p");
+
+    // then
+    assertTrue(result.isEmpty());
+    then(passwordEncoder).should(never()).matches(anyString(), anyString());
+  }
+
   @Test
   void signIn_deberiaRetornarUser_siPasswordMatch() {
     // given
@@ -548,11 +519,12 @@ class UserServiceImplTest {
     given(userRepository.findById("u3"))
         .willReturn(Optional.of(UserEntity.builder().id("u3").address(null).build()));
 
-    // enrich rate por cada user
-    given(userRateService.getUserAverageRating("u2")).willReturn(4.5);
-    given(userRateService.getUserRatingCount("u2")).willReturn(10L);
-    given(userRateService.getUserAverageRating("u3")).willReturn(null);
-    given(userRateService.getUserRatingCount("u3")).willReturn(0L);
+    // rates de todos los users en una sola consulta
+    given(userRateService.getUserRatingStats(Set.of("u2", "u3")))
+        .willReturn(
+            Map.of(
+                "u2", UserRatingStats.builder().userId("u2").ratingSum(45).ratingCount(10).build(),
+                "u3", UserRatingStats.builder().userId("u3").build()));
 
     // when
     List<UserPreviewDto> result = sut.searchUsersByBooks(List.of("b1"), "u1");
@@ -611,10 +583,12 @@ class UserServiceImplTest {
         .willReturn(Optional.of(UserEntity.builder().id("u4").address(null).build()));
 
     // rate (no importa para orden, pero enrich lo llama)
-    for (String id : List.of("u2", "u3", "u4")) {
-      given(userRateService.getUserAverageRating(id)).willReturn(0.0);
-      given(userRateService.getUserRatingCount(id)).willReturn(0L);
-    }
+    given(userRateService.getUserRatingStats(anyCollection()))
+        .willReturn(
+            Map.of(
+                "u2", UserRatingStats.builder().userId("u2").build(),
+                "u3", UserRatingStats.builder().userId("u3").build(),
+                "u4", UserRatingStats.builder().userId("u4").build()));
 
     // when
     List<UserPreviewDto> result = sut.searchUsersByBooks(List.of("b1"), "u1");
@@ -0,0 +1,115 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import com.uade.bookybe.config.GoogleBooksConfig;
+import com.uade.bookybe.core.model.Book;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class CachingGoogleBooksAdapterTest {
+
+  @Mock private GoogleBooksAdapter delegate;
+
+  private CachingGoogleBooksAdapter sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new CachingGoogleBooksAdapter(delegate, new GoogleBooksConfig());
+  }
+
+  @Test
+  void getBookByIsbn_deberiaCachearLibroEncontrado() {
+    // given
+    Book book = Book.builder().isbn("9781234567890").title("Libro").build();
+    given(delegate.fetchBookByIsbn("978-1234567890")).willReturn(Mono.just(Optional.of(book)));
+
+    // when
+    Optional<Book> first = sut.getBookByIsbn("978-1234567890");
+    Optional<Book> second = sut.getBookByIsbn("9781234567890");
+
+    // then
+    assertEquals(Optional.of(book), first);
+    assertEquals(Optional.of(book), second);
+    then(delegate).should(times(1)).fetchBookByIsbn(anyString());
+  }
+
+  @Test
+  void getBookByIsbn_deberiaCachearNoEncontrado() {
+    // given
+    given(delegate.fetchBookByIsbn("0000000000")).willReturn(Mono.just(Optional.empty()));
+
+    // when
+    sut.getBookByIsbn("0000000000");
+    Optional<Book> result = sut.getBookByIsbn("0000000000");
+
+    // then
+    assertTrue(result.isEmpty());
+    then(delegate).should(times(1)).fetchBookByIsbn(anyString());
+  }
+
+  @Test
+  void getBookByIsbn_noDeberiaCachear_cuandoGoogleFalla() {
+    // given
+    given(delegate.fetchBookByIsbn("9781234567890"))
+        .willReturn(Mono.error(new IllegalStateException("timeout")))
+        .willReturn(Mono.just(Optional.of(Book.builder().title("Libro").build())));
+
+    // when
+    Optional<Book> first = sut.getBookByIsbn("9781234567890");
+    Optional<Book> second = sut.getBookByIsbn("9781234567890");
+
+    // then
+    assertTrue(first.isEmpty());
+    assertTrue(second.isPresent());
+    then(delegate).should(times(2)).fetchBookByIsbn("9781234567890");
+  }
+
+  @Test
+  void getBookByIsbnAsync_deberiaAgruparLlamadasConcurrentesDelMismoIsbn() {
+    // given
+    Sinks.One<Optional<Book>> pendingResponse = Sinks.one();
+    Book book = Book.builder().isbn("9781234567890").title("Libro").build();
+    given(delegate.fetchBookByIsbn("9781234567890")).willReturn(pendingResponse.asMono());
+
+    // when
+    CompletableFuture<Optional<Book>> leader = sut.getBookByIsbnAsync("9781234567890");
+    CompletableFuture<Optional<Book>> follower = sut.getBookByIsbnAsync("978-1234567890");
+
+    // then
+    assertFalse(leader.isDone());
+    assertFalse(follower.isDone());
+
+    pendingResponse.tryEmitValue(Optional.of(book));
+
+    assertEquals(Optional.of(book), leader.join());
+    assertEquals(Optional.of(book), follower.join());
+    assertEquals(Optional.of(book), sut.getBookByIsbn("9781234567890"));
+    then(delegate).should(times(1)).fetchBookByIsbn(anyString());
+  }
+
+  @Test
+  void searchBookByTitle_deberiaDelegarSinCachear() {
+    // given
+    given(delegate.searchBookByTitle("Dune")).willReturn(Optional.empty());
+
+    // when
+    sut.searchBookByTitle("Dune");
+    sut.searchBookByTitle("Dune");
+
+    // then
+    then(delegate).should(times(2)).searchBookByTitle("Dune");
+  }
+}
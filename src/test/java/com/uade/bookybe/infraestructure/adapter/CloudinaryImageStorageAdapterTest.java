@@ -127,6 +127,33 @@ class CloudinaryImageStorageAdapterTest {
     assertTrue(result.isEmpty());
   }
 
+  // ---------------- uploadImage(bytes) ----------------
+
+  @Test
+  void uploadImage_bytes_deberiaSubirYDevolverSecureUrl() throws Exception {
+    // given
+    given(cloudinary.uploader()).willReturn(uploader);
+    given(uploader.upload(any(byte[].class), anyMap()))
+        .willReturn(Map.of("secure_url", "https://res.cloudinary.com/x/booky/scene.webp"));
+
+    // when
+    Optional<String> result =
+        sut.uploadImage(new byte[] {1, 2, 3}, "image/png", "booky/scene-images");
+
+    // then
+    assertEquals(Optional.of("https://res.cloudinary.com/x/booky/scene.webp"), result);
+
+    ArgumentCaptor<Map> params = ArgumentCaptor.forClass(Map.class);
+    then(uploader).should().upload(any(byte[].class), params.capture());
+    assertEquals("booky/scene-images", params.getValue().get("folder"));
+  }
+
+  @Test
+  void uploadImage_bytes_deberiaDevolverEmpty_cuandoBytesVacios() {
+    assertTrue(sut.uploadImage(new byte[0], "image/png", "folder").isEmpty());
+    then(cloudinary).shouldHaveNoInteractions();
+  }
+
   // ---------------- deleteImage ----------------
 
   @Test
@@ -1,105 +1,131 @@
 package com.uade.bookybe.infraestructure.adapter;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.then;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uade.bookybe.core.model.Book;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
 
-@ExtendWith(MockitoExtension.class)
 class GoogleBooksAdapterTest {
 
-  @Mock private RestTemplate restTemplate;
+  private static final String BASE_URL = "https://www.googleapis.com/books/v1";
 
-  private ObjectMapper objectMapper;
+  private final List<URI> requestedUris = new ArrayList<>();
+  private HttpStatus responseStatus;
+  private String responseBody;
+  private RuntimeException connectionError;
+
+  private CircuitBreaker circuitBreaker;
   private GoogleBooksAdapter sut;
 
   @BeforeEach
   void setUp() {
-    objectMapper = new ObjectMapper();
-    sut = new GoogleBooksAdapter(restTemplate, objectMapper);
+    WebClient webClient =
+        WebClient.builder()
+            .baseUrl(BASE_URL)
+            .exchangeFunction(
+                request -> {
+                  requestedUris.add(request.url());
+                  if (connectionError != null) {
+                    return Mono.error(connectionError);
+                  }
+                  ClientResponse.Builder response =
+                      ClientResponse.create(responseStatus)
+                          .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+                  if (responseBody != null) {
+                    response.body(responseBody);
+                  }
+                  return Mono.just(response.build());
+                })
+            .build();
+    circuitBreaker =
+        CircuitBreaker.of(
+            "google-books-test",
+            CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+    sut = new GoogleBooksAdapter(webClient, circuitBreaker);
+  }
+
+  private void respond(HttpStatus status, String body) {
+    this.responseStatus = status;
+    this.responseBody = body;
   }
 
   // ---------------- getBookByIsbn ----------------
 
   @Test
-  void getBookByIsbn_deberiaRetornarEmpty_cuandoResponseEsNull() {
+  void getBookByIsbn_deberiaRetornarEmpty_cuandoResponseSinBody() {
     // given
     String isbn = "9781234567890";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=isbn:" + isbn;
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class))).willReturn(null);
+    respond(HttpStatus.OK, null);
 
     // when
     Optional<Book> result = sut.getBookByIsbn(isbn);
 
     // then
     assertTrue(result.isEmpty());
-    then(restTemplate).should().getForObject(eq(expectedUrl), eq(String.class));
+    assertEquals(1, requestedUris.size());
+    assertEquals(
+        BASE_URL + "/volumes?q=isbn%3A" + isbn + "&maxResults=1", requestedUris.get(0).toString());
   }
 
   @Test
   void getBookByIsbn_deberiaRetornarEmpty_cuandoNoHayItems() {
     // given
-    String isbn = "9781234567890";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=isbn:" + isbn;
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willReturn(
-            """
+    respond(
+        HttpStatus.OK,
+        """
           {"kind":"books#volumes"}
         """);
 
     // when
-    Optional<Book> result = sut.getBookByIsbn(isbn);
+    Optional<Book> result = sut.getBookByIsbn("9781234567890");
 
     // then
     assertTrue(result.isEmpty());
-    then(restTemplate).should().getForObject(eq(expectedUrl), eq(String.class));
   }
 
   @Test
   void getBookByIsbn_deberiaRetornarEmpty_cuandoItemsVacio() {
     // given
-    String isbn = "9781234567890";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=isbn:" + isbn;
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willReturn(
-            """
+    respond(
+        HttpStatus.OK,
+        """
           {"items":[]}
         """);
 
     // when
-    Optional<Book> result = sut.getBookByIsbn(isbn);
+    Optional<Book> result = sut.getBookByIsbn("9781234567890");
 
     // then
     assertTrue(result.isEmpty());
-    then(restTemplate).should().getForObject(eq(expectedUrl), eq(String.class));
   }
 
   @Test
   void getBookByIsbn_deberiaRetornarBook_parseandoCamposPrincipales() {
     // given
-    String isbn = "9781234567890";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=isbn:" + isbn;
-
     String longDesc = "a".repeat(600);
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willReturn(
-            """
+    respond(
+        HttpStatus.OK,
+        """
           {
             "items": [
               {
@@ -121,10 +147,10 @@ class GoogleBooksAdapterTest {
             ]
           }
         """
-                .formatted(longDesc));
+            .formatted(longDesc));
 
     // when
-    Optional<Book> result = sut.getBookByIsbn(isbn);
+    Optional<Book> result = sut.getBookByIsbn("9781234567890");
 
     // then
     assertTrue(result.isPresent());
@@ -147,21 +173,15 @@ class GoogleBooksAdapterTest {
     assertNotNull(book.getCategories());
     assertEquals(List.of("Fiction", "Fantasy"), book.getCategories());
 
-    // image (en tu adapter actual, solo se setea si hay imageLinks)
     assertEquals("http://example.com/img.jpg", book.getImage());
-
-    then(restTemplate).should().getForObject(eq(expectedUrl), eq(String.class));
   }
 
   @Test
   void getBookByIsbn_deberiaUsarSmallThumbnail_siNoHayThumbnail() {
     // given
-    String isbn = "9781234567890";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=isbn:" + isbn;
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willReturn(
-            """
+    respond(
+        HttpStatus.OK,
+        """
           {
             "items": [
               {
@@ -175,7 +195,7 @@ class GoogleBooksAdapterTest {
         """);
 
     // when
-    Optional<Book> result = sut.getBookByIsbn(isbn);
+    Optional<Book> result = sut.getBookByIsbn("9781234567890");
 
     // then
     assertTrue(result.isPresent());
@@ -183,16 +203,12 @@ class GoogleBooksAdapterTest {
   }
 
   @Test
-  void getBookByIsbn_deberiaRetornarEmpty_cuandoRestTemplateLanzaRestClientException() {
+  void getBookByIsbn_deberiaRetornarEmpty_cuandoFallaLaConexion() {
     // given
-    String isbn = "9781234567890";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=isbn:" + isbn;
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willThrow(new RestClientException("boom"));
+    connectionError = new IllegalStateException("boom");
 
     // when
-    Optional<Book> result = sut.getBookByIsbn(isbn);
+    Optional<Book> result = sut.getBookByIsbn("9781234567890");
 
     // then
     assertTrue(result.isEmpty());
@@ -201,89 +217,129 @@ class GoogleBooksAdapterTest {
   @Test
   void getBookByIsbn_deberiaRetornarEmpty_cuandoJsonInvalido() {
     // given
-    String isbn = "9781234567890";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=isbn:" + isbn;
+    respond(HttpStatus.OK, "{ invalid json");
+
+    // when
+    Optional<Book> result = sut.getBookByIsbn("9781234567890");
 
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willReturn("{ invalid json");
+    // then
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void getBookByIsbn_deberiaRetornarEmpty_cuandoGoogleRespondeError() {
+    // given
+    respond(HttpStatus.SERVICE_UNAVAILABLE, "{}");
 
     // when
-    Optional<Book> result = sut.getBookByIsbn(isbn);
+    Optional<Book> result = sut.getBookByIsbn("9781234567890");
 
     // then
     assertTrue(result.isEmpty());
   }
 
-  // ---------------- searchBookByTitle ----------------
+  @Test
+  void getBookByIsbnAsync_deberiaResolverSinLanzar_cuandoFallaLaConexion() {
+    // given
+    connectionError = new IllegalStateException("boom");
+
+    // when
+    Optional<Book> result = sut.getBookByIsbnAsync("9781234567890").join();
+
+    // then
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void fetchBookByIsbn_deberiaPropagarError_cuandoFallaLaConexion() {
+    // given
+    connectionError = new IllegalStateException("boom");
+
+    // when / then
+    assertThrows(IllegalStateException.class, () -> sut.fetchBookByIsbn("9781234567890").block());
+  }
 
   @Test
-  void searchBookByTitle_deberiaReemplazarEspaciosPorMas_enLaUrl() {
+  void getBookByIsbn_deberiaAbrirCircuito_trasFallosConsecutivos() {
     // given
-    String title = "Harry Potter";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=intitle:" + "Harry+Potter";
+    respond(HttpStatus.SERVICE_UNAVAILABLE, "{}");
+    for (int i = 0; i < 4; i++) {
+      sut.getBookByIsbn("9781234567890");
+    }
+    int callsBeforeOpen = requestedUris.size();
 
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willReturn(
-            """
+    // when
+    Optional<Book> result = sut.getBookByIsbn("9781234567890");
+
+    // then
+    assertTrue(result.isEmpty());
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertEquals(callsBeforeOpen, requestedUris.size(), "No debe llamar a Google con el circuito abierto");
+  }
+
+  // ---------------- searchBookByTitle ----------------
+
+  @Test
+  void searchBookByTitle_deberiaCodificarElTitulo_enLaUrl() {
+    // given
+    respond(
+        HttpStatus.OK,
+        """
           { "items": [ { "volumeInfo": { "title": "HP", "authors": ["J.K."] } } ] }
         """);
 
     // when
-    Optional<Book> result = sut.searchBookByTitle(title);
+    Optional<Book> result = sut.searchBookByTitle("Harry Potter");
 
     // then
     assertTrue(result.isPresent());
     assertEquals("HP", result.get().getTitle());
     assertEquals("J.K.", result.get().getAuthor());
-
-    then(restTemplate).should().getForObject(eq(expectedUrl), eq(String.class));
+    assertEquals(
+        BASE_URL + "/volumes?q=intitle%3AHarry%20Potter&maxResults=1",
+        requestedUris.get(0).toString());
   }
 
   @Test
   void searchBookByTitle_deberiaRetornarEmpty_cuandoItemsVacio() {
     // given
-    String title = "Nada";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=intitle:" + "Nada";
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willReturn(
-            """
+    respond(
+        HttpStatus.OK,
+        """
           { "items": [] }
         """);
 
     // when
-    Optional<Book> result = sut.searchBookByTitle(title);
+    Optional<Book> result = sut.searchBookByTitle("Nada");
 
     // then
     assertTrue(result.isEmpty());
   }
 
   @Test
-  void searchBookByTitle_deberiaRetornarEmpty_cuandoResponseNull() {
+  void searchBookByTitle_deberiaRetornarEmpty_cuandoResponseSinBody() {
     // given
-    String title = "Algo";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=intitle:" + "Algo";
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class))).willReturn(null);
+    respond(HttpStatus.OK, null);
 
     // when
-    Optional<Book> result = sut.searchBookByTitle(title);
+    Optional<Book> result = sut.searchBookByTitle("Algo");
 
     // then
     assertTrue(result.isEmpty());
   }
 
   @Test
-  void searchBookByTitle_deberiaRetornarEmpty_cuandoRestTemplateLanzaRestClientException() {
+  void searchBookByTitle_deberiaRetornarEmpty_cuandoFallaLaConexion() {
     // given
-    String title = "Boom";
-    String expectedUrl = "https://www.googleapis.com/books/v1/volumes?q=intitle:" + "Boom";
-
-    given(restTemplate.getForObject(eq(expectedUrl), eq(String.class)))
-        .willThrow(new RestClientException("down"));
+    connectionError =
+        new WebClientRequestException(
+            new RuntimeException("down"),
+            org.springframework.http.HttpMethod.GET,
+            URI.create(BASE_URL),
+            HttpHeaders.EMPTY);
 
     // when
-    Optional<Book> result = sut.searchBookByTitle(title);
+    Optional<Book> result = sut.searchBookByTitle("Boom");
 
     // then
     assertTrue(result.isEmpty());
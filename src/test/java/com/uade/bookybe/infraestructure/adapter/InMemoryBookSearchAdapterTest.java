@@ -0,0 +1,184 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+import com.uade.bookybe.config.BookSearchConfig;
+import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.BookSearchResult;
+import com.uade.bookybe.infraestructure.entity.BookEntity;
+import com.uade.bookybe.infraestructure.repository.BookRepository;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryBookSearchAdapterTest {
+
+  @Mock private BookRepository bookRepository;
+
+  private InMemoryBookSearchAdapter sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new InMemoryBookSearchAdapter(bookRepository, new BookSearchConfig());
+    sut.index(
+        List.of(
+            book("b1", "Harry Potter y la piedra filosofal", "J. K. Rowling", "Fantasy"),
+            book("b2", "Harry Potter y la cámara secreta", "J. K. Rowling", "Fantasy"),
+            book("b3", "Cuentos de Harry", "Otro Autor", "Children"),
+            book("b4", "El señor de los anillos", "J. R. R. Tolkien", "Fantasy", "Classics"),
+            book("b5", "Rayuela", "Julio Cortázar", "Classics")));
+  }
+
+  private static Book book(String id, String title, String author, String... categories) {
+    return Book.builder().id(id).title(title).author(author).categories(List.of(categories)).build();
+  }
+
+  /** The repository answers with whatever ids it is asked for, in a different order */
+  private void givenRepositoryLoadsRequestedIds() {
+    given(bookRepository.findAllWithCategoriesByIdIn(anyCollection()))
+        .willAnswer(
+            inv -> {
+              Collection<String> ids = inv.getArgument(0);
+              return ids.stream()
+                  .sorted()
+                  .map(id -> BookEntity.builder().id(id).title(id).build())
+                  .toList();
+            });
+  }
+
+  private static List<String> ids(BookSearchResult result) {
+    return result.getBooks().stream().map(Book::getId).toList();
+  }
+
+  @Test
+  void search_deberiaRankearTituloPorSobreAutorYCategoria() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+    sut.index(List.of(book("b6", "Biografía", "Harry Houdini", "History")));
+
+    // when
+    BookSearchResult result = sut.search("harry", null, 0, 10);
+
+    // then
+    assertEquals(4, result.getTotalHits());
+    assertEquals("b3", ids(result).get(0), "El título más corto gana el desempate");
+    assertEquals("b6", ids(result).get(3), "Match en autor rankea debajo de match en título");
+  }
+
+  @Test
+  void search_deberiaRequerirTodosLosTerminos_eIgnorarAcentosYMayusculas() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+
+    // when
+    BookSearchResult result = sut.search("HARRY camara", null, 0, 10);
+
+    // then
+    assertEquals(List.of("b2"), ids(result));
+  }
+
+  @Test
+  void search_deberiaMatchearPrefijos() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+
+    // when
+    BookSearchResult result = sut.search("tolk", null, 0, 10);
+
+    // then
+    assertEquals(List.of("b4"), ids(result));
+  }
+
+  @Test
+  void search_deberiaPaginar_yContarTotal() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+
+    // when
+    BookSearchResult first = sut.search("harry", null, 0, 2);
+    BookSearchResult second = sut.search("harry", null, 1, 2);
+
+    // then
+    assertEquals(3, first.getTotalHits());
+    assertEquals(2, first.getBooks().size());
+    assertEquals(1, second.getBooks().size());
+    assertFalse(ids(first).contains(ids(second).get(0)));
+  }
+
+  @Test
+  void search_deberiaDevolverVacio_sinDesbordar_cuandoLaPaginaEsMuyGrande() {
+    // when
+    BookSearchResult result = sut.search("harry", null, Integer.MAX_VALUE, 50);
+
+    // then
+    assertEquals(3, result.getTotalHits());
+    assertTrue(result.getBooks().isEmpty());
+  }
+
+  @Test
+  void search_deberiaFiltrarPorCategoria_yCalcularFacetasSinFiltro() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+
+    // when
+    BookSearchResult result = sut.search("harry", "fantasy", 0, 10);
+
+    // then
+    assertEquals(2, result.getTotalHits());
+    assertEquals(List.of("Fantasy", "Children"), List.copyOf(result.getCategoryFacets().keySet()));
+    assertEquals(2L, result.getCategoryFacets().get("Fantasy"));
+    assertEquals(1L, result.getCategoryFacets().get("Children"));
+  }
+
+  @Test
+  void search_noDeberiaConsultarLaBase_cuandoSizeEsCero() {
+    // when
+    BookSearchResult result = sut.search("harry", null, 0, 0);
+
+    // then
+    assertEquals(3, result.getTotalHits());
+    assertTrue(result.getBooks().isEmpty());
+    then(bookRepository).should(never()).findAllWithCategoriesByIdIn(anyCollection());
+  }
+
+  @Test
+  void index_deberiaReemplazarTerminos_cuandoElLibroCambia() {
+    // given
+    sut.index(List.of(book("b5", "Bestiario", "Julio Cortázar", "Classics")));
+
+    // when
+    BookSearchResult oldTitle = sut.search("rayuela", null, 0, 0);
+    BookSearchResult newTitle = sut.search("bestiario", null, 0, 0);
+
+    // then
+    assertEquals(0, oldTitle.getTotalHits());
+    assertEquals(1, newTitle.getTotalHits());
+  }
+
+  @Test
+  void rebuild_deberiaCargarDesdeLaBase_yReemplazarElIndice() {
+    // given
+    given(bookRepository.findAllCategoryPairs())
+        .willReturn(List.<Object[]>of(new Object[] {"x1", "Sci-Fi"}));
+    given(bookRepository.findAllSearchFields())
+        .willReturn(List.<Object[]>of(new Object[] {"x1", "Dune", "Frank Herbert"}));
+
+    // when
+    sut.rebuild();
+
+    // then
+    assertEquals(0, sut.search("harry", null, 0, 0).getTotalHits());
+    BookSearchResult dune = sut.search("dune", null, 0, 0);
+    assertEquals(1, dune.getTotalHits());
+    assertEquals(1L, dune.getCategoryFacets().get("Sci-Fi"));
+  }
+}
@@ -0,0 +1,137 @@
+package com.uade.bookybe.infraestructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.uade.bookybe.core.model.Community;
+import com.uade.bookybe.core.model.CommunitySearchResult;
+import com.uade.bookybe.infraestructure.entity.CommunityEntity;
+import com.uade.bookybe.infraestructure.repository.CommunityRepository;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryCommunitySearchAdapterTest {
+
+  @Mock private CommunityRepository communityRepository;
+
+  private InMemoryCommunitySearchAdapter sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new InMemoryCommunitySearchAdapter(communityRepository);
+    sut.index("c1", "Club de fantasía", "Leemos sagas épicas");
+    sut.index("c2", "Lectores de Borges", "Cuentos y ensayos, algo de fantasía");
+    sut.index("c3", "Fantasía juvenil y ciencia ficción", "Para lectores jóvenes");
+    sut.index("c4", "Clásicos", "Novela del siglo XIX");
+  }
+
+  /** The repository answers with whatever ids it is asked for, in a different order */
+  private void givenRepositoryLoadsRequestedIds() {
+    given(communityRepository.findAllWithAdminByIdIn(anyCollection()))
+        .willAnswer(
+            inv -> {
+              Collection<String> ids = inv.getArgument(0);
+              return ids.stream()
+                  .sorted()
+                  .map(id -> CommunityEntity.builder().id(id).name(id).build())
+                  .toList();
+            });
+  }
+
+  private static List<String> ids(CommunitySearchResult result) {
+    return result.getCommunities().stream().map(Community::getId).toList();
+  }
+
+  @Test
+  void search_deberiaRankearNombrePorSobreDescripcion_yRespetarElOrdenDelIndice() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+
+    // when
+    CommunitySearchResult result = sut.search("FANTASIA", 0, 10);
+
+    // then
+    assertEquals(3, result.getTotalHits());
+    assertEquals(List.of("c1", "c3", "c2"), ids(result));
+  }
+
+  @Test
+  void search_deberiaRequerirTodosLosTerminos_yAceptarPrefijos() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+
+    // when
+    CommunitySearchResult result = sut.search("lect fanta", 0, 10);
+
+    // then: mismo puntaje (un término en cada campo), desempata el nombre más corto
+    assertEquals(List.of("c2", "c3"), ids(result));
+  }
+
+  @Test
+  void search_deberiaPaginar_yNoConsultarLaBase_cuandoLaPaginaEstaVacia() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+
+    // when
+    CommunitySearchResult second = sut.search("fantasia", 1, 2);
+    CommunitySearchResult beyond = sut.search("fantasia", 5, 2);
+
+    // then
+    assertEquals(List.of("c2"), ids(second));
+    assertEquals(3, beyond.getTotalHits());
+    assertTrue(beyond.getCommunities().isEmpty());
+    then(communityRepository).should(times(1)).findAllWithAdminByIdIn(anyCollection());
+  }
+
+  @Test
+  void index_deberiaReemplazarTerminos_yRemoveQuitarLaComunidad() {
+    // given
+    givenRepositoryLoadsRequestedIds();
+
+    // when
+    sut.index("c1", "Club de terror", "Cuentos de miedo");
+    sut.remove("c3");
+
+    // then
+    assertEquals(List.of("c2"), ids(sut.search("fantasia", 0, 10)));
+    assertEquals(List.of("c1"), ids(sut.search("terror", 0, 10)));
+  }
+
+  @Test
+  void rebuild_deberiaCargarDesdeLaBase_yDescartarLoQueYaNoExiste() {
+    // given
+    given(communityRepository.findAllSearchFields())
+        .willReturn(List.<Object[]>of(new Object[] {"c9", "Poesía latinoamericana", null}));
+
+    // when
+    sut.rebuild();
+    CommunitySearchResult old = sut.search("fantasia", 0, 10);
+
+    // then
+    assertEquals(0, old.getTotalHits());
+    then(communityRepository).should(never()).findAllWithAdminByIdIn(anyCollection());
+  }
+
+  @Test
+  void search_deberiaOmitirIdsQueLaBaseNoDevuelve() {
+    // given: c3 fue indexada en una transacción que no llegó a commitear
+    given(communityRepository.findAllWithAdminByIdIn(anyCollection()))
+        .willReturn(List.of(CommunityEntity.builder().id("c1").name("Club de fantasía").build()));
+
+    // when
+    CommunitySearchResult result = sut.search("fantasia", 0, 2);
+
+    // then
+    assertEquals(List.of("c1"), ids(result));
+  }
+}
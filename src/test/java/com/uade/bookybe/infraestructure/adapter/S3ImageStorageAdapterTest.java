@@ -239,6 +239,41 @@ class S3ImageStorageAdapterTest {
     assertTrue(req.key().endsWith(".jpg"));
   }
 
+  // ---------------- uploadImage(bytes, contentType, folder) ----------------
+
+  @Test
+  void uploadBytes_deberiaRetornarEmpty_cuandoBytesNullOVacios() {
+    assertTrue(sut.uploadImage((byte[]) null, "image/png", "folder").isEmpty());
+    assertTrue(sut.uploadImage(new byte[0], "image/png", "folder").isEmpty());
+    then(s3Client).shouldHaveNoInteractions();
+  }
+
+  @Test
+  void uploadBytes_deberiaSubirConElContentTypeRecibido() throws Exception {
+    // given
+    willReturn(PutObjectResponse.builder().eTag("etag").build())
+        .given(s3Client)
+        .putObject(any(PutObjectRequest.class), any(RequestBody.class));
+
+    S3Utilities utils = mock(S3Utilities.class);
+    given(s3Client.utilities()).willReturn(utils);
+    given(utils.getUrl(any(GetUrlRequest.class))).willReturn(new URL("https://s3-url/scene"));
+
+    // when
+    Optional<String> result =
+        sut.uploadImage(new byte[] {1, 2, 3}, "image/png", "booky/scene-images");
+
+    // then
+    assertEquals(Optional.of("https://s3-url/scene"), result);
+
+    then(s3Client).should().putObject(putCaptor.capture(), any(RequestBody.class));
+    PutObjectRequest req = putCaptor.getValue();
+    assertEquals("image/png", req.contentType());
+    assertEquals(3L, req.contentLength());
+    assertTrue(req.key().startsWith("booky/scene-images/"));
+    assertTrue(req.key().endsWith(".png"));
+  }
+
   // ---------------- deleteImage ----------------
 
   @Test
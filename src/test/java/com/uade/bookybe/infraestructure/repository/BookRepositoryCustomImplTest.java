@@ -0,0 +1,97 @@
+package com.uade.bookybe.infraestructure.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class BookRepositoryCustomImplTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private BookRepositoryCustomImpl sut;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute(
+        "CREATE TABLE books (id VARCHAR PRIMARY KEY, isbn VARCHAR, isbn13 VARCHAR UNIQUE)");
+    jdbcTemplate.execute("CREATE TABLE book_categories (book_id VARCHAR, category VARCHAR)");
+    jdbcTemplate.execute(
+        "CREATE TABLE user_books (id VARCHAR PRIMARY KEY, user_id VARCHAR, book_id VARCHAR,"
+            + " is_favorite BOOLEAN, wants_to_exchange BOOLEAN)");
+    jdbcTemplate.execute("CREATE TABLE reading_clubs (id VARCHAR PRIMARY KEY, book_id VARCHAR)");
+    jdbcTemplate.execute(
+        "CREATE TABLE scene_image_generations (id BIGINT PRIMARY KEY, book_id VARCHAR)");
+    jdbcTemplate.execute(
+        "CREATE TABLE exchange_owner_books (exchange_id VARCHAR, user_book_id VARCHAR)");
+    jdbcTemplate.execute(
+        "CREATE TABLE exchange_requester_books (exchange_id VARCHAR, user_book_id VARCHAR)");
+    sut = new BookRepositoryCustomImpl(jdbcTemplate);
+  }
+
+  @Test
+  void backfillIsbn13_deberiaCompletarIsbn13_cuandoNoHayDuplicados() {
+    // given
+    jdbcTemplate.update("INSERT INTO books (id, isbn) VALUES ('b1', '0441172717')");
+
+    // when
+    int updated = sut.backfillIsbn13();
+
+    // then
+    assertEquals(1, updated);
+    assertEquals(
+        "9780441172719",
+        jdbcTemplate.queryForObject("SELECT isbn13 FROM books WHERE id = 'b1'", String.class));
+  }
+
+  @Test
+  void backfillIsbn13_deberiaFusionarFilasDelUsuario_cuandoTieneAmbasEdiciones() {
+    // given
+    jdbcTemplate.update(
+        "INSERT INTO books (id, isbn, isbn13) VALUES ('keeper', '9780441172719', '9780441172719')");
+    jdbcTemplate.update("INSERT INTO books (id, isbn) VALUES ('dup', '0441172717')");
+    jdbcTemplate.update(
+        "INSERT INTO user_books VALUES ('ub-keeper', 'u1', 'keeper', false, false),"
+            + " ('ub-dup', 'u1', 'dup', true, true), ('ub-other', 'u2', 'dup', false, false)");
+    jdbcTemplate.update("INSERT INTO exchange_owner_books VALUES ('ex1', 'ub-dup')");
+    jdbcTemplate.update("INSERT INTO exchange_requester_books VALUES ('ex2', 'ub-dup')");
+
+    // when
+    int updated = sut.backfillIsbn13();
+
+    // then
+    assertEquals(0, updated);
+    assertEquals(0, count("SELECT COUNT(*) FROM books WHERE id = 'dup'"));
+    assertEquals(
+        1, count("SELECT COUNT(*) FROM user_books WHERE user_id = 'u1' AND book_id = 'keeper'"));
+    assertEquals(0, count("SELECT COUNT(*) FROM user_books WHERE id = 'ub-dup'"));
+    assertEquals(
+        "keeper",
+        jdbcTemplate.queryForObject(
+            "SELECT book_id FROM user_books WHERE id = 'ub-other'", String.class));
+
+    Map<String, Object> keeperRow =
+        jdbcTemplate.queryForMap("SELECT * FROM user_books WHERE id = 'ub-keeper'");
+    assertEquals(true, keeperRow.get("is_favorite"));
+    assertEquals(true, keeperRow.get("wants_to_exchange"));
+    assertEquals(
+        List.of("ub-keeper"),
+        jdbcTemplate.queryForList("SELECT user_book_id FROM exchange_owner_books", String.class));
+    assertEquals(
+        List.of("ub-keeper"),
+        jdbcTemplate.queryForList(
+            "SELECT user_book_id FROM exchange_requester_books", String.class));
+  }
+
+  private int count(String sql) {
+    return jdbcTemplate.queryForObject(sql, Integer.class);
+  }
+}
@@ -1,9 +1,15 @@
 package com.uade.bookybe.router;
 
 import com.uade.bookybe.core.model.Book;
+import com.uade.bookybe.core.model.BookSearchResult;
+import com.uade.bookybe.core.model.LibraryCounts;
+import com.uade.bookybe.core.model.LibraryImportJob;
 import com.uade.bookybe.core.model.UserBook;
 import com.uade.bookybe.core.model.constant.BookStatus;
+import com.uade.bookybe.core.model.constant.ImportJobStatus;
+import com.uade.bookybe.core.model.constant.LibrarySort;
 import com.uade.bookybe.core.usecase.BookService;
+import com.uade.bookybe.core.usecase.LibraryImportService;
 import com.uade.bookybe.router.dto.book.*;
 import com.uade.bookybe.router.mapper.BookDtoMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,12 +18,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +40,9 @@ class BookControllerTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private LibraryImportService libraryImportService;
+
     @Mock
     private Authentication authentication;
 
@@ -100,35 +113,61 @@ class BookControllerTest {
     @Test
     void getUserLibrary_Success() {
         // Arrange
-        List<UserBook> userBooks = Arrays.asList(testUserBook);
-        when(bookService.getUserLibraryFiltered(anyString(), any(), any(), any()))
+        Page<UserBook> userBooks = new PageImpl<>(List.of(testUserBook), PageRequest.of(0, 20), 41);
+        when(bookService.getUserLibraryFiltered(
+                        anyString(), any(), any(), any(), any(), anyBoolean(), anyInt(), anyInt()))
                 .thenReturn(userBooks);
 
         // Act
         ResponseEntity<List<UserBookDto>> response = bookController.getUserLibrary(
-                "user123", null, null, null);
+                "user123", null, null, null, LibrarySort.DATE_ADDED, "desc", 0, 20);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().size());
-        verify(bookService).getUserLibraryFiltered("user123", null, null, null);
+        assertEquals("41", response.getHeaders().getFirst("X-Total-Count"));
+        verify(bookService).getUserLibraryFiltered(
+                "user123", null, null, null, LibrarySort.DATE_ADDED, false, 0, 20);
     }
 
     @Test
     void getUserLibrary_WithFilters() {
         // Arrange
-        when(bookService.getUserLibraryFiltered("user123", true, BookStatus.READING, true))
-                .thenReturn(Arrays.asList(testUserBook));
+        when(bookService.getUserLibraryFiltered(
+                        "user123", true, BookStatus.READING, true, LibrarySort.TITLE, true, 2, 10))
+                .thenReturn(new PageImpl<>(List.of(testUserBook)));
 
         // Act
         ResponseEntity<List<UserBookDto>> response = bookController.getUserLibrary(
-                "user123", true, BookStatus.READING, true);
+                "user123", true, BookStatus.READING, true, LibrarySort.TITLE, "ASC", 2, 10);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(bookService).getUserLibraryFiltered("user123", true, BookStatus.READING, true);
+        verify(bookService).getUserLibraryFiltered(
+                "user123", true, BookStatus.READING, true, LibrarySort.TITLE, true, 2, 10);
+    }
+
+    @Test
+    void getUserLibraryCounts_Success() {
+        // Arrange
+        LibraryCounts counts = LibraryCounts.builder()
+                .total(5)
+                .byStatus(Map.of(BookStatus.READ, 3L, BookStatus.READING, 2L))
+                .favorites(1)
+                .wantsToExchange(2)
+                .build();
+        when(bookService.getUserLibraryCounts("user123")).thenReturn(counts);
+
+        // Act
+        ResponseEntity<LibraryCountsDto> response = bookController.getUserLibraryCounts("user123");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, response.getBody().getTotal());
+        assertEquals(3L, response.getBody().getByStatus().get(BookStatus.READ));
+        assertEquals(2, response.getBody().getWantsToExchange());
     }
 
     @Test
@@ -253,17 +292,40 @@ class BookControllerTest {
     @Test
     void searchBooks_Success() {
         // Arrange
-        List<Book> books = Arrays.asList(testBook);
-        when(bookService.searchBooks(anyString())).thenReturn(books);
+        BookSearchResult result = BookSearchResult.builder()
+                .books(Arrays.asList(testBook))
+                .totalHits(42)
+                .page(0)
+                .size(20)
+                .build();
+        when(bookService.searchBooks("test", null, 0, 20)).thenReturn(result);
 
         // Act
-        ResponseEntity<List<BookDto>> response = bookController.searchBooks("test");
+        ResponseEntity<List<BookDto>> response = bookController.searchBooks("test", null, 0, 20);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().size());
-        verify(bookService).searchBooks("test");
+        assertEquals("42", response.getHeaders().getFirst("X-Total-Count"));
+        verify(bookService).searchBooks("test", null, 0, 20);
+    }
+
+    @Test
+    void getSearchFacets_Success() {
+        // Arrange
+        BookSearchResult result = BookSearchResult.builder()
+                .books(List.of())
+                .categoryFacets(Map.of("Fantasy", 3L))
+                .build();
+        when(bookService.searchBooks("test", null, 0, 0)).thenReturn(result);
+
+        // Act
+        ResponseEntity<Map<String, Long>> response = bookController.getSearchFacets("test");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, response.getBody().get("Fantasy"));
     }
 
     @Test
@@ -292,5 +354,41 @@ class BookControllerTest {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
-}
 
+    @Test
+    void importBooksToUserLibrary_Accepted() {
+        // Arrange
+        BulkImportBooksDto dto = new BulkImportBooksDto(List.of("9781234567890", "9780000000001"), BookStatus.READ);
+        LibraryImportJob job = LibraryImportJob.builder()
+                .id("import-1")
+                .userId("user123")
+                .status(ImportJobStatus.PENDING)
+                .totalIsbns(2)
+                .build();
+
+        when(authentication.getName()).thenReturn("user123");
+        when(libraryImportService.startImport(eq("user123"), anyList())).thenReturn(job);
+
+        // Act
+        ResponseEntity<LibraryImportJobDto> response = bookController.importBooksToUserLibrary(dto, authentication);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("import-1", response.getBody().getId());
+        assertEquals(2, response.getBody().getTotalIsbns());
+    }
+
+    @Test
+    void getLibraryImport_NotFound() {
+        // Arrange
+        when(authentication.getName()).thenReturn("user123");
+        when(libraryImportService.getImportJob("user123", "import-1")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<LibraryImportJobDto> response = bookController.getLibraryImport("import-1", authentication);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -1,7 +1,12 @@
 package com.uade.bookybe.router;
 
+import com.uade.bookybe.core.model.Book;
 import com.uade.bookybe.core.model.BookExchange;
+import com.uade.bookybe.core.model.SuggestedTrade;
+import com.uade.bookybe.core.model.User;
+import com.uade.bookybe.core.model.constant.TradeMatchType;
 import com.uade.bookybe.core.usecase.BookExchangeService;
+import com.uade.bookybe.core.usecase.ExchangeMatchingService;
 import com.uade.bookybe.core.usecase.UserRateService;
 import com.uade.bookybe.core.usecase.UserService;
 import com.uade.bookybe.router.dto.exchange.*;
@@ -12,8 +17,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,6 +37,8 @@ class BookExchangeControllerTest {
     private UserRateService userRateService;
     @Mock
     private UserService userService;
+    @Mock
+    private ExchangeMatchingService exchangeMatchingService;
 
     @InjectMocks
     private BookExchangeController controller;
@@ -49,10 +58,10 @@ class BookExchangeControllerTest {
                 .build();
         
         when(bookExchangeService.createExchange("user1", "user2", 
-                Arrays.asList("book1"), Arrays.asList("book2")))
+                Arrays.asList("book1"), Arrays.asList("book2"), "key-1"))
                 .thenReturn(Optional.of(exchange));
 
-        ResponseEntity<BookExchangeDto> response = controller.createExchange(dto);
+        ResponseEntity<BookExchangeDto> response = controller.createExchange(dto, "key-1");
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -66,10 +75,10 @@ class BookExchangeControllerTest {
         dto.setOwnerBookIds(Arrays.asList("book1"));
         dto.setRequesterBookIds(Arrays.asList("book2"));
 
-        when(bookExchangeService.createExchange(anyString(), anyString(), anyList(), anyList()))
+        when(bookExchangeService.createExchange(anyString(), anyString(), anyList(), anyList(), isNull()))
                 .thenReturn(Optional.empty());
 
-        ResponseEntity<BookExchangeDto> response = controller.createExchange(dto);
+        ResponseEntity<BookExchangeDto> response = controller.createExchange(dto, null);
 
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
     }
@@ -82,6 +91,30 @@ class BookExchangeControllerTest {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
+
+    @Test
+    void getSuggestedTrades_Success() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("user1");
+        SuggestedTrade trade = SuggestedTrade.builder()
+                .type(TradeMatchType.TWO_WAY)
+                .receiveFrom(User.builder().id("user2").username("ana").build())
+                .giveTo(User.builder().id("user2").username("ana").build())
+                .booksToReceive(List.of(Book.builder().id("book1").build()))
+                .booksToGive(List.of(Book.builder().id("book2").build()))
+                .intermediateBooks(List.of())
+                .distanceKm(3.5)
+                .build();
+        when(exchangeMatchingService.getSuggestedTrades("user1", true, 10)).thenReturn(List.of(trade));
+
+        ResponseEntity<List<SuggestedTradeDto>> response =
+                controller.getSuggestedTrades(true, 10, authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("ana", response.getBody().get(0).getReceiveFrom().getUsername());
+        assertEquals("book2", response.getBody().get(0).getBooksToGive().get(0).getId());
+    }
 }
 
 
@@ -1,6 +1,12 @@
 package com.uade.bookybe.router;
 
 import com.uade.bookybe.core.model.Community;
+import com.uade.bookybe.core.model.CommunityDeletionJob;
+import com.uade.bookybe.core.model.CommunityPage;
+import com.uade.bookybe.core.model.CommunitySearchResult;
+import com.uade.bookybe.core.model.constant.CommunitySort;
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import com.uade.bookybe.core.usecase.CommunityDeletionService;
 import com.uade.bookybe.core.usecase.CommunityService;
 import com.uade.bookybe.router.dto.community.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +36,9 @@ class CommunityControllerTest {
     @Mock
     private CommunityService communityService;
 
+    @Mock
+    private CommunityDeletionService communityDeletionService;
+
     @Mock
     private Authentication authentication;
 
@@ -79,13 +88,50 @@ class CommunityControllerTest {
     }
 
     @Test
-    void getAllCommunities_Success() {
-        when(communityService.getAllCommunities()).thenReturn(Arrays.asList(testCommunity));
+    void getCommunities_Success_WithNextCursorHeader() {
+        when(communityService.getCommunities(CommunitySort.MEMBERS, null, 20))
+                .thenReturn(CommunityPage.builder()
+                        .communities(Arrays.asList(testCommunity))
+                        .nextCursor("next")
+                        .build());
 
-        ResponseEntity<List<CommunityDto>> response = communityController.getAllCommunities();
+        ResponseEntity<List<CommunityDto>> response =
+                communityController.getCommunities(CommunitySort.MEMBERS, null, 20);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().size());
+        assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void getCommunities_LastPage_WithoutNextCursorHeader() {
+        when(communityService.getCommunities(CommunitySort.NEWEST, "c", 20))
+                .thenReturn(CommunityPage.builder().communities(List.of()).build());
+
+        ResponseEntity<List<CommunityDto>> response =
+                communityController.getCommunities(CommunitySort.NEWEST, "c", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void searchCommunities_Success_WithTotalCountHeader() {
+        when(communityService.searchCommunities("lectura", 0, 20))
+                .thenReturn(CommunitySearchResult.builder()
+                        .communities(Arrays.asList(testCommunity))
+                        .totalHits(7)
+                        .page(0)
+                        .size(20)
+                        .build());
+
+        ResponseEntity<List<CommunityDto>> response =
+                communityController.searchCommunities("lectura", 0, 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("7", response.getHeaders().getFirst("X-Total-Count"));
+        verify(communityService, never()).isUserMember(anyString(), anyString());
     }
 
     @Test
@@ -114,5 +160,57 @@ class CommunityControllerTest {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
-}
 
+    @Test
+    void deleteCommunity_Accepted() {
+        when(communityService.deleteCommunity("community123", "user123"))
+                .thenReturn(Optional.of(CommunityDeletionJob.builder()
+                        .id("delete-1")
+                        .communityId("community123")
+                        .status(DeletionJobStatus.PENDING)
+                        .build()));
+
+        ResponseEntity<CommunityDeletionJobDto> response =
+                communityController.deleteCommunity("community123", authentication);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("delete-1", response.getBody().getId());
+        assertEquals(DeletionJobStatus.PENDING, response.getBody().getStatus());
+    }
+
+    @Test
+    void deleteCommunity_NotFound() {
+        when(communityService.deleteCommunity("community123", "user123")).thenReturn(Optional.empty());
+
+        ResponseEntity<CommunityDeletionJobDto> response =
+                communityController.deleteCommunity("community123", authentication);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void getCommunityDeletion_Success() {
+        when(communityDeletionService.getDeletionJob("user123", "delete-1"))
+                .thenReturn(Optional.of(CommunityDeletionJob.builder()
+                        .id("delete-1")
+                        .status(DeletionJobStatus.COMPLETED)
+                        .deletedPosts(3)
+                        .build()));
+
+        ResponseEntity<CommunityDeletionJobDto> response =
+                communityController.getCommunityDeletion("delete-1", authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().getDeletedPosts());
+    }
+
+    @Test
+    void getCommunityDeletion_NotFound() {
+        when(communityDeletionService.getDeletionJob("user123", "delete-x")).thenReturn(Optional.empty());
+
+        ResponseEntity<CommunityDeletionJobDto> response =
+                communityController.getCommunityDeletion("delete-x", authentication);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -0,0 +1,41 @@
+package com.uade.bookybe.router;
+
+import com.uade.bookybe.core.exception.UnauthorizedException;
+import com.uade.bookybe.core.usecase.LivekitRoomService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LivekitWebhookControllerTest {
+
+    @Mock
+    private LivekitRoomService livekitRoomService;
+
+    @InjectMocks
+    private LivekitWebhookController controller;
+
+    @Test
+    void receive_Success() {
+        ResponseEntity<Void> response = controller.receive("{\"event\":\"room_finished\"}", "signed-jwt");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(livekitRoomService).handleWebhook("{\"event\":\"room_finished\"}", "signed-jwt");
+    }
+
+    @Test
+    void receive_InvalidSignature() {
+        doThrow(new UnauthorizedException("Invalid LiveKit webhook signature"))
+            .when(livekitRoomService).handleWebhook("{}", "forged");
+
+        assertThrows(UnauthorizedException.class, () -> controller.receive("{}", "forged"));
+    }
+}
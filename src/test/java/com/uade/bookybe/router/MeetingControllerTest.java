@@ -2,9 +2,7 @@ package com.uade.bookybe.router;
 
 import com.uade.bookybe.core.model.LivekitToken;
 import com.uade.bookybe.core.model.ReadingClub;
-import com.uade.bookybe.core.model.User;
 import com.uade.bookybe.core.usecase.MeetingService;
-import com.uade.bookybe.core.usecase.UserService;
 import com.uade.bookybe.router.dto.meeting.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,7 +14,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -28,8 +25,6 @@ class MeetingControllerTest {
     @Mock
     private MeetingService meetingService;
     @Mock
-    private UserService userService;
-    @Mock
     private Authentication authentication;
 
     @InjectMocks
@@ -40,17 +35,16 @@ class MeetingControllerTest {
         TokenRequestDto request = new TokenRequestDto();
         request.setReadingClubId("club1");
 
-        User user = User.builder().id("user1").username("testuser").build();
         LivekitToken token = LivekitToken.builder().token("test-token").roomName("room1").build();
 
         when(authentication.getName()).thenReturn("user1");
-        when(userService.getUserById("user1")).thenReturn(Optional.of(user));
-        when(meetingService.generateMeetingToken(anyString(), anyString(), anyString())).thenReturn(token);
+        when(meetingService.generateMeetingToken(anyString(), anyString())).thenReturn(token);
 
         ResponseEntity<TokenResponseDto> response = controller.generateToken(request, authentication);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(meetingService).generateMeetingToken("club1", "user1", "testuser");
+        verify(meetingService).generateMeetingToken("club1", "user1");
+        verifyNoMoreInteractions(meetingService);
     }
 
     @Test
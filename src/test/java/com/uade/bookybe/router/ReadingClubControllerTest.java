@@ -1,7 +1,9 @@
 package com.uade.bookybe.router;
 
 import com.uade.bookybe.core.model.ReadingClub;
+import com.uade.bookybe.core.model.ReadingProgress;
 import com.uade.bookybe.core.usecase.ReadingClubService;
+import com.uade.bookybe.core.usecase.ReadingProgressService;
 import com.uade.bookybe.router.dto.readingclub.*;
 import com.uade.bookybe.router.mapper.ReadingClubDtoMapperWithNestedObjects;
 import org.junit.jupiter.api.Test;
@@ -9,11 +11,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 
-import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -25,16 +32,31 @@ class ReadingClubControllerTest {
     @Mock
     private ReadingClubService readingClubService;
     @Mock
+    private ReadingProgressService readingProgressService;
+    @Mock
     private ReadingClubDtoMapperWithNestedObjects mapper;
+    @Mock
+    private Authentication authentication;
 
     @InjectMocks
     private ReadingClubController controller;
 
     @Test
     void getAllReadingClubs_Success() {
-        when(readingClubService.getAllReadingClubs()).thenReturn(Arrays.asList());
-        ResponseEntity response = controller.getAllReadingClubs();
+        // Arrange
+        List<ReadingClub> clubs = List.of(ReadingClub.builder().id("club1").build());
+        when(readingClubService.getAllReadingClubs(0, 20))
+                .thenReturn(new PageImpl<>(clubs, PageRequest.of(0, 20), 21));
+        when(mapper.toDtosWithNestedObjects(clubs)).thenReturn(List.of(new ReadingClubDto()));
+
+        // Act
+        ResponseEntity<List<ReadingClubDto>> response = controller.getAllReadingClubs(0, 20);
+
+        // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("21", response.getHeaders().getFirst("X-Total-Count"));
+        assertEquals(1, response.getBody().size());
+        verify(mapper, never()).toDtoWithNestedObjects(any());
     }
 
     @Test
@@ -56,5 +78,41 @@ class ReadingClubControllerTest {
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
-}
 
+    @Test
+    void updateProgress_Success() {
+        // Arrange
+        when(authentication.getName()).thenReturn("user1");
+        ReadingProgress progress = ReadingProgress.builder()
+                .readingClubId("club1")
+                .reportingMembers(1)
+                .minChapter(4)
+                .maxChapter(4)
+                .medianChapter(4.0)
+                .histogram(new TreeMap<>(Map.of(4, 1)))
+                .build();
+        when(readingProgressService.getProgress("club1")).thenReturn(Optional.of(progress));
+
+        // Act
+        ResponseEntity<ReadingProgressDto> response =
+                controller.updateProgress("club1", new UpdateReadingProgressDto(4), authentication);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(4.0, response.getBody().getMedianChapter());
+        assertEquals(1, response.getBody().getHistogram().get(4));
+        verify(readingProgressService).updateProgress("club1", "user1", 4);
+    }
+
+    @Test
+    void getProgress_NotFound() {
+        // Arrange
+        when(readingProgressService.getProgress("club1")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<ReadingProgressDto> response = controller.getProgress("club1");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
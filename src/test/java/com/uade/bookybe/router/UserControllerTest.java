@@ -1,8 +1,14 @@
 package com.uade.bookybe.router;
 
 import com.uade.bookybe.core.model.User;
+import com.uade.bookybe.core.model.UserBadges;
+import com.uade.bookybe.core.model.UserDeletionJob;
 import com.uade.bookybe.core.model.UserSignUp;
+import com.uade.bookybe.core.model.constant.DeletionJobStatus;
+import com.uade.bookybe.core.model.constant.UserDeletionStage;
 import com.uade.bookybe.core.service.JwtService;
+import com.uade.bookybe.core.usecase.BadgeService;
+import com.uade.bookybe.core.usecase.UserDeletionService;
 import com.uade.bookybe.core.usecase.UserService;
 import com.uade.bookybe.router.dto.user.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +38,12 @@ class UserControllerTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private BadgeService badgeService;
+
+    @Mock
+    private UserDeletionService userDeletionService;
+
     @Mock
     private Authentication authentication;
 
@@ -75,6 +87,27 @@ class UserControllerTest {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    @Test
+    void getMyBadges_Success() {
+        // Arrange
+        when(authentication.getName()).thenReturn("user123");
+        when(badgeService.getBadges("user123"))
+                .thenReturn(UserBadges.builder()
+                        .pendingExchanges(2)
+                        .unreadMessages(5)
+                        .unnotifiedAchievements(1)
+                        .build());
+
+        // Act
+        ResponseEntity<UserBadgesDto> response = userController.getMyBadges(authentication);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getPendingExchanges());
+        assertEquals(5, response.getBody().getUnreadMessages());
+        assertEquals(1, response.getBody().getUnnotifiedAchievements());
+    }
+
     @Test
     void signUp_Success() {
         // Arrange
@@ -293,25 +326,66 @@ class UserControllerTest {
     }
 
     @Test
-    void deleteUser_Success() {
+    void deleteUser_Accepted() {
         // Arrange
-        when(userService.deleteUser("user123")).thenReturn(true);
+        UserDeletionJob job = UserDeletionJob.builder()
+                .id("user-delete-1")
+                .userId("user123")
+                .stage(UserDeletionStage.LIKES)
+                .status(DeletionJobStatus.PENDING)
+                .build();
+        when(userService.deleteUser("user123")).thenReturn(Optional.of(job));
 
         // Act
-        ResponseEntity<Void> response = userController.deleteUser("user123");
+        ResponseEntity<UserDeletionJobDto> response = userController.deleteUser("user123");
 
         // Assert
-        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("user-delete-1", response.getBody().getId());
+        assertEquals(UserDeletionStage.LIKES, response.getBody().getStage());
         verify(userService).deleteUser("user123");
     }
 
     @Test
     void deleteUser_NotFound() {
         // Arrange
-        when(userService.deleteUser("user123")).thenReturn(false);
+        when(userService.deleteUser("user123")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<UserDeletionJobDto> response = userController.deleteUser("user123");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void getUserDeletion_Success() {
+        // Arrange
+        UserDeletionJob job = UserDeletionJob.builder()
+                .id("user-delete-1")
+                .userId("user123")
+                .stage(UserDeletionStage.IMAGES)
+                .status(DeletionJobStatus.COMPLETED)
+                .deletedRows(42)
+                .build();
+        when(userDeletionService.getDeletionJob("user123")).thenReturn(Optional.of(job));
+
+        // Act
+        ResponseEntity<UserDeletionJobDto> response = userController.getUserDeletion("user123");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(DeletionJobStatus.COMPLETED, response.getBody().getStatus());
+        assertEquals(42, response.getBody().getDeletedRows());
+    }
+
+    @Test
+    void getUserDeletion_NotFound() {
+        // Arrange
+        when(userDeletionService.getDeletionJob("user123")).thenReturn(Optional.empty());
 
         // Act
-        ResponseEntity<Void> response = userController.deleteUser("user123");
+        ResponseEntity<UserDeletionJobDto> response = userController.getUserDeletion("user123");
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
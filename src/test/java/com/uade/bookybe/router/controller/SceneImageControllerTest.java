@@ -1,11 +1,13 @@
 package com.uade.bookybe.router.controller;
 
+import com.uade.bookybe.config.SceneImageConfig;
 import com.uade.bookybe.core.exception.BookNotFoundException;
 import com.uade.bookybe.core.exception.InvalidImageSizeException;
 import com.uade.bookybe.core.exception.OpenAIServiceException;
+import com.uade.bookybe.core.model.constant.SceneImageStatus;
 import com.uade.bookybe.core.model.dto.SceneImageRequest;
 import com.uade.bookybe.core.model.dto.SceneImageResponse;
-import com.uade.bookybe.core.model.SceneImageGeneration;
+import com.uade.bookybe.core.model.dto.SceneImageSummary;
 import com.uade.bookybe.core.service.SceneImageService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,9 +20,14 @@ import org.mockito.quality.Strictness;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,6 +40,9 @@ class SceneImageControllerTest {
     @Mock
     private SceneImageService sceneImageService;
 
+    @Mock
+    private SceneImageConfig sceneImageConfig;
+
     @Mock
     private HttpServletRequest httpRequest;
 
@@ -50,6 +60,7 @@ class SceneImageControllerTest {
         response = new SceneImageResponse();
         response.setImageUrl("https://example.com/image.jpg");
         response.setCraftedPrompt("Test prompt");
+        response.setStatus(SceneImageStatus.COMPLETED);
 
         when(httpRequest.getRemoteAddr()).thenReturn("127.0.0.1");
     }
@@ -68,6 +79,69 @@ class SceneImageControllerTest {
         verify(sceneImageService).generateSceneImage("club1", request);
     }
 
+    @Test
+    void generateSceneImage_Accepted() {
+        SceneImageResponse pending = SceneImageResponse.builder().id(7L).status(SceneImageStatus.PENDING).build();
+        when(sceneImageService.generateSceneImage(anyString(), any(SceneImageRequest.class)))
+                .thenReturn(pending);
+
+        ResponseEntity<SceneImageResponse> result =
+                controller.generateSceneImage("club1", request, httpRequest);
+
+        assertEquals(HttpStatus.ACCEPTED, result.getStatusCode());
+        assertEquals(pending, result.getBody());
+        assertEquals(URI.create("/api/reading-clubs/club1/scene-image/7"), result.getHeaders().getLocation());
+    }
+
+    @Test
+    void getSceneImage_Success() {
+        SceneImageResponse running = SceneImageResponse.builder().id(7L).status(SceneImageStatus.RUNNING).build();
+        when(sceneImageService.getSceneImage("club1", 7L)).thenReturn(Optional.of(running));
+
+        ResponseEntity<SceneImageResponse> result = controller.getSceneImage("club1", 7L);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(running, result.getBody());
+    }
+
+    @Test
+    void getSceneImage_NotFound() {
+        when(sceneImageService.getSceneImage("club1", 7L)).thenReturn(Optional.empty());
+
+        ResponseEntity<SceneImageResponse> result = controller.getSceneImage("club1", 7L);
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    @Test
+    void streamSceneImage_Success() {
+        when(sceneImageConfig.getEventsTimeout()).thenReturn(Duration.ofMinutes(5));
+        when(sceneImageService.watchSceneImage(eq("club1"), eq(7L), any())).thenAnswer(invocation -> {
+            Consumer<SceneImageResponse> listener = invocation.getArgument(2);
+            listener.accept(SceneImageResponse.builder().id(7L).status(SceneImageStatus.RUNNING).build());
+            listener.accept(SceneImageResponse.builder().id(7L).status(SceneImageStatus.COMPLETED).build());
+            // Ignored: the stream is already complete
+            listener.accept(SceneImageResponse.builder().id(7L).status(SceneImageStatus.COMPLETED).build());
+            return true;
+        });
+
+        ResponseEntity<SseEmitter> result = controller.streamSceneImage("club1", 7L);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertNotNull(result.getBody());
+        assertEquals(Duration.ofMinutes(5).toMillis(), result.getBody().getTimeout());
+    }
+
+    @Test
+    void streamSceneImage_NotFound() {
+        when(sceneImageConfig.getEventsTimeout()).thenReturn(Duration.ofMinutes(5));
+        when(sceneImageService.watchSceneImage(eq("club1"), eq(7L), any())).thenReturn(false);
+
+        ResponseEntity<SseEmitter> result = controller.streamSceneImage("club1", 7L);
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
     @Test
     void generateSceneImage_InvalidArgument() {
         when(sceneImageService.generateSceneImage(anyString(), any(SceneImageRequest.class)))
@@ -155,34 +229,33 @@ class SceneImageControllerTest {
 
     @Test
     void getReadingClubSceneGenerations_Success() {
-        SceneImageGeneration gen1 = SceneImageGeneration.builder()
+        SceneImageSummary gen1 = SceneImageSummary.builder()
                 .id(1L)
                 .readingClubId("club1")
                 .imageUrl("url1")
+                .thumbnailUrl("thumb1")
                 .bookId("book1")
-                .fragmentHash("hash1")
-                .craftedPrompt("prompt1")
                 .size("1024x1024")
                 .build();
-        SceneImageGeneration gen2 = SceneImageGeneration.builder()
+        SceneImageSummary gen2 = SceneImageSummary.builder()
                 .id(2L)
                 .readingClubId("club1")
                 .imageUrl("url2")
+                .thumbnailUrl("thumb2")
                 .bookId("book1")
-                .fragmentHash("hash2")
-                .craftedPrompt("prompt2")
                 .size("1024x1024")
                 .build();
-        List<SceneImageGeneration> generations = Arrays.asList(gen1, gen2);
+        List<SceneImageSummary> generations = Arrays.asList(gen1, gen2);
         when(sceneImageService.getReadingClubSceneGenerations("club1"))
                 .thenReturn(generations);
 
-        ResponseEntity<List<Object>> result = 
+        ResponseEntity<List<SceneImageSummary>> result =
                 controller.getReadingClubSceneGenerations("club1");
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertNotNull(result.getBody());
         assertEquals(2, result.getBody().size());
+        assertEquals("thumb1", result.getBody().get(0).getThumbnailUrl());
     }
 
     @Test
@@ -190,7 +263,7 @@ class SceneImageControllerTest {
         when(sceneImageService.getReadingClubSceneGenerations("club1"))
                 .thenThrow(new RuntimeException("Database error"));
 
-        ResponseEntity<List<Object>> result = 
+        ResponseEntity<List<SceneImageSummary>> result =
                 controller.getReadingClubSceneGenerations("club1");
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode());
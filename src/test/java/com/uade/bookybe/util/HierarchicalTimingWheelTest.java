@@ -0,0 +1,100 @@
+package com.uade.bookybe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    private HierarchicalTimingWheel<String, String> newWheel() {
+        // 4 slots x 3 niveles: 64 ticks de alcance, para forzar cascadas y overflow
+        return new HierarchicalTimingWheel<>(Duration.ofMillis(TICK), 4, 3, 0);
+    }
+
+    @Test
+    void advance_ShouldExpireTimersAtTheirDeadlineAndNotBefore() {
+        HierarchicalTimingWheel<String, String> wheel = newWheel();
+        wheel.schedule("a", 3 * TICK, "a");
+        wheel.schedule("b", 3 * TICK + 1, "b");
+
+        assertEquals(List.of(), wheel.advance(3 * TICK - 1));
+        assertEquals(List.of("a"), wheel.advance(3 * TICK));
+        assertEquals(List.of(), wheel.advance(4 * TICK - 1));
+        assertEquals(List.of("b"), wheel.advance(4 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldCascadeTimersFromUpperLevels() {
+        HierarchicalTimingWheel<String, String> wheel = newWheel();
+        for (long tick = 1; tick <= 63; tick++) {
+            wheel.schedule("t" + tick, tick * TICK, "t" + tick);
+        }
+
+        for (long tick = 1; tick <= 63; tick++) {
+            assertEquals(List.of("t" + tick), wheel.advance(tick * TICK), "tick " + tick);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldExpireTimersBeyondTheWheelSpan() {
+        HierarchicalTimingWheel<String, String> wheel = newWheel();
+        wheel.schedule("far", 500 * TICK, "far");
+
+        assertEquals(List.of(), wheel.advance(499 * TICK));
+        assertEquals(List.of("far"), wheel.advance(500 * TICK));
+    }
+
+    @Test
+    void advance_ShouldReturnEveryTimerWhenJumpingSeveralTicks() {
+        HierarchicalTimingWheel<String, String> wheel = newWheel();
+        wheel.schedule("a", 2 * TICK, "a");
+        wheel.schedule("b", 20 * TICK, "b");
+        wheel.schedule("c", 40 * TICK, "c");
+
+        assertEquals(List.of("a", "b"), wheel.advance(30 * TICK));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void cancel_ShouldRemoveTheTimer() {
+        HierarchicalTimingWheel<String, String> wheel = newWheel();
+        wheel.schedule("a", 20 * TICK, "a");
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertEquals(List.of(), wheel.advance(100 * TICK));
+    }
+
+    @Test
+    void schedule_ShouldReplaceTheTimerWithTheSameKey() {
+        HierarchicalTimingWheel<String, String> wheel = newWheel();
+        wheel.schedule("a", 20 * TICK, "old");
+        wheel.schedule("a", 5 * TICK, "new");
+
+        assertEquals(List.of("new"), wheel.advance(100 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_ShouldExpirePastDeadlinesOnTheNextTick() {
+        HierarchicalTimingWheel<String, String> wheel = newWheel();
+        wheel.advance(10 * TICK);
+        wheel.schedule("late", 2 * TICK, "late");
+
+        assertEquals(List.of("late"), wheel.advance(11 * TICK));
+    }
+
+    @Test
+    void constructor_ShouldRejectWheelSizesThatAreNotPowersOfTwo() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new HierarchicalTimingWheel<String, String>(Duration.ofMillis(TICK), 10, 3, 0));
+    }
+}
@@ -0,0 +1,40 @@
+package com.uade.bookybe.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsbnUtilTest {
+
+    @Test
+    void toIsbn13_ShouldConvertIsbn10() {
+        assertEquals("9780441172719", IsbnUtil.toIsbn13("0441172717"));
+    }
+
+    @Test
+    void toIsbn13_ShouldConvertIsbn10WithXCheckDigit() {
+        assertEquals("9780306406157", IsbnUtil.toIsbn13("0-306-40615-2"));
+        assertEquals("9780800759636", IsbnUtil.toIsbn13("080075963X"));
+    }
+
+    @Test
+    void toIsbn13_ShouldStripSeparatorsAndLabel() {
+        assertEquals("9780441172719", IsbnUtil.toIsbn13("ISBN: 978-0-441-17271-9"));
+        assertEquals("9780441172719", IsbnUtil.toIsbn13(" 978 0441 172719 "));
+    }
+
+    @Test
+    void toIsbn13_ShouldReturnSameValueForBothForms() {
+        assertEquals(IsbnUtil.toIsbn13("0441172717"), IsbnUtil.toIsbn13("9780441172719"));
+    }
+
+    @Test
+    void toIsbn13_ShouldReturnNullForInvalidValues() {
+        assertNull(IsbnUtil.toIsbn13(null));
+        assertNull(IsbnUtil.toIsbn13(""));
+        assertNull(IsbnUtil.toIsbn13("12345"));
+        assertNull(IsbnUtil.toIsbn13("9780441172710"));
+        assertNull(IsbnUtil.toIsbn13("0441172718"));
+        assertNull(IsbnUtil.toIsbn13("97804411727AB"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.uade.bookybe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    private static final List<Integer> ITEMS = List.of(5, 1, 9, 3, 7, 2);
+
+    @Test
+    void page_ShouldReturnRequestedPageInRankingOrder() {
+        assertEquals(List.of(9, 7), TopK.page(ITEMS, Comparator.reverseOrder(), 0, 2));
+        assertEquals(List.of(5, 3), TopK.page(ITEMS, Comparator.reverseOrder(), 1, 2));
+    }
+
+    @Test
+    void page_ShouldReturnPartialLastPage() {
+        assertEquals(List.of(2, 1), TopK.page(ITEMS, Comparator.reverseOrder(), 2, 2));
+        assertEquals(List.of(1), TopK.page(ITEMS, Comparator.reverseOrder(), 1, 5));
+    }
+
+    @Test
+    void page_ShouldReturnEmpty_WhenPageIsBeyondItemsOrSizeIsZero() {
+        assertTrue(TopK.page(ITEMS, Comparator.reverseOrder(), 3, 2).isEmpty());
+        assertTrue(TopK.page(ITEMS, Comparator.reverseOrder(), 0, 0).isEmpty());
+    }
+
+    @Test
+    void page_ShouldNotOverflow_WhenPageTimesSizeExceedsInt() {
+        assertTrue(TopK.page(ITEMS, Comparator.reverseOrder(), Integer.MAX_VALUE, 50).isEmpty());
+        assertTrue(TopK.page(ITEMS, Comparator.reverseOrder(), -1, 50).isEmpty());
+    }
+}